@@ -0,0 +1,38 @@
+package com.laulem.featureaccessorcore.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * BenchmarkFlags builds the flag keys and properties files shared by the benchmarks.
+ */
+final class BenchmarkFlags {
+    static final String MISSING_KEY = "missing_flag";
+
+    private BenchmarkFlags() {
+    }
+
+    static String flagKey(int index) {
+        return "flag_" + index;
+    }
+
+    /**
+     * Writes a temporary properties file defining the given number of boolean flags, and as many unrelated entries.
+     *
+     * @param flagCount the number of flags
+     * @return the path of the file, to be deleted by the caller
+     */
+    static Path writePropertiesFile(int flagCount) throws IOException {
+        Path file = Files.createTempFile("feature-accessor-benchmark", ".properties");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.ISO_8859_1)) {
+            for (int i = 0; i < flagCount; i++) {
+                writer.write("feature-accessor." + flagKey(i) + "=" + (i % 2 == 0) + "\n");
+                writer.write("application.setting_" + i + "=value " + i + "\n");
+            }
+        }
+        return file;
+    }
+}
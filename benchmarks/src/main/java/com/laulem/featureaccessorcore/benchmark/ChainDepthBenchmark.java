@@ -0,0 +1,76 @@
+package com.laulem.featureaccessorcore.benchmark;
+
+import com.laulem.featureaccessorcore.provider.InMemoryFlagProvider;
+import com.laulem.featureaccessorcore.provider.MultiFeatureProvider;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChainDepthBenchmark measures a MultiFeatureProvider of {@code depth} in-memory providers, each defining its own
+ * flags, when the flag is defined by the first provider, by the last one, or by none of them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChainDepthBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int depth;
+
+    @Param({"FIRST", "LAST", "MISSING"})
+    public String position;
+
+    @Param({"false", "true"})
+    public boolean indexedResolution;
+
+    private MultiFeatureProvider provider;
+    private EvaluationContext context;
+    private String flagKey;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        provider = new MultiFeatureProvider();
+        provider.setIndexedResolution(indexedResolution);
+        for (int member = 0; member < depth; member++) {
+            InMemoryFlagProvider inMemoryProvider = new InMemoryFlagProvider();
+            for (int i = 0; i < 100; i++) {
+                inMemoryProvider.setFlag(memberFlagKey(member, i), true);
+            }
+            provider.addProvider(inMemoryProvider);
+        }
+        context = new ImmutableContext("user-42");
+        flagKey = switch (position) {
+            case "FIRST" -> memberFlagKey(0, 50);
+            case "LAST" -> memberFlagKey(depth - 1, 50);
+            case "MISSING" -> BenchmarkFlags.MISSING_KEY;
+            default -> throw new IllegalArgumentException("Unknown position: " + position);
+        };
+    }
+
+    private static String memberFlagKey(int member, int index) {
+        return "provider_" + member + "_" + BenchmarkFlags.flagKey(index);
+    }
+
+    @Benchmark
+    public ProviderEvaluation<Boolean> evaluate() {
+        return provider.getBooleanEvaluation(flagKey, false, context);
+    }
+}
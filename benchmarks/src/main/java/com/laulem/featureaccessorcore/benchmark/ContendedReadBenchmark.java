@@ -0,0 +1,84 @@
+package com.laulem.featureaccessorcore.benchmark;
+
+import com.laulem.featureaccessorcore.provider.InMemoryFlagProvider;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ContendedReadBenchmark measures InMemoryFlagProvider reads while another thread keeps calling setFlag.
+ * The {@code readWrite} group runs three readers for one writer by default; other ratios are measured with
+ * {@code -tg <readers>,1}, and reads without writers at 1..N threads with {@code -t}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContendedReadBenchmark {
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public ProviderEvaluation<Boolean> read(Flags flags) {
+        return flags.provider.getBooleanEvaluation(flags.readKey, false, flags.context);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void write(Flags flags, WriterState writer) {
+        writer.value = !writer.value;
+        flags.provider.setFlag(flags.writtenKey, writer.value);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ProviderEvaluation<Boolean> readOnly(Flags flags) {
+        return flags.provider.getBooleanEvaluation(flags.readKey, false, flags.context);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Flags {
+        @Param({"10", "1000"})
+        public int flagCount;
+
+        private InMemoryFlagProvider provider;
+        private EvaluationContext context;
+        private String readKey;
+        private String writtenKey;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            provider = new InMemoryFlagProvider();
+            for (int i = 0; i < flagCount; i++) {
+                provider.setFlag(BenchmarkFlags.flagKey(i), i % 2 == 0);
+            }
+            context = new ImmutableContext("user-42");
+            readKey = BenchmarkFlags.flagKey(0);
+            writtenKey = BenchmarkFlags.flagKey(flagCount - 1);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WriterState {
+        private boolean value;
+    }
+}
@@ -0,0 +1,54 @@
+package com.laulem.featureaccessorcore.benchmark;
+
+import com.laulem.featureaccessorcore.tool.EnvResolver;
+import com.laulem.featureaccessorcore.tool.EnvSnapshot;
+import com.laulem.featureaccessorcore.tool.EnvTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EnvResolverBenchmark measures the throughput of resolving values with {@link EnvResolver}, against compiling
+ * the value once into an {@link EnvTemplate} resolved with a captured {@link EnvSnapshot}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnvResolverBenchmark {
+
+    @Param({"true", "${HOME}", "${FEATURE_ACCESSOR_BENCHMARK_UNDEFINED:false}", "${HOME}/${USER:anonymous}/flags"})
+    public String value;
+
+    private EnvTemplate template;
+    private EnvSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        template = EnvTemplate.compile(value);
+        snapshot = EnvSnapshot.capture();
+    }
+
+    @Benchmark
+    public String resolveEnvVars() {
+        return EnvResolver.resolveEnvVars(value);
+    }
+
+    @Benchmark
+    public String resolveCompiledTemplate() {
+        return template.resolve(snapshot);
+    }
+}
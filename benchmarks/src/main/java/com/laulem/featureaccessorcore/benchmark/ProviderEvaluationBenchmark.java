@@ -0,0 +1,101 @@
+package com.laulem.featureaccessorcore.benchmark;
+
+import com.laulem.featureaccessorcore.provider.CachingFeatureProvider;
+import com.laulem.featureaccessorcore.provider.InMemoryFlagProvider;
+import com.laulem.featureaccessorcore.provider.LambdaFlagProvider;
+import com.laulem.featureaccessorcore.provider.PropertiesFileFlagProvider;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.FeatureProvider;
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProviderEvaluationBenchmark measures the evaluation of a flag that each provider defines (hit) and of a flag
+ * it does not define (miss), among {@code flagCount} flags.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProviderEvaluationBenchmark {
+
+    @Param({"IN_MEMORY", "PROPERTIES", "LAMBDA", "CACHING"})
+    public String providerType;
+
+    @Param({"10", "1000"})
+    public int flagCount;
+
+    private FeatureProvider provider;
+    private EvaluationContext context;
+    private Path file;
+    private String hitKey;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = new ImmutableContext("user-42");
+        hitKey = BenchmarkFlags.flagKey(flagCount / 2);
+        provider = switch (providerType) {
+            case "IN_MEMORY" -> inMemoryProvider();
+            case "PROPERTIES" -> {
+                file = BenchmarkFlags.writePropertiesFile(flagCount);
+                yield new PropertiesFileFlagProvider(file);
+            }
+            case "LAMBDA" -> {
+                LambdaFlagProvider lambdaProvider = new LambdaFlagProvider();
+                for (int i = 0; i < flagCount; i++) {
+                    boolean value = i % 2 == 0;
+                    lambdaProvider.setFlag(BenchmarkFlags.flagKey(i), () -> value);
+                }
+                yield lambdaProvider;
+            }
+            case "CACHING" -> CachingFeatureProvider.of(inMemoryProvider(), 10_000);
+            default -> throw new IllegalArgumentException("Unknown provider type: " + providerType);
+        };
+    }
+
+    private InMemoryFlagProvider inMemoryProvider() {
+        InMemoryFlagProvider inMemoryProvider = new InMemoryFlagProvider();
+        for (int i = 0; i < flagCount; i++) {
+            inMemoryProvider.setFlag(BenchmarkFlags.flagKey(i), i % 2 == 0);
+        }
+        return inMemoryProvider;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        provider.shutdown();
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public ProviderEvaluation<Boolean> hit() {
+        return provider.getBooleanEvaluation(hitKey, false, context);
+    }
+
+    @Benchmark
+    public ProviderEvaluation<Boolean> miss() {
+        return provider.getBooleanEvaluation(BenchmarkFlags.MISSING_KEY, false, context);
+    }
+}
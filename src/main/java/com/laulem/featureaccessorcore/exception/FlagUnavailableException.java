@@ -0,0 +1,39 @@
+package com.laulem.featureaccessorcore.exception;
+
+import dev.openfeature.sdk.Value;
+
+/**
+ * Exception thrown when a flag value cannot be obtained, for instance because its supplier timed out or its
+ * circuit breaker is open. It may carry the last good value of the flag, to be returned as a stale value.
+ */
+public class FlagUnavailableException extends ProviderException {
+    private final transient Value fallbackValue;
+
+    public FlagUnavailableException(String message, Throwable cause, Value fallbackValue) {
+        super(message, cause);
+        this.fallbackValue = fallbackValue;
+    }
+
+    /**
+     * Constructs a FlagUnavailableException that can be thrown repeatedly: it has no suppressed exceptions and, when
+     * {@code writableStackTrace} is false, no stack trace.
+     *
+     * @param message            the detail message
+     * @param cause              the cause, possibly null
+     * @param fallbackValue      the last good value of the flag, possibly null
+     * @param writableStackTrace false to skip filling in the stack trace
+     */
+    public FlagUnavailableException(String message, Throwable cause, Value fallbackValue, boolean writableStackTrace) {
+        super(message, cause, writableStackTrace);
+        this.fallbackValue = fallbackValue;
+    }
+
+    /**
+     * Returns the last good value of the flag.
+     *
+     * @return the fallback value, or null if the flag never had one
+     */
+    public Value getFallbackValue() {
+        return fallbackValue;
+    }
+}
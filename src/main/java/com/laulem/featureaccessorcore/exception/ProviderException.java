@@ -7,4 +7,8 @@ public class ProviderException extends RuntimeException {
     public ProviderException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    protected ProviderException(String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, false, writableStackTrace);
+    }
 }
@@ -0,0 +1,11 @@
+package com.laulem.featureaccessorcore.exception;
+
+/**
+ * Exception thrown when a flag snapshot cannot be read because a write did not complete in time, for instance because
+ * its writer died mid-write.
+ */
+public class SnapshotWriteStalledException extends ProviderException {
+    public SnapshotWriteStalledException(String message) {
+        super(message, null);
+    }
+}
@@ -0,0 +1,30 @@
+package com.laulem.featureaccessorcore.provider;
+
+import dev.openfeature.sdk.EvaluationContext;
+
+import java.util.List;
+
+/**
+ * BulkFlagEvaluator is implemented by feature providers that can evaluate many flags for one context in a single call,
+ * walking their flag table once instead of being asked flag by flag.
+ * MultiFeatureProvider merges the bulk results of its providers in priority order.
+ */
+public interface BulkFlagEvaluator {
+    /**
+     * Evaluates every flag currently defined by this provider.
+     *
+     * @param ctx the evaluation context
+     * @return the values of the flags, keyed by normalized (upper-cased) flag key
+     */
+    FlagValues evaluateAll(EvaluationContext ctx);
+
+    /**
+     * Evaluates the given flags. The value at index i is the value of the i-th key, or null if this provider
+     * does not define that flag or cannot evaluate it.
+     *
+     * @param flagKeys the keys of the flags to evaluate
+     * @param ctx      the evaluation context
+     * @return the values of the flags, in the order of the keys
+     */
+    FlagValues evaluate(List<String> flagKeys, EvaluationContext ctx);
+}
@@ -0,0 +1,55 @@
+package com.laulem.featureaccessorcore.provider;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * CachePolicy configures how long LambdaFlagProvider keeps the value returned by a flag supplier.
+ * A value is fresh for the time to live. Once 80% of it has elapsed, evaluations keep returning the cached value
+ * while a virtual thread refreshes it. An expired value is still returned, while the refresh runs, for up to the
+ * max staleness; after that, evaluations wait for a new value.
+ */
+public final class CachePolicy {
+    private final Duration ttl;
+    private final Duration maxStaleness;
+
+    /**
+     * Constructs a CachePolicy.
+     *
+     * @param ttl          how long a value is fresh
+     * @param maxStaleness how long an expired value may still be returned while it is refreshed
+     */
+    public CachePolicy(Duration ttl, Duration maxStaleness) {
+        Objects.requireNonNull(ttl, "TTL cannot be null");
+        Objects.requireNonNull(maxStaleness, "Max staleness cannot be null");
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL must be positive");
+        }
+        if (maxStaleness.isNegative()) {
+            throw new IllegalArgumentException("Max staleness cannot be negative");
+        }
+        this.ttl = ttl;
+        this.maxStaleness = maxStaleness;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public Duration getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    long refreshAheadNanos() {
+        return ttl.toNanos() - ttl.toNanos() / 5;
+    }
+
+    long servableNanos() {
+        return saturatedAdd(ttl.toNanos(), maxStaleness.toNanos());
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
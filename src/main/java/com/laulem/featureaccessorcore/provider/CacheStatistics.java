@@ -0,0 +1,75 @@
+package com.laulem.featureaccessorcore.provider;
+
+import java.util.Locale;
+
+/**
+ * CacheStatistics is a snapshot of the counters of a CachingFeatureProvider.
+ */
+public final class CacheStatistics {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long rejectionCount;
+    private final long expirationCount;
+    private final int size;
+
+    /**
+     * Constructs a CacheStatistics.
+     *
+     * @param hitCount        the number of evaluations served from the cache
+     * @param missCount       the number of evaluations delegated to the wrapped provider
+     * @param evictionCount   the number of entries evicted to make room for more frequent ones
+     * @param rejectionCount  the number of results not cached because they were less frequent than the eviction candidate
+     * @param expirationCount the number of entries dropped because their time to live had elapsed
+     * @param size            the number of cached entries
+     */
+    public CacheStatistics(long hitCount, long missCount, long evictionCount, long rejectionCount, long expirationCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.rejectionCount = rejectionCount;
+        this.expirationCount = expirationCount;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getRejectionCount() {
+        return rejectionCount;
+    }
+
+    public long getExpirationCount() {
+        return expirationCount;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the share of evaluations served from the cache.
+     *
+     * @return the hit rate, in [0, 1], or 0 if nothing was evaluated
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "Cache of " + size + " entries: " + hitCount + " hits, " + missCount + " misses (hit rate "
+                + String.format(Locale.ROOT, "%.1f", getHitRate() * 100) + "%), " + evictionCount + " evictions, "
+                + rejectionCount + " rejections, " + expirationCount + " expirations";
+    }
+}
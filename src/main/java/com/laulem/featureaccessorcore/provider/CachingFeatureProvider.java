@@ -0,0 +1,362 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.tool.EvaluationTool;
+import com.laulem.featureaccessorcore.tool.FrequencySketch;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.FeatureProvider;
+import dev.openfeature.sdk.Hook;
+import dev.openfeature.sdk.Metadata;
+import dev.openfeature.sdk.ProviderEvaluation;
+import dev.openfeature.sdk.Value;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * CachingFeatureProvider is a feature provider that caches the evaluations of any other provider.
+ * Evaluations are cached by flag key, value type and the values of the context attributes that the flags depend on:
+ * the whole context by default, or only the configured attributes, such as {@code targetingKey} and {@code country}.
+ * Only successful evaluations are cached; errors and stale values are always delegated again.
+ * <p>
+ * The cache is bounded. Once it is full, a new result is only admitted if it was requested more often recently than
+ * the oldest entry, estimated with a {@link FrequencySketch} (TinyLFU admission), so a burst of one-off contexts
+ * does not flush the popular ones. Entries can also expire after a time to live, and be invalidated explicitly.
+ * When the wrapped provider is a {@link FlagChangeSource}, such as a {@link MultiFeatureProvider}, an
+ * {@link InMemoryFlagProvider} or a {@link PropertiesFileFlagProvider}, the evaluations of the flags it reports as
+ * changed are invalidated. Notifications are asynchronous, so a changed flag can be served from the cache until its
+ * notification is delivered.
+ */
+public class CachingFeatureProvider implements FeatureProvider {
+    private static final String TARGETING_KEY = "targetingKey";
+
+    private final FeatureProvider delegate;
+    private final int maximumSize;
+    private final String[] contextAttributes;
+    private final Map<CacheKey, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<CacheKey> insertionOrder = new LinkedHashSet<>();
+    private final ReentrantLock admissionLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private volatile long timeToLiveNanos;
+    /**
+     * Number of invalidations, incremented under the admission lock, so an evaluation computed before an invalidation
+     * is not cached after it.
+     */
+    private volatile long invalidations;
+    private final Consumer<Set<String>> changeListener = this::invalidate;
+
+    /**
+     * Constructs a CachingFeatureProvider. The change listener of a {@link FlagChangeSource} delegate is registered
+     * by {@link #of(FeatureProvider, int, Collection)}, once the provider is constructed.
+     *
+     * @param delegate          the provider whose evaluations are cached
+     * @param maximumSize       the maximum number of cached evaluations
+     * @param contextAttributes the attributes the flags depend on, or null to include the whole context
+     */
+    protected CachingFeatureProvider(FeatureProvider delegate, int maximumSize, Collection<String> contextAttributes) {
+        this.delegate = Objects.requireNonNull(delegate, "Delegate cannot be null");
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.contextAttributes = contextAttributes == null ? null : contextAttributes.toArray(new String[0]);
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Creates a CachingFeatureProvider whose cache keys include the whole evaluation context.
+     *
+     * @param delegate    the provider whose evaluations are cached
+     * @param maximumSize the maximum number of cached evaluations
+     * @return the caching provider
+     */
+    public static CachingFeatureProvider of(FeatureProvider delegate, int maximumSize) {
+        return of(delegate, maximumSize, null);
+    }
+
+    /**
+     * Creates a CachingFeatureProvider whose cache keys only include the given context attributes.
+     * Flags depending on other attributes would be served the result computed for another context.
+     *
+     * @param delegate          the provider whose evaluations are cached
+     * @param maximumSize       the maximum number of cached evaluations
+     * @param contextAttributes the attributes the flags depend on, {@code targetingKey} being the targeting key,
+     *                          or null to include the whole context
+     * @return the caching provider
+     */
+    public static CachingFeatureProvider of(FeatureProvider delegate, int maximumSize, Collection<String> contextAttributes) {
+        CachingFeatureProvider provider = new CachingFeatureProvider(delegate, maximumSize, contextAttributes);
+        if (delegate instanceof FlagChangeSource source) {
+            source.addFlagChangeListener(provider.changeListener);
+        }
+        return provider;
+    }
+
+    /**
+     * Sets the time after which a cached evaluation is evaluated again.
+     *
+     * @param timeToLive the time to live, or null to keep evaluations until they are evicted or invalidated
+     */
+    public void setTimeToLive(Duration timeToLive) {
+        if (timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+            throw new IllegalArgumentException("Time to live must be positive: " + timeToLive);
+        }
+        this.timeToLiveNanos = timeToLive == null ? 0 : timeToLive.toNanos();
+    }
+
+    public Duration getTimeToLive() {
+        long nanos = timeToLiveNanos;
+        return nanos == 0 ? null : Duration.ofNanos(nanos);
+    }
+
+    /**
+     * Invalidates the cached evaluations of a flag, for every context.
+     *
+     * @param flagKey the flag key, compared ignoring case
+     */
+    public void invalidate(String flagKey) {
+        removeIf(key -> key.flagKey.equalsIgnoreCase(flagKey));
+    }
+
+    /**
+     * Invalidates the cached evaluations of the given flags, for every context.
+     *
+     * @param flagKeys the flag keys, compared ignoring case
+     */
+    public void invalidate(Collection<String> flagKeys) {
+        Set<String> normalizedKeys = new LinkedHashSet<>();
+        for (String flagKey : flagKeys) {
+            normalizedKeys.add(flagKey.toUpperCase(Locale.ROOT));
+        }
+        removeIf(key -> normalizedKeys.contains(key.flagKey.toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Invalidates every cached evaluation.
+     */
+    public void invalidateAll() {
+        admissionLock.lock();
+        try {
+            invalidations++;
+            entries.clear();
+            insertionOrder.clear();
+        } finally {
+            admissionLock.unlock();
+        }
+    }
+
+    private void removeIf(Predicate<CacheKey> filter) {
+        admissionLock.lock();
+        try {
+            invalidations++;
+            entries.keySet().removeIf(filter);
+            insertionOrder.removeIf(filter);
+        } finally {
+            admissionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current counters of the cache.
+     *
+     * @return the cache statistics
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), rejections.sum(), expirations.sum(), entries.size());
+    }
+
+    public FeatureProvider getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        return () -> "CachingFeatureProvider";
+    }
+
+    @Override
+    // FeatureProvider declares this method with the raw Hook type, so the override must keep it.
+    @SuppressWarnings("rawtypes")
+    public List<Hook> getProviderHooks() {
+        return delegate.getProviderHooks();
+    }
+
+    @Override
+    public void initialize(EvaluationContext evaluationContext) throws Exception {
+        delegate.initialize(evaluationContext);
+    }
+
+    @Override
+    public void shutdown() {
+        if (delegate instanceof FlagChangeSource source) {
+            source.removeFlagChangeListener(changeListener);
+        }
+        delegate.shutdown();
+        invalidateAll();
+    }
+
+    @Override
+    public ProviderEvaluation<Boolean> getBooleanEvaluation(String flagKey, Boolean defaultValue, EvaluationContext ctx) {
+        return cached(flagKey, ValueType.BOOLEAN, ctx, () -> delegate.getBooleanEvaluation(flagKey, defaultValue, ctx));
+    }
+
+    @Override
+    public ProviderEvaluation<String> getStringEvaluation(String flagKey, String defaultValue, EvaluationContext ctx) {
+        return cached(flagKey, ValueType.STRING, ctx, () -> delegate.getStringEvaluation(flagKey, defaultValue, ctx));
+    }
+
+    @Override
+    public ProviderEvaluation<Integer> getIntegerEvaluation(String flagKey, Integer defaultValue, EvaluationContext ctx) {
+        return cached(flagKey, ValueType.INTEGER, ctx, () -> delegate.getIntegerEvaluation(flagKey, defaultValue, ctx));
+    }
+
+    @Override
+    public ProviderEvaluation<Double> getDoubleEvaluation(String flagKey, Double defaultValue, EvaluationContext ctx) {
+        return cached(flagKey, ValueType.DOUBLE, ctx, () -> delegate.getDoubleEvaluation(flagKey, defaultValue, ctx));
+    }
+
+    @Override
+    public ProviderEvaluation<Value> getObjectEvaluation(String flagKey, Value defaultValue, EvaluationContext ctx) {
+        return cached(flagKey, ValueType.OBJECT, ctx, () -> delegate.getObjectEvaluation(flagKey, defaultValue, ctx));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ProviderEvaluation<T> cached(String flagKey, ValueType type, EvaluationContext ctx, Supplier<ProviderEvaluation<T>> evaluation) {
+        CacheKey key = new CacheKey(flagKey, type, fingerprint(ctx));
+        sketch.increment(key.hash);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (!entry.isExpired(System.nanoTime())) {
+                hits.increment();
+                return (ProviderEvaluation<T>) entry.evaluation;
+            }
+            if (entries.remove(key, entry)) {
+                expirations.increment();
+            }
+        }
+
+        misses.increment();
+        long invalidationsBefore = invalidations;
+        ProviderEvaluation<T> result = evaluation.get();
+        if (isCacheable(result)) {
+            long ttl = timeToLiveNanos;
+            admit(key, new Entry(result, ttl == 0 ? 0 : System.nanoTime() + ttl), invalidationsBefore);
+        }
+        return result;
+    }
+
+    private static boolean isCacheable(ProviderEvaluation<?> result) {
+        return result != null && result.getErrorCode() == null && !EvaluationTool.STALE_REASON.equals(result.getReason());
+    }
+
+    /**
+     * Caches an evaluation. When the cache is full, the oldest entry is evicted if the new key is more frequent,
+     * otherwise the evaluation is not cached and the oldest entry gets another chance. An evaluation started before
+     * an invalidation is not cached, as it may predate the change that caused it.
+     */
+    private void admit(CacheKey key, Entry entry, long invalidationsBefore) {
+        admissionLock.lock();
+        try {
+            if (invalidations != invalidationsBefore) {
+                return;
+            }
+            while (!entries.containsKey(key) && insertionOrder.size() >= maximumSize) {
+                CacheKey victim = insertionOrder.iterator().next();
+                insertionOrder.remove(victim);
+                if (!entries.containsKey(victim)) {
+                    // The entry expired in the meantime.
+                    continue;
+                }
+                if (sketch.frequency(key.hash) <= sketch.frequency(victim.hash)) {
+                    insertionOrder.add(victim);
+                    rejections.increment();
+                    return;
+                }
+                entries.remove(victim);
+                evictions.increment();
+            }
+            entries.put(key, entry);
+            insertionOrder.add(key);
+        } finally {
+            admissionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the values of the context that the flags depend on.
+     */
+    private Object[] fingerprint(EvaluationContext ctx) {
+        if (ctx == null) {
+            return null;
+        }
+        if (contextAttributes == null) {
+            return new Object[]{ctx.getTargetingKey(), ctx.asMap()};
+        }
+        Object[] values = new Object[contextAttributes.length];
+        for (int i = 0; i < values.length; i++) {
+            String attribute = contextAttributes[i];
+            values[i] = TARGETING_KEY.equals(attribute) ? ctx.getTargetingKey() : ctx.getValue(attribute);
+        }
+        return values;
+    }
+
+    private enum ValueType {
+        BOOLEAN, STRING, INTEGER, DOUBLE, OBJECT
+    }
+
+    private static final class CacheKey {
+        private final String flagKey;
+        private final ValueType type;
+        private final Object[] context;
+        private final int hash;
+
+        private CacheKey(String flagKey, ValueType type, Object[] context) {
+            this.flagKey = flagKey;
+            this.type = type;
+            this.context = context;
+            this.hash = 31 * (31 * flagKey.hashCode() + type.ordinal()) + Arrays.hashCode(context);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CacheKey other && hash == other.hash && type == other.type
+                    && flagKey.equals(other.flagKey) && Arrays.equals(context, other.context);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        private final ProviderEvaluation<?> evaluation;
+        private final long expiresAt;
+
+        private Entry(ProviderEvaluation<?> evaluation, long expiresAt) {
+            this.evaluation = evaluation;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt != 0 && now - expiresAt >= 0;
+        }
+    }
+}
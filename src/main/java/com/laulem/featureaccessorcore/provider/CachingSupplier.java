@@ -0,0 +1,107 @@
+package com.laulem.featureaccessorcore.provider;
+
+import dev.openfeature.sdk.Value;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * CachingSupplier memoizes the value of a flag supplier according to a {@link CachePolicy}.
+ * At most one call to the source runs at a time: concurrent evaluations that need a new value wait for the
+ * same call. When the source returns the same instance as before, the previous Value wrapper is reused.
+ *
+ * @param <R> the type returned by the source supplier
+ */
+final class CachingSupplier<R> implements Supplier<Value> {
+    private final Supplier<R> source;
+    private final Function<R, Value> wrapper;
+    private final long refreshAheadNanos;
+    private final long servableNanos;
+    private final AtomicReference<CompletableFuture<Entry<R>>> refresh = new AtomicReference<>();
+    private volatile Entry<R> entry;
+
+    CachingSupplier(Supplier<R> source, Function<R, Value> wrapper, CachePolicy policy) {
+        this.source = source;
+        this.wrapper = wrapper;
+        this.refreshAheadNanos = policy.refreshAheadNanos();
+        this.servableNanos = policy.servableNanos();
+    }
+
+    @Override
+    public Value get() {
+        Entry<R> current = entry;
+        if (current != null) {
+            long age = System.nanoTime() - current.loadedAt;
+            if (age < refreshAheadNanos) {
+                return current.value;
+            }
+            if (age < servableNanos) {
+                refresh(false);
+                return current.value;
+            }
+        }
+        try {
+            return refresh(true).join().value;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Starts a refresh unless one is already running, and returns the running one.
+     *
+     * @param wait true to run the refresh on the calling thread, false to run it on a virtual thread
+     * @return the refresh
+     */
+    private CompletableFuture<Entry<R>> refresh(boolean wait) {
+        while (true) {
+            CompletableFuture<Entry<R>> running = refresh.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<Entry<R>> created = new CompletableFuture<>();
+            if (refresh.compareAndSet(null, created)) {
+                Runnable load = () -> load(created);
+                if (wait) {
+                    load.run();
+                } else {
+                    Thread.ofVirtual().name("feature-accessor-refresh").start(load);
+                }
+                return created;
+            }
+        }
+    }
+
+    private void load(CompletableFuture<Entry<R>> future) {
+        try {
+            R raw = source.get();
+            Entry<R> previous = entry;
+            Value value = previous != null && previous.raw == raw ? previous.value : wrapper.apply(raw);
+            Entry<R> loaded = new Entry<>(raw, value, System.nanoTime());
+            entry = loaded;
+            refresh.set(null);
+            future.complete(loaded);
+        } catch (Throwable t) {
+            refresh.set(null);
+            future.completeExceptionally(t);
+        }
+    }
+
+    private static final class Entry<R> {
+        private final R raw;
+        private final Value value;
+        private final long loadedAt;
+
+        private Entry(R raw, Value value, long loadedAt) {
+            this.raw = raw;
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
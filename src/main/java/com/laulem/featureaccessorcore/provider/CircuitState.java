@@ -0,0 +1,19 @@
+package com.laulem.featureaccessorcore.provider;
+
+/**
+ * CircuitState is the state of the circuit breaker guarding a flag supplier.
+ */
+public enum CircuitState {
+    /**
+     * The supplier is called normally.
+     */
+    CLOSED,
+    /**
+     * The supplier failed too many times in a row and is not called until the open duration has elapsed.
+     */
+    OPEN,
+    /**
+     * The open duration has elapsed and a single trial call decides whether the circuit closes or opens again.
+     */
+    HALF_OPEN
+}
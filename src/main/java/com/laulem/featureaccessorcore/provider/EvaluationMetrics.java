@@ -0,0 +1,255 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.exception.ProviderException;
+import com.laulem.featureaccessorcore.tool.EvaluationTool;
+import com.laulem.featureaccessorcore.tool.FlagKeyIndex;
+import com.laulem.featureaccessorcore.tool.LatencyHistogram;
+import dev.openfeature.sdk.ErrorCode;
+import dev.openfeature.sdk.ProviderEvaluation;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * EvaluationMetrics counts flag evaluations, by flag and by reason, the hits and misses of the providers of a chain,
+ * and their latencies. Counters are {@link LongAdder}s and latencies {@link LatencyHistogram}s, so recording takes no
+ * lock and, once a flag has been seen, allocates nothing.
+ * <p>
+ * Metrics are opt-in: wrap a provider in an {@link InstrumentedFeatureProvider}, or set them on a
+ * {@link MultiFeatureProvider}. They can be read with {@link #snapshot()} or registered as an MXBean.
+ * At most a given number of distinct flag keys are tracked, further keys being counted under {@value #OTHER_FLAGS}.
+ */
+public class EvaluationMetrics implements EvaluationMetricsMXBean {
+    public static final String OTHER_FLAGS = "*";
+    public static final int DEFAULT_MAXIMUM_FLAGS = 10_000;
+    private static final String UNKNOWN_REASON = "UNKNOWN";
+
+    private final int maximumFlags;
+    private final Map<String, FlagCounters> flags = new ConcurrentHashMap<>();
+    private final Map<String, ProviderCounters> providers = new ConcurrentHashMap<>();
+
+    public EvaluationMetrics() {
+        this(DEFAULT_MAXIMUM_FLAGS);
+    }
+
+    /**
+     * Constructs an EvaluationMetrics tracking a bounded number of flag keys.
+     *
+     * @param maximumFlags the maximum number of distinct flag keys tracked
+     */
+    public EvaluationMetrics(int maximumFlags) {
+        if (maximumFlags <= 0) {
+            throw new IllegalArgumentException("Maximum number of flags must be positive: " + maximumFlags);
+        }
+        this.maximumFlags = maximumFlags;
+    }
+
+    /**
+     * Records the evaluation of a flag.
+     *
+     * @param flagKey    the flag key, as requested
+     * @param evaluation the evaluation result, possibly null
+     * @param nanos      the evaluation duration in nanoseconds
+     */
+    public void recordEvaluation(String flagKey, ProviderEvaluation<?> evaluation, long nanos) {
+        FlagCounters counters = flags.get(flagKey);
+        if (counters == null) {
+            counters = flags.size() < maximumFlags
+                    ? flags.computeIfAbsent(flagKey, key -> new FlagCounters())
+                    : flags.computeIfAbsent(OTHER_FLAGS, key -> new FlagCounters());
+        }
+        counters.record(evaluation, nanos);
+    }
+
+    /**
+     * Records the answer of a provider of a chain.
+     *
+     * @param providerName the provider name
+     * @param hit          true if the provider evaluated the flag without error
+     * @param nanos        the evaluation duration in nanoseconds
+     */
+    public void recordProviderEvaluation(String providerName, boolean hit, long nanos) {
+        ProviderCounters counters = providers.get(providerName);
+        if (counters == null) {
+            counters = providers.computeIfAbsent(providerName, key -> new ProviderCounters());
+        }
+        (hit ? counters.hits : counters.misses).increment();
+        counters.latency.record(nanos);
+    }
+
+    /**
+     * Returns the current counters. Flag keys differing only by case are merged.
+     *
+     * @return the evaluation statistics
+     */
+    public EvaluationStatistics snapshot() {
+        Map<String, EvaluationStatistics.FlagStatistics> flagStatistics = new TreeMap<>();
+        for (Map.Entry<String, FlagCounters> flag : flags.entrySet()) {
+            String flagKey = OTHER_FLAGS.equals(flag.getKey()) ? OTHER_FLAGS : FlagKeyIndex.normalize(flag.getKey());
+            EvaluationStatistics.FlagStatistics statistics = flag.getValue().snapshot(flagKey);
+            flagStatistics.merge(flagKey, statistics, EvaluationMetrics::merge);
+        }
+        Map<String, EvaluationStatistics.ProviderStatistics> providerStatistics = new TreeMap<>();
+        for (Map.Entry<String, ProviderCounters> provider : providers.entrySet()) {
+            ProviderCounters counters = provider.getValue();
+            providerStatistics.put(provider.getKey(), new EvaluationStatistics.ProviderStatistics(provider.getKey(),
+                    counters.hits.sum(), counters.misses.sum(), counters.latency.snapshot()));
+        }
+        return new EvaluationStatistics(flagStatistics, providerStatistics);
+    }
+
+    private static EvaluationStatistics.FlagStatistics merge(EvaluationStatistics.FlagStatistics first, EvaluationStatistics.FlagStatistics second) {
+        Map<String, Long> reasonCounts = new TreeMap<>(first.getReasonCounts());
+        second.getReasonCounts().forEach((reason, count) -> reasonCounts.merge(reason, count, Long::sum));
+        return new EvaluationStatistics.FlagStatistics(first.getFlagKey(), reasonCounts,
+                first.getFlagNotFoundCount() + second.getFlagNotFoundCount(), first.getLatency().merge(second.getLatency()));
+    }
+
+    /**
+     * Clears every counter and forgets the tracked flags and providers.
+     */
+    @Override
+    public void reset() {
+        flags.clear();
+        providers.clear();
+    }
+
+    /**
+     * Registers the metrics as an MXBean of the platform MBean server.
+     *
+     * @param objectName the object name, such as {@code com.laulem.featureaccessor:type=EvaluationMetrics,name=app}
+     * @throws ProviderException if the name is invalid or already registered
+     */
+    public void register(String objectName) {
+        Objects.requireNonNull(objectName, "Object name cannot be null");
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(objectName));
+        } catch (JMException e) {
+            throw new ProviderException("Unable to register evaluation metrics as " + objectName, e);
+        }
+    }
+
+    /**
+     * Unregisters the metrics from the platform MBean server, if they are registered under the given name.
+     *
+     * @param objectName the object name given to {@link #register(String)}
+     */
+    public void unregister(String objectName) {
+        Objects.requireNonNull(objectName, "Object name cannot be null");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(objectName);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new ProviderException("Unable to unregister evaluation metrics " + objectName, e);
+        }
+    }
+
+    @Override
+    public long getEvaluationCount() {
+        return snapshot().getEvaluationCount();
+    }
+
+    @Override
+    public Map<String, Long> getEvaluationCounts() {
+        return flagValues(EvaluationStatistics.FlagStatistics::getEvaluationCount);
+    }
+
+    @Override
+    public Map<String, Long> getReasonCounts() {
+        Map<String, Long> reasonCounts = new TreeMap<>();
+        for (EvaluationStatistics.FlagStatistics flag : snapshot().getFlags().values()) {
+            flag.getReasonCounts().forEach((reason, count) -> reasonCounts.merge(reason, count, Long::sum));
+        }
+        return reasonCounts;
+    }
+
+    @Override
+    public Map<String, Long> getFlagNotFoundCounts() {
+        return flagValues(EvaluationStatistics.FlagStatistics::getFlagNotFoundCount);
+    }
+
+    @Override
+    public Map<String, Double> getLatencyP99Micros() {
+        return flagValues(flag -> flag.getLatency().getPercentileNanos(99) / 1000.0);
+    }
+
+    @Override
+    public Map<String, Long> getProviderHitCounts() {
+        return providerValues(EvaluationStatistics.ProviderStatistics::getHitCount);
+    }
+
+    @Override
+    public Map<String, Long> getProviderMissCounts() {
+        return providerValues(EvaluationStatistics.ProviderStatistics::getMissCount);
+    }
+
+    @Override
+    public Map<String, Double> getProviderLatencyP99Micros() {
+        return providerValues(provider -> provider.getLatency().getPercentileNanos(99) / 1000.0);
+    }
+
+    private <V> Map<String, V> flagValues(Function<EvaluationStatistics.FlagStatistics, V> extractor) {
+        Map<String, V> values = new LinkedHashMap<>();
+        snapshot().getFlags().forEach((flagKey, flag) -> values.put(flagKey, extractor.apply(flag)));
+        return values;
+    }
+
+    private <V> Map<String, V> providerValues(Function<EvaluationStatistics.ProviderStatistics, V> extractor) {
+        Map<String, V> values = new LinkedHashMap<>();
+        snapshot().getProviders().forEach((providerName, provider) -> values.put(providerName, extractor.apply(provider)));
+        return values;
+    }
+
+    private static final class FlagCounters {
+        private final Map<String, LongAdder> reasons = new ConcurrentHashMap<>();
+        private final LongAdder flagNotFound = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private void record(ProviderEvaluation<?> evaluation, long nanos) {
+            String reason = reasonOf(evaluation);
+            LongAdder counter = reasons.get(reason);
+            if (counter == null) {
+                counter = reasons.computeIfAbsent(reason, key -> new LongAdder());
+            }
+            counter.increment();
+            if (evaluation != null && evaluation.getErrorCode() == ErrorCode.FLAG_NOT_FOUND) {
+                flagNotFound.increment();
+            }
+            latency.record(nanos);
+        }
+
+        private static String reasonOf(ProviderEvaluation<?> evaluation) {
+            if (evaluation == null) {
+                return EvaluationTool.ERROR_REASON;
+            }
+            if (evaluation.getReason() != null) {
+                return evaluation.getReason();
+            }
+            return evaluation.getErrorCode() != null ? EvaluationTool.ERROR_REASON : UNKNOWN_REASON;
+        }
+
+        private EvaluationStatistics.FlagStatistics snapshot(String flagKey) {
+            Map<String, Long> reasonCounts = new TreeMap<>();
+            reasons.forEach((reason, count) -> reasonCounts.put(reason, count.sum()));
+            return new EvaluationStatistics.FlagStatistics(flagKey, reasonCounts, flagNotFound.sum(), latency.snapshot());
+        }
+    }
+
+    private static final class ProviderCounters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+    }
+}
@@ -0,0 +1,28 @@
+package com.laulem.featureaccessorcore.provider;
+
+import java.util.Map;
+
+/**
+ * EvaluationMetricsMXBean is the JMX view of {@link EvaluationMetrics}. Flags and providers are keyed by name;
+ * latencies are in microseconds.
+ */
+public interface EvaluationMetricsMXBean {
+
+    long getEvaluationCount();
+
+    Map<String, Long> getEvaluationCounts();
+
+    Map<String, Long> getReasonCounts();
+
+    Map<String, Long> getFlagNotFoundCounts();
+
+    Map<String, Double> getLatencyP99Micros();
+
+    Map<String, Long> getProviderHitCounts();
+
+    Map<String, Long> getProviderMissCounts();
+
+    Map<String, Double> getProviderLatencyP99Micros();
+
+    void reset();
+}
@@ -0,0 +1,192 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.tool.FlagKeyIndex;
+import com.laulem.featureaccessorcore.tool.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * EvaluationStatistics is a snapshot of the counters of an {@link EvaluationMetrics}: the evaluations of every
+ * flag, by reason, and the hits and misses of every provider of a chain.
+ */
+public final class EvaluationStatistics {
+    private final Map<String, FlagStatistics> flags;
+    private final Map<String, ProviderStatistics> providers;
+
+    /**
+     * Constructs an EvaluationStatistics.
+     *
+     * @param flags     the statistics of each flag, by normalized flag key
+     * @param providers the statistics of each provider, by provider name
+     */
+    public EvaluationStatistics(Map<String, FlagStatistics> flags, Map<String, ProviderStatistics> providers) {
+        this.flags = Collections.unmodifiableMap(flags);
+        this.providers = Collections.unmodifiableMap(providers);
+    }
+
+    public Map<String, FlagStatistics> getFlags() {
+        return flags;
+    }
+
+    public Map<String, ProviderStatistics> getProviders() {
+        return providers;
+    }
+
+    /**
+     * Returns the statistics of a flag.
+     *
+     * @param flagKey the flag key, compared ignoring case
+     * @return the statistics, or null if the flag was never evaluated
+     */
+    public FlagStatistics getFlag(String flagKey) {
+        return flags.get(FlagKeyIndex.normalize(flagKey));
+    }
+
+    /**
+     * Returns the statistics of a provider.
+     *
+     * @param providerName the provider name, from its metadata
+     * @return the statistics, or null if the provider was never asked
+     */
+    public ProviderStatistics getProvider(String providerName) {
+        return providers.get(providerName);
+    }
+
+    /**
+     * Returns the number of evaluations of all flags.
+     *
+     * @return the evaluation count
+     */
+    public long getEvaluationCount() {
+        long count = 0;
+        for (FlagStatistics flag : flags.values()) {
+            count += flag.getEvaluationCount();
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return getEvaluationCount() + " evaluations of " + flags.size() + " flags, " + providers.size() + " providers";
+    }
+
+    /**
+     * FlagStatistics holds the evaluations of one flag.
+     */
+    public static final class FlagStatistics {
+        private final String flagKey;
+        private final Map<String, Long> reasonCounts;
+        private final long flagNotFoundCount;
+        private final LatencyHistogram.Snapshot latency;
+
+        /**
+         * Constructs a FlagStatistics.
+         *
+         * @param flagKey           the normalized flag key
+         * @param reasonCounts      the number of evaluations by reason
+         * @param flagNotFoundCount the number of evaluations that did not find the flag
+         * @param latency           the evaluation durations
+         */
+        public FlagStatistics(String flagKey, Map<String, Long> reasonCounts, long flagNotFoundCount, LatencyHistogram.Snapshot latency) {
+            this.flagKey = flagKey;
+            this.reasonCounts = Collections.unmodifiableMap(reasonCounts);
+            this.flagNotFoundCount = flagNotFoundCount;
+            this.latency = latency;
+        }
+
+        public String getFlagKey() {
+            return flagKey;
+        }
+
+        public Map<String, Long> getReasonCounts() {
+            return reasonCounts;
+        }
+
+        /**
+         * Returns the number of evaluations with the given reason.
+         *
+         * @param reason the reason, such as STATIC, DEFAULT or ERROR
+         * @return the count
+         */
+        public long getReasonCount(String reason) {
+            return reasonCounts.getOrDefault(reason, 0L);
+        }
+
+        public long getFlagNotFoundCount() {
+            return flagNotFoundCount;
+        }
+
+        public long getEvaluationCount() {
+            return latency.getCount();
+        }
+
+        public LatencyHistogram.Snapshot getLatency() {
+            return latency;
+        }
+
+        @Override
+        public String toString() {
+            return flagKey + ": " + getEvaluationCount() + " evaluations " + reasonCounts + ", p99 "
+                    + latency.getPercentileNanos(99) + " ns";
+        }
+    }
+
+    /**
+     * ProviderStatistics holds the answers of one provider of a chain: a hit is a successful evaluation, a miss an
+     * evaluation with an error, which makes the chain ask the next provider.
+     */
+    public static final class ProviderStatistics {
+        private final String providerName;
+        private final long hitCount;
+        private final long missCount;
+        private final LatencyHistogram.Snapshot latency;
+
+        /**
+         * Constructs a ProviderStatistics.
+         *
+         * @param providerName the provider name
+         * @param hitCount     the number of successful evaluations
+         * @param missCount    the number of evaluations with an error
+         * @param latency      the evaluation durations
+         */
+        public ProviderStatistics(String providerName, long hitCount, long missCount, LatencyHistogram.Snapshot latency) {
+            this.providerName = providerName;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.latency = latency;
+        }
+
+        public String getProviderName() {
+            return providerName;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public LatencyHistogram.Snapshot getLatency() {
+            return latency;
+        }
+
+        /**
+         * Returns the share of evaluations the provider answered.
+         *
+         * @return the hit rate, in [0, 1], or 0 if the provider was never asked
+         */
+        public double getHitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 0 : (double) hitCount / requests;
+        }
+
+        @Override
+        public String toString() {
+            return providerName + ": " + hitCount + " hits, " + missCount + " misses, p99 "
+                    + latency.getPercentileNanos(99) + " ns";
+        }
+    }
+}
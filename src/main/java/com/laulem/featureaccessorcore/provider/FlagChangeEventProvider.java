@@ -0,0 +1,63 @@
+package com.laulem.featureaccessorcore.provider;
+
+import dev.openfeature.sdk.EventProvider;
+import dev.openfeature.sdk.ProviderEventDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * FlagChangeEventProvider is the base of the event providers that are a {@link FlagChangeSource}.
+ * The changes published by the provider are delivered to its listeners, and emitted as CONFIGURATION_CHANGED
+ * events naming the changed flags if the provider is attached to OpenFeature.
+ */
+public abstract class FlagChangeEventProvider extends EventProvider implements FlagChangeSource {
+    private final FlagChangeNotifier changeNotifier = new FlagChangeNotifier(this::emitFlagsChanged);
+
+    @Override
+    public final void subscribe(String flagKey, Consumer<String> listener) {
+        changeNotifier.subscribe(flagKey, listener);
+    }
+
+    @Override
+    public final void unsubscribe(String flagKey, Consumer<String> listener) {
+        changeNotifier.unsubscribe(flagKey, listener);
+    }
+
+    @Override
+    public final void addFlagChangeListener(Consumer<Set<String>> listener) {
+        changeNotifier.addChangeListener(listener);
+    }
+
+    @Override
+    public final void removeFlagChangeListener(Consumer<Set<String>> listener) {
+        changeNotifier.removeChangeListener(listener);
+    }
+
+    /**
+     * Schedules the notification of changed flags.
+     *
+     * @param changedKeys the normalized keys of the changed flags
+     */
+    protected final void publishFlagChanges(Collection<String> changedKeys) {
+        changeNotifier.publish(changedKeys);
+    }
+
+    /**
+     * Returns the message of the CONFIGURATION_CHANGED events.
+     *
+     * @return the event message
+     */
+    protected String getFlagsChangedMessage() {
+        return "Feature flags changed";
+    }
+
+    private void emitFlagsChanged(Set<String> changedKeys) {
+        emitProviderConfigurationChanged(ProviderEventDetails.builder()
+                .flagsChanged(List.copyOf(changedKeys))
+                .message(getFlagsChangedMessage())
+                .build());
+    }
+}
@@ -0,0 +1,143 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.tool.FlagDefinition;
+import com.laulem.featureaccessorcore.tool.FlagEvaluations;
+import com.laulem.featureaccessorcore.tool.FlagKeyIndex;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * FlagChangeNotifier delivers the flag changes of a provider to its {@link FlagChangeSource} listeners.
+ * Changed keys are added to a pending set, and a single dispatch at a time drains it on the executor: the keys
+ * changed again before the dispatch reaches them are notified once, and publishing never waits for listeners.
+ */
+final class FlagChangeNotifier {
+    private static final Logger LOGGER = Logger.getLogger(FlagChangeNotifier.class.getName());
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Executor executor;
+    private final Consumer<Set<String>> changeHandler;
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ConcurrentHashMap<String, List<Consumer<String>>> keyListeners = new ConcurrentHashMap<>();
+    private final List<Consumer<Set<String>>> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a FlagChangeNotifier dispatching on a shared executor of virtual threads.
+     *
+     * @param changeHandler called first with every batch of changed keys, typically to emit a provider event
+     */
+    FlagChangeNotifier(Consumer<Set<String>> changeHandler) {
+        this(DEFAULT_EXECUTOR, changeHandler);
+    }
+
+    FlagChangeNotifier(Executor executor, Consumer<Set<String>> changeHandler) {
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+        this.changeHandler = Objects.requireNonNull(changeHandler, "Change handler cannot be null");
+    }
+
+    /**
+     * Returns whether two definitions of a flag hold the same static value, or are the same definition.
+     */
+    static boolean sameDefinition(FlagDefinition previous, FlagDefinition next) {
+        if (previous instanceof FlagEvaluations previousEvaluations && next instanceof FlagEvaluations nextEvaluations) {
+            return previousEvaluations.getValue().equals(nextEvaluations.getValue());
+        }
+        return Objects.equals(previous, next);
+    }
+
+    void subscribe(String flagKey, Consumer<String> listener) {
+        Objects.requireNonNull(flagKey, "Flag key cannot be null");
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        keyListeners.computeIfAbsent(FlagKeyIndex.normalize(flagKey), key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    void unsubscribe(String flagKey, Consumer<String> listener) {
+        Objects.requireNonNull(flagKey, "Flag key cannot be null");
+        keyListeners.computeIfPresent(FlagKeyIndex.normalize(flagKey), (key, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    void addChangeListener(Consumer<Set<String>> listener) {
+        changeListeners.add(Objects.requireNonNull(listener, "Listener cannot be null"));
+    }
+
+    void removeChangeListener(Consumer<Set<String>> listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Schedules the notification of changed flags.
+     *
+     * @param changedKeys the normalized keys of the changed flags
+     */
+    void publish(Collection<String> changedKeys) {
+        if (changedKeys.isEmpty()) {
+            return;
+        }
+        pendingKeys.addAll(changedKeys);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::dispatch);
+        }
+    }
+
+    private void dispatch() {
+        do {
+            Set<String> batch = drainPendingKeys();
+            if (!batch.isEmpty()) {
+                notifyListeners(batch);
+            }
+            scheduled.set(false);
+            // Keys published after the drain but before the flag was cleared did not schedule a dispatch.
+        } while (!pendingKeys.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+
+    private Set<String> drainPendingKeys() {
+        Set<String> batch = new LinkedHashSet<>();
+        for (Iterator<String> keys = pendingKeys.iterator(); keys.hasNext(); ) {
+            batch.add(keys.next());
+            keys.remove();
+        }
+        return Collections.unmodifiableSet(batch);
+    }
+
+    private void notifyListeners(Set<String> batch) {
+        safely("change handler", () -> changeHandler.accept(batch));
+        for (Consumer<Set<String>> listener : changeListeners) {
+            safely("flag change listener", () -> listener.accept(batch));
+        }
+        for (String key : batch) {
+            List<Consumer<String>> listeners = keyListeners.get(key);
+            if (listeners != null) {
+                for (Consumer<String> listener : listeners) {
+                    safely("listener of flag " + key, () -> listener.accept(key));
+                }
+            }
+        }
+    }
+
+    private static void safely(String name, Runnable notification) {
+        try {
+            notification.run();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to notify the " + name, e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.laulem.featureaccessorcore.provider;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * FlagChangeSource is implemented by feature providers that notify when the value of their flags changes.
+ * Notifications run on a dedicated executor, never on the thread changing the flags, and the changes made
+ * while a notification is pending are coalesced: a key changed several times in a burst is notified once.
+ */
+public interface FlagChangeSource {
+    /**
+     * Subscribes a listener to the changes of a flag. It is called with the normalized key of the flag.
+     *
+     * @param flagKey  the flag key, compared ignoring case
+     * @param listener the change listener
+     */
+    void subscribe(String flagKey, Consumer<String> listener);
+
+    /**
+     * Unsubscribes a listener from the changes of a flag.
+     *
+     * @param flagKey  the flag key, compared ignoring case
+     * @param listener the change listener
+     */
+    void unsubscribe(String flagKey, Consumer<String> listener);
+
+    /**
+     * Adds a listener called with the normalized keys of the flags changed since the previous notification.
+     *
+     * @param listener the change listener
+     */
+    void addFlagChangeListener(Consumer<Set<String>> listener);
+
+    /**
+     * Removes a change listener.
+     *
+     * @param listener the change listener
+     */
+    void removeFlagChangeListener(Consumer<Set<String>> listener);
+}
@@ -0,0 +1,24 @@
+package com.laulem.featureaccessorcore.provider;
+
+import java.util.Set;
+
+/**
+ * FlagKeySource is implemented by feature providers that can list the keys of the flags they define.
+ * MultiFeatureProvider uses it to send a flag straight to the providers that define it.
+ */
+public interface FlagKeySource {
+    /**
+     * Returns the normalized (upper-cased) keys of the flags currently defined by this provider.
+     *
+     * @return the flag keys
+     */
+    Set<String> getFlagKeys();
+
+    /**
+     * Returns a version number that changes every time a key is added to or removed from {@link #getFlagKeys()}.
+     * Changing the value of an existing flag does not need to change it.
+     *
+     * @return the version of the key set
+     */
+    long getFlagKeysVersion();
+}
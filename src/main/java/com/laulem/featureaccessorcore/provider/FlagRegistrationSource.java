@@ -0,0 +1,32 @@
+package com.laulem.featureaccessorcore.provider;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * FlagRegistrationSource is implemented by feature providers whose flags are registered one at a time,
+ * such as LambdaFlagProvider. MultiFeatureProvider keeps a Bloom filter of their keys, updated on every
+ * registration, to skip them for flags they definitely do not define.
+ */
+public interface FlagRegistrationSource {
+    /**
+     * Returns the normalized (upper-cased) keys of the flags registered so far.
+     *
+     * @return the registered flag keys
+     */
+    Set<String> getRegisteredFlagKeys();
+
+    /**
+     * Adds a listener called with the normalized key of every flag registered from now on.
+     *
+     * @param listener the registration listener
+     */
+    void addRegistrationListener(Consumer<String> listener);
+
+    /**
+     * Removes a registration listener.
+     *
+     * @param listener the registration listener
+     */
+    void removeRegistrationListener(Consumer<String> listener);
+}
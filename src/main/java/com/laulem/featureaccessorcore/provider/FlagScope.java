@@ -0,0 +1,142 @@
+package com.laulem.featureaccessorcore.provider;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * FlagScope gives a unit of work, typically a request, a consistent view of the flags. Inside a scope, the first
+ * evaluation on a provider captures its current immutable flag table, and every later evaluation on that provider
+ * is answered from the captured table, even if flags are changed or reloaded in the meantime.
+ * <p>
+ * The scope is bound to the thread running the task and inherited by the threads it creates, including the
+ * virtual threads of a virtual-thread-per-task executor or of a structured task scope forked inside the task.
+ * {@code ScopedValue} would be the natural carrier, but it is a preview API in Java 21, so an inheritable
+ * thread-local is used; a closed scope is ignored by threads that outlive it.
+ * {@link InMemoryFlagProvider} and {@link PropertiesFileFlagProvider} take part in scopes; other providers can
+ * call {@link #capture(Object, Object)} with their own immutable state.
+ */
+public final class FlagScope {
+    private static final InheritableThreadLocal<FlagScope> CURRENT = new InheritableThreadLocal<>();
+    private static final AtomicInteger OPEN_SCOPES = new AtomicInteger();
+
+    private final ReentrantLock captureLock = new ReentrantLock();
+    private volatile Object[] owners = new Object[0];
+    private volatile Object[] states = new Object[0];
+    private volatile boolean closed;
+
+    private FlagScope() {
+    }
+
+    /**
+     * Runs a task in a new scope.
+     *
+     * @param task the task
+     */
+    public static void run(Runnable task) {
+        Objects.requireNonNull(task, "Task cannot be null");
+        FlagScope previous = open();
+        try {
+            task.run();
+        } finally {
+            close(previous);
+        }
+    }
+
+    /**
+     * Calls a task in a new scope.
+     *
+     * @param task the task
+     * @param <R>  the type of the result
+     * @return the result of the task
+     * @throws Exception if the task fails
+     */
+    public static <R> R call(Callable<R> task) throws Exception {
+        Objects.requireNonNull(task, "Task cannot be null");
+        FlagScope previous = open();
+        try {
+            return task.call();
+        } finally {
+            close(previous);
+        }
+    }
+
+    /**
+     * Returns whether the current thread runs in an open scope.
+     *
+     * @return true if a scope is open
+     */
+    public static boolean isActive() {
+        return current() != null;
+    }
+
+    /**
+     * Returns the state of the owner captured by the current scope, capturing the given state if this is the first
+     * time the owner is seen in the scope. Outside a scope, the given state is returned.
+     *
+     * @param owner the provider owning the state
+     * @param state the current immutable state of the owner
+     * @param <S>   the type of the state
+     * @return the state to evaluate flags with
+     */
+    @SuppressWarnings("unchecked")
+    public static <S> S capture(Object owner, S state) {
+        FlagScope scope = current();
+        return scope == null ? state : (S) scope.captured(owner, state);
+    }
+
+    private static FlagScope current() {
+        if (OPEN_SCOPES.get() == 0) {
+            return null;
+        }
+        FlagScope scope = CURRENT.get();
+        return scope == null || scope.closed ? null : scope;
+    }
+
+    private static FlagScope open() {
+        FlagScope previous = CURRENT.get();
+        CURRENT.set(new FlagScope());
+        OPEN_SCOPES.incrementAndGet();
+        return previous;
+    }
+
+    private static void close(FlagScope previous) {
+        CURRENT.get().closed = true;
+        OPEN_SCOPES.decrementAndGet();
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    private Object captured(Object owner, Object state) {
+        Object[] currentOwners = owners;
+        for (int i = 0; i < currentOwners.length; i++) {
+            if (currentOwners[i] == owner) {
+                return states[i];
+            }
+        }
+        captureLock.lock();
+        try {
+            // Another thread of the scope may have captured the owner in the meantime.
+            for (int i = 0; i < owners.length; i++) {
+                if (owners[i] == owner) {
+                    return states[i];
+                }
+            }
+            Object[] nextStates = Arrays.copyOf(states, states.length + 1);
+            nextStates[states.length] = state;
+            Object[] nextOwners = Arrays.copyOf(owners, owners.length + 1);
+            nextOwners[owners.length] = owner;
+            // States are published before owners, so a reader that finds an owner also finds its state.
+            states = nextStates;
+            owners = nextOwners;
+            return state;
+        } finally {
+            captureLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.tool.FlagDefinition;
+import com.laulem.featureaccessorcore.tool.FlagEvaluations;
+import com.laulem.featureaccessorcore.tool.FlagKeyIndex;
+import com.laulem.featureaccessorcore.tool.FlagSnapshotWriter;
+import dev.openfeature.sdk.Value;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * FlagSnapshotCompiler compiles a properties file of feature flags into a flag snapshot file, loaded by
+ * {@link SnapshotFlagProvider} without parsing the properties, resolving placeholders or normalizing keys.
+ * The ${...} placeholders are resolved when compiling, with the environment of the compiling process.
+ * Only boolean, number and string flags can be compiled: targeted flags and JSON flags are rejected.
+ * <p>
+ * It can be run at build time: {@code java -cp ... FlagSnapshotCompiler feature-accessor.properties flags.snapshot}.
+ */
+public final class FlagSnapshotCompiler {
+    private FlagSnapshotCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: FlagSnapshotCompiler <properties file> <snapshot file>");
+            System.exit(2);
+        }
+        int flagCount = compile(Path.of(args[0]), Path.of(args[1]));
+        System.out.println("Compiled " + flagCount + " feature flags into " + args[1]);
+    }
+
+    /**
+     * Compiles a properties file into a snapshot file, sized for its flags. The snapshot is written to a temporary
+     * file first and then moved over the target, so a process loading the target never reads a partial snapshot.
+     *
+     * @param properties the properties file
+     * @param snapshot   the snapshot file to create or replace
+     * @return the number of compiled flags
+     * @throws IOException if the snapshot cannot be written
+     * @throws com.laulem.featureaccessorcore.exception.ProviderException if the properties cannot be loaded
+     * @throws IllegalArgumentException if a flag is not a static boolean, number or string
+     */
+    public static int compile(Path properties, Path snapshot) throws IOException {
+        Objects.requireNonNull(properties, "Properties cannot be null");
+        Objects.requireNonNull(snapshot, "Snapshot cannot be null");
+        Map<String, Value> flags = staticFlags(new PropertiesFileFlagProvider(properties).getFlagIndex());
+
+        int dataLength = 0;
+        for (Map.Entry<String, Value> flag : flags.entrySet()) {
+            dataLength += flag.getKey().getBytes(StandardCharsets.UTF_8).length;
+            if (flag.getValue().isString()) {
+                dataLength += flag.getValue().asString().getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        Path target = snapshot.toAbsolutePath();
+        Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(temporary, Math.max(flags.size(), 1), Math.max(dataLength, 1))) {
+                writer.write(flags);
+            }
+            try {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return flags.size();
+    }
+
+    private static Map<String, Value> staticFlags(FlagKeyIndex<FlagDefinition> index) {
+        Map<String, Value> flags = new LinkedHashMap<>();
+        List<String> unsupported = new ArrayList<>();
+        for (int slot = 0; slot < index.size(); slot++) {
+            Value value = index.valueAt(slot) instanceof FlagEvaluations evaluations ? evaluations.getValue() : null;
+            if (value != null && (value.isBoolean() || value.isNumber() || value.isString())) {
+                flags.put(index.keyAt(slot), value);
+            } else {
+                unsupported.add(index.keyAt(slot));
+            }
+        }
+        if (!unsupported.isEmpty()) {
+            throw new IllegalArgumentException("Only static boolean, number and string flags can be compiled: " + unsupported);
+        }
+        return flags;
+    }
+}
@@ -0,0 +1,134 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.tool.FlagKeyIndex;
+import dev.openfeature.sdk.Value;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * FlagValues is the flat result of a bulk evaluation: the flag keys and their values in two parallel arrays.
+ * A null value means the flag is not defined or could not be evaluated. Values are read by index,
+ * or by key ignoring case.
+ */
+public final class FlagValues {
+    private static final FlagValues EMPTY = new FlagValues(new String[0], new Value[0]);
+
+    private final String[] keys;
+    private final Value[] values;
+    private final FlagKeyIndex<?> keyIndex;
+
+    /**
+     * Constructs a FlagValues. The arrays are not copied and must not be modified afterwards.
+     *
+     * @param keys   the flag keys
+     * @param values the flag values, null for undefined flags, at the index of their key
+     */
+    public FlagValues(String[] keys, Value[] values) {
+        this(keys, values, null);
+    }
+
+    /**
+     * Constructs a FlagValues whose keys are laid out in the slots of a key index, so looking up a key
+     * by name probes the index instead of scanning the keys.
+     */
+    FlagValues(String[] keys, Value[] values, FlagKeyIndex<?> keyIndex) {
+        Objects.requireNonNull(keys, "Keys cannot be null");
+        Objects.requireNonNull(values, "Values cannot be null");
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Keys and values must have the same length");
+        }
+        this.keys = keys;
+        this.values = values;
+        this.keyIndex = keyIndex;
+    }
+
+    /**
+     * Returns an empty result.
+     *
+     * @return the empty result
+     */
+    public static FlagValues empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public String getKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Returns the value at the given index.
+     *
+     * @param index the index, in [0, size)
+     * @return the value, or null if the flag is not defined
+     */
+    public Value getValue(int index) {
+        return values[index];
+    }
+
+    public boolean isDefined(int index) {
+        return values[index] != null;
+    }
+
+    /**
+     * Returns the index of a flag key, ignoring case.
+     *
+     * @param key the flag key
+     * @return the index, or -1 if the key is not part of the result
+     */
+    public int indexOf(String key) {
+        if (keyIndex != null) {
+            return keyIndex.indexOf(key);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equalsIgnoreCase(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value of a flag, ignoring the case of its key.
+     *
+     * @param key the flag key
+     * @return the value, or null if the flag is not defined
+     */
+    public Value getValue(String key) {
+        int index = indexOf(key);
+        return index < 0 ? null : values[index];
+    }
+
+    /**
+     * Returns the boolean value at the given index.
+     *
+     * @param index        the index, in [0, size)
+     * @param defaultValue the value returned if the flag is not defined or not a boolean
+     * @return the flag value
+     */
+    public boolean getBoolean(int index, boolean defaultValue) {
+        Value value = values[index];
+        return value != null && value.isBoolean() ? value.asBoolean() : defaultValue;
+    }
+
+    /**
+     * Returns the defined flags as a map, in index order.
+     *
+     * @return an unmodifiable map of the flag keys to their values
+     */
+    public Map<String, Value> toMap() {
+        Map<String, Value> map = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                map.put(keys[i], values[i]);
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
@@ -0,0 +1,50 @@
+package com.laulem.featureaccessorcore.provider;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * GuardPolicy bounds the calls LambdaFlagProvider makes to a flag supplier. A call taking longer than the timeout
+ * is abandoned. After the given number of consecutive failures or timeouts, the circuit opens and the supplier
+ * is not called for the open duration; evaluations then get the last good value of the flag, or the default value.
+ */
+public final class GuardPolicy {
+    private final Duration timeout;
+    private final int failureThreshold;
+    private final Duration openDuration;
+
+    /**
+     * Constructs a GuardPolicy.
+     *
+     * @param timeout          the maximum duration of a supplier call, or null to call the supplier without limit
+     * @param failureThreshold the number of consecutive failures opening the circuit
+     * @param openDuration     how long the circuit stays open before a trial call
+     */
+    public GuardPolicy(Duration timeout, int failureThreshold, Duration openDuration) {
+        Objects.requireNonNull(openDuration, "Open duration cannot be null");
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("Failure threshold must be positive");
+        }
+        if (openDuration.isNegative()) {
+            throw new IllegalArgumentException("Open duration cannot be negative");
+        }
+        this.timeout = timeout;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+}
@@ -0,0 +1,137 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.exception.FlagUnavailableException;
+import dev.openfeature.sdk.Value;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * GuardedSupplier calls a flag supplier under a {@link GuardPolicy}: with a time budget, and through a circuit
+ * breaker. When the supplier fails, times out or is not called because the circuit is open, a
+ * {@link FlagUnavailableException} carrying the last good value is thrown. While the circuit is open, the same
+ * exception, without stack trace, is thrown by every call, so a rejected call costs no allocation.
+ */
+final class GuardedSupplier implements Supplier<Value> {
+    private static final ExecutorService GUARDED_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final String flagKey;
+    private final Supplier<Value> source;
+    private final long timeoutNanos;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final BiConsumer<String, CircuitState> stateListener;
+    private final AtomicReference<CircuitState> state = new AtomicReference<>(CircuitState.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean trialRunning = new AtomicBoolean();
+    private volatile long openedAt;
+    private volatile Value lastGoodValue;
+    private volatile FlagUnavailableException openCircuitException;
+
+    GuardedSupplier(String flagKey, Supplier<Value> source, GuardPolicy policy, BiConsumer<String, CircuitState> stateListener) {
+        this.flagKey = flagKey;
+        this.source = source;
+        this.timeoutNanos = policy.getTimeout() != null ? policy.getTimeout().toNanos() : -1L;
+        this.failureThreshold = policy.getFailureThreshold();
+        this.openNanos = policy.getOpenDuration().toNanos();
+        this.stateListener = stateListener;
+    }
+
+    @Override
+    public Value get() {
+        CircuitState current = state.get();
+        if (current == CircuitState.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            transition(CircuitState.OPEN, CircuitState.HALF_OPEN);
+            current = state.get();
+        }
+        boolean trial = current == CircuitState.HALF_OPEN;
+        if (current == CircuitState.OPEN || trial && !trialRunning.compareAndSet(false, true)) {
+            throw openCircuitException();
+        }
+        try {
+            Value value = call();
+            lastGoodValue = value;
+            consecutiveFailures.set(0);
+            if (state.get() != CircuitState.CLOSED) {
+                transition(state.get(), CircuitState.CLOSED);
+            }
+            return value;
+        } catch (TimeoutException e) {
+            recordFailure(trial);
+            throw new FlagUnavailableException("Supplier of flag " + flagKey + " timed out", e, lastGoodValue);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlagUnavailableException("Interrupted while calling the supplier of flag " + flagKey, e, lastGoodValue);
+        } catch (ExecutionException e) {
+            recordFailure(trial);
+            throw new FlagUnavailableException("Supplier of flag " + flagKey + " failed", e.getCause(), lastGoodValue);
+        } catch (RuntimeException e) {
+            recordFailure(trial);
+            throw new FlagUnavailableException("Supplier of flag " + flagKey + " failed", e, lastGoodValue);
+        } finally {
+            if (trial) {
+                trialRunning.set(false);
+            }
+        }
+    }
+
+    /**
+     * Returns the exception thrown while the circuit is open, built again only when the last good value changed.
+     */
+    private FlagUnavailableException openCircuitException() {
+        Value fallbackValue = lastGoodValue;
+        FlagUnavailableException exception = openCircuitException;
+        if (exception == null || exception.getFallbackValue() != fallbackValue) {
+            exception = new FlagUnavailableException("Circuit breaker of flag " + flagKey + " is open", null, fallbackValue, false);
+            openCircuitException = exception;
+        }
+        return exception;
+    }
+
+    /**
+     * Returns the current state of the circuit breaker.
+     *
+     * @return the circuit state
+     */
+    CircuitState getCircuitState() {
+        CircuitState current = state.get();
+        return current == CircuitState.OPEN && System.nanoTime() - openedAt >= openNanos ? CircuitState.HALF_OPEN : current;
+    }
+
+    private Value call() throws TimeoutException, InterruptedException, ExecutionException {
+        if (timeoutNanos < 0) {
+            return source.get();
+        }
+        Future<Value> future = GUARDED_EXECUTOR.submit(source::get);
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            future.cancel(true);
+        }
+    }
+
+    private void recordFailure(boolean trial) {
+        if (trial || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.nanoTime();
+            CircuitState current = state.get();
+            if (current != CircuitState.OPEN) {
+                transition(current, CircuitState.OPEN);
+            }
+        }
+    }
+
+    private void transition(CircuitState from, CircuitState to) {
+        if (state.compareAndSet(from, to)) {
+            stateListener.accept(flagKey, to);
+        }
+    }
+}
@@ -1,23 +1,69 @@
 package com.laulem.featureaccessorcore.provider;
 
 import com.laulem.featureaccessorcore.exception.ProviderException;
+import com.laulem.featureaccessorcore.targeting.TargetedFlag;
+import com.laulem.featureaccessorcore.targeting.TargetingRule;
+import com.laulem.featureaccessorcore.targeting.WeightedSplit;
 import com.laulem.featureaccessorcore.tool.EvaluationTool;
+import com.laulem.featureaccessorcore.tool.FlagDefinition;
+import com.laulem.featureaccessorcore.tool.FlagEvaluations;
+import com.laulem.featureaccessorcore.tool.FlagKeyIndex;
+import com.laulem.featureaccessorcore.tool.TypedFlagTable;
 import dev.openfeature.sdk.EvaluationContext;
-import dev.openfeature.sdk.FeatureProvider;
 import dev.openfeature.sdk.Metadata;
 import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.Value;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * InMemoryFlagProvider is a feature provider that stores feature flags in memory.
  * It allows setting and retrieving flags dynamically at runtime.
+ * The evaluations of each flag are precomputed when it is set, so evaluating it does not build a new result.
+ * Targeted flags select their value from the evaluation context with compiled {@link TargetingRule}s,
+ * and rollouts and splits from a hash of its targeting key.
+ * Flags are read from immutable {@link FlagKeyIndex} tables published by the writers, so readers never take a lock,
+ * and a {@link FlagScope} can keep evaluating the tables it captured while flags are changed. A write publishes the
+ * flags changed since the last rebuild in a small table looked up first, and the whole table is only rebuilt once
+ * these changes outnumber the square root of the number of flags, so filling the provider key by key does not
+ * rebuild it once per key.
+ * Static flags are also stored by type, so the {@link TypedFlagReader} getters read them without boxing.
+ * Setting a flag to a new value notifies its {@link FlagChangeSource} subscribers and emits a CONFIGURATION_CHANGED
+ * event naming it.
+ * <p>
+ * Several flags can be changed at once with {@link #update(Consumer)}: readers see either none or all of the changes
+ * of a batch. Every publish increments the version of the flags. Writers queue their changes, and the writer holding
+ * the publish lock applies all the queued changes and publishes them in a single new table, so a storm of concurrent
+ * writes does not rebuild the table once per write.
  */
-public class InMemoryFlagProvider implements FeatureProvider {
-    private final Map<String, Value> flags = new ConcurrentHashMap<>();
+public class InMemoryFlagProvider extends FlagChangeEventProvider implements FlagKeySource, BulkFlagEvaluator, TypedFlagReader {
+    private static final int MIN_RECENT_CHANGES = 16;
+    private static final FlagDefinition REMOVED = new FlagDefinition() {
+        @Override
+        public <T> ProviderEvaluation<T> evaluate(EvaluationContext ctx, Function<FlagEvaluations, ProviderEvaluation<T>> selector) {
+            return null;
+        }
+    };
+
+    private final Map<String, FlagDefinition> definitions = new LinkedHashMap<>();
+    private final Map<String, FlagDefinition> recentChanges = new LinkedHashMap<>();
+    private final Queue<PendingUpdate> pendingUpdates = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicLong flagKeysVersion = new AtomicLong();
+    private volatile PublishedFlags flags = new PublishedFlags(TypedFlagTable.empty(), TypedFlagTable.empty(), 0L);
 
     /**
      * Sets a flag in memory with the specified key and value.
@@ -27,13 +73,221 @@ public class InMemoryFlagProvider implements FeatureProvider {
      * @param <T>     the type of the flag value. Should be one of Boolean, String, Integer, Double, Number, List, Structure or Value.
      */
     public <T> void setFlag(String key, T enabled) {
+        update(batch -> batch.setFlag(key, enabled));
+    }
+
+    /**
+     * Sets a targeted flag returning the match value when the evaluation context matches the rule,
+     * and the default value otherwise.
+     *
+     * @param key          the flag key
+     * @param rule         the targeting expression, compiled once, such as {@code country in ["FR", "BE"]}
+     * @param matchValue   the value returned when the rule matches
+     * @param defaultValue the value returned otherwise
+     * @param <T>          the type of the flag value. Should be one of Boolean, String, Integer, Double, Number, List, Structure or Value.
+     * @throws IllegalArgumentException if the rule is invalid
+     */
+    public <T> void setTargetedFlag(String key, String rule, T matchValue, T defaultValue) {
+        update(batch -> batch.setTargetedFlag(key, rule, matchValue, defaultValue));
+    }
+
+    /**
+     * Sets a boolean flag enabled for a percentage of the targeting keys. The keys are hashed with the normalized
+     * flag key, and raising the percentage keeps the keys already enabled.
+     *
+     * @param key        the flag key
+     * @param percentage the percentage of enabled keys, in [0, 100]
+     * @throws IllegalArgumentException if the percentage is out of range
+     */
+    public void setRolloutFlag(String key, double percentage) {
+        update(batch -> batch.setRolloutFlag(key, percentage));
+    }
+
+    /**
+     * Sets a string flag whose values are shared between the targeting keys according to their weights.
+     * The keys are hashed with the normalized flag key. Contexts without a targeting key get the first value.
+     *
+     * @param key     the flag key
+     * @param weights the values and their relative weights, in iteration order
+     * @throws IllegalArgumentException if there is no positive weight
+     */
+    public void setSplitFlag(String key, Map<String, ? extends Number> weights) {
+        update(batch -> batch.setSplitFlag(key, weights));
+    }
+
+    /**
+     * Sets a flag with the specified definition, such as a {@link TargetedFlag} with several variants.
+     *
+     * @param key        the flag key
+     * @param definition the flag definition
+     */
+    public void setFlagDefinition(String key, FlagDefinition definition) {
+        update(batch -> batch.setFlagDefinition(key, definition));
+    }
+
+    /**
+     * Removes a flag.
+     *
+     * @param key the flag key
+     */
+    public void removeFlag(String key) {
+        update(batch -> batch.removeFlag(key));
+    }
+
+    /**
+     * Sets several flags at once: readers see either none or all of them.
+     *
+     * @param values the flag values, by key
+     * @return the version of the flags publishing the values
+     */
+    public long setFlags(Map<String, ?> values) {
+        Objects.requireNonNull(values, "Values cannot be null");
+        return update(batch -> values.forEach(batch::setFlag));
+    }
+
+    /**
+     * Applies a batch of changes at once: readers see either none or all of them. If the batch function throws,
+     * nothing is changed.
+     *
+     * @param changes function filling the batch
+     * @return the version of the flags publishing the batch
+     */
+    public long update(Consumer<FlagBatch> changes) {
+        Objects.requireNonNull(changes, "Changes cannot be null");
+        FlagBatch batch = new FlagBatch();
+        changes.accept(batch);
+        PendingUpdate update = new PendingUpdate(batch.changes);
+        pendingUpdates.add(update);
+        writeLock.lock();
         try {
-            Objects.requireNonNull(key, "Key cannot be null");
-            Objects.requireNonNull(enabled, "Enabled cannot be null");
-            flags.put(key.toUpperCase(), new Value(enabled));
-        } catch (InstantiationException e) {
-            throw new ProviderException("Erreur lors de l'instanciation du flag", e);
+            // Another writer may have published this update along with its own while this one was waiting.
+            if (!update.published) {
+                publishPendingUpdates();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        publishFlagChanges(update.changedKeys);
+        return update.version;
+    }
+
+    /**
+     * Applies every queued update and publishes them at once. Must be called with the write lock.
+     */
+    private void publishPendingUpdates() {
+        List<PendingUpdate> applied = new ArrayList<>();
+        boolean keySetChanged = false;
+        PendingUpdate update;
+        while ((update = pendingUpdates.poll()) != null) {
+            for (Map.Entry<String, FlagDefinition> change : update.changes.entrySet()) {
+                FlagDefinition definition = change.getValue();
+                FlagDefinition previous = definition == null
+                        ? definitions.remove(change.getKey())
+                        : definitions.put(change.getKey(), definition);
+                recentChanges.put(change.getKey(), definition == null ? REMOVED : definition);
+                keySetChanged |= (previous == null) != (definition == null);
+                if (definition == null ? previous != null : previous == null || !FlagChangeNotifier.sameDefinition(previous, definition)) {
+                    update.changedKeys.add(change.getKey());
+                }
+            }
+            applied.add(update);
+        }
+        PublishedFlags previous = flags;
+        long version = previous.version + 1;
+        if (recentChanges.size() > Math.max(MIN_RECENT_CHANGES, (int) Math.sqrt(definitions.size()))) {
+            recentChanges.clear();
+            flags = new PublishedFlags(TypedFlagTable.of(FlagKeyIndex.of(definitions)), TypedFlagTable.empty(), version);
+        } else {
+            flags = new PublishedFlags(previous.table, TypedFlagTable.of(FlagKeyIndex.of(recentChanges)), version);
+        }
+        if (keySetChanged) {
+            flagKeysVersion.incrementAndGet();
+        }
+        for (PendingUpdate publishedUpdate : applied) {
+            publishedUpdate.version = version;
+            publishedUpdate.published = true;
+        }
+    }
+
+    /**
+     * Returns the version of the flags, incremented by every publish. Inside a {@link FlagScope}, it is the version
+     * of the flags captured by the scope.
+     *
+     * @return the version of the flags
+     */
+    public long getVersion() {
+        return FlagScope.capture(this, flags).version;
+    }
+
+    /**
+     * Returns the flags to evaluate with: the ones captured by the current scope, if any, or the latest ones.
+     */
+    private PublishedFlags currentFlags() {
+        return FlagScope.capture(this, flags);
+    }
+
+    @Override
+    public Set<String> getFlagKeys() {
+        PublishedFlags current = flags;
+        if (current.recent.getIndex().size() == 0) {
+            return current.table.getIndex().keys();
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (String key : current.table.getIndex().keys()) {
+            if (current.tableOf(key) == current.table) {
+                keys.add(key);
+            }
+        }
+        FlagKeyIndex<FlagDefinition> recent = current.recent.getIndex();
+        for (int slot = 0; slot < recent.size(); slot++) {
+            if (recent.valueAt(slot) != REMOVED) {
+                keys.add(recent.keyAt(slot));
+            }
         }
+        return Collections.unmodifiableSet(keys);
+    }
+
+    @Override
+    public long getFlagKeysVersion() {
+        return flagKeysVersion.get();
+    }
+
+    @Override
+    public FlagValues evaluateAll(EvaluationContext ctx) {
+        PublishedFlags flagsToEvaluate = currentFlags();
+        if (flagsToEvaluate.recent.getIndex().size() == 0) {
+            FlagKeyIndex<FlagDefinition> current = flagsToEvaluate.table.getIndex();
+            String[] keys = new String[current.size()];
+            Value[] values = new Value[current.size()];
+            for (int slot = 0; slot < keys.length; slot++) {
+                keys[slot] = current.keyAt(slot);
+                values[slot] = EvaluationTool.evaluateValue(current.valueAt(slot), ctx);
+            }
+            return new FlagValues(keys, values, current);
+        }
+        List<String> keys = new ArrayList<>(flagsToEvaluate.table.getIndex().size());
+        List<Value> values = new ArrayList<>(flagsToEvaluate.table.getIndex().size());
+        for (TypedFlagTable table : List.of(flagsToEvaluate.table, flagsToEvaluate.recent)) {
+            FlagKeyIndex<FlagDefinition> index = table.getIndex();
+            for (int slot = 0; slot < index.size(); slot++) {
+                if (flagsToEvaluate.tableOf(index.keyAt(slot)) == table) {
+                    keys.add(index.keyAt(slot));
+                    values.add(EvaluationTool.evaluateValue(index.valueAt(slot), ctx));
+                }
+            }
+        }
+        return new FlagValues(keys.toArray(new String[0]), values.toArray(new Value[0]));
+    }
+
+    @Override
+    public FlagValues evaluate(List<String> flagKeys, EvaluationContext ctx) {
+        PublishedFlags current = currentFlags();
+        String[] keys = flagKeys.toArray(new String[0]);
+        Value[] values = new Value[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = EvaluationTool.evaluateValue(current.tableOf(keys[i]).getIndex().get(keys[i]), ctx);
+        }
+        return new FlagValues(keys, values);
     }
 
     @Override
@@ -43,26 +297,204 @@ public class InMemoryFlagProvider implements FeatureProvider {
 
     @Override
     public ProviderEvaluation<Boolean> getBooleanEvaluation(String flagKey, Boolean defaultValue, EvaluationContext ctx) {
-        return EvaluationTool.evaluateFlag(flags, flagKey, defaultValue, ctx, Value::asBoolean);
+        return EvaluationTool.evaluatePrecomputedFlag(currentFlags().tableOf(flagKey).getIndex(), flagKey, defaultValue, ctx, FlagEvaluations::getBooleanEvaluation);
     }
 
     @Override
     public ProviderEvaluation<String> getStringEvaluation(String flagKey, String defaultValue, EvaluationContext ctx) {
-        return EvaluationTool.evaluateFlag(flags, flagKey, defaultValue, ctx, Value::asString);
+        return EvaluationTool.evaluatePrecomputedFlag(currentFlags().tableOf(flagKey).getIndex(), flagKey, defaultValue, ctx, FlagEvaluations::getStringEvaluation);
     }
 
     @Override
     public ProviderEvaluation<Integer> getIntegerEvaluation(String flagKey, Integer defaultValue, EvaluationContext ctx) {
-        return EvaluationTool.evaluateFlag(flags, flagKey, defaultValue, ctx, Value::asInteger);
+        return EvaluationTool.evaluatePrecomputedFlag(currentFlags().tableOf(flagKey).getIndex(), flagKey, defaultValue, ctx, FlagEvaluations::getIntegerEvaluation);
     }
 
     @Override
     public ProviderEvaluation<Double> getDoubleEvaluation(String flagKey, Double defaultValue, EvaluationContext ctx) {
-        return EvaluationTool.evaluateFlag(flags, flagKey, defaultValue, ctx, Value::asDouble);
+        return EvaluationTool.evaluatePrecomputedFlag(currentFlags().tableOf(flagKey).getIndex(), flagKey, defaultValue, ctx, FlagEvaluations::getDoubleEvaluation);
     }
 
     @Override
     public ProviderEvaluation<Value> getObjectEvaluation(String flagKey, Value defaultValue, EvaluationContext ctx) {
-        return EvaluationTool.evaluateFlag(flags, flagKey, defaultValue, ctx, v -> v);
+        return EvaluationTool.evaluatePrecomputedFlag(currentFlags().tableOf(flagKey).getIndex(), flagKey, defaultValue, ctx, FlagEvaluations::getObjectEvaluation);
+    }
+
+    @Override
+    public boolean getBoolean(String flagKey, boolean defaultValue, EvaluationContext ctx) {
+        return currentFlags().tableOf(flagKey).getBoolean(flagKey, defaultValue, ctx);
+    }
+
+    @Override
+    public int getInteger(String flagKey, int defaultValue, EvaluationContext ctx) {
+        return currentFlags().tableOf(flagKey).getInteger(flagKey, defaultValue, ctx);
+    }
+
+    @Override
+    public double getDouble(String flagKey, double defaultValue, EvaluationContext ctx) {
+        return currentFlags().tableOf(flagKey).getDouble(flagKey, defaultValue, ctx);
+    }
+
+    @Override
+    public String getString(String flagKey, String defaultValue, EvaluationContext ctx) {
+        return currentFlags().tableOf(flagKey).getString(flagKey, defaultValue, ctx);
+    }
+
+    /**
+     * FlagBatch collects the changes applied at once by {@link #update(Consumer)}. When a key is changed several
+     * times, the last change wins.
+     */
+    public static final class FlagBatch {
+        private final Map<String, FlagDefinition> changes = new LinkedHashMap<>();
+
+        private FlagBatch() {
+        }
+
+        /**
+         * Sets a flag with the specified key and value.
+         *
+         * @param key     the flag key
+         * @param enabled the flag value
+         * @param <T>     the type of the flag value. Should be one of Boolean, String, Integer, Double, Number, List, Structure or Value.
+         * @return this batch
+         */
+        public <T> FlagBatch setFlag(String key, T enabled) {
+            try {
+                Objects.requireNonNull(key, "Key cannot be null");
+                Objects.requireNonNull(enabled, "Enabled cannot be null");
+                return put(key, FlagEvaluations.of(new Value(enabled)));
+            } catch (InstantiationException e) {
+                throw new ProviderException("Erreur lors de l'instanciation du flag", e);
+            }
+        }
+
+        /**
+         * Sets a targeted flag, as {@link InMemoryFlagProvider#setTargetedFlag(String, String, Object, Object)}.
+         *
+         * @param key          the flag key
+         * @param rule         the targeting expression
+         * @param matchValue   the value returned when the rule matches
+         * @param defaultValue the value returned otherwise
+         * @param <T>          the type of the flag value
+         * @return this batch
+         * @throws IllegalArgumentException if the rule is invalid
+         */
+        public <T> FlagBatch setTargetedFlag(String key, String rule, T matchValue, T defaultValue) {
+            try {
+                Objects.requireNonNull(key, "Key cannot be null");
+                Objects.requireNonNull(rule, "Rule cannot be null");
+                Objects.requireNonNull(matchValue, "Match value cannot be null");
+                Objects.requireNonNull(defaultValue, "Default value cannot be null");
+                return put(key, TargetedFlag.of(TargetingRule.compile(rule), new Value(matchValue), new Value(defaultValue)));
+            } catch (InstantiationException e) {
+                throw new ProviderException("Erreur lors de l'instanciation du flag", e);
+            }
+        }
+
+        /**
+         * Sets a rollout flag, as {@link InMemoryFlagProvider#setRolloutFlag(String, double)}.
+         *
+         * @param key        the flag key
+         * @param percentage the percentage of enabled keys, in [0, 100]
+         * @return this batch
+         * @throws IllegalArgumentException if the percentage is out of range
+         */
+        public FlagBatch setRolloutFlag(String key, double percentage) {
+            Objects.requireNonNull(key, "Key cannot be null");
+            return put(key, WeightedSplit.percentage(FlagKeyIndex.normalize(key), percentage));
+        }
+
+        /**
+         * Sets a split flag, as {@link InMemoryFlagProvider#setSplitFlag(String, Map)}.
+         *
+         * @param key     the flag key
+         * @param weights the values and their relative weights, in iteration order
+         * @return this batch
+         * @throws IllegalArgumentException if there is no positive weight
+         */
+        public FlagBatch setSplitFlag(String key, Map<String, ? extends Number> weights) {
+            Objects.requireNonNull(key, "Key cannot be null");
+            Objects.requireNonNull(weights, "Weights cannot be null");
+            if (weights.isEmpty()) {
+                throw new IllegalArgumentException("A split needs at least one value");
+            }
+            List<WeightedSplit.Allocation> allocations = new ArrayList<>();
+            for (Map.Entry<String, ? extends Number> weight : weights.entrySet()) {
+                allocations.add(new WeightedSplit.Allocation(weight.getKey(), new Value(weight.getKey()), weight.getValue().doubleValue()));
+            }
+            return put(key, new WeightedSplit(FlagKeyIndex.normalize(key), allocations, allocations.get(0).getVariant()));
+        }
+
+        /**
+         * Sets a flag with the specified definition.
+         *
+         * @param key        the flag key
+         * @param definition the flag definition
+         * @return this batch
+         */
+        public FlagBatch setFlagDefinition(String key, FlagDefinition definition) {
+            Objects.requireNonNull(key, "Key cannot be null");
+            Objects.requireNonNull(definition, "Definition cannot be null");
+            return put(key, definition);
+        }
+
+        /**
+         * Removes a flag.
+         *
+         * @param key the flag key
+         * @return this batch
+         */
+        public FlagBatch removeFlag(String key) {
+            Objects.requireNonNull(key, "Key cannot be null");
+            return put(key, null);
+        }
+
+        private FlagBatch put(String key, FlagDefinition definition) {
+            changes.put(FlagKeyIndex.normalize(key), definition);
+            return this;
+        }
+    }
+
+    /**
+     * PublishedFlags is a flag table, the table of the flags changed since it was built, and the version they were
+     * published with. A flag removed since the table was built is recorded in the recent table as removed.
+     */
+    private static final class PublishedFlags {
+        private final TypedFlagTable table;
+        private final TypedFlagTable recent;
+        private final long version;
+
+        private PublishedFlags(TypedFlagTable table, TypedFlagTable recent, long version) {
+            this.table = table;
+            this.recent = recent;
+            this.version = version;
+        }
+
+        /**
+         * Returns the table holding the current definition of a flag: the recent table if the flag changed since the
+         * table was built, an empty table if it was removed since, and the table otherwise.
+         */
+        private TypedFlagTable tableOf(String flagKey) {
+            FlagKeyIndex<FlagDefinition> recentIndex = recent.getIndex();
+            int slot = recentIndex.indexOf(flagKey);
+            if (slot < 0) {
+                return table;
+            }
+            return recentIndex.valueAt(slot) == REMOVED ? TypedFlagTable.empty() : recent;
+        }
+    }
+
+    /**
+     * PendingUpdate is a batch queued for publishing. Its result fields are written under the write lock.
+     */
+    private static final class PendingUpdate {
+        private final Map<String, FlagDefinition> changes;
+        private final Set<String> changedKeys = new LinkedHashSet<>();
+        private boolean published;
+        private long version;
+
+        private PendingUpdate(Map<String, FlagDefinition> changes) {
+            this.changes = changes;
+        }
     }
 }
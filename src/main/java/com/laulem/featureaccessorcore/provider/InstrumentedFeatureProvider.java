@@ -0,0 +1,99 @@
+package com.laulem.featureaccessorcore.provider;
+
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.FeatureProvider;
+import dev.openfeature.sdk.Hook;
+import dev.openfeature.sdk.Metadata;
+import dev.openfeature.sdk.ProviderEvaluation;
+import dev.openfeature.sdk.Value;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * InstrumentedFeatureProvider is a feature provider that records the evaluations of any other provider in an
+ * {@link EvaluationMetrics}: their count by flag and by reason, and their latency. With a {@link LambdaFlagProvider},
+ * the latency of a flag is the latency of its supplier.
+ */
+public class InstrumentedFeatureProvider implements FeatureProvider {
+    private final FeatureProvider delegate;
+    private final EvaluationMetrics metrics;
+
+    /**
+     * Constructs an InstrumentedFeatureProvider.
+     *
+     * @param delegate the provider whose evaluations are recorded
+     * @param metrics  the metrics to record into, possibly shared with other providers
+     */
+    public InstrumentedFeatureProvider(FeatureProvider delegate, EvaluationMetrics metrics) {
+        this.delegate = Objects.requireNonNull(delegate, "Delegate cannot be null");
+        this.metrics = Objects.requireNonNull(metrics, "Metrics cannot be null");
+    }
+
+    public FeatureProvider getDelegate() {
+        return delegate;
+    }
+
+    public EvaluationMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    // FeatureProvider declares this method with the raw Hook type, so the override must keep it.
+    @SuppressWarnings("rawtypes")
+    public List<Hook> getProviderHooks() {
+        return delegate.getProviderHooks();
+    }
+
+    @Override
+    public void initialize(EvaluationContext evaluationContext) throws Exception {
+        delegate.initialize(evaluationContext);
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public ProviderEvaluation<Boolean> getBooleanEvaluation(String flagKey, Boolean defaultValue, EvaluationContext ctx) {
+        return recorded(flagKey, () -> delegate.getBooleanEvaluation(flagKey, defaultValue, ctx));
+    }
+
+    @Override
+    public ProviderEvaluation<String> getStringEvaluation(String flagKey, String defaultValue, EvaluationContext ctx) {
+        return recorded(flagKey, () -> delegate.getStringEvaluation(flagKey, defaultValue, ctx));
+    }
+
+    @Override
+    public ProviderEvaluation<Integer> getIntegerEvaluation(String flagKey, Integer defaultValue, EvaluationContext ctx) {
+        return recorded(flagKey, () -> delegate.getIntegerEvaluation(flagKey, defaultValue, ctx));
+    }
+
+    @Override
+    public ProviderEvaluation<Double> getDoubleEvaluation(String flagKey, Double defaultValue, EvaluationContext ctx) {
+        return recorded(flagKey, () -> delegate.getDoubleEvaluation(flagKey, defaultValue, ctx));
+    }
+
+    @Override
+    public ProviderEvaluation<Value> getObjectEvaluation(String flagKey, Value defaultValue, EvaluationContext ctx) {
+        return recorded(flagKey, () -> delegate.getObjectEvaluation(flagKey, defaultValue, ctx));
+    }
+
+    private <T> ProviderEvaluation<T> recorded(String flagKey, Supplier<ProviderEvaluation<T>> evaluation) {
+        long start = System.nanoTime();
+        ProviderEvaluation<T> result = null;
+        try {
+            result = evaluation.get();
+            return result;
+        } finally {
+            metrics.recordEvaluation(flagKey, result, System.nanoTime() - start);
+        }
+    }
+}
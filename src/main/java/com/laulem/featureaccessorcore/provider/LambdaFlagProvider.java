@@ -2,23 +2,34 @@ package com.laulem.featureaccessorcore.provider;
 
 import com.laulem.featureaccessorcore.exception.ProviderException;
 import com.laulem.featureaccessorcore.tool.EvaluationTool;
+import com.laulem.featureaccessorcore.tool.FlagKeyIndex;
 import dev.openfeature.sdk.EvaluationContext;
 import dev.openfeature.sdk.FeatureProvider;
 import dev.openfeature.sdk.Metadata;
 import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.Value;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
  * LambdaFlagProvider is a feature provider that allows setting feature flags using lambda expressions.
  * Flags can be set dynamically at runtime using suppliers.
+ * Registration listeners are notified of every new flag key.
  */
-public class LambdaFlagProvider implements FeatureProvider {
+public class LambdaFlagProvider implements FeatureProvider, FlagRegistrationSource, BulkFlagEvaluator {
     private final Map<String, Supplier<Value>> flags = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> registrationListeners = new CopyOnWriteArrayList<>();
+    private final List<BiConsumer<String, CircuitState>> circuitStateListeners = new CopyOnWriteArrayList<>();
 
     public LambdaFlagProvider() {
     }
@@ -30,7 +41,7 @@ public class LambdaFlagProvider implements FeatureProvider {
      */
     public LambdaFlagProvider(Map<String, Supplier<Value>> flags) {
         Objects.requireNonNull(flags, "Flags map cannot be null");
-        this.flags.putAll(flags);
+        flags.forEach(this::setValueFlag);
     }
 
     /**
@@ -52,7 +63,7 @@ public class LambdaFlagProvider implements FeatureProvider {
     public void setValueFlag(String key, Supplier<Value> flag) {
         Objects.requireNonNull(key, "Key cannot be null");
         Objects.requireNonNull(flag, "Flag supplier cannot be null");
-        flags.put(key.toUpperCase(), flag);
+        register(FlagKeyIndex.normalize(key), flag);
     }
 
     /**
@@ -65,13 +76,161 @@ public class LambdaFlagProvider implements FeatureProvider {
     public <T> void setFlag(String key, Supplier<T> flag) {
         Objects.requireNonNull(key, "Key cannot be null");
         Objects.requireNonNull(flag, "Flag supplier cannot be null");
-        flags.put(key.toUpperCase(), () -> {
-            try {
-                return new Value(flag.get());
-            } catch (InstantiationException e) {
-                throw new ProviderException("Error instantiating flag", e);
+        register(FlagKeyIndex.normalize(key), () -> toValue(flag.get()));
+    }
+
+    /**
+     * Sets a value flag with a supplier whose values are cached according to the given policy.
+     *
+     * @param key    the flag key
+     * @param flag   the flag supplier
+     * @param policy the cache policy
+     */
+    public void setValueFlag(String key, Supplier<Value> flag, CachePolicy policy) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(flag, "Flag supplier cannot be null");
+        Objects.requireNonNull(policy, "Cache policy cannot be null");
+        register(FlagKeyIndex.normalize(key), new CachingSupplier<>(flag, value -> value, policy));
+    }
+
+    /**
+     * Sets a flag with a supplier whose values are cached according to the given policy.
+     * The cached value is returned at once while a virtual thread refreshes it, and concurrent refreshes
+     * of the flag are collapsed into a single supplier call.
+     *
+     * @param key    the flag key
+     * @param flag   the flag supplier
+     * @param policy the cache policy
+     * @param <T>    the type of the flag value. Should be one of Boolean, String, Integer, Double, Number, List, Structure or Value.
+     */
+    public <T> void setFlag(String key, Supplier<T> flag, CachePolicy policy) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(flag, "Flag supplier cannot be null");
+        Objects.requireNonNull(policy, "Cache policy cannot be null");
+        register(FlagKeyIndex.normalize(key), new CachingSupplier<>(flag, LambdaFlagProvider::toValue, policy));
+    }
+
+    /**
+     * Sets a value flag with a supplier called under the given guard policy.
+     *
+     * @param key    the flag key
+     * @param flag   the flag supplier
+     * @param policy the guard policy
+     */
+    public void setValueFlag(String key, Supplier<Value> flag, GuardPolicy policy) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(flag, "Flag supplier cannot be null");
+        Objects.requireNonNull(policy, "Guard policy cannot be null");
+        String normalizedKey = FlagKeyIndex.normalize(key);
+        register(normalizedKey, new GuardedSupplier(normalizedKey, flag, policy, this::notifyCircuitState));
+    }
+
+    /**
+     * Sets a flag with a supplier called under the given guard policy: each call has a time budget, and a supplier
+     * that keeps failing or timing out is no longer called while its circuit is open. Meanwhile, evaluations get the
+     * last good value of the flag as STALE, or the default value with a GENERAL error.
+     *
+     * @param key    the flag key
+     * @param flag   the flag supplier
+     * @param policy the guard policy
+     * @param <T>    the type of the flag value. Should be one of Boolean, String, Integer, Double, Number, List, Structure or Value.
+     */
+    public <T> void setFlag(String key, Supplier<T> flag, GuardPolicy policy) {
+        Objects.requireNonNull(flag, "Flag supplier cannot be null");
+        setValueFlag(key, () -> toValue(flag.get()), policy);
+    }
+
+    /**
+     * Returns the state of the circuit breaker of a flag.
+     *
+     * @param key the flag key
+     * @return the circuit state, or null if the flag is not registered with a guard policy
+     */
+    public CircuitState getCircuitState(String key) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        return flags.get(FlagKeyIndex.normalize(key)) instanceof GuardedSupplier guarded ? guarded.getCircuitState() : null;
+    }
+
+    /**
+     * Adds a listener called with the normalized flag key and the new state whenever a circuit breaker changes state.
+     *
+     * @param listener the circuit state listener
+     */
+    public void addCircuitStateListener(BiConsumer<String, CircuitState> listener) {
+        circuitStateListeners.add(Objects.requireNonNull(listener, "Listener cannot be null"));
+    }
+
+    /**
+     * Removes a circuit state listener.
+     *
+     * @param listener the circuit state listener
+     */
+    public void removeCircuitStateListener(BiConsumer<String, CircuitState> listener) {
+        circuitStateListeners.remove(listener);
+    }
+
+    private void notifyCircuitState(String key, CircuitState state) {
+        for (BiConsumer<String, CircuitState> listener : circuitStateListeners) {
+            listener.accept(key, state);
+        }
+    }
+
+    private static Value toValue(Object value) {
+        try {
+            return new Value(value);
+        } catch (InstantiationException e) {
+            throw new ProviderException("Error instantiating flag", e);
+        }
+    }
+
+    /**
+     * Stores a flag supplier and notifies the registration listeners if the key is new.
+     */
+    private void register(String normalizedKey, Supplier<Value> flag) {
+        if (flags.put(normalizedKey, flag) == null) {
+            for (Consumer<String> listener : registrationListeners) {
+                listener.accept(normalizedKey);
             }
-        });
+        }
+    }
+
+    @Override
+    public Set<String> getRegisteredFlagKeys() {
+        return Collections.unmodifiableSet(flags.keySet());
+    }
+
+    @Override
+    public void addRegistrationListener(Consumer<String> listener) {
+        registrationListeners.add(Objects.requireNonNull(listener, "Listener cannot be null"));
+    }
+
+    @Override
+    public void removeRegistrationListener(Consumer<String> listener) {
+        registrationListeners.remove(listener);
+    }
+
+    /**
+     * Evaluates every flag. Each supplier is called once; an unavailable flag returns its last good value.
+     */
+    @Override
+    public FlagValues evaluateAll(EvaluationContext ctx) {
+        List<String> keys = new ArrayList<>(flags.size());
+        List<Value> values = new ArrayList<>(flags.size());
+        for (Map.Entry<String, Supplier<Value>> flag : flags.entrySet()) {
+            keys.add(flag.getKey());
+            values.add(EvaluationTool.evaluateValue(flag.getValue()));
+        }
+        return new FlagValues(keys.toArray(new String[0]), values.toArray(new Value[0]));
+    }
+
+    @Override
+    public FlagValues evaluate(List<String> flagKeys, EvaluationContext ctx) {
+        String[] keys = flagKeys.toArray(new String[0]);
+        Value[] values = new Value[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = EvaluationTool.evaluateValue(flags.get(FlagKeyIndex.normalize(keys[i])));
+        }
+        return new FlagValues(keys, values);
     }
 
     @Override
@@ -0,0 +1,141 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.exception.ProviderException;
+import com.laulem.featureaccessorcore.exception.SnapshotWriteStalledException;
+import com.laulem.featureaccessorcore.tool.EvaluationTool;
+import com.laulem.featureaccessorcore.tool.FlagSnapshot;
+import com.laulem.featureaccessorcore.tool.SharedEvaluations;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.FeatureProvider;
+import dev.openfeature.sdk.Metadata;
+import dev.openfeature.sdk.ProviderEvaluation;
+import dev.openfeature.sdk.Value;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * MappedSnapshotFlagProvider is a feature provider reading its flags from a memory-mapped {@link FlagSnapshot} file.
+ * Every process of a host can map the same file, written by one of them with a
+ * {@link com.laulem.featureaccessorcore.tool.FlagSnapshotWriter}: the flags are stored once in the page cache, and
+ * a write is seen by the next evaluation of every process, without reloading or parsing anything.
+ * Evaluations take no lock and are retried if a write is in progress. A write that does not complete in time, for
+ * instance because its writer died, makes evaluations return the default value with a {@code PROVIDER_NOT_READY}
+ * error code, and typed reads return the default value.
+ */
+public class MappedSnapshotFlagProvider implements FeatureProvider, FlagKeySource, TypedFlagReader {
+    private final Path file;
+    private final FlagSnapshot snapshot;
+
+    /**
+     * Constructs a MappedSnapshotFlagProvider.
+     *
+     * @param file the snapshot file
+     * @throws ProviderException if the file cannot be mapped or is not a flag snapshot
+     */
+    public MappedSnapshotFlagProvider(Path file) {
+        this.file = Objects.requireNonNull(file, "File cannot be null");
+        try {
+            this.snapshot = FlagSnapshot.map(file);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ProviderException("Failed to map feature flag snapshot " + file, e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the version of the snapshot, incremented by every write.
+     *
+     * @return the snapshot version
+     */
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    @Override
+    public Set<String> getFlagKeys() {
+        return snapshot.keys();
+    }
+
+    @Override
+    public long getFlagKeysVersion() {
+        return snapshot.getVersion();
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        return () -> "MappedSnapshotFlagProvider";
+    }
+
+    @Override
+    public ProviderEvaluation<Boolean> getBooleanEvaluation(String flagKey, Boolean defaultValue, EvaluationContext ctx) {
+        return evaluate(flagKey, defaultValue, Value::asBoolean);
+    }
+
+    @Override
+    public ProviderEvaluation<String> getStringEvaluation(String flagKey, String defaultValue, EvaluationContext ctx) {
+        return evaluate(flagKey, defaultValue, Value::asString);
+    }
+
+    @Override
+    public ProviderEvaluation<Integer> getIntegerEvaluation(String flagKey, Integer defaultValue, EvaluationContext ctx) {
+        return evaluate(flagKey, defaultValue, Value::asInteger);
+    }
+
+    @Override
+    public ProviderEvaluation<Double> getDoubleEvaluation(String flagKey, Double defaultValue, EvaluationContext ctx) {
+        return evaluate(flagKey, defaultValue, Value::asDouble);
+    }
+
+    @Override
+    public ProviderEvaluation<Value> getObjectEvaluation(String flagKey, Value defaultValue, EvaluationContext ctx) {
+        return evaluate(flagKey, defaultValue, value -> value);
+    }
+
+    private <T> ProviderEvaluation<T> evaluate(String flagKey, T defaultValue, Function<Value, T> extractor) {
+        return evaluate(snapshot, flagKey, defaultValue, extractor);
+    }
+
+    /**
+     * Evaluates a flag of a snapshot, typed by the extractor.
+     */
+    static <T> ProviderEvaluation<T> evaluate(FlagSnapshot snapshot, String flagKey, T defaultValue, Function<Value, T> extractor) {
+        try {
+            Value value = snapshot.getValue(flagKey);
+            if (value == null) {
+                return SharedEvaluations.notFound(defaultValue);
+            }
+            return EvaluationTool.typedResult(extractor.apply(value), defaultValue);
+        } catch (SnapshotWriteStalledException e) {
+            return SharedEvaluations.notReady(defaultValue);
+        } catch (Exception e) {
+            return SharedEvaluations.parseError(defaultValue);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(String flagKey, boolean defaultValue, EvaluationContext ctx) {
+        return snapshot.getBoolean(flagKey, defaultValue);
+    }
+
+    @Override
+    public int getInteger(String flagKey, int defaultValue, EvaluationContext ctx) {
+        return snapshot.getInteger(flagKey, defaultValue);
+    }
+
+    @Override
+    public double getDouble(String flagKey, double defaultValue, EvaluationContext ctx) {
+        return snapshot.getDouble(flagKey, defaultValue);
+    }
+
+    @Override
+    public String getString(String flagKey, String defaultValue, EvaluationContext ctx) {
+        return snapshot.getString(flagKey, defaultValue);
+    }
+}
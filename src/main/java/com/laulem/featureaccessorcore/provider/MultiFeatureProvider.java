@@ -1,25 +1,71 @@
 package com.laulem.featureaccessorcore.provider;
 
-import dev.openfeature.sdk.ErrorCode;
+import com.laulem.featureaccessorcore.tool.EvaluationTool;
+import com.laulem.featureaccessorcore.tool.FlagKeyIndex;
+import com.laulem.featureaccessorcore.tool.SharedEvaluations;
 import dev.openfeature.sdk.EvaluationContext;
 import dev.openfeature.sdk.FeatureProvider;
 import dev.openfeature.sdk.Metadata;
 import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.Value;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * MultiFeatureProvider is a feature provider that aggregates multiple feature providers.
  * It evaluates flags using the first successful provider and returns the result.
+ * With indexed resolution enabled, flags listed by {@link FlagKeySource} providers are sent straight
+ * to the providers that define them, and only unknown keys are asked to every other provider.
+ * The chain is an immutable array replaced atomically on every change, so evaluations never take a lock.
+ * Providers implementing {@link FlagRegistrationSource} get a Bloom filter of their keys, and are skipped
+ * for flags they definitely do not define.
+ * With parallel evaluation enabled, the candidate providers are asked at the same time on virtual threads;
+ * the highest-priority successful answer still wins and an optional deadline bounds every evaluation.
+ * Bulk evaluations ask each provider once for all the flags, and merge the answers in priority order.
+ * With {@link EvaluationMetrics} set, the evaluations of the chain are recorded by flag and by reason, and the
+ * answers of each provider as hits or misses, under its name and position, such as {@code InMemoryFlagProvider#0}.
+ * {@link #initialize(EvaluationContext)} initializes the providers in parallel and returns once the required ones
+ * are initialized, letting optional ones finish in the background; meanwhile, evaluations return their default
+ * value with a PROVIDER_NOT_READY error code. A provider that fails to initialize does not block the chain: the
+ * other providers answer, and {@link #getFailedProviders()} lists it.
+ * The flag changes of the {@link FlagChangeSource} providers are forwarded to the subscribers of the chain, and
+ * emitted as CONFIGURATION_CHANGED events naming the changed flags; the changes of flags listed by a
+ * {@link FlagKeySource} provider of higher priority are not forwarded, as that provider answers them.
  */
-public class MultiFeatureProvider implements FeatureProvider {
-    private final List<FeatureProvider> providers = Collections.synchronizedList(new ArrayList<>());
+public class MultiFeatureProvider extends FlagChangeEventProvider implements BulkFlagEvaluator {
+    private static final Logger LOGGER = Logger.getLogger(MultiFeatureProvider.class.getName());
+    private static final ExecutorService PARALLEL_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicReference<ProviderChain> providers = new AtomicReference<>(ProviderChain.EMPTY);
+    private volatile boolean indexedResolution;
+    private volatile ResolutionIndex resolutionIndex;
+    private volatile boolean parallelEvaluation;
+    private volatile Duration evaluationDeadline;
+    private volatile EvaluationMetrics metrics;
+    private volatile boolean ready = true;
+    private final Set<FeatureProvider> optionalProviders = ConcurrentHashMap.newKeySet();
+    private final Set<FeatureProvider> failedProviders = ConcurrentHashMap.newKeySet();
+    private final Map<FeatureProvider, Consumer<Set<String>>> memberChangeListeners = new ConcurrentHashMap<>();
 
     public MultiFeatureProvider() {
     }
@@ -30,7 +76,8 @@ public class MultiFeatureProvider implements FeatureProvider {
      * @param providers the list of feature providers
      */
     public MultiFeatureProvider(List<FeatureProvider> providers) {
-        this.providers.addAll(providers);
+        Objects.requireNonNull(providers, "Feature providers cannot be null");
+        providers.forEach(this::addProvider);
     }
 
     /**
@@ -39,8 +86,7 @@ public class MultiFeatureProvider implements FeatureProvider {
      * @param featureProvider the feature provider to add
      */
     public MultiFeatureProvider(FeatureProvider featureProvider) {
-        Objects.requireNonNull(featureProvider, "Feature provider cannot be null");
-        providers.add(featureProvider);
+        addProvider(featureProvider);
     }
 
     /**
@@ -60,8 +106,292 @@ public class MultiFeatureProvider implements FeatureProvider {
      * @param featureProvider the feature provider to add
      */
     public void addProvider(FeatureProvider featureProvider) {
+        addProvider(featureProvider, true);
+    }
+
+    /**
+     * Adds a feature provider to the list.
+     *
+     * @param featureProvider the feature provider to add
+     * @param required        false if {@link #initialize(EvaluationContext)} should not wait for the provider
+     */
+    public void addProvider(FeatureProvider featureProvider, boolean required) {
+        Objects.requireNonNull(featureProvider, "Feature provider cannot be null");
+        if (!required) {
+            optionalProviders.add(featureProvider);
+        }
+        RegistrationFilter filter = subscribeFilter(featureProvider);
+        updateChain(chain -> chain.with(chain.size(), featureProvider, filter, false));
+        listenToChanges(featureProvider);
+    }
+
+    /**
+     * Removes a feature provider from the list.
+     *
+     * @param featureProvider the feature provider to remove
+     * @return true if the provider was part of the list
+     */
+    public boolean removeProvider(FeatureProvider featureProvider) {
         Objects.requireNonNull(featureProvider, "Feature provider cannot be null");
-        providers.add(featureProvider);
+        ProviderChain previous = updateChain(chain -> {
+            int position = chain.positionOf(featureProvider);
+            return position < 0 ? chain : chain.without(position);
+        });
+        int position = previous.positionOf(featureProvider);
+        if (position < 0) {
+            return false;
+        }
+        optionalProviders.remove(featureProvider);
+        failedProviders.remove(featureProvider);
+        stopListeningToChanges(featureProvider);
+        unsubscribeFilter(previous.filter(position));
+        return true;
+    }
+
+    /**
+     * Returns whether {@link #initialize(EvaluationContext)} waits for a provider of the list.
+     *
+     * @param featureProvider the feature provider
+     * @return true unless the provider was added as optional
+     */
+    public boolean isRequired(FeatureProvider featureProvider) {
+        return !optionalProviders.contains(featureProvider);
+    }
+
+    /**
+     * Returns whether the required providers are done initializing, successfully or not. A provider that was never
+     * initialized is ready.
+     *
+     * @return false while {@link #initialize(EvaluationContext)} waits for the required providers
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the providers whose last initialization failed, required or optional.
+     *
+     * @return an unmodifiable snapshot of the failed providers
+     */
+    public Set<FeatureProvider> getFailedProviders() {
+        return Set.copyOf(failedProviders);
+    }
+
+    /**
+     * Initializes all the providers in parallel on virtual threads, and waits for the required ones.
+     * The failure of a provider is recorded in {@link #getFailedProviders()}, and the provider keeps answering as it
+     * can; the failure of an optional provider is logged.
+     *
+     * @param evaluationContext the global evaluation context
+     * @throws Exception the failure of the first required provider that could not be initialized, once every
+     *                   required provider is done
+     */
+    @Override
+    public void initialize(EvaluationContext evaluationContext) throws Exception {
+        ready = false;
+        try {
+            FeatureProvider[] members = providers.get().providers;
+            failedProviders.removeAll(List.of(members));
+            List<Future<?>> required = new ArrayList<>();
+            for (FeatureProvider member : members) {
+                boolean optional = optionalProviders.contains(member);
+                Future<?> initialization = PARALLEL_EXECUTOR.submit(() -> {
+                    try {
+                        member.initialize(evaluationContext);
+                    } catch (Exception e) {
+                        failedProviders.add(member);
+                        if (!optional) {
+                            throw e;
+                        }
+                        LOGGER.log(Level.WARNING, "Failed to initialize optional feature provider " + member.getMetadata().getName(), e);
+                    }
+                    return null;
+                });
+                if (!optional) {
+                    required.add(initialization);
+                }
+            }
+            Exception failure = null;
+            for (Future<?> initialization : required) {
+                try {
+                    initialization.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof Exception cause ? cause : e;
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            ready = true;
+        }
+    }
+
+    /**
+     * Shuts all the providers down.
+     */
+    @Override
+    public void shutdown() {
+        for (FeatureProvider member : providers.get().providers) {
+            try {
+                member.shutdown();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Failed to shut down feature provider " + member.getMetadata().getName(), e);
+            }
+        }
+        super.shutdown();
+    }
+
+    /**
+     * Replaces a feature provider of the list, keeping its priority.
+     *
+     * @param existingProvider    the feature provider to replace
+     * @param replacementProvider the feature provider to put in its place
+     * @return true if the existing provider was part of the list
+     */
+    public boolean replaceProvider(FeatureProvider existingProvider, FeatureProvider replacementProvider) {
+        Objects.requireNonNull(existingProvider, "Feature provider cannot be null");
+        Objects.requireNonNull(replacementProvider, "Replacement feature provider cannot be null");
+        RegistrationFilter filter = subscribeFilter(replacementProvider);
+        ProviderChain previous = updateChain(chain -> {
+            int position = chain.positionOf(existingProvider);
+            return position < 0 ? chain : chain.with(position, replacementProvider, filter, true);
+        });
+        int position = previous.positionOf(existingProvider);
+        if (position < 0) {
+            unsubscribeFilter(filter);
+            return false;
+        }
+        if (optionalProviders.remove(existingProvider)) {
+            optionalProviders.add(replacementProvider);
+        }
+        failedProviders.remove(existingProvider);
+        stopListeningToChanges(existingProvider);
+        listenToChanges(replacementProvider);
+        unsubscribeFilter(previous.filter(position));
+        return true;
+    }
+
+    /**
+     * Publishes a copy of the chain built by the given function, retrying if another update won the race.
+     *
+     * @param update function building the new chain
+     * @return the chain the update was applied to
+     */
+    private ProviderChain updateChain(UnaryOperator<ProviderChain> update) {
+        while (true) {
+            ProviderChain chain = providers.get();
+            ProviderChain updated = update.apply(chain);
+            if (updated == chain || providers.compareAndSet(chain, updated)) {
+                return chain;
+            }
+        }
+    }
+
+    /**
+     * Subscribes a Bloom filter to the registrations of the provider, before it joins the chain.
+     *
+     * @return the filter, or null if the provider does not report its registrations
+     */
+    private static RegistrationFilter subscribeFilter(FeatureProvider featureProvider) {
+        return featureProvider instanceof FlagRegistrationSource source ? RegistrationFilter.subscribe(source) : null;
+    }
+
+    private static void unsubscribeFilter(RegistrationFilter filter) {
+        if (filter != null) {
+            filter.unsubscribe();
+        }
+    }
+
+    /**
+     * Enables or disables indexed resolution. When enabled, a key-to-provider index is built from the
+     * {@link FlagKeySource} providers and rebuilt whenever the chain or the key set of a member changes.
+     *
+     * @param indexedResolution true to enable indexed resolution
+     */
+    public void setIndexedResolution(boolean indexedResolution) {
+        this.indexedResolution = indexedResolution;
+    }
+
+    /**
+     * Returns whether indexed resolution is enabled.
+     *
+     * @return true if indexed resolution is enabled
+     */
+    public boolean isIndexedResolution() {
+        return indexedResolution;
+    }
+
+    /**
+     * Enables or disables parallel evaluation. When enabled, the candidate providers of a flag are asked at the
+     * same time on virtual threads. Once the highest-priority successful answer is known it is returned and the
+     * evaluations still running are cancelled.
+     *
+     * @param parallelEvaluation true to enable parallel evaluation
+     */
+    public void setParallelEvaluation(boolean parallelEvaluation) {
+        this.parallelEvaluation = parallelEvaluation;
+    }
+
+    /**
+     * Returns whether parallel evaluation is enabled.
+     *
+     * @return true if parallel evaluation is enabled
+     */
+    public boolean isParallelEvaluation() {
+        return parallelEvaluation;
+    }
+
+    /**
+     * Sets the maximum duration of a parallel evaluation. When it is exceeded, the default value is returned
+     * with a GENERAL error code. Sequential evaluations run on the calling thread and are not bounded.
+     *
+     * @param evaluationDeadline the deadline, or null for no deadline
+     */
+    public void setEvaluationDeadline(Duration evaluationDeadline) {
+        if (evaluationDeadline != null && (evaluationDeadline.isNegative() || evaluationDeadline.isZero())) {
+            throw new IllegalArgumentException("Evaluation deadline must be positive");
+        }
+        this.evaluationDeadline = evaluationDeadline;
+    }
+
+    /**
+     * Returns the maximum duration of a parallel evaluation.
+     *
+     * @return the deadline, or null if there is none
+     */
+    public Duration getEvaluationDeadline() {
+        return evaluationDeadline;
+    }
+
+    /**
+     * Sets the metrics recording the evaluations of the chain and the hits and misses of each provider.
+     *
+     * @param metrics the metrics, or null to stop recording
+     */
+    public void setMetrics(EvaluationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public EvaluationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the resolution index of the given chain, rebuilding it if it is out of date.
+     *
+     * @param chain the current chain
+     * @return the resolution index
+     */
+    private ResolutionIndex currentResolutionIndex(ProviderChain chain) {
+        ResolutionIndex index = resolutionIndex;
+        if (index == null || !index.isCurrent(chain.providers)) {
+            index = ResolutionIndex.build(chain.providers);
+            resolutionIndex = index;
+        }
+        return index;
     }
 
     @Override
@@ -69,69 +399,412 @@ public class MultiFeatureProvider implements FeatureProvider {
         return () -> "MultiFeatureProviderImpl";
     }
 
+    private void listenToChanges(FeatureProvider featureProvider) {
+        if (featureProvider instanceof FlagChangeSource source) {
+            Consumer<Set<String>> listener = changedKeys -> publishFlagChanges(visibleChanges(featureProvider, changedKeys));
+            if (memberChangeListeners.putIfAbsent(featureProvider, listener) == null) {
+                source.addFlagChangeListener(listener);
+            }
+        }
+    }
+
+    private void stopListeningToChanges(FeatureProvider featureProvider) {
+        Consumer<Set<String>> listener = memberChangeListeners.remove(featureProvider);
+        if (listener != null) {
+            ((FlagChangeSource) featureProvider).removeFlagChangeListener(listener);
+        }
+    }
+
+    /**
+     * Returns the changed keys of a provider that no provider of higher priority lists as one of its flags.
+     * Providers that do not list their flags are assumed not to shadow any, and a provider listing a flag is
+     * assumed to answer it, even though its evaluation could fail and fall through to the changed provider.
+     */
+    private List<String> visibleChanges(FeatureProvider featureProvider, Set<String> changedKeys) {
+        ProviderChain chain = providers.get();
+        int position = chain.positionOf(featureProvider);
+        if (position < 0) {
+            return List.of();
+        }
+        List<Set<String>> shadowingKeys = chain.listedKeysBefore(position);
+        if (shadowingKeys.isEmpty()) {
+            return List.copyOf(changedKeys);
+        }
+        List<String> visible = new ArrayList<>(changedKeys.size());
+        for (String key : changedKeys) {
+            if (!isListed(shadowingKeys, key)) {
+                visible.add(key);
+            }
+        }
+        return visible;
+    }
+
+    private static boolean isListed(List<Set<String>> keySets, String flagKey) {
+        for (Set<String> keys : keySets) {
+            if (keys.contains(flagKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Evaluates a flag using all providers and returns the first successful evaluation.
      *
+     * @param flagKey the key of the flag to evaluate
      * @param defaultValue the default value to return if no provider returns a value without error
      * @param ctx the evaluation context (not used)
      * @param extractor function to extract the ProviderEvaluation from a FeatureProvider
      * @param <T> the type of the flag value
      * @return the ProviderEvaluation result
      */
-    private <T> ProviderEvaluation<T> evaluateFlag(T defaultValue, EvaluationContext ctx, Function<FeatureProvider, ProviderEvaluation<T>> extractor) {
+    private <T> ProviderEvaluation<T> evaluateFlag(String flagKey, T defaultValue, EvaluationContext ctx, Function<FeatureProvider, ProviderEvaluation<T>> extractor) {
+        if (!ready) {
+            return SharedEvaluations.notReady(defaultValue);
+        }
+        ProviderChain chain = providers.get();
+        EvaluationMetrics currentMetrics = metrics;
+        if (currentMetrics == null) {
+            return evaluateChain(chain, flagKey, defaultValue, extractor);
+        }
+        long start = System.nanoTime();
+        ProviderEvaluation<T> evaluation = null;
+        try {
+            evaluation = evaluateChain(chain, flagKey, defaultValue, recorded(currentMetrics, chain, extractor));
+            return evaluation;
+        } finally {
+            currentMetrics.recordEvaluation(flagKey, evaluation, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns an extractor recording the answer of every provider of the chain it is applied to, keyed by position
+     * so that providers with the same name are recorded apart.
+     */
+    private static <T> Function<FeatureProvider, ProviderEvaluation<T>> recorded(EvaluationMetrics metrics, ProviderChain chain, Function<FeatureProvider, ProviderEvaluation<T>> extractor) {
+        return provider -> {
+            long start = System.nanoTime();
+            ProviderEvaluation<T> evaluation = null;
+            try {
+                evaluation = extractor.apply(provider);
+                return evaluation;
+            } finally {
+                boolean hit = evaluation != null && providerNotContainError(evaluation);
+                metrics.recordProviderEvaluation(chain.metricName(provider), hit, System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Asks the providers of the chain, sequentially, by index or in parallel depending on the configuration.
+     */
+    private <T> ProviderEvaluation<T> evaluateChain(ProviderChain chain, String flagKey, T defaultValue, Function<FeatureProvider, ProviderEvaluation<T>> extractor) {
         try {
-            Optional<ProviderEvaluation<T>> evaluation = providers.stream()
-                    .map(extractor)
-                    .filter(Objects::nonNull)
-                    .filter(MultiFeatureProvider::providerNotContainError)
-                    .findFirst();
-
-            return evaluation.orElseGet(() -> ProviderEvaluation.<T>builder()
-                    .reason("DEFAULT")
-                    .value(defaultValue)
-                    .errorCode(ErrorCode.FLAG_NOT_FOUND)
-                    .build());
+            if (parallelEvaluation) {
+                return evaluateInParallel(candidateProviders(chain, flagKey), defaultValue, extractor);
+            }
+            if (indexedResolution) {
+                return evaluateIndexedFlag(chain, flagKey, defaultValue, extractor);
+            }
+
+            for (int position = 0; position < chain.size(); position++) {
+                if (!chain.mightDefine(position, flagKey)) {
+                    continue;
+                }
+                ProviderEvaluation<T> evaluation = extractor.apply(chain.providers[position]);
+                if (evaluation != null && providerNotContainError(evaluation)) {
+                    return evaluation;
+                }
+            }
+            return SharedEvaluations.notFound(defaultValue);
 
         } catch (Exception e) {
-            return ProviderEvaluation.<T>builder()
-                    .reason("ERROR")
-                    .value(defaultValue)
-                    .errorCode(ErrorCode.PARSE_ERROR)
-                    .build();
+            return SharedEvaluations.parseError(defaultValue);
+        }
+    }
+
+    /**
+     * Evaluates a flag by asking only the candidate providers of the resolution index, in priority order.
+     */
+    private <T> ProviderEvaluation<T> evaluateIndexedFlag(ProviderChain chain, String flagKey, T defaultValue, Function<FeatureProvider, ProviderEvaluation<T>> extractor) {
+        ResolutionIndex index = currentResolutionIndex(chain);
+        for (int position : index.candidates(flagKey)) {
+            if (!chain.mightDefine(position, flagKey)) {
+                continue;
+            }
+            ProviderEvaluation<T> evaluation = extractor.apply(index.provider(position));
+            if (evaluation != null && providerNotContainError(evaluation)) {
+                return evaluation;
+            }
+        }
+        return SharedEvaluations.notFound(defaultValue);
+    }
+
+    /**
+     * Returns the providers that may define the flag, in priority order.
+     */
+    private FeatureProvider[] candidateProviders(ProviderChain chain, String flagKey) {
+        int[] positions = indexedResolution ? currentResolutionIndex(chain).candidates(flagKey) : null;
+        int count = positions != null ? positions.length : chain.size();
+        FeatureProvider[] candidates = new FeatureProvider[count];
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            int position = positions != null ? positions[i] : i;
+            if (chain.mightDefine(position, flagKey)) {
+                candidates[found++] = chain.providers[position];
+            }
+        }
+        return found == count ? candidates : Arrays.copyOf(candidates, found);
+    }
+
+    /**
+     * Asks every candidate at the same time and waits for their answers in priority order, so the first
+     * successful one is the answer the sequential loop would have returned.
+     */
+    private <T> ProviderEvaluation<T> evaluateInParallel(FeatureProvider[] candidates, T defaultValue, Function<FeatureProvider, ProviderEvaluation<T>> extractor) throws ExecutionException {
+        Duration deadline = evaluationDeadline;
+        if (candidates.length == 1 && deadline == null) {
+            ProviderEvaluation<T> evaluation = extractor.apply(candidates[0]);
+            return evaluation != null && providerNotContainError(evaluation) ? evaluation : SharedEvaluations.notFound(defaultValue);
+        }
+
+        long deadlineNanos = deadline != null ? System.nanoTime() + deadline.toNanos() : 0L;
+        List<Future<ProviderEvaluation<T>>> futures = new ArrayList<>(candidates.length);
+        try {
+            for (FeatureProvider candidate : candidates) {
+                futures.add(PARALLEL_EXECUTOR.submit(() -> extractor.apply(candidate)));
+            }
+            for (Future<ProviderEvaluation<T>> future : futures) {
+                ProviderEvaluation<T> evaluation = deadline != null
+                        ? future.get(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)
+                        : future.get();
+                if (evaluation != null && providerNotContainError(evaluation)) {
+                    return evaluation;
+                }
+            }
+            return SharedEvaluations.notFound(defaultValue);
+        } catch (TimeoutException e) {
+            return EvaluationTool.generalError(defaultValue, "Evaluation deadline of " + deadline + " exceeded");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return EvaluationTool.generalError(defaultValue, "Evaluation interrupted");
+        } finally {
+            for (Future<ProviderEvaluation<T>> future : futures) {
+                future.cancel(true);
+            }
         }
     }
 
     @Override
     public ProviderEvaluation<Boolean> getBooleanEvaluation(String flagKey, Boolean defaultValue, EvaluationContext ctx) {
-        return evaluateFlag(defaultValue, ctx, x -> x.getBooleanEvaluation(flagKey, defaultValue, ctx));
+        return evaluateFlag(flagKey, defaultValue, ctx, x -> x.getBooleanEvaluation(flagKey, defaultValue, ctx));
     }
 
     @Override
     public ProviderEvaluation<String> getStringEvaluation(String flagKey, String defaultValue, EvaluationContext ctx) {
-        return evaluateFlag(defaultValue, ctx, x -> x.getStringEvaluation(flagKey, defaultValue, ctx));
+        return evaluateFlag(flagKey, defaultValue, ctx, x -> x.getStringEvaluation(flagKey, defaultValue, ctx));
     }
 
     @Override
     public ProviderEvaluation<Integer> getIntegerEvaluation(String flagKey, Integer defaultValue, EvaluationContext ctx) {
-        return evaluateFlag(defaultValue, ctx, x -> x.getIntegerEvaluation(flagKey, defaultValue, ctx));
+        return evaluateFlag(flagKey, defaultValue, ctx, x -> x.getIntegerEvaluation(flagKey, defaultValue, ctx));
     }
 
     @Override
     public ProviderEvaluation<Double> getDoubleEvaluation(String flagKey, Double defaultValue, EvaluationContext ctx) {
-        return evaluateFlag(defaultValue, ctx, x -> x.getDoubleEvaluation(flagKey, defaultValue, ctx));
+        return evaluateFlag(flagKey, defaultValue, ctx, x -> x.getDoubleEvaluation(flagKey, defaultValue, ctx));
     }
 
     @Override
     public ProviderEvaluation<Value> getObjectEvaluation(String flagKey, Value defaultValue, EvaluationContext ctx) {
-        return evaluateFlag(defaultValue, ctx, x -> x.getObjectEvaluation(flagKey, defaultValue, ctx));
+        return evaluateFlag(flagKey, defaultValue, ctx, x -> x.getObjectEvaluation(flagKey, defaultValue, ctx));
+    }
+
+    /**
+     * Evaluates every flag of every provider. A flag defined by several providers gets the value of the first one.
+     * Providers that are neither {@link BulkFlagEvaluator} nor {@link FlagKeySource} cannot list their flags
+     * and are skipped.
+     */
+    @Override
+    public FlagValues evaluateAll(EvaluationContext ctx) {
+        ProviderChain chain = providers.get();
+        Map<String, Value> merged = new LinkedHashMap<>();
+        for (FeatureProvider provider : chain.providers) {
+            if (provider instanceof BulkFlagEvaluator bulkProvider) {
+                FlagValues values = bulkProvider.evaluateAll(ctx);
+                for (int i = 0; i < values.size(); i++) {
+                    if (values.isDefined(i)) {
+                        merged.putIfAbsent(FlagKeyIndex.normalize(values.getKey(i)), values.getValue(i));
+                    }
+                }
+            } else if (provider instanceof FlagKeySource keySource) {
+                for (String key : keySource.getFlagKeys()) {
+                    if (!merged.containsKey(key)) {
+                        Value value = evaluateValue(provider, key, ctx);
+                        if (value != null) {
+                            merged.put(key, value);
+                        }
+                    }
+                }
+            }
+        }
+        return new FlagValues(merged.keySet().toArray(new String[0]), merged.values().toArray(new Value[0]));
+    }
+
+    /**
+     * Evaluates the given flags, asking each provider once for the flags still unresolved, in priority order.
+     * Providers that are not {@link BulkFlagEvaluator} are asked flag by flag for object evaluations.
+     */
+    @Override
+    public FlagValues evaluate(List<String> flagKeys, EvaluationContext ctx) {
+        ProviderChain chain = providers.get();
+        String[] keys = flagKeys.toArray(new String[0]);
+        Value[] merged = new Value[keys.length];
+        // Positions in keys of the flags still unresolved, in order; the first unresolved entries are in use.
+        int[] pending = new int[keys.length];
+        Arrays.setAll(pending, i -> i);
+        int unresolved = keys.length;
+        for (int position = 0; position < chain.size() && unresolved > 0; position++) {
+            FeatureProvider provider = chain.providers[position];
+            FlagValues values = null;
+            if (provider instanceof BulkFlagEvaluator bulkProvider) {
+                values = bulkProvider.evaluate(unresolved == keys.length ? flagKeys : pendingKeys(keys, pending, unresolved), ctx);
+            }
+            int stillUnresolved = 0;
+            for (int j = 0; j < unresolved; j++) {
+                int i = pending[j];
+                Value value = values != null ? values.getValue(j)
+                        : chain.mightDefine(position, keys[i]) ? evaluateValue(provider, keys[i], ctx) : null;
+                if (value != null) {
+                    merged[i] = value;
+                } else {
+                    pending[stillUnresolved++] = i;
+                }
+            }
+            unresolved = stillUnresolved;
+        }
+        return new FlagValues(keys, merged);
+    }
+
+    private static List<String> pendingKeys(String[] keys, int[] pending, int unresolved) {
+        String[] pendingKeys = new String[unresolved];
+        for (int j = 0; j < unresolved; j++) {
+            pendingKeys[j] = keys[pending[j]];
+        }
+        return Arrays.asList(pendingKeys);
+    }
+
+    private static Value evaluateValue(FeatureProvider provider, String flagKey, EvaluationContext ctx) {
+        try {
+            ProviderEvaluation<Value> evaluation = provider.getObjectEvaluation(flagKey, null, ctx);
+            return evaluation != null && providerNotContainError(evaluation) ? evaluation.getValue() : null;
+        } catch (Exception e) {
+            return null;
+        }
     }
 
     /**
-     * Returns an unmodifiable list of feature providers.
+     * Returns an unmodifiable snapshot of the feature providers.
      *
      * @return the list of feature providers
      */
     public List<FeatureProvider> getProviders() {
-        return Collections.unmodifiableList(providers);
+        return List.of(providers.get().providers);
+    }
+
+    /**
+     * ProviderChain is an immutable snapshot of the providers, in priority order, with the registration
+     * filter of each provider at the same position (null for providers that do not report registrations).
+     */
+    private static final class ProviderChain {
+        private static final ProviderChain EMPTY = new ProviderChain(new FeatureProvider[0], new RegistrationFilter[0]);
+
+        private final FeatureProvider[] providers;
+        private final RegistrationFilter[] filters;
+        private volatile String[] metricNames;
+
+        private ProviderChain(FeatureProvider[] providers, RegistrationFilter[] filters) {
+            this.providers = providers;
+            this.filters = filters;
+        }
+
+        private int size() {
+            return providers.length;
+        }
+
+        private RegistrationFilter filter(int position) {
+            return filters[position];
+        }
+
+        private boolean mightDefine(int position, String flagKey) {
+            RegistrationFilter filter = filters[position];
+            return filter == null || filter.mightContain(flagKey);
+        }
+
+        /**
+         * Returns the flag keys of the {@link FlagKeySource} providers of higher priority than the given position,
+         * listed once so that checking many changed keys does not list them again for each key.
+         */
+        private List<Set<String>> listedKeysBefore(int position) {
+            List<Set<String>> keySets = new ArrayList<>();
+            for (int i = 0; i < position; i++) {
+                if (providers[i] instanceof FlagKeySource source) {
+                    keySets.add(source.getFlagKeys());
+                }
+            }
+            return keySets;
+        }
+
+        private int positionOf(FeatureProvider featureProvider) {
+            for (int position = 0; position < providers.length; position++) {
+                if (providers[position] == featureProvider) {
+                    return position;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the name under which the answers of a provider of the chain are recorded: its name and position.
+         */
+        private String metricName(FeatureProvider featureProvider) {
+            String[] names = metricNames;
+            if (names == null) {
+                names = new String[providers.length];
+                for (int position = 0; position < names.length; position++) {
+                    names[position] = providers[position].getMetadata().getName() + "#" + position;
+                }
+                metricNames = names;
+            }
+            int position = positionOf(featureProvider);
+            return position >= 0 ? names[position] : featureProvider.getMetadata().getName();
+        }
+
+        /**
+         * Returns a copy of the chain with the provider inserted at, or replacing the one at, the given position.
+         */
+        private ProviderChain with(int position, FeatureProvider featureProvider, RegistrationFilter filter, boolean replace) {
+            int length = replace ? providers.length : providers.length + 1;
+            FeatureProvider[] updatedProviders = new FeatureProvider[length];
+            RegistrationFilter[] updatedFilters = new RegistrationFilter[length];
+            int tail = replace ? position + 1 : position;
+            System.arraycopy(providers, 0, updatedProviders, 0, position);
+            System.arraycopy(filters, 0, updatedFilters, 0, position);
+            System.arraycopy(providers, tail, updatedProviders, position + 1, providers.length - tail);
+            System.arraycopy(filters, tail, updatedFilters, position + 1, filters.length - tail);
+            updatedProviders[position] = featureProvider;
+            updatedFilters[position] = filter;
+            return new ProviderChain(updatedProviders, updatedFilters);
+        }
+
+        private ProviderChain without(int position) {
+            FeatureProvider[] updatedProviders = new FeatureProvider[providers.length - 1];
+            RegistrationFilter[] updatedFilters = new RegistrationFilter[filters.length - 1];
+            System.arraycopy(providers, 0, updatedProviders, 0, position);
+            System.arraycopy(filters, 0, updatedFilters, 0, position);
+            System.arraycopy(providers, position + 1, updatedProviders, position, providers.length - position - 1);
+            System.arraycopy(filters, position + 1, updatedFilters, position, filters.length - position - 1);
+            return new ProviderChain(updatedProviders, updatedFilters);
+        }
     }
 }
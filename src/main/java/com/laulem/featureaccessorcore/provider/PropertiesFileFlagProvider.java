@@ -1,70 +1,475 @@
 package com.laulem.featureaccessorcore.provider;
 
 import com.laulem.featureaccessorcore.exception.ProviderException;
-import com.laulem.featureaccessorcore.tool.EnvResolver;
+import com.laulem.featureaccessorcore.targeting.TargetedFlag;
+import com.laulem.featureaccessorcore.targeting.TargetingRule;
+import com.laulem.featureaccessorcore.targeting.WeightedSplit;
+import com.laulem.featureaccessorcore.tool.EnvSnapshot;
+import com.laulem.featureaccessorcore.tool.EnvTemplate;
 import com.laulem.featureaccessorcore.tool.EvaluationTool;
+import com.laulem.featureaccessorcore.tool.FlagDefinition;
+import com.laulem.featureaccessorcore.tool.FlagEvaluations;
+import com.laulem.featureaccessorcore.tool.FlagKeyIndex;
+import com.laulem.featureaccessorcore.tool.FlagValueType;
+import com.laulem.featureaccessorcore.tool.PropertiesScanner;
+import com.laulem.featureaccessorcore.tool.SharedEvaluations;
+import com.laulem.featureaccessorcore.tool.TypedFlagTable;
 import dev.openfeature.sdk.EvaluationContext;
-import dev.openfeature.sdk.FeatureProvider;
 import dev.openfeature.sdk.Metadata;
 import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.Value;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Properties;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * PropertiesFileFlagProvider is a feature provider that loads feature flags from a properties file.
  * It allows dynamic evaluation of flags based on the properties defined in the file.
  * This provider uses the "FEATURE-ACCESSOR" prefix to identify feature flags in the properties file.
+ * Flags are booleans unless their key declares a type: {@code [boolean]}, {@code [int]}, {@code [double]},
+ * {@code [string]} or {@code [json]}, as in {@code feature-accessor.batch_size[int]=500}; a key ending with another
+ * bracketed suffix, such as {@code feature-accessor.foo[bar]}, is an untyped flag whose key keeps the suffix.
+ * A {@code [rule]} flag is a boolean enabled for the evaluation contexts matching its {@link TargetingRule},
+ * as in {@code feature-accessor.new_checkout[rule]=country in ["FR", "BE"]}.
+ * A {@code [rollout]} flag is a boolean enabled for a percentage of the targeting keys, as in
+ * {@code feature-accessor.new_ui[rollout]=25}, and a {@code [split]} flag is a string shared between weighted
+ * variants, as in {@code feature-accessor.theme[split]=blue:50,green:50}. Both hash the targeting key with the flag key.
+ * Flags are kept in an immutable {@link FlagKeyIndex} with precomputed evaluations. A reload builds a new index
+ * and swaps it in atomically, so readers see either the previous or the new flags, never a partial load.
+ * A file loaded from a path can be watched and reloaded automatically when it changes.
+ * Inside a {@link FlagScope}, evaluations keep using the flags loaded when the scope first read them.
+ * Static flags are also stored by type, so the {@link TypedFlagReader} getters read them without boxing.
+ * With deferred loading, the constructor does no I/O and the file is loaded by {@link #initialize(EvaluationContext)},
+ * which OpenFeature runs in the background when the provider is set; until then, evaluations return their default
+ * value with a PROVIDER_NOT_READY error code.
+ * A reload changing flags notifies their {@link FlagChangeSource} subscribers and emits a CONFIGURATION_CHANGED
+ * event naming them.
  */
-public class PropertiesFileFlagProvider implements FeatureProvider {
+public class PropertiesFileFlagProvider extends FlagChangeEventProvider implements FlagKeySource, BulkFlagEvaluator, TypedFlagReader {
+    private static final Logger LOGGER = Logger.getLogger(PropertiesFileFlagProvider.class.getName());
     private static final String FEATURE_ACCESSOR = "FEATURE-ACCESSOR";
     private static final String FEATURE_ACCESSOR_PREFIX = FEATURE_ACCESSOR + ".";
+    private static final long MEMORY_MAPPING_THRESHOLD = 1 << 20;
+    private static final String RULE_SUFFIX = "rule";
+    private static final String ROLLOUT_SUFFIX = "rollout";
+    private static final String SPLIT_SUFFIX = "split";
+    private static final Set<String> TARGETING_SUFFIXES = Set.of(RULE_SUFFIX, ROLLOUT_SUFFIX, SPLIT_SUFFIX);
+    private static final Value TRUE_VALUE = new Value(true);
+    private static final Value FALSE_VALUE = new Value(false);
+    private static final TypedFlagTable NOT_LOADED = TypedFlagTable.of(FlagKeyIndex.empty());
 
-    private final Map<String, Value> flags = new ConcurrentHashMap<>();
+    private final String fileName;
+    private final Path path;
+    private final boolean lazyResolution;
+    private final AtomicLong flagKeysVersion = new AtomicLong();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile TypedFlagTable flags;
+    private volatile WatchService watchService;
+    private volatile PropertiesLoadStatistics lastLoadStatistics;
 
     /**
-     * Constructs a PropertiesFileFlagProvider and loads feature flags from the specified file.
+     * Constructs a PropertiesFileFlagProvider and loads feature flags from the specified classpath resource.
      *
      * @param fileName the name of the properties file
      */
     public PropertiesFileFlagProvider(String fileName) {
-        Objects.requireNonNull(fileName, "File name cannot be null");
-        loadProperties(fileName);
+        this(fileName, false);
     }
 
     /**
-     * Loads feature flags from the specified properties file.
+     * Constructs a PropertiesFileFlagProvider and loads feature flags from the specified classpath resource.
      *
-     * @param fileName the name of the properties file
+     * @param fileName       the name of the properties file
+     * @param lazyResolution true to resolve the ${...} placeholders of a flag when it is first evaluated
      */
-    private void loadProperties(String fileName) {
+    public PropertiesFileFlagProvider(String fileName, boolean lazyResolution) {
+        this(fileName, lazyResolution, false);
+    }
+
+    /**
+     * Constructs a PropertiesFileFlagProvider for the specified classpath resource.
+     *
+     * @param fileName        the name of the properties file
+     * @param lazyResolution  true to resolve the ${...} placeholders of a flag when it is first evaluated
+     * @param deferredLoading true to load the file in {@link #initialize(EvaluationContext)} instead of now
+     */
+    public PropertiesFileFlagProvider(String fileName, boolean lazyResolution, boolean deferredLoading) {
         Objects.requireNonNull(fileName, "File name cannot be null");
-        try (var input = Thread.currentThread().getContextClassLoader().getResourceAsStream(fileName)) {
-            if (input == null) {
-                throw new IllegalArgumentException("File name file not found: " + fileName);
+        this.fileName = fileName;
+        this.path = null;
+        this.lazyResolution = lazyResolution;
+        this.flags = deferredLoading ? NOT_LOADED : TypedFlagTable.of(loadProperties());
+    }
+
+    /**
+     * Constructs a PropertiesFileFlagProvider and loads feature flags from the specified file system path.
+     *
+     * @param path the path of the properties file
+     */
+    public PropertiesFileFlagProvider(Path path) {
+        this(path, false);
+    }
+
+    /**
+     * Constructs a PropertiesFileFlagProvider and loads feature flags from the specified file system path.
+     *
+     * @param path           the path of the properties file
+     * @param lazyResolution true to resolve the ${...} placeholders of a flag when it is first evaluated
+     */
+    public PropertiesFileFlagProvider(Path path, boolean lazyResolution) {
+        this(path, lazyResolution, false);
+    }
+
+    /**
+     * Constructs a PropertiesFileFlagProvider for the specified file system path.
+     *
+     * @param path            the path of the properties file
+     * @param lazyResolution  true to resolve the ${...} placeholders of a flag when it is first evaluated
+     * @param deferredLoading true to load the file in {@link #initialize(EvaluationContext)} instead of now
+     */
+    public PropertiesFileFlagProvider(Path path, boolean lazyResolution, boolean deferredLoading) {
+        Objects.requireNonNull(path, "Path cannot be null");
+        this.fileName = path.toString();
+        this.path = path.toAbsolutePath();
+        this.lazyResolution = lazyResolution;
+        this.flags = deferredLoading ? NOT_LOADED : TypedFlagTable.of(loadProperties());
+    }
+
+    /**
+     * Loads the properties file if its loading was deferred. Does nothing if the flags are already loaded.
+     *
+     * @param evaluationContext the global evaluation context, not used
+     * @throws ProviderException if the file cannot be loaded
+     */
+    @Override
+    public void initialize(EvaluationContext evaluationContext) {
+        if (flags != NOT_LOADED) {
+            return;
+        }
+        reloadLock.lock();
+        try {
+            if (flags == NOT_LOADED) {
+                flags = TypedFlagTable.of(loadProperties());
+                flagKeysVersion.incrementAndGet();
             }
-            flags.clear();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
 
-            Properties properties = new Properties();
-            properties.load(input);
+    /**
+     * Returns whether the flags are loaded, which is always the case unless loading is deferred.
+     *
+     * @return true once the flags are loaded
+     */
+    public boolean isReady() {
+        return flags != NOT_LOADED;
+    }
 
-            String featureAccessorPrefix = getFeatureAccessorPrefix();
-            int featureAccessorPrefixLength = featureAccessorPrefix.length();
+    /**
+     * Reloads the flags from the properties file and atomically replaces the current ones.
+     * If the file cannot be loaded, the current flags are kept.
+     * Flags whose placeholders are resolved lazily are compared by their raw value.
+     *
+     * @return the normalized keys of the flags that were added, removed or changed
+     */
+    public Set<String> reload() {
+        reloadLock.lock();
+        try {
+            FlagKeyIndex<FlagDefinition> previous = flags.getIndex();
+            FlagKeyIndex<FlagDefinition> next = loadProperties();
+            Set<String> changedKeys = new LinkedHashSet<>();
+            boolean keySetChanged = false;
+            for (int slot = 0; slot < next.size(); slot++) {
+                FlagDefinition previousFlag = previous.get(next.keyAt(slot));
+                keySetChanged |= previousFlag == null;
+                if (previousFlag == null || !FlagChangeNotifier.sameDefinition(previousFlag, next.valueAt(slot))) {
+                    changedKeys.add(next.keyAt(slot));
+                }
+            }
+            for (int slot = 0; slot < previous.size(); slot++) {
+                if (next.indexOf(previous.keyAt(slot)) < 0) {
+                    keySetChanged = true;
+                    changedKeys.add(previous.keyAt(slot));
+                }
+            }
+            if (changedKeys.isEmpty()) {
+                return Collections.emptySet();
+            }
+
+            flags = TypedFlagTable.of(next);
+            if (keySetChanged) {
+                flagKeysVersion.incrementAndGet();
+            }
+            Set<String> changed = Collections.unmodifiableSet(changedKeys);
+            publishFlagChanges(changed);
+            return changed;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Watches the properties file and reloads it once it has not changed for the debounce duration,
+     * so an editor writing the file in several steps triggers a single reload.
+     * Only providers loaded from a file system path can be watched.
+     *
+     * @param debounce the quiet period to wait for after a change before reloading
+     */
+    public void startWatching(Duration debounce) {
+        Objects.requireNonNull(debounce, "Debounce cannot be null");
+        if (path == null) {
+            throw new IllegalStateException("Only a properties file loaded from a path can be watched: " + fileName);
+        }
+        reloadLock.lock();
+        try {
+            if (watchService != null) {
+                return;
+            }
+            WatchService service = FileSystems.getDefault().newWatchService();
+            path.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchService = service;
+            Thread.ofVirtual().name("feature-accessor-watcher-" + path.getFileName()).start(() -> watch(service, debounce));
+        } catch (IOException e) {
+            throw new ProviderException("Failed to watch feature flags file " + fileName, e);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Stops watching the properties file.
+     */
+    public void stopWatching() {
+        WatchService service = watchService;
+        watchService = null;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to stop watching " + fileName, e);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the properties file is being watched.
+     *
+     * @return true if the file is watched
+     */
+    public boolean isWatching() {
+        return watchService != null;
+    }
 
-            for (String key : properties.stringPropertyNames()) {
-                if (key.toUpperCase().startsWith(featureAccessorPrefix)) {
-                    String flagName = key.toUpperCase().substring(featureAccessorPrefixLength);
-                    flags.put(flagName, new Value(Boolean.parseBoolean(EnvResolver.resolveEnvVars(properties.getProperty(key)))));
+    @Override
+    public void shutdown() {
+        stopWatching();
+        super.shutdown();
+    }
+
+    private void watch(WatchService service, Duration debounce) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = pollChanges(key);
+                // Keep collecting events until the file has been quiet for the debounce duration.
+                while ((key = service.poll(debounce.toNanos(), TimeUnit.NANOSECONDS)) != null) {
+                    changed |= pollChanges(key);
+                }
+                if (changed) {
+                    reloadSafely();
                 }
             }
-        } catch (Exception e) {
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Watching was stopped.
+        }
+    }
+
+    private boolean pollChanges(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || path.getFileName().equals(event.context());
+        }
+        key.reset();
+        return changed;
+    }
+
+    private void reloadSafely() {
+        try {
+            Set<String> changedKeys = reload();
+            if (!changedKeys.isEmpty()) {
+                LOGGER.info(() -> "Reloaded " + changedKeys.size() + " changed feature flags from " + fileName);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to reload feature flags from " + fileName + ", keeping the previous flags", e);
+        }
+    }
+
+    /**
+     * Returns the statistics of the last successful load of the properties file.
+     *
+     * @return the load statistics
+     */
+    public PropertiesLoadStatistics getLastLoadStatistics() {
+        return lastLoadStatistics;
+    }
+
+    /**
+     * Loads feature flags from the properties file. The file is scanned in place, so the entries that are not
+     * feature flags are never turned into strings.
+     *
+     * @return the index of the loaded flags
+     */
+    private FlagKeyIndex<FlagDefinition> loadProperties() {
+        long start = System.nanoTime();
+        long allocatedBefore = currentThreadAllocatedBytes();
+        try {
+            ByteBuffer content = readProperties();
+            Map<String, FlagDefinition> loadedFlags = new LinkedHashMap<>();
+            EnvSnapshot snapshot = EnvSnapshot.capture();
+            Map<String, EnvTemplate> templates = new HashMap<>();
+            int entryCount = PropertiesScanner.scan(content, getFeatureAccessorPrefix(), (flagName, value) -> {
+                EnvTemplate template = value.contains("${") ? templates.computeIfAbsent(value, EnvTemplate::compile) : null;
+                putFlag(loadedFlags, flagName, value, template, snapshot);
+            });
+            FlagKeyIndex<FlagDefinition> index = FlagKeyIndex.of(loadedFlags);
+
+            long allocatedAfter = currentThreadAllocatedBytes();
+            PropertiesLoadStatistics statistics = new PropertiesLoadStatistics(fileName, Duration.ofNanos(System.nanoTime() - start),
+                    content.limit(), entryCount, index.size(), allocatedBefore < 0 ? -1L : allocatedAfter - allocatedBefore);
+            lastLoadStatistics = statistics;
+            LOGGER.fine(statistics::toString);
+            return index;
+        } catch (Exception | InternalError e) {
+            // A mapped file truncated while it is scanned raises an InternalError.
             throw new ProviderException("Failed to load feature flags from " + fileName, e);
         }
     }
 
+    /**
+     * Parses a flag entry. A key ending with a type suffix, such as {@code batch_size[int]}, is parsed as that type,
+     * and a key ending with {@code [rule]}, {@code [rollout]} or {@code [split]} is compiled as a targeted flag;
+     * any other key, including one ending with an unknown suffix, is an untyped flag read as a boolean.
+     * With lazy resolution, values with placeholders are resolved and parsed when the flag is first evaluated.
+     */
+    private void putFlag(Map<String, FlagDefinition> loadedFlags, String flagName, String rawValue, EnvTemplate template, EnvSnapshot snapshot) {
+        int typeStart = flagName.endsWith("]") ? flagName.lastIndexOf('[') : -1;
+        String suffix = typeStart < 0 ? null : flagName.substring(typeStart + 1, flagName.length() - 1).toLowerCase(Locale.ROOT);
+        if (suffix != null && !TARGETING_SUFFIXES.contains(suffix) && !FlagValueType.isTypeSuffix(suffix)) {
+            // An unknown suffix is part of the key of an untyped flag, as in the files written before typed flags.
+            suffix = null;
+        }
+        String name = suffix == null ? flagName : flagName.substring(0, typeStart);
+        String targeting = suffix != null && TARGETING_SUFFIXES.contains(suffix) ? suffix : null;
+        FlagValueType type = suffix == null || targeting != null ? null : FlagValueType.fromSuffix(suffix);
+        if (template == null) {
+            loadedFlags.put(name, parseFlag(name, targeting, type, rawValue));
+        } else if (lazyResolution) {
+            loadedFlags.put(name, FlagDefinition.lazy(flagName + "=" + rawValue, () -> parseFlag(name, targeting, type, template.resolve(snapshot))));
+        } else {
+            loadedFlags.put(name, parseFlag(name, targeting, type, template.resolve(snapshot)));
+        }
+    }
+
+    private static FlagDefinition parseFlag(String name, String targeting, FlagValueType type, String value) {
+        if (targeting != null) {
+            return parseTargetedFlag(name, targeting, value);
+        }
+        if (type == null) {
+            return FlagEvaluations.of(Boolean.parseBoolean(value));
+        }
+        Value parsed = type.parse(name, value);
+        return type == FlagValueType.BOOLEAN ? FlagEvaluations.of(parsed.asBoolean()) : FlagEvaluations.of(parsed);
+    }
+
+    /**
+     * Compiles a targeted flag. Rollouts and splits are salted with the normalized flag key,
+     * so a key keeps its buckets whatever the case used in the file.
+     */
+    private static FlagDefinition parseTargetedFlag(String name, String targeting, String value) {
+        try {
+            return switch (targeting) {
+                case RULE_SUFFIX -> TargetedFlag.of(TargetingRule.compile(value), TRUE_VALUE, FALSE_VALUE);
+                case ROLLOUT_SUFFIX -> WeightedSplit.percentage(FlagKeyIndex.normalize(name), Double.parseDouble(value.trim()));
+                default -> WeightedSplit.parse(FlagKeyIndex.normalize(name), value);
+            };
+        } catch (IllegalArgumentException e) {
+            throw new ProviderException("Invalid " + targeting + " for flag " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the content of the properties file. Large files are memory-mapped instead of being copied to the heap.
+     */
+    private ByteBuffer readProperties() throws IOException, URISyntaxException {
+        Path file = path;
+        if (file == null) {
+            URL resource = Thread.currentThread().getContextClassLoader().getResource(fileName);
+            if (resource == null) {
+                throw new IllegalArgumentException("File name file not found: " + fileName);
+            }
+            if (!"file".equals(resource.getProtocol())) {
+                try (InputStream input = resource.openStream()) {
+                    return ByteBuffer.wrap(input.readAllBytes());
+                }
+            }
+            file = Path.of(resource.toURI());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Properties file is too large: " + fileName);
+            }
+            if (size < MEMORY_MAPPING_THRESHOLD) {
+                ByteBuffer content = ByteBuffer.allocate((int) size);
+                while (content.hasRemaining() && channel.read(content) >= 0) {
+                    // Read until the buffer is full or the file ends.
+                }
+                return content.flip();
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean
+                && threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled()) {
+            return threadBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1L;
+    }
+
     /**
      * Returns the prefix used for feature accessor properties.
      *
@@ -74,33 +479,115 @@ public class PropertiesFileFlagProvider implements FeatureProvider {
         return FEATURE_ACCESSOR_PREFIX;
     }
 
+    @Override
+    public Set<String> getFlagKeys() {
+        return flags.getIndex().keys();
+    }
+
+    @Override
+    public long getFlagKeysVersion() {
+        return flagKeysVersion.get();
+    }
+
+    /**
+     * Returns the latest loaded flags, ignoring the current scope.
+     */
+    FlagKeyIndex<FlagDefinition> getFlagIndex() {
+        return flags.getIndex();
+    }
+
+    /**
+     * Returns the flag table to evaluate with: the one captured by the current scope, if any, or the latest one.
+     * Flags that are not loaded yet are not captured, so a scope sees them once they are.
+     */
+    private TypedFlagTable currentFlags() {
+        TypedFlagTable current = flags;
+        return current == NOT_LOADED ? current : FlagScope.capture(this, current);
+    }
+
+    private <T> ProviderEvaluation<T> evaluate(String flagKey, T defaultValue, EvaluationContext ctx, Function<FlagEvaluations, ProviderEvaluation<T>> selector) {
+        TypedFlagTable current = currentFlags();
+        if (current == NOT_LOADED) {
+            return SharedEvaluations.notReady(defaultValue);
+        }
+        return EvaluationTool.evaluatePrecomputedFlag(current.getIndex(), flagKey, defaultValue, ctx, selector);
+    }
+
+    @Override
+    public FlagValues evaluateAll(EvaluationContext ctx) {
+        FlagKeyIndex<FlagDefinition> current = currentFlags().getIndex();
+        String[] keys = new String[current.size()];
+        Value[] values = new Value[current.size()];
+        for (int slot = 0; slot < keys.length; slot++) {
+            keys[slot] = current.keyAt(slot);
+            values[slot] = EvaluationTool.evaluateValue(current.valueAt(slot), ctx);
+        }
+        return new FlagValues(keys, values, current);
+    }
+
+    @Override
+    public FlagValues evaluate(List<String> flagKeys, EvaluationContext ctx) {
+        FlagKeyIndex<FlagDefinition> current = currentFlags().getIndex();
+        String[] keys = flagKeys.toArray(new String[0]);
+        Value[] values = new Value[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = EvaluationTool.evaluateValue(current.get(keys[i]), ctx);
+        }
+        return new FlagValues(keys, values);
+    }
+
     @Override
     public Metadata getMetadata() {
         return () -> "PropertiesFileFeatureProvider";
     }
 
+    @Override
+    protected String getFlagsChangedMessage() {
+        return "Feature flags reloaded from " + fileName;
+    }
+
     @Override
     public ProviderEvaluation<Boolean> getBooleanEvaluation(String flagKey, Boolean defaultValue, EvaluationContext ctx) {
-        return EvaluationTool.evaluateFlag(flags, flagKey, defaultValue, ctx, Value::asBoolean);
+        return evaluate(flagKey, defaultValue, ctx, FlagEvaluations::getBooleanEvaluation);
     }
 
     @Override
     public ProviderEvaluation<String> getStringEvaluation(String flagKey, String defaultValue, EvaluationContext ctx) {
-        return EvaluationTool.evaluateFlag(flags, flagKey, defaultValue, ctx, Value::asString);
+        return evaluate(flagKey, defaultValue, ctx, FlagEvaluations::getStringEvaluation);
     }
 
     @Override
     public ProviderEvaluation<Integer> getIntegerEvaluation(String flagKey, Integer defaultValue, EvaluationContext ctx) {
-        return EvaluationTool.evaluateFlag(flags, flagKey, defaultValue, ctx, Value::asInteger);
+        return evaluate(flagKey, defaultValue, ctx, FlagEvaluations::getIntegerEvaluation);
     }
 
     @Override
     public ProviderEvaluation<Double> getDoubleEvaluation(String flagKey, Double defaultValue, EvaluationContext ctx) {
-        return EvaluationTool.evaluateFlag(flags, flagKey, defaultValue, ctx, Value::asDouble);
+        return evaluate(flagKey, defaultValue, ctx, FlagEvaluations::getDoubleEvaluation);
     }
 
     @Override
     public ProviderEvaluation<Value> getObjectEvaluation(String flagKey, Value defaultValue, EvaluationContext ctx) {
-        return EvaluationTool.evaluateFlag(flags, flagKey, defaultValue, ctx, v -> v);
+        return evaluate(flagKey, defaultValue, ctx, FlagEvaluations::getObjectEvaluation);
+    }
+
+    @Override
+    public boolean getBoolean(String flagKey, boolean defaultValue, EvaluationContext ctx) {
+        return currentFlags().getBoolean(flagKey, defaultValue, ctx);
+    }
+
+    @Override
+    public int getInteger(String flagKey, int defaultValue, EvaluationContext ctx) {
+        return currentFlags().getInteger(flagKey, defaultValue, ctx);
+    }
+
+    @Override
+    public double getDouble(String flagKey, double defaultValue, EvaluationContext ctx) {
+        return currentFlags().getDouble(flagKey, defaultValue, ctx);
+    }
+
+    @Override
+    public String getString(String flagKey, String defaultValue, EvaluationContext ctx) {
+        return currentFlags().getString(flagKey, defaultValue, ctx);
     }
 }
@@ -0,0 +1,72 @@
+package com.laulem.featureaccessorcore.provider;
+
+import java.time.Duration;
+
+/**
+ * PropertiesLoadStatistics describes the last load of a properties file by a PropertiesFileFlagProvider.
+ * The allocated bytes are the total bytes the loading thread allocated during the load, garbage included, as reported
+ * by {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}. They measure the allocation cost of a
+ * load, not the peak heap usage, and are -1 on JVMs that do not account thread allocations.
+ */
+public final class PropertiesLoadStatistics {
+    private final String source;
+    private final Duration duration;
+    private final long fileSize;
+    private final int entryCount;
+    private final int flagCount;
+    private final long allocatedBytes;
+
+    /**
+     * Constructs a PropertiesLoadStatistics.
+     *
+     * @param source         the name or path of the properties file
+     * @param duration       the duration of the load
+     * @param fileSize       the size of the file, in bytes
+     * @param entryCount     the number of entries in the file, flags or not
+     * @param flagCount      the number of loaded flags
+     * @param allocatedBytes the bytes allocated by the loading thread, or -1 if the JVM cannot measure them
+     */
+    public PropertiesLoadStatistics(String source, Duration duration, long fileSize, int entryCount, int flagCount, long allocatedBytes) {
+        this.source = source;
+        this.duration = duration;
+        this.fileSize = fileSize;
+        this.entryCount = entryCount;
+        this.flagCount = flagCount;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public int getFlagCount() {
+        return flagCount;
+    }
+
+    /**
+     * Returns the bytes allocated by the loading thread during the load. This is not the peak heap usage.
+     *
+     * @return the allocated bytes, or -1 if the JVM cannot measure them
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "Loaded " + flagCount + " flags out of " + entryCount + " entries (" + fileSize + " bytes) from " + source
+                + " in " + duration.toMillis() + " ms, allocating " + (allocatedBytes < 0 ? "an unknown number of" : allocatedBytes) + " bytes";
+    }
+}
@@ -0,0 +1,107 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.tool.KeyBloomFilter;
+
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * RegistrationFilter keeps the Bloom filter of a {@link FlagRegistrationSource} up to date with its registrations.
+ * When the filter holds more distinct keys than it was sized for, it is rebuilt for twice the number of registered
+ * keys, so registering the same keys again does not grow it. The current filter keeps
+ * receiving registrations until its replacement is complete, so a lookup never sees a false negative.
+ */
+final class RegistrationFilter implements Consumer<String> {
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_EXPECTED_KEYS = 64;
+
+    private final FlagRegistrationSource source;
+    private final ReentrantLock resizeLock = new ReentrantLock();
+    private volatile KeyBloomFilter filter;
+    private volatile KeyBloomFilter pendingFilter;
+
+    private RegistrationFilter(FlagRegistrationSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Subscribes a filter to the registrations of the given source.
+     *
+     * @param source the registration source
+     * @return the filled filter
+     */
+    static RegistrationFilter subscribe(FlagRegistrationSource source) {
+        RegistrationFilter registrationFilter = new RegistrationFilter(source);
+        // The listener is added before the keys are read, so a concurrent registration cannot be missed.
+        registrationFilter.filter = new KeyBloomFilter(MIN_EXPECTED_KEYS, FALSE_POSITIVE_RATE);
+        source.addRegistrationListener(registrationFilter);
+        registrationFilter.fill(source.getRegisteredFlagKeys());
+        return registrationFilter;
+    }
+
+    /**
+     * Stops following the registrations of the source.
+     */
+    void unsubscribe() {
+        source.removeRegistrationListener(this);
+    }
+
+    /**
+     * Checks whether the source may define the given flag.
+     *
+     * @param flagKey the flag key
+     * @return false if the source definitely does not define the flag
+     */
+    boolean mightContain(String flagKey) {
+        return filter.mightContain(flagKey);
+    }
+
+    @Override
+    public void accept(String flagKey) {
+        KeyBloomFilter pending = pendingFilter;
+        KeyBloomFilter current = filter;
+        current.add(flagKey);
+        if (pending != null) {
+            pending.add(flagKey);
+        }
+        if (current.isSaturated()) {
+            resize();
+        }
+    }
+
+    private void fill(Set<String> flagKeys) {
+        int expectedKeys = Math.max(MIN_EXPECTED_KEYS, flagKeys.size() * 2);
+        if (expectedKeys > filter.getExpectedKeys()) {
+            resizeTo(expectedKeys);
+        } else {
+            flagKeys.forEach(filter::add);
+        }
+    }
+
+    private void resize() {
+        if (!resizeLock.tryLock()) {
+            return;
+        }
+        try {
+            KeyBloomFilter current = filter;
+            if (current.isSaturated()) {
+                resizeTo(Math.max(MIN_EXPECTED_KEYS, source.getRegisteredFlagKeys().size() * 2));
+            }
+        } finally {
+            resizeLock.unlock();
+        }
+    }
+
+    /**
+     * Builds a larger filter while the current one keeps receiving registrations, then swaps them. The keys are read
+     * once the new filter receives registrations, so a key registered meanwhile cannot be missed.
+     */
+    private void resizeTo(int expectedKeys) {
+        KeyBloomFilter next = new KeyBloomFilter(expectedKeys, FALSE_POSITIVE_RATE);
+        pendingFilter = next;
+        source.getRegisteredFlagKeys().forEach(next::add);
+        filter = next;
+        pendingFilter = null;
+    }
+}
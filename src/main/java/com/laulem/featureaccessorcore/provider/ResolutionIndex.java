@@ -0,0 +1,106 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.tool.FlagKeyIndex;
+import dev.openfeature.sdk.FeatureProvider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ResolutionIndex is an immutable snapshot of a provider chain that maps every flag key listed by its
+ * {@link FlagKeySource} members to the positions of the providers that may define it, in priority order.
+ * Providers that cannot list their keys are candidates for every key; listing providers are only candidates
+ * for the keys they list.
+ */
+final class ResolutionIndex {
+    private final FeatureProvider[] providers;
+    private final long[] flagKeysVersions;
+    private final FlagKeyIndex<int[]> candidatesByKey;
+    private final int[] unlistedCandidates;
+
+    private ResolutionIndex(FeatureProvider[] providers, long[] flagKeysVersions, FlagKeyIndex<int[]> candidatesByKey, int[] unlistedCandidates) {
+        this.providers = providers;
+        this.flagKeysVersions = flagKeysVersions;
+        this.candidatesByKey = candidatesByKey;
+        this.unlistedCandidates = unlistedCandidates;
+    }
+
+    /**
+     * Builds the index of a provider chain.
+     *
+     * @param providers the immutable chain of providers, in priority order
+     * @return the index
+     */
+    static ResolutionIndex build(FeatureProvider[] providers) {
+        long[] flagKeysVersions = new long[providers.length];
+        Map<String, List<Integer>> listedPositions = new HashMap<>();
+        List<Integer> unlisted = new ArrayList<>();
+        for (int position = 0; position < providers.length; position++) {
+            if (providers[position] instanceof FlagKeySource source) {
+                // The version is read first, so a concurrent change is detected by the next isCurrent call.
+                flagKeysVersions[position] = source.getFlagKeysVersion();
+                for (String key : source.getFlagKeys()) {
+                    listedPositions.computeIfAbsent(FlagKeyIndex.normalize(key), k -> new ArrayList<>()).add(position);
+                }
+            } else {
+                unlisted.add(position);
+            }
+        }
+
+        // Keys listed by the same providers share one candidate array.
+        Map<List<Integer>, int[]> sharedCandidates = new HashMap<>();
+        Map<String, int[]> candidates = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : listedPositions.entrySet()) {
+            List<Integer> positions = new ArrayList<>(entry.getValue());
+            positions.addAll(unlisted);
+            positions.sort(null);
+            candidates.put(entry.getKey(), sharedCandidates.computeIfAbsent(positions, ResolutionIndex::toArray));
+        }
+        return new ResolutionIndex(providers, flagKeysVersions, FlagKeyIndex.of(candidates), toArray(unlisted));
+    }
+
+    private static int[] toArray(List<Integer> positions) {
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Checks whether this index still matches the chain and the key sets of its members.
+     *
+     * @param chain the current chain of providers
+     * @return true if the index can be used
+     */
+    boolean isCurrent(FeatureProvider[] chain) {
+        if (providers != chain) {
+            return false;
+        }
+        for (int position = 0; position < providers.length; position++) {
+            if (providers[position] instanceof FlagKeySource source && source.getFlagKeysVersion() != flagKeysVersions[position]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the positions of the providers to ask for a flag, in priority order.
+     *
+     * @param flagKey the flag key
+     * @return the candidate positions
+     */
+    int[] candidates(String flagKey) {
+        int[] candidates = candidatesByKey.get(flagKey);
+        return candidates != null ? candidates : unlistedCandidates;
+    }
+
+    /**
+     * Returns the provider at the given position.
+     *
+     * @param position the position in the chain
+     * @return the provider
+     */
+    FeatureProvider provider(int position) {
+        return providers[position];
+    }
+}
@@ -0,0 +1,159 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.exception.ProviderException;
+import com.laulem.featureaccessorcore.tool.FlagSnapshot;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.FeatureProvider;
+import dev.openfeature.sdk.Metadata;
+import dev.openfeature.sdk.ProviderEvaluation;
+import dev.openfeature.sdk.Value;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * SnapshotFlagProvider is a feature provider loading its flags once from a snapshot file compiled by
+ * {@link FlagSnapshotCompiler}. The file is read at once and its checksum verified, and its flags are then looked up
+ * in the hash table of the file itself: no properties are parsed, no placeholders resolved and no index built at
+ * startup. The flags never change afterwards; use {@link MappedSnapshotFlagProvider} to follow a snapshot written at
+ * runtime.
+ */
+public class SnapshotFlagProvider implements FeatureProvider, FlagKeySource, BulkFlagEvaluator, TypedFlagReader {
+    private final String fileName;
+    private final FlagSnapshot snapshot;
+    private final Set<String> flagKeys;
+
+    /**
+     * Constructs a SnapshotFlagProvider and loads feature flags from the specified classpath resource.
+     *
+     * @param fileName the name of the snapshot file
+     * @throws ProviderException if the snapshot cannot be read, is not a flag snapshot or is corrupted
+     */
+    public SnapshotFlagProvider(String fileName) {
+        this.fileName = Objects.requireNonNull(fileName, "File name cannot be null");
+        this.snapshot = load(() -> {
+            try (InputStream input = Thread.currentThread().getContextClassLoader().getResourceAsStream(fileName)) {
+                if (input == null) {
+                    throw new IllegalArgumentException("File name file not found: " + fileName);
+                }
+                return input.readAllBytes();
+            }
+        });
+        this.flagKeys = snapshot.keys();
+    }
+
+    /**
+     * Constructs a SnapshotFlagProvider and loads feature flags from the specified file system path.
+     *
+     * @param path the path of the snapshot file
+     * @throws ProviderException if the snapshot cannot be read, is not a flag snapshot or is corrupted
+     */
+    public SnapshotFlagProvider(Path path) {
+        Objects.requireNonNull(path, "Path cannot be null");
+        this.fileName = path.toString();
+        this.snapshot = load(() -> Files.readAllBytes(path));
+        this.flagKeys = snapshot.keys();
+    }
+
+    private FlagSnapshot load(SnapshotReader reader) {
+        FlagSnapshot loaded;
+        try {
+            loaded = FlagSnapshot.of(ByteBuffer.wrap(reader.read()));
+        } catch (IOException | RuntimeException e) {
+            throw new ProviderException("Failed to load feature flag snapshot " + fileName, e);
+        }
+        if (!loaded.verifyChecksum()) {
+            throw new ProviderException("Corrupted feature flag snapshot " + fileName,
+                    new IllegalStateException("Checksum mismatch"));
+        }
+        return loaded;
+    }
+
+    @Override
+    public Set<String> getFlagKeys() {
+        return flagKeys;
+    }
+
+    @Override
+    public long getFlagKeysVersion() {
+        return 0;
+    }
+
+    @Override
+    public FlagValues evaluateAll(EvaluationContext ctx) {
+        Map<String, Value> values = snapshot.values();
+        return new FlagValues(values.keySet().toArray(new String[0]), values.values().toArray(new Value[0]));
+    }
+
+    @Override
+    public FlagValues evaluate(List<String> flagKeys, EvaluationContext ctx) {
+        String[] keys = flagKeys.toArray(new String[0]);
+        Value[] values = new Value[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = snapshot.getValue(keys[i]);
+        }
+        return new FlagValues(keys, values);
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        return () -> "SnapshotFlagProvider";
+    }
+
+    @Override
+    public ProviderEvaluation<Boolean> getBooleanEvaluation(String flagKey, Boolean defaultValue, EvaluationContext ctx) {
+        return MappedSnapshotFlagProvider.evaluate(snapshot, flagKey, defaultValue, Value::asBoolean);
+    }
+
+    @Override
+    public ProviderEvaluation<String> getStringEvaluation(String flagKey, String defaultValue, EvaluationContext ctx) {
+        return MappedSnapshotFlagProvider.evaluate(snapshot, flagKey, defaultValue, Value::asString);
+    }
+
+    @Override
+    public ProviderEvaluation<Integer> getIntegerEvaluation(String flagKey, Integer defaultValue, EvaluationContext ctx) {
+        return MappedSnapshotFlagProvider.evaluate(snapshot, flagKey, defaultValue, Value::asInteger);
+    }
+
+    @Override
+    public ProviderEvaluation<Double> getDoubleEvaluation(String flagKey, Double defaultValue, EvaluationContext ctx) {
+        return MappedSnapshotFlagProvider.evaluate(snapshot, flagKey, defaultValue, Value::asDouble);
+    }
+
+    @Override
+    public ProviderEvaluation<Value> getObjectEvaluation(String flagKey, Value defaultValue, EvaluationContext ctx) {
+        return MappedSnapshotFlagProvider.evaluate(snapshot, flagKey, defaultValue, value -> value);
+    }
+
+    @Override
+    public boolean getBoolean(String flagKey, boolean defaultValue, EvaluationContext ctx) {
+        return snapshot.getBoolean(flagKey, defaultValue);
+    }
+
+    @Override
+    public int getInteger(String flagKey, int defaultValue, EvaluationContext ctx) {
+        return snapshot.getInteger(flagKey, defaultValue);
+    }
+
+    @Override
+    public double getDouble(String flagKey, double defaultValue, EvaluationContext ctx) {
+        return snapshot.getDouble(flagKey, defaultValue);
+    }
+
+    @Override
+    public String getString(String flagKey, String defaultValue, EvaluationContext ctx) {
+        return snapshot.getString(flagKey, defaultValue);
+    }
+
+    @FunctionalInterface
+    private interface SnapshotReader {
+        byte[] read() throws IOException;
+    }
+}
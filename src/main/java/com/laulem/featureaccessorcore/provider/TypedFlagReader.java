@@ -0,0 +1,73 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.tool.EvaluationTool;
+import dev.openfeature.sdk.EvaluationContext;
+
+/**
+ * TypedFlagReader is implemented by feature providers that can read flag values without building a
+ * {@link dev.openfeature.sdk.ProviderEvaluation}, for callers using the library directly.
+ * A getter returns the default value when the flag is not defined, does not hold a value of that type,
+ * or cannot be evaluated.
+ */
+public interface TypedFlagReader {
+    /**
+     * Returns the value of a boolean flag.
+     *
+     * @param flagKey      the flag key, compared ignoring case
+     * @param defaultValue the default value
+     * @param ctx          the evaluation context
+     * @return the flag value
+     */
+    boolean getBoolean(String flagKey, boolean defaultValue, EvaluationContext ctx);
+
+    /**
+     * Returns the value of a numeric flag as an int, truncating decimal values.
+     *
+     * @param flagKey      the flag key, compared ignoring case
+     * @param defaultValue the default value
+     * @param ctx          the evaluation context
+     * @return the flag value
+     */
+    int getInteger(String flagKey, int defaultValue, EvaluationContext ctx);
+
+    /**
+     * Returns the value of a numeric flag as a double.
+     *
+     * @param flagKey      the flag key, compared ignoring case
+     * @param defaultValue the default value
+     * @param ctx          the evaluation context
+     * @return the flag value
+     */
+    double getDouble(String flagKey, double defaultValue, EvaluationContext ctx);
+
+    /**
+     * Returns the value of a string flag.
+     *
+     * @param flagKey      the flag key, compared ignoring case
+     * @param defaultValue the default value
+     * @param ctx          the evaluation context
+     * @return the flag value
+     */
+    String getString(String flagKey, String defaultValue, EvaluationContext ctx);
+
+    /**
+     * Returns whether a boolean flag is enabled for an empty evaluation context.
+     *
+     * @param flagKey the flag key, compared ignoring case
+     * @return the flag value, or false if the flag is not a defined boolean
+     */
+    default boolean isEnabled(String flagKey) {
+        return getBoolean(flagKey, false, EvaluationTool.EMPTY_CONTEXT);
+    }
+
+    /**
+     * Returns whether a boolean flag is enabled for the given evaluation context.
+     *
+     * @param flagKey the flag key, compared ignoring case
+     * @param ctx     the evaluation context
+     * @return the flag value, or false if the flag is not a defined boolean
+     */
+    default boolean isEnabled(String flagKey, EvaluationContext ctx) {
+        return getBoolean(flagKey, false, ctx);
+    }
+}
@@ -0,0 +1,64 @@
+package com.laulem.featureaccessorcore.targeting;
+
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.Structure;
+import dev.openfeature.sdk.Value;
+
+/**
+ * Attribute reads a named attribute from an evaluation context.
+ * {@code targetingKey} reads the targeting key of the context. A dotted name that is not an attribute itself,
+ * such as {@code user.country}, is read as a path through nested structures.
+ */
+final class Attribute {
+    static final String TARGETING_KEY = "targetingKey";
+
+    private final String name;
+    private final String[] path;
+
+    Attribute(String name) {
+        this.name = name;
+        this.path = name.indexOf('.') > 0 ? name.split("\\.") : null;
+    }
+
+    /**
+     * Returns the raw value of the attribute: a String, Boolean, Number, Instant, Structure or List.
+     *
+     * @param ctx the evaluation context, possibly null
+     * @return the attribute value, or null if the context does not define it
+     */
+    Object resolve(EvaluationContext ctx) {
+        if (ctx == null) {
+            return null;
+        }
+        if (TARGETING_KEY.equals(name)) {
+            String targetingKey = ctx.getTargetingKey();
+            if (targetingKey != null) {
+                return targetingKey;
+            }
+        }
+        Value value = ctx.getValue(name);
+        if (value == null && path != null) {
+            value = resolvePath(ctx);
+        }
+        return value == null ? null : value.asObject();
+    }
+
+    private Value resolvePath(Structure structure) {
+        Value value = null;
+        for (String part : path) {
+            if (structure == null) {
+                return null;
+            }
+            value = structure.getValue(part);
+            if (value == null) {
+                return null;
+            }
+            structure = value.isStructure() ? value.asStructure() : null;
+        }
+        return value;
+    }
+
+    String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,254 @@
+package com.laulem.featureaccessorcore.targeting;
+
+import dev.openfeature.sdk.EvaluationContext;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Condition is a node of a compiled targeting rule. Literals are parsed when the rule is compiled,
+ * so testing a condition only reads the context and compares, without allocating.
+ * A comparison on an attribute that the context does not define is false, even when negated.
+ */
+abstract class Condition {
+
+    abstract boolean test(EvaluationContext ctx);
+
+    static final class And extends Condition {
+        private final Condition[] operands;
+
+        And(Condition[] operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        boolean test(EvaluationContext ctx) {
+            for (Condition operand : operands) {
+                if (!operand.test(ctx)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class Or extends Condition {
+        private final Condition[] operands;
+
+        Or(Condition[] operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        boolean test(EvaluationContext ctx) {
+            for (Condition operand : operands) {
+                if (operand.test(ctx)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    static final class Not extends Condition {
+        private final Condition operand;
+
+        Not(Condition operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        boolean test(EvaluationContext ctx) {
+            return !operand.test(ctx);
+        }
+    }
+
+    /**
+     * A comparison of an attribute of the context, false when the attribute is missing.
+     */
+    abstract static class AttributeCondition extends Condition {
+        private final Attribute attribute;
+        private final boolean negated;
+
+        AttributeCondition(Attribute attribute, boolean negated) {
+            this.attribute = attribute;
+            this.negated = negated;
+        }
+
+        @Override
+        final boolean test(EvaluationContext ctx) {
+            Object value = attribute.resolve(ctx);
+            return value != null && matches(value) != negated;
+        }
+
+        abstract boolean matches(Object value);
+    }
+
+    static final class StringEquals extends AttributeCondition {
+        private final String expected;
+
+        StringEquals(Attribute attribute, boolean negated, String expected) {
+            super(attribute, negated);
+            this.expected = expected;
+        }
+
+        @Override
+        boolean matches(Object value) {
+            return expected.equals(value);
+        }
+    }
+
+    static final class NumberEquals extends AttributeCondition {
+        private final double expected;
+
+        NumberEquals(Attribute attribute, boolean negated, double expected) {
+            super(attribute, negated);
+            this.expected = expected;
+        }
+
+        @Override
+        boolean matches(Object value) {
+            return value instanceof Number number && number.doubleValue() == expected;
+        }
+    }
+
+    static final class BooleanEquals extends AttributeCondition {
+        private final boolean expected;
+
+        BooleanEquals(Attribute attribute, boolean negated, boolean expected) {
+            super(attribute, negated);
+            this.expected = expected;
+        }
+
+        @Override
+        boolean matches(Object value) {
+            return value instanceof Boolean b && b == expected;
+        }
+    }
+
+    static final class NumberCompare extends AttributeCondition {
+        private final Operator operator;
+        private final double expected;
+
+        NumberCompare(Attribute attribute, Operator operator, double expected) {
+            super(attribute, false);
+            this.operator = operator;
+            this.expected = expected;
+        }
+
+        @Override
+        boolean matches(Object value) {
+            return value instanceof Number number && operator.accepts(Double.compare(number.doubleValue(), expected));
+        }
+    }
+
+    static final class In extends AttributeCondition {
+        private final Set<String> strings;
+        private final double[] numbers;
+        private final boolean acceptsTrue;
+        private final boolean acceptsFalse;
+
+        /**
+         * @param numbers the accepted numbers, sorted
+         */
+        In(Attribute attribute, boolean negated, Set<String> strings, double[] numbers, boolean acceptsTrue, boolean acceptsFalse) {
+            super(attribute, negated);
+            this.strings = strings;
+            this.numbers = numbers;
+            this.acceptsTrue = acceptsTrue;
+            this.acceptsFalse = acceptsFalse;
+        }
+
+        @Override
+        boolean matches(Object value) {
+            if (value instanceof String s) {
+                return strings.contains(s);
+            }
+            if (value instanceof Number number) {
+                return Arrays.binarySearch(numbers, number.doubleValue()) >= 0;
+            }
+            if (value instanceof Boolean b) {
+                return b ? acceptsTrue : acceptsFalse;
+            }
+            return false;
+        }
+    }
+
+    static final class Matches extends AttributeCondition {
+        private final Pattern pattern;
+
+        Matches(Attribute attribute, Pattern pattern) {
+            super(attribute, false);
+            this.pattern = pattern;
+        }
+
+        @Override
+        boolean matches(Object value) {
+            return value instanceof String s && pattern.matcher(s).matches();
+        }
+    }
+
+    static final class SemverCompare extends AttributeCondition {
+        private final Operator operator;
+        private final SemanticVersion expected;
+
+        SemverCompare(Attribute attribute, Operator operator, SemanticVersion expected) {
+            super(attribute, false);
+            this.operator = operator;
+            this.expected = expected;
+        }
+
+        @Override
+        boolean matches(Object value) {
+            if (!(value instanceof String s)) {
+                return false;
+            }
+            int comparison = expected.compareFrom(s);
+            return comparison != SemanticVersion.INVALID && operator.accepts(comparison);
+        }
+    }
+
+    /**
+     * The comparison operators, applied to the sign of a comparison.
+     */
+    enum Operator {
+        EQUAL("=="),
+        NOT_EQUAL("!="),
+        LOWER("<"),
+        LOWER_OR_EQUAL("<="),
+        GREATER(">"),
+        GREATER_OR_EQUAL(">=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        static Operator fromSymbol(String symbol) {
+            for (Operator operator : values()) {
+                if (operator.symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return symbol;
+        }
+
+        boolean accepts(int comparison) {
+            return switch (this) {
+                case EQUAL -> comparison == 0;
+                case NOT_EQUAL -> comparison != 0;
+                case LOWER -> comparison < 0;
+                case LOWER_OR_EQUAL -> comparison <= 0;
+                case GREATER -> comparison > 0;
+                case GREATER_OR_EQUAL -> comparison >= 0;
+            };
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.laulem.featureaccessorcore.targeting;
+
+/**
+ * RolloutHash assigns targeting keys to one of 10,000 buckets with the 32-bit MurmurHash3 of their UTF-16 chars.
+ * The hash is seeded with the hash of a per-flag salt, so the same key lands in independent buckets
+ * for different flags. Hashing reads the chars of the key in place, without encoding it to bytes.
+ */
+final class RolloutHash {
+    static final int BUCKETS = 10_000;
+    private static final int C1 = 0xCC9E2D51;
+    private static final int C2 = 0x1B873593;
+
+    private RolloutHash() {
+    }
+
+    /**
+     * Returns the seed derived from a salt.
+     *
+     * @param salt the salt, typically the flag key
+     * @return the seed
+     */
+    static int seed(String salt) {
+        return hash(salt, 0);
+    }
+
+    /**
+     * Returns the bucket of a targeting key.
+     *
+     * @param key  the targeting key
+     * @param seed the seed derived from the flag salt
+     * @return the bucket, in [0, 10000)
+     */
+    static int bucket(String key, int seed) {
+        return (int) (Integer.toUnsignedLong(hash(key, seed)) % BUCKETS);
+    }
+
+    /**
+     * Computes the MurmurHash3 (x86, 32-bit) of the chars of a string, two chars per block.
+     */
+    static int hash(String key, int seed) {
+        int h = seed;
+        int length = key.length();
+        int i = 1;
+        for (; i < length; i += 2) {
+            int k = key.charAt(i - 1) | (key.charAt(i) << 16);
+            h = mixH(h, mixK(k));
+        }
+        if ((length & 1) == 1) {
+            h ^= mixK(key.charAt(length - 1));
+        }
+        h ^= length * 2;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int mixK(int k) {
+        k *= C1;
+        k = Integer.rotateLeft(k, 15);
+        return k * C2;
+    }
+
+    private static int mixH(int h, int k) {
+        h ^= k;
+        h = Integer.rotateLeft(h, 13);
+        return h * 5 + 0xE6546B64;
+    }
+}
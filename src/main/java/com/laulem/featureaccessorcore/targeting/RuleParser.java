@@ -0,0 +1,328 @@
+package com.laulem.featureaccessorcore.targeting;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * RuleParser compiles a targeting expression into a tree of {@link Condition}.
+ * <pre>
+ * expression := and ( "||" and )*
+ * and        := unary ( "&amp;&amp;" unary )*
+ * unary      := "!" unary | "(" expression ")" | comparison
+ * comparison := attribute ( "==" | "!=" | "&lt;" | "&lt;=" | "&gt;" | "&gt;=" ) literal
+ *             | attribute [ "not" ] "in" "[" [ literal ( "," literal )* ] "]"
+ *             | attribute "matches" string
+ *             | attribute "semver" ( "==" | "!=" | "&lt;" | "&lt;=" | "&gt;" | "&gt;=" ) string
+ * literal    := string | number | "true" | "false"
+ * </pre>
+ * Strings are quoted with double or single quotes; only the quote and the backslash are escaped,
+ * so regular expressions keep their backslashes.
+ */
+final class RuleParser {
+    private enum TokenType {
+        IDENTIFIER, STRING, NUMBER, SYMBOL, END
+    }
+
+    private final String expression;
+    private int position;
+    private TokenType type;
+    private String text;
+    private double number;
+    private int tokenStart;
+
+    private RuleParser(String expression) {
+        this.expression = expression;
+    }
+
+    /**
+     * Compiles a targeting expression.
+     *
+     * @param expression the targeting expression
+     * @return the root condition
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    static Condition parse(String expression) {
+        RuleParser parser = new RuleParser(expression);
+        parser.advance();
+        Condition condition = parser.parseOr();
+        if (parser.type != TokenType.END) {
+            throw parser.error("unexpected '" + parser.text + "'");
+        }
+        return condition;
+    }
+
+    private Condition parseOr() {
+        List<Condition> operands = new ArrayList<>();
+        operands.add(parseAnd());
+        while (acceptSymbol("||")) {
+            operands.add(parseAnd());
+        }
+        return operands.size() == 1 ? operands.get(0) : new Condition.Or(operands.toArray(new Condition[0]));
+    }
+
+    private Condition parseAnd() {
+        List<Condition> operands = new ArrayList<>();
+        operands.add(parseUnary());
+        while (acceptSymbol("&&")) {
+            operands.add(parseUnary());
+        }
+        return operands.size() == 1 ? operands.get(0) : new Condition.And(operands.toArray(new Condition[0]));
+    }
+
+    private Condition parseUnary() {
+        if (acceptSymbol("!")) {
+            return new Condition.Not(parseUnary());
+        }
+        if (acceptSymbol("(")) {
+            Condition condition = parseOr();
+            expectSymbol(")");
+            return condition;
+        }
+        return parseComparison();
+    }
+
+    private Condition parseComparison() {
+        if (type != TokenType.IDENTIFIER) {
+            throw error("attribute expected");
+        }
+        Attribute attribute = new Attribute(text);
+        advance();
+        if (type == TokenType.IDENTIFIER) {
+            String keyword = text;
+            int keywordStart = tokenStart;
+            advance();
+            switch (keyword) {
+                case "in" -> {
+                    return parseIn(attribute, false);
+                }
+                case "not" -> {
+                    if (type != TokenType.IDENTIFIER || !"in".equals(text)) {
+                        throw error("'in' expected after 'not'");
+                    }
+                    advance();
+                    return parseIn(attribute, true);
+                }
+                case "matches" -> {
+                    return parseMatches(attribute);
+                }
+                case "semver" -> {
+                    Condition.Operator operator = expectOperator();
+                    int versionStart = tokenStart;
+                    SemanticVersion version = SemanticVersion.parse(expectString());
+                    if (version == null) {
+                        throw error(versionStart, "invalid semantic version");
+                    }
+                    return new Condition.SemverCompare(attribute, operator, version);
+                }
+                default -> throw error(keywordStart, "unknown operator '" + keyword + "'");
+            }
+        }
+
+        Condition.Operator operator = expectOperator();
+        boolean equality = operator == Condition.Operator.EQUAL || operator == Condition.Operator.NOT_EQUAL;
+        boolean negated = operator == Condition.Operator.NOT_EQUAL;
+        Condition condition;
+        if (type == TokenType.NUMBER) {
+            condition = equality ? new Condition.NumberEquals(attribute, negated, number) : new Condition.NumberCompare(attribute, operator, number);
+        } else if (!equality) {
+            throw error("number expected after '" + operator + "'");
+        } else if (type == TokenType.STRING) {
+            condition = new Condition.StringEquals(attribute, negated, text);
+        } else if (isBoolean()) {
+            condition = new Condition.BooleanEquals(attribute, negated, Boolean.parseBoolean(text));
+        } else {
+            throw error("literal expected");
+        }
+        advance();
+        return condition;
+    }
+
+    private Condition parseIn(Attribute attribute, boolean negated) {
+        expectSymbol("[");
+        Set<String> strings = new HashSet<>();
+        List<Double> numbers = new ArrayList<>();
+        boolean acceptsTrue = false;
+        boolean acceptsFalse = false;
+        if (!acceptSymbol("]")) {
+            do {
+                if (type == TokenType.STRING) {
+                    strings.add(text);
+                } else if (type == TokenType.NUMBER) {
+                    numbers.add(number);
+                } else if (isBoolean()) {
+                    acceptsTrue |= "true".equals(text);
+                    acceptsFalse |= "false".equals(text);
+                } else {
+                    throw error("literal expected");
+                }
+                advance();
+            } while (acceptSymbol(","));
+            expectSymbol("]");
+        }
+        double[] sortedNumbers = numbers.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        return new Condition.In(attribute, negated, Set.copyOf(strings), sortedNumbers, acceptsTrue, acceptsFalse);
+    }
+
+    private Condition parseMatches(Attribute attribute) {
+        int patternStart = tokenStart;
+        String regex = expectString();
+        try {
+            return new Condition.Matches(attribute, Pattern.compile(regex));
+        } catch (PatternSyntaxException e) {
+            throw error(patternStart, "invalid regular expression: " + e.getDescription());
+        }
+    }
+
+    private boolean isBoolean() {
+        return type == TokenType.IDENTIFIER && ("true".equals(text) || "false".equals(text));
+    }
+
+    private Condition.Operator expectOperator() {
+        Condition.Operator operator = type == TokenType.SYMBOL ? Condition.Operator.fromSymbol(text) : null;
+        if (operator == null) {
+            throw error("comparison operator expected");
+        }
+        advance();
+        return operator;
+    }
+
+    private String expectString() {
+        if (type != TokenType.STRING) {
+            throw error("string expected");
+        }
+        String value = text;
+        advance();
+        return value;
+    }
+
+    private void expectSymbol(String symbol) {
+        if (!acceptSymbol(symbol)) {
+            throw error("'" + symbol + "' expected");
+        }
+    }
+
+    private boolean acceptSymbol(String symbol) {
+        if (type == TokenType.SYMBOL && symbol.equals(text)) {
+            advance();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reads the next token.
+     */
+    private void advance() {
+        int length = expression.length();
+        while (position < length && Character.isWhitespace(expression.charAt(position))) {
+            position++;
+        }
+        tokenStart = position;
+        if (position == length) {
+            type = TokenType.END;
+            text = "end of rule";
+            return;
+        }
+        char c = expression.charAt(position);
+        if (Character.isLetter(c) || c == '_' || c == '$') {
+            while (position < length && isIdentifierPart(expression.charAt(position))) {
+                position++;
+            }
+            type = TokenType.IDENTIFIER;
+            text = expression.substring(tokenStart, position);
+        } else if (c == '"' || c == '\'') {
+            readString(c);
+        } else if (isDigit(c) || (c == '-' && position + 1 < length && isDigit(expression.charAt(position + 1)))) {
+            readNumber();
+        } else {
+            readSymbol(c);
+        }
+    }
+
+    private void readString(char quote) {
+        StringBuilder builder = new StringBuilder();
+        position++;
+        while (position < expression.length()) {
+            char c = expression.charAt(position++);
+            if (c == quote) {
+                type = TokenType.STRING;
+                text = builder.toString();
+                return;
+            }
+            if (c == '\\' && position < expression.length()) {
+                char next = expression.charAt(position);
+                if (next == quote || next == '\\') {
+                    c = next;
+                    position++;
+                }
+            }
+            builder.append(c);
+        }
+        throw error("unterminated string");
+    }
+
+    private void readNumber() {
+        int length = expression.length();
+        position++;
+        while (position < length && (isDigit(expression.charAt(position)) || expression.charAt(position) == '.')) {
+            position++;
+        }
+        if (position < length && (expression.charAt(position) == 'e' || expression.charAt(position) == 'E')) {
+            position++;
+            if (position < length && (expression.charAt(position) == '+' || expression.charAt(position) == '-')) {
+                position++;
+            }
+            while (position < length && isDigit(expression.charAt(position))) {
+                position++;
+            }
+        }
+        type = TokenType.NUMBER;
+        text = expression.substring(tokenStart, position);
+        try {
+            number = Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw error("invalid number '" + text + "'");
+        }
+    }
+
+    private void readSymbol(char c) {
+        String twoChars = position + 1 < expression.length() ? expression.substring(position, position + 2) : "";
+        switch (twoChars) {
+            case "&&", "||", "==", "!=", "<=", ">=" -> {
+                position += 2;
+                type = TokenType.SYMBOL;
+                text = twoChars;
+                return;
+            }
+            default -> {
+                // Single character symbol.
+            }
+        }
+        if ("!<>()[],".indexOf(c) < 0) {
+            throw error("unexpected character '" + c + "'");
+        }
+        position++;
+        type = TokenType.SYMBOL;
+        text = String.valueOf(c);
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.' || c == '-';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private IllegalArgumentException error(String message) {
+        return error(tokenStart, message);
+    }
+
+    private IllegalArgumentException error(int at, String message) {
+        return new IllegalArgumentException("Invalid targeting rule '" + expression + "' at position " + at + ": " + message);
+    }
+}
@@ -0,0 +1,191 @@
+package com.laulem.featureaccessorcore.targeting;
+
+/**
+ * SemanticVersion is a version compared with the semantic versioning precedence rules.
+ * A leading {@code v} is accepted, missing minor and patch numbers are read as 0 and build metadata is ignored.
+ * Versions read from a context are compared in place, without being parsed into objects.
+ */
+final class SemanticVersion {
+    static final int INVALID = Integer.MIN_VALUE;
+    private static final int MAX_DIGITS = 18;
+
+    private final long major;
+    private final long minor;
+    private final long patch;
+    private final String preRelease;
+
+    private SemanticVersion(long major, long minor, long patch, String preRelease) {
+        this.major = major;
+        this.minor = minor;
+        this.patch = patch;
+        this.preRelease = preRelease;
+    }
+
+    /**
+     * Parses a version.
+     *
+     * @param text the version text
+     * @return the version, or null if the text is not a version
+     */
+    static SemanticVersion parse(String text) {
+        int length = text.length();
+        int i = versionStart(text);
+        long[] core = new long[3];
+        for (int component = 0; component < 3; component++) {
+            if (component > 0) {
+                if (i == length || text.charAt(i) != '.') {
+                    break;
+                }
+                i++;
+            }
+            int start = i;
+            while (i < length && isDigit(text.charAt(i))) {
+                core[component] = core[component] * 10 + (text.charAt(i++) - '0');
+            }
+            if (i == start || i - start > MAX_DIGITS) {
+                return null;
+            }
+        }
+        if (!isSuffix(text, i)) {
+            return null;
+        }
+        String preRelease = null;
+        if (i < length && text.charAt(i) == '-') {
+            preRelease = text.substring(i + 1, preReleaseEnd(text, i + 1));
+            if (preRelease.isEmpty() || preRelease.startsWith(".") || preRelease.endsWith(".") || preRelease.contains("..")) {
+                return null;
+            }
+        }
+        return new SemanticVersion(core[0], core[1], core[2], preRelease);
+    }
+
+    /**
+     * Compares a version text to this version.
+     *
+     * @param text the version text
+     * @return a negative number, zero or a positive number as the text is lower, equal or greater than this
+     * version, or INVALID if the text is not a version
+     */
+    int compareFrom(String text) {
+        int length = text.length();
+        int i = versionStart(text);
+        int comparison = 0;
+        for (int component = 0; component < 3; component++) {
+            long number = 0;
+            if (component == 0 || (i < length && text.charAt(i) == '.')) {
+                if (component > 0) {
+                    i++;
+                }
+                int start = i;
+                while (i < length && isDigit(text.charAt(i))) {
+                    number = number * 10 + (text.charAt(i++) - '0');
+                }
+                if (i == start || i - start > MAX_DIGITS) {
+                    return INVALID;
+                }
+            }
+            // A missing minor or patch number is read as 0.
+            long expected = component == 0 ? major : component == 1 ? minor : patch;
+            if (comparison == 0 && number != expected) {
+                comparison = number < expected ? -1 : 1;
+            }
+        }
+        if (!isSuffix(text, i)) {
+            return INVALID;
+        }
+        return comparison != 0 ? comparison : comparePreRelease(text, i);
+    }
+
+    private int comparePreRelease(String text, int i) {
+        int end = preReleaseEnd(text, i + 1);
+        boolean hasPreRelease = i < text.length() && text.charAt(i) == '-' && i + 1 < end;
+        if (!hasPreRelease) {
+            return preRelease == null ? 0 : 1;
+        }
+        if (preRelease == null) {
+            return -1;
+        }
+        return compareIdentifiers(text, i + 1, end, preRelease);
+    }
+
+    /**
+     * Compares dot-separated pre-release identifiers: numeric identifiers numerically, others lexically,
+     * numeric identifiers being lower than the others, and a shorter list being lower than a longer one.
+     */
+    private static int compareIdentifiers(String text, int from, int to, String expected) {
+        int i = from;
+        int j = 0;
+        int expectedLength = expected.length();
+        while (i < to && j < expectedLength) {
+            int identifierEnd = identifierEnd(text, i, to);
+            int expectedEnd = identifierEnd(expected, j, expectedLength);
+            if (identifierEnd == i) {
+                return INVALID;
+            }
+            boolean numeric = isNumeric(text, i, identifierEnd);
+            boolean expectedNumeric = isNumeric(expected, j, expectedEnd);
+            int comparison;
+            if (numeric && expectedNumeric) {
+                int lengthDifference = (identifierEnd - i) - (expectedEnd - j);
+                comparison = lengthDifference != 0 ? lengthDifference : compareRegions(text, i, identifierEnd, expected, j, expectedEnd);
+            } else if (numeric != expectedNumeric) {
+                comparison = numeric ? -1 : 1;
+            } else {
+                comparison = compareRegions(text, i, identifierEnd, expected, j, expectedEnd);
+            }
+            if (comparison != 0) {
+                return comparison;
+            }
+            i = identifierEnd + 1;
+            j = expectedEnd + 1;
+        }
+        boolean textRemaining = i < to;
+        boolean expectedRemaining = j < expectedLength;
+        return textRemaining == expectedRemaining ? 0 : textRemaining ? 1 : -1;
+    }
+
+    private static int compareRegions(String a, int aFrom, int aTo, String b, int bFrom, int bTo) {
+        int length = Math.min(aTo - aFrom, bTo - bFrom);
+        for (int k = 0; k < length; k++) {
+            int difference = a.charAt(aFrom + k) - b.charAt(bFrom + k);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return (aTo - aFrom) - (bTo - bFrom);
+    }
+
+    private static int versionStart(String text) {
+        return !text.isEmpty() && (text.charAt(0) == 'v' || text.charAt(0) == 'V') ? 1 : 0;
+    }
+
+    private static boolean isSuffix(String text, int i) {
+        return i == text.length() || text.charAt(i) == '-' || text.charAt(i) == '+';
+    }
+
+    private static int preReleaseEnd(String text, int from) {
+        int plus = text.indexOf('+', Math.min(from, text.length()));
+        return plus < 0 ? text.length() : plus;
+    }
+
+    private static int identifierEnd(String text, int from, int to) {
+        int i = from;
+        while (i < to && text.charAt(i) != '.') {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isNumeric(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return from < to;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
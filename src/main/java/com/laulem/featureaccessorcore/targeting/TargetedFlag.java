@@ -0,0 +1,142 @@
+package com.laulem.featureaccessorcore.targeting;
+
+import com.laulem.featureaccessorcore.tool.EvaluationTool;
+import com.laulem.featureaccessorcore.tool.FlagDefinition;
+import com.laulem.featureaccessorcore.tool.FlagEvaluations;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+import dev.openfeature.sdk.Value;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * TargetedFlag is a flag whose value depends on the evaluation context. Its variants are tried in order and the
+ * first one whose rule matches the context is returned with the TARGETING_MATCH reason; when none matches,
+ * the default variant is returned with the DEFAULT reason.
+ * The evaluations of every variant are precomputed, so evaluating the flag only tests the rules.
+ */
+public final class TargetedFlag implements FlagDefinition {
+    public static final String MATCH_VARIANT = "match";
+    public static final String DEFAULT_VARIANT = "default";
+
+    private final List<Variant> variants;
+    private final String defaultVariant;
+    private final Value defaultValue;
+    private final TargetingRule[] rules;
+    private final FlagEvaluations[] matchEvaluations;
+    private final FlagEvaluations defaultEvaluations;
+
+    /**
+     * Constructs a TargetedFlag.
+     *
+     * @param variants       the variants, tried in order
+     * @param defaultVariant the name of the variant returned when no rule matches
+     * @param defaultValue   the value returned when no rule matches
+     */
+    public TargetedFlag(List<Variant> variants, String defaultVariant, Value defaultValue) {
+        Objects.requireNonNull(variants, "Variants cannot be null");
+        this.variants = List.copyOf(variants);
+        this.defaultVariant = Objects.requireNonNull(defaultVariant, "Default variant cannot be null");
+        this.defaultValue = Objects.requireNonNull(defaultValue, "Default value cannot be null");
+        this.rules = new TargetingRule[this.variants.size()];
+        this.matchEvaluations = new FlagEvaluations[this.variants.size()];
+        for (int i = 0; i < rules.length; i++) {
+            Variant variant = this.variants.get(i);
+            rules[i] = variant.getRule();
+            matchEvaluations[i] = FlagEvaluations.of(variant.getValue(), variant.getName(), EvaluationTool.TARGETING_MATCH_REASON);
+        }
+        this.defaultEvaluations = FlagEvaluations.of(defaultValue, defaultVariant, EvaluationTool.DEFAULT_REASON);
+    }
+
+    /**
+     * Creates a flag returning the match value, as the "match" variant, when the rule matches the context,
+     * and the default value, as the "default" variant, otherwise.
+     *
+     * @param rule         the targeting rule
+     * @param matchValue   the value returned when the rule matches
+     * @param defaultValue the value returned otherwise
+     * @return the targeted flag
+     */
+    public static TargetedFlag of(TargetingRule rule, Value matchValue, Value defaultValue) {
+        return new TargetedFlag(List.of(new Variant(MATCH_VARIANT, rule, matchValue)), DEFAULT_VARIANT, defaultValue);
+    }
+
+    @Override
+    public <T> ProviderEvaluation<T> evaluate(EvaluationContext ctx, Function<FlagEvaluations, ProviderEvaluation<T>> selector) {
+        for (int i = 0; i < rules.length; i++) {
+            if (rules[i].matches(ctx)) {
+                return selector.apply(matchEvaluations[i]);
+            }
+        }
+        return selector.apply(defaultEvaluations);
+    }
+
+    public List<Variant> getVariants() {
+        return variants;
+    }
+
+    public String getDefaultVariant() {
+        return defaultVariant;
+    }
+
+    public Value getDefaultValue() {
+        return defaultValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TargetedFlag other && variants.equals(other.variants)
+                && defaultVariant.equals(other.defaultVariant) && defaultValue.equals(other.defaultValue);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(variants, defaultVariant, defaultValue);
+    }
+
+    /**
+     * Variant is a named value returned when its rule matches the context.
+     */
+    public static final class Variant {
+        private final String name;
+        private final TargetingRule rule;
+        private final Value value;
+
+        /**
+         * Constructs a Variant.
+         *
+         * @param name  the variant name
+         * @param rule  the rule the context must match
+         * @param value the variant value
+         */
+        public Variant(String name, TargetingRule rule, Value value) {
+            this.name = Objects.requireNonNull(name, "Name cannot be null");
+            this.rule = Objects.requireNonNull(rule, "Rule cannot be null");
+            this.value = Objects.requireNonNull(value, "Value cannot be null");
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public TargetingRule getRule() {
+            return rule;
+        }
+
+        public Value getValue() {
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Variant other && name.equals(other.name) && rule.equals(other.rule) && value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, rule, value);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.laulem.featureaccessorcore.targeting;
+
+import dev.openfeature.sdk.EvaluationContext;
+
+import java.util.Objects;
+
+/**
+ * TargetingRule is a boolean expression on the attributes of an evaluation context, compiled once into a tree
+ * of predicates. Matching a context reads its attributes and compares them to literals parsed at compile time.
+ * <p>
+ * Comparisons read an attribute of the context, {@code targetingKey} being its targeting key and a dotted name
+ * a path through nested structures:
+ * <ul>
+ *     <li>{@code country == "FR"}, {@code beta != true}: equality with a string, number or boolean</li>
+ *     <li>{@code age >= 18}: numeric comparison with {@code <}, {@code <=}, {@code >} or {@code >=}</li>
+ *     <li>{@code country in ["FR", "BE"]}, {@code plan not in ["free"]}: set membership</li>
+ *     <li>{@code email matches ".*@laulem\.com"}: full match of a regular expression</li>
+ *     <li>{@code appVersion semver >= "2.3.0"}: semantic version comparison</li>
+ * </ul>
+ * Comparisons are combined with {@code &&}, {@code ||}, {@code !} and parentheses. A comparison on an attribute
+ * that the context does not define is false, so {@code plan != "free"} does not match a context without a plan.
+ */
+public final class TargetingRule {
+    private final String expression;
+    private final Condition condition;
+
+    private TargetingRule(String expression, Condition condition) {
+        this.expression = expression;
+        this.condition = condition;
+    }
+
+    /**
+     * Compiles a targeting expression.
+     *
+     * @param expression the targeting expression
+     * @return the compiled rule
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public static TargetingRule compile(String expression) {
+        Objects.requireNonNull(expression, "Expression cannot be null");
+        return new TargetingRule(expression, RuleParser.parse(expression));
+    }
+
+    /**
+     * Returns whether the context matches the rule.
+     *
+     * @param ctx the evaluation context, possibly null
+     * @return true if the context matches
+     */
+    public boolean matches(EvaluationContext ctx) {
+        return condition.test(ctx);
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TargetingRule other && expression.equals(other.expression);
+    }
+
+    @Override
+    public int hashCode() {
+        return expression.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,205 @@
+package com.laulem.featureaccessorcore.targeting;
+
+import com.laulem.featureaccessorcore.tool.EvaluationTool;
+import com.laulem.featureaccessorcore.tool.FlagDefinition;
+import com.laulem.featureaccessorcore.tool.FlagEvaluations;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+import dev.openfeature.sdk.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * WeightedSplit is a flag that splits targeting keys between variants according to their weights.
+ * Each targeting key is hashed with the flag salt into one of 10,000 buckets, and the buckets are allocated
+ * to the variants in order, in proportion to their weights. The same key always gets the same variant,
+ * returned with the SPLIT reason. A context without a targeting key gets the fallback variant with the DEFAULT reason.
+ * <p>
+ * In a percentage rollout, the enabled variant owns the first buckets, so raising the percentage only adds keys:
+ * the keys already enabled stay enabled.
+ */
+public final class WeightedSplit implements FlagDefinition {
+    public static final String ON_VARIANT = "on";
+    public static final String OFF_VARIANT = "off";
+
+    private final String salt;
+    private final List<Allocation> allocations;
+    private final String fallbackVariant;
+    private final int seed;
+    private final int[] bucketLimits;
+    private final FlagEvaluations[] splitEvaluations;
+    private final FlagEvaluations fallbackEvaluations;
+
+    /**
+     * Constructs a WeightedSplit.
+     *
+     * @param salt            the salt of the hash, typically the flag key; changing it reshuffles the keys
+     * @param allocations     the variants and their weights, in bucket order
+     * @param fallbackVariant the name of the variant returned to contexts without a targeting key
+     * @throws IllegalArgumentException if there is no positive weight or the fallback variant is unknown
+     */
+    public WeightedSplit(String salt, List<Allocation> allocations, String fallbackVariant) {
+        this.salt = Objects.requireNonNull(salt, "Salt cannot be null");
+        Objects.requireNonNull(allocations, "Allocations cannot be null");
+        this.allocations = List.copyOf(allocations);
+        this.fallbackVariant = Objects.requireNonNull(fallbackVariant, "Fallback variant cannot be null");
+        this.seed = RolloutHash.seed(salt);
+
+        double totalWeight = 0;
+        for (Allocation allocation : this.allocations) {
+            totalWeight += allocation.getWeight();
+        }
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("A split needs at least one positive weight");
+        }
+        int size = this.allocations.size();
+        this.bucketLimits = new int[size];
+        this.splitEvaluations = new FlagEvaluations[size];
+        FlagEvaluations fallback = null;
+        double cumulativeWeight = 0;
+        for (int i = 0; i < size; i++) {
+            Allocation allocation = this.allocations.get(i);
+            cumulativeWeight += allocation.getWeight();
+            bucketLimits[i] = i == size - 1 ? RolloutHash.BUCKETS : (int) Math.round(cumulativeWeight * RolloutHash.BUCKETS / totalWeight);
+            splitEvaluations[i] = FlagEvaluations.of(allocation.getValue(), allocation.getVariant(), EvaluationTool.SPLIT_REASON);
+            if (fallback == null && allocation.getVariant().equals(fallbackVariant)) {
+                fallback = FlagEvaluations.of(allocation.getValue(), fallbackVariant, EvaluationTool.DEFAULT_REASON);
+            }
+        }
+        if (fallback == null) {
+            throw new IllegalArgumentException("Unknown fallback variant: " + fallbackVariant);
+        }
+        this.fallbackEvaluations = fallback;
+    }
+
+    /**
+     * Creates a boolean rollout enabled, as the "on" variant, for the given percentage of the targeting keys.
+     * The other keys, and contexts without a targeting key, get the "off" variant.
+     *
+     * @param salt       the salt of the hash, typically the flag key
+     * @param percentage the percentage of enabled keys, in [0, 100], with a precision of 0.01
+     * @return the rollout
+     * @throws IllegalArgumentException if the percentage is out of range
+     */
+    public static WeightedSplit percentage(String salt, double percentage) {
+        if (!(percentage >= 0 && percentage <= 100)) {
+            throw new IllegalArgumentException("A rollout percentage must be between 0 and 100: " + percentage);
+        }
+        return new WeightedSplit(salt, List.of(
+                new Allocation(ON_VARIANT, new Value(true), percentage),
+                new Allocation(OFF_VARIANT, new Value(false), 100 - percentage)), OFF_VARIANT);
+    }
+
+    /**
+     * Parses a split of string variants such as {@code blue:50,green:30,red:20}. The variant names are the
+     * string values of the flag, and the first variant is the fallback.
+     *
+     * @param salt    the salt of the hash, typically the flag key
+     * @param weights the comma-separated variants and weights
+     * @return the split
+     * @throws IllegalArgumentException if the weights are invalid
+     */
+    public static WeightedSplit parse(String salt, String weights) {
+        Objects.requireNonNull(weights, "Weights cannot be null");
+        List<Allocation> allocations = new ArrayList<>();
+        for (String entry : weights.split(",")) {
+            int separator = entry.lastIndexOf(':');
+            String variant = separator < 0 ? "" : entry.substring(0, separator).trim();
+            if (variant.isEmpty()) {
+                throw new IllegalArgumentException("Expected variant:weight but was '" + entry.trim() + "'");
+            }
+            double weight = Double.parseDouble(entry.substring(separator + 1).trim());
+            allocations.add(new Allocation(variant, new Value(variant), weight));
+        }
+        return new WeightedSplit(salt, allocations, allocations.get(0).getVariant());
+    }
+
+    @Override
+    public <T> ProviderEvaluation<T> evaluate(EvaluationContext ctx, Function<FlagEvaluations, ProviderEvaluation<T>> selector) {
+        String targetingKey = ctx == null ? null : ctx.getTargetingKey();
+        if (targetingKey == null || targetingKey.isEmpty()) {
+            return selector.apply(fallbackEvaluations);
+        }
+        int bucket = RolloutHash.bucket(targetingKey, seed);
+        int i = 0;
+        while (bucket >= bucketLimits[i]) {
+            i++;
+        }
+        return selector.apply(splitEvaluations[i]);
+    }
+
+    public String getSalt() {
+        return salt;
+    }
+
+    public List<Allocation> getAllocations() {
+        return allocations;
+    }
+
+    public String getFallbackVariant() {
+        return fallbackVariant;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof WeightedSplit other && salt.equals(other.salt) && allocations.equals(other.allocations)
+                && fallbackVariant.equals(other.fallbackVariant);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(salt, allocations, fallbackVariant);
+    }
+
+    /**
+     * Allocation is a variant of a split with its weight.
+     */
+    public static final class Allocation {
+        private final String variant;
+        private final Value value;
+        private final double weight;
+
+        /**
+         * Constructs an Allocation.
+         *
+         * @param variant the variant name
+         * @param value   the variant value
+         * @param weight  the weight of the variant, relative to the other variants
+         * @throws IllegalArgumentException if the weight is negative
+         */
+        public Allocation(String variant, Value value, double weight) {
+            this.variant = Objects.requireNonNull(variant, "Variant cannot be null");
+            this.value = Objects.requireNonNull(value, "Value cannot be null");
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("A weight must be a non-negative number: " + weight);
+            }
+            this.weight = weight;
+        }
+
+        public String getVariant() {
+            return variant;
+        }
+
+        public Value getValue() {
+            return value;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Allocation other && variant.equals(other.variant) && value.equals(other.value)
+                    && Double.compare(weight, other.weight) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(variant, value, weight);
+        }
+    }
+}
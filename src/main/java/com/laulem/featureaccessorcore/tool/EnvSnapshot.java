@@ -0,0 +1,74 @@
+package com.laulem.featureaccessorcore.tool;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * EnvSnapshot looks up the variables of an {@link EnvTemplate}: environment variables first, then system properties.
+ * A captured snapshot copies the system properties once, so every template resolved during a load sees the same
+ * values without calling System.getenv or System.getProperty per placeholder.
+ */
+public final class EnvSnapshot {
+    private static final EnvSnapshot LIVE = new EnvSnapshot(null, null);
+
+    private final Map<String, String> environment;
+    private final Map<String, String> systemProperties;
+
+    private EnvSnapshot(Map<String, String> environment, Map<String, String> systemProperties) {
+        this.environment = environment;
+        this.systemProperties = systemProperties;
+    }
+
+    /**
+     * Captures the current environment variables and system properties.
+     *
+     * @return the snapshot
+     */
+    public static EnvSnapshot capture() {
+        Map<String, String> systemProperties = new HashMap<>();
+        System.getProperties().forEach((key, value) -> {
+            if (key instanceof String name && value instanceof String property) {
+                systemProperties.put(name, property);
+            }
+        });
+        return new EnvSnapshot(System.getenv(), systemProperties);
+    }
+
+    /**
+     * Returns a snapshot reading the current environment variables and system properties on every lookup.
+     *
+     * @return the live snapshot
+     */
+    public static EnvSnapshot live() {
+        return LIVE;
+    }
+
+    /**
+     * Builds a snapshot from the given variables, for instance in tests.
+     *
+     * @param environment      the environment variables
+     * @param systemProperties the system properties
+     * @return the snapshot
+     */
+    public static EnvSnapshot of(Map<String, String> environment, Map<String, String> systemProperties) {
+        Objects.requireNonNull(environment, "Environment cannot be null");
+        Objects.requireNonNull(systemProperties, "System properties cannot be null");
+        return new EnvSnapshot(Map.copyOf(environment), Map.copyOf(systemProperties));
+    }
+
+    /**
+     * Returns the value of a variable.
+     *
+     * @param name the variable name
+     * @return the environment variable, else the system property, else null
+     */
+    public String lookup(String name) {
+        if (environment == null) {
+            String value = System.getenv(name);
+            return value != null ? value : System.getProperty(name);
+        }
+        String value = environment.get(name);
+        return value != null ? value : systemProperties.get(name);
+    }
+}
@@ -0,0 +1,139 @@
+package com.laulem.featureaccessorcore.tool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * EnvTemplate is a string with ${NAME} or ${NAME:default} placeholders, compiled once into literal and
+ * variable segments. Defaults may contain placeholders themselves, as in ${PRIMARY:${FALLBACK:false}}.
+ * Names are letters, digits, '_', '.' and '-'; anything else between ${ and } is kept as text.
+ */
+public final class EnvTemplate {
+    private final String text;
+    private final String[] literals;
+    private final String[] names;
+    private final EnvTemplate[] defaults;
+
+    private EnvTemplate(String text, String[] literals, String[] names, EnvTemplate[] defaults) {
+        this.text = text;
+        this.literals = literals;
+        this.names = names;
+        this.defaults = defaults;
+    }
+
+    /**
+     * Compiles a template.
+     *
+     * @param text the template text
+     * @return the compiled template
+     */
+    public static EnvTemplate compile(String text) {
+        Objects.requireNonNull(text, "Template cannot be null");
+        if (!text.contains("${")) {
+            return new EnvTemplate(text, null, null, null);
+        }
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<EnvTemplate> defaults = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < text.length()) {
+            int start = text.indexOf("${", position);
+            int end = start < 0 ? -1 : closingBrace(text, start + 2);
+            if (end < 0) {
+                literal.append(text, position, text.length());
+                break;
+            }
+            String content = text.substring(start + 2, end);
+            int separator = content.indexOf(':');
+            String name = separator < 0 ? content : content.substring(0, separator);
+            literal.append(text, position, start);
+            if (!isValidName(name)) {
+                literal.append(text, start, end + 1);
+            } else {
+                literals.add(literal.toString());
+                names.add(name);
+                defaults.add(separator < 0 ? null : compile(content.substring(separator + 1)));
+                literal.setLength(0);
+            }
+            position = end + 1;
+        }
+        literals.add(literal.toString());
+        names.add(null);
+        defaults.add(null);
+        return new EnvTemplate(text, literals.toArray(new String[0]), names.toArray(new String[0]), defaults.toArray(new EnvTemplate[0]));
+    }
+
+    /**
+     * Returns the index of the brace closing a placeholder, skipping nested placeholders.
+     */
+    private static int closingBrace(String text, int from) {
+        int depth = 0;
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '$' && i + 1 < text.length() && text.charAt(i + 1) == '{') {
+                depth++;
+                i++;
+            } else if (c == '}') {
+                if (depth == 0) {
+                    return i;
+                }
+                depth--;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isValidName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!(c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '_' || c == '.' || c == '-')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the template has no placeholder, in which case it always resolves to its text.
+     *
+     * @return true if the template is a plain literal
+     */
+    public boolean isLiteral() {
+        return names == null;
+    }
+
+    /**
+     * Resolves the placeholders. A variable without value resolves to its default, or to an empty string.
+     *
+     * @param snapshot the variables
+     * @return the resolved string
+     */
+    public String resolve(EnvSnapshot snapshot) {
+        if (names == null) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < names.length; i++) {
+            builder.append(literals[i]);
+            if (names[i] != null) {
+                String value = snapshot.lookup(names[i]);
+                if (value != null) {
+                    builder.append(value);
+                } else if (defaults[i] != null) {
+                    builder.append(defaults[i].resolve(snapshot));
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -1,7 +1,9 @@
 package com.laulem.featureaccessorcore.tool;
 
+import com.laulem.featureaccessorcore.exception.FlagUnavailableException;
 import dev.openfeature.sdk.ErrorCode;
 import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ImmutableContext;
 import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.Value;
 
@@ -14,12 +16,18 @@ public class EvaluationTool {
     public static final String STATIC_REASON = "STATIC";
     public static final String DEFAULT_REASON = "DEFAULT";
     public static final String ERROR_REASON = "ERROR";
+    public static final String STALE_REASON = "STALE";
+    public static final String TARGETING_MATCH_REASON = "TARGETING_MATCH";
+    public static final String SPLIT_REASON = "SPLIT";
+    public static final String NOT_READY_REASON = "NOT_READY";
+    public static final EvaluationContext EMPTY_CONTEXT = new ImmutableContext();
 
     private EvaluationTool() {
     }
 
     /**
      * Evaluates a flag from a map of flags using the provided extractor function.
+     * A value the extractor returns null for does not hold the expected type and is reported as a TYPE_MISMATCH.
      *
      * @param flags the map of flag keys to Value
      * @param flagKey the key of the flag to evaluate
@@ -31,30 +39,122 @@ public class EvaluationTool {
      */
     public static <T> ProviderEvaluation<T> evaluateFlag(Map<String, Value> flags, String flagKey, T defaultValue, EvaluationContext ctx, Function<Value, T> extractor) {
         try {
-            Value value = flags.get(flagKey.toUpperCase());
+            Value value = flags.get(FlagKeyIndex.normalize(flagKey));
             if (value != null) {
-                return ProviderEvaluation.<T>builder()
-                        .reason(STATIC_REASON)
-                        .value(extractor.apply(value))
-                        .build();
+                return typedResult(extractor.apply(value), defaultValue);
             }
 
-            return ProviderEvaluation.<T>builder()
-                    .reason(DEFAULT_REASON)
-                    .value(defaultValue)
-                    .errorCode(ErrorCode.FLAG_NOT_FOUND)
-                    .build();
+            return SharedEvaluations.notFound(defaultValue);
+        } catch (Exception e) {
+            return SharedEvaluations.parseError(defaultValue);
+        }
+    }
+
+    /**
+     * Evaluates a flag from a map of flag definitions with precomputed evaluations.
+     *
+     * @param flags the map of flag keys to FlagDefinition
+     * @param flagKey the key of the flag to evaluate
+     * @param defaultValue the default value to return if the flag is not found or an error occurs
+     * @param ctx the evaluation context, used by the flags whose value depends on it
+     * @param selector function to select the precomputed evaluation of the expected type
+     * @return the ProviderEvaluation result
+     * @param <T> the type of the flag value expected
+     */
+    public static <T> ProviderEvaluation<T> evaluatePrecomputedFlag(Map<String, ? extends FlagDefinition> flags, String flagKey, T defaultValue, EvaluationContext ctx, Function<FlagEvaluations, ProviderEvaluation<T>> selector) {
+        try {
+            return evaluatePrecomputed(flags.get(FlagKeyIndex.normalize(flagKey)), defaultValue, ctx, selector);
+        } catch (Exception e) {
+            return SharedEvaluations.parseError(defaultValue);
+        }
+    }
+
+    /**
+     * Evaluates a flag from a case-insensitive key index of flag definitions with precomputed evaluations.
+     * The key is matched ignoring case, without being upper-cased into a new string.
+     *
+     * @param flags the index of flag keys to FlagDefinition
+     * @param flagKey the key of the flag to evaluate
+     * @param defaultValue the default value to return if the flag is not found or an error occurs
+     * @param ctx the evaluation context, used by the flags whose value depends on it
+     * @param selector function to select the precomputed evaluation of the expected type
+     * @return the ProviderEvaluation result
+     * @param <T> the type of the flag value expected
+     */
+    public static <T> ProviderEvaluation<T> evaluatePrecomputedFlag(FlagKeyIndex<? extends FlagDefinition> flags, String flagKey, T defaultValue, EvaluationContext ctx, Function<FlagEvaluations, ProviderEvaluation<T>> selector) {
+        try {
+            return evaluatePrecomputed(flags.get(flagKey), defaultValue, ctx, selector);
         } catch (Exception e) {
-            return ProviderEvaluation.<T>builder()
-                    .reason(ERROR_REASON)
-                    .value(defaultValue)
-                    .errorCode(ErrorCode.PARSE_ERROR)
-                    .build();
+            return SharedEvaluations.parseError(defaultValue);
+        }
+    }
+
+    /**
+     * Returns the precomputed evaluation of a looked up flag for the context, a shared FLAG_NOT_FOUND evaluation if
+     * the flag is null, or a shared TYPE_MISMATCH evaluation if the flag does not hold the expected type.
+     */
+    private static <T> ProviderEvaluation<T> evaluatePrecomputed(FlagDefinition flag, T defaultValue, EvaluationContext ctx, Function<FlagEvaluations, ProviderEvaluation<T>> selector) {
+        if (flag == null) {
+            return SharedEvaluations.notFound(defaultValue);
+        }
+        ProviderEvaluation<T> evaluation = flag.evaluate(ctx, selector);
+        return evaluation != null ? evaluation : SharedEvaluations.typeMismatch(defaultValue);
+    }
+
+    /**
+     * Returns a shared STATIC evaluation of an extracted value, or a TYPE_MISMATCH evaluation if it is null.
+     *
+     * @param value the value extracted for the expected type, or null if the flag does not hold that type
+     * @param defaultValue the default value
+     * @return the ProviderEvaluation result
+     * @param <T> the type of the flag value expected
+     */
+    public static <T> ProviderEvaluation<T> typedResult(T value, T defaultValue) {
+        return value != null ? SharedEvaluations.staticResult(value) : SharedEvaluations.typeMismatch(defaultValue);
+    }
+
+    /**
+     * Evaluates the value of a flag definition for a bulk evaluation.
+     *
+     * @param flag the flag definition, possibly null
+     * @param ctx the evaluation context
+     * @return the flag value, or null if the flag is null or cannot be evaluated
+     */
+    public static Value evaluateValue(FlagDefinition flag, EvaluationContext ctx) {
+        if (flag == null) {
+            return null;
+        }
+        try {
+            ProviderEvaluation<Value> evaluation = flag.evaluate(ctx, FlagEvaluations::getObjectEvaluation);
+            return evaluation != null ? evaluation.getValue() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Evaluates the value of a flag supplier for a bulk evaluation. An unavailable flag returns its last good value.
+     *
+     * @param supplier the flag supplier, possibly null
+     * @return the flag value, or null if the supplier is null or fails without a fallback value
+     */
+    public static Value evaluateValue(Supplier<Value> supplier) {
+        if (supplier == null) {
+            return null;
+        }
+        try {
+            return supplier.get();
+        } catch (FlagUnavailableException e) {
+            return e.getFallbackValue();
+        } catch (Exception e) {
+            return null;
         }
     }
 
     /**
      * Evaluates a flag from a map of flag suppliers using the provided extractor function.
+     * When a supplier reports its flag as unavailable, its last good value is returned as STALE,
+     * or the default value with a GENERAL error if it has none.
      *
      * @param flags the map of flag keys to Supplier<Value>
      * @param flagKey the key of the flag to evaluate
@@ -66,25 +166,49 @@ public class EvaluationTool {
      */
     public static <T> ProviderEvaluation<T> evaluateFlagSupplier(Map<String, Supplier<Value>> flags, String flagKey, T defaultValue, EvaluationContext ctx, Function<Supplier<Value>, T> extractor) {
         try {
-            Supplier<Value> value = flags.get(flagKey.toUpperCase());
+            Supplier<Value> value = flags.get(FlagKeyIndex.normalize(flagKey));
             if (value != null) {
-                return ProviderEvaluation.<T>builder()
-                        .reason(STATIC_REASON)
-                        .value(extractor.apply(value))
-                        .build();
+                return typedResult(extractor.apply(value), defaultValue);
             }
 
-            return ProviderEvaluation.<T>builder()
-                    .reason(DEFAULT_REASON)
-                    .value(defaultValue)
-                    .errorCode(ErrorCode.FLAG_NOT_FOUND)
-                    .build();
+            return SharedEvaluations.notFound(defaultValue);
+        } catch (FlagUnavailableException e) {
+            return unavailable(e, defaultValue, extractor);
         } catch (Exception e) {
-            return ProviderEvaluation.<T>builder()
-                    .reason(ERROR_REASON)
-                    .value(defaultValue)
-                    .errorCode(ErrorCode.PARSE_ERROR)
-                    .build();
+            return SharedEvaluations.parseError(defaultValue);
         }
     }
+
+    private static <T> ProviderEvaluation<T> unavailable(FlagUnavailableException e, T defaultValue, Function<Supplier<Value>, T> extractor) {
+        Value fallbackValue = e.getFallbackValue();
+        if (fallbackValue != null) {
+            try {
+                return ProviderEvaluation.<T>builder()
+                        .value(extractor.apply(() -> fallbackValue))
+                        .reason(STALE_REASON)
+                        .errorMessage(e.getMessage())
+                        .build();
+            } catch (Exception extractionError) {
+                return SharedEvaluations.parseError(defaultValue);
+            }
+        }
+        return generalError(defaultValue, e.getMessage());
+    }
+
+    /**
+     * Returns an ERROR evaluation carrying the default value, with a GENERAL error code and the given message.
+     *
+     * @param defaultValue the default value
+     * @param message the error message
+     * @return the ProviderEvaluation result
+     * @param <T> the type of the flag value expected
+     */
+    public static <T> ProviderEvaluation<T> generalError(T defaultValue, String message) {
+        return ProviderEvaluation.<T>builder()
+                .value(defaultValue)
+                .reason(ERROR_REASON)
+                .errorCode(ErrorCode.GENERAL)
+                .errorMessage(message)
+                .build();
+    }
 }
@@ -0,0 +1,40 @@
+package com.laulem.featureaccessorcore.tool;
+
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * FlagDefinition is the definition of a flag held by a provider: a static value with its precomputed
+ * {@link FlagEvaluations}, or a flag whose value depends on the evaluation context.
+ * Evaluating a definition selects one of its precomputed evaluations, so it does not build a new result.
+ */
+public interface FlagDefinition {
+
+    /**
+     * Selects the evaluations that apply to the given context and returns the one of the expected type.
+     *
+     * @param ctx      the evaluation context, possibly null
+     * @param selector function to select the precomputed evaluation of the expected type
+     * @param <T>      the type of the flag value expected
+     * @return the selected evaluation, or null if the value does not hold that type
+     */
+    <T> ProviderEvaluation<T> evaluate(EvaluationContext ctx, Function<FlagEvaluations, ProviderEvaluation<T>> selector);
+
+    /**
+     * Returns a definition computed by the loader the first time it is evaluated. If the loader fails, the
+     * exception is kept: it is thrown to the caller of every evaluation, and the loader is not called again.
+     *
+     * @param source the raw definition of the flag, used to compare two lazy definitions without loading them
+     * @param loader the supplier of the definition
+     * @return the lazy definition
+     */
+    static FlagDefinition lazy(String source, Supplier<? extends FlagDefinition> loader) {
+        Objects.requireNonNull(source, "Source cannot be null");
+        Objects.requireNonNull(loader, "Loader cannot be null");
+        return new LazyFlagDefinition(source, loader);
+    }
+}
@@ -0,0 +1,109 @@
+package com.laulem.featureaccessorcore.tool;
+
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+import dev.openfeature.sdk.Value;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * FlagEvaluations holds the evaluations of a static flag value for every requested type.
+ * They are computed once when the flag is set, so evaluating the flag returns a shared immutable result.
+ * A null evaluation means the value does not hold that type, which providers report as a TYPE_MISMATCH.
+ * As a {@link FlagDefinition}, a static flag ignores the evaluation context.
+ */
+public final class FlagEvaluations implements FlagDefinition {
+    private static final FlagEvaluations TRUE = new FlagEvaluations(new Value(true), null, EvaluationTool.STATIC_REASON);
+    private static final FlagEvaluations FALSE = new FlagEvaluations(new Value(false), null, EvaluationTool.STATIC_REASON);
+
+    private final Value value;
+    private final ProviderEvaluation<Boolean> booleanEvaluation;
+    private final ProviderEvaluation<String> stringEvaluation;
+    private final ProviderEvaluation<Integer> integerEvaluation;
+    private final ProviderEvaluation<Double> doubleEvaluation;
+    private final ProviderEvaluation<Value> objectEvaluation;
+
+    private FlagEvaluations(Value value, String variant, String reason) {
+        this.value = value;
+        this.booleanEvaluation = precompute(value, variant, reason, Value::asBoolean);
+        this.stringEvaluation = precompute(value, variant, reason, Value::asString);
+        this.integerEvaluation = precompute(value, variant, reason, Value::asInteger);
+        this.doubleEvaluation = precompute(value, variant, reason, Value::asDouble);
+        this.objectEvaluation = precompute(value, variant, reason, v -> v);
+    }
+
+    /**
+     * Precomputes the evaluations of the given value.
+     *
+     * @param value the flag value
+     * @return the precomputed evaluations
+     */
+    public static FlagEvaluations of(Value value) {
+        Objects.requireNonNull(value, "Value cannot be null");
+        return new FlagEvaluations(value, null, EvaluationTool.STATIC_REASON);
+    }
+
+    /**
+     * Returns the shared evaluations of a boolean value, so boolean flags do not hold their own copies.
+     *
+     * @param value the flag value
+     * @return the shared evaluations
+     */
+    public static FlagEvaluations of(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    /**
+     * Precomputes the evaluations of a variant of a flag, with the given reason.
+     *
+     * @param value   the variant value
+     * @param variant the variant name
+     * @param reason  the evaluation reason
+     * @return the precomputed evaluations
+     */
+    public static FlagEvaluations of(Value value, String variant, String reason) {
+        Objects.requireNonNull(value, "Value cannot be null");
+        Objects.requireNonNull(variant, "Variant cannot be null");
+        Objects.requireNonNull(reason, "Reason cannot be null");
+        return new FlagEvaluations(value, variant, reason);
+    }
+
+    private static <T> ProviderEvaluation<T> precompute(Value value, String variant, String reason, Function<Value, T> extractor) {
+        try {
+            T extracted = extractor.apply(value);
+            return extracted != null ? SharedEvaluations.create(extracted, variant, reason, null) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Override
+    public <T> ProviderEvaluation<T> evaluate(EvaluationContext ctx, Function<FlagEvaluations, ProviderEvaluation<T>> selector) {
+        return selector.apply(this);
+    }
+
+    public Value getValue() {
+        return value;
+    }
+
+    public ProviderEvaluation<Boolean> getBooleanEvaluation() {
+        return booleanEvaluation;
+    }
+
+    public ProviderEvaluation<String> getStringEvaluation() {
+        return stringEvaluation;
+    }
+
+    public ProviderEvaluation<Integer> getIntegerEvaluation() {
+        return integerEvaluation;
+    }
+
+    public ProviderEvaluation<Double> getDoubleEvaluation() {
+        return doubleEvaluation;
+    }
+
+    public ProviderEvaluation<Value> getObjectEvaluation() {
+        return objectEvaluation;
+    }
+}
@@ -0,0 +1,349 @@
+package com.laulem.featureaccessorcore.tool;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * FlagKeyIndex is an immutable, case-insensitive index of flag keys built once from a map.
+ * Keys are placed with a minimal perfect hash (hash and displace), so every key owns one slot in [0, size).
+ * A lookup hashes the caller's key in place with ASCII case folding, probes a single slot and compares it,
+ * without allocating. Keys containing non-ASCII characters fall back to {@link #normalize(String)}.
+ *
+ * @param <V> the type of the indexed values
+ */
+public final class FlagKeyIndex<V> {
+    private static final FlagKeyIndex<?> EMPTY = new FlagKeyIndex<>(0L, new int[0], new String[0], new Object[0]);
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final int MAX_DISPLACEMENT = 1 << 20;
+
+    private final long salt;
+    private final int[] displacements;
+    private final String[] keys;
+    private final Object[] values;
+
+    private FlagKeyIndex(long salt, int[] displacements, String[] keys, Object[] values) {
+        this.salt = salt;
+        this.displacements = displacements;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Returns an empty index.
+     *
+     * @param <V> the type of the indexed values
+     * @return the empty index
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> FlagKeyIndex<V> empty() {
+        return (FlagKeyIndex<V>) EMPTY;
+    }
+
+    /**
+     * Builds an index from the given entries. Keys are normalized with {@link #normalize(String)};
+     * when two keys only differ by case, the last one in iteration order wins.
+     *
+     * @param entries the entries to index
+     * @param <V>     the type of the indexed values
+     * @return the built index
+     */
+    public static <V> FlagKeyIndex<V> of(Map<String, ? extends V> entries) {
+        Objects.requireNonNull(entries, "Entries cannot be null");
+        Map<String, V> normalized = new LinkedHashMap<>();
+        for (Map.Entry<String, ? extends V> entry : entries.entrySet()) {
+            Objects.requireNonNull(entry.getKey(), "Key cannot be null");
+            Objects.requireNonNull(entry.getValue(), "Value cannot be null");
+            normalized.put(normalize(entry.getKey()), entry.getValue());
+        }
+        if (normalized.isEmpty()) {
+            return empty();
+        }
+
+        String[] inputKeys = normalized.keySet().toArray(new String[0]);
+        Object[] inputValues = normalized.values().toArray();
+        for (long salt = 0; ; salt++) {
+            FlagKeyIndex<V> index = tryBuild(salt, inputKeys, inputValues);
+            if (index != null) {
+                return index;
+            }
+        }
+    }
+
+    /**
+     * Normalizes a flag key the way the index stores it.
+     *
+     * @param key the flag key
+     * @return the upper-cased key
+     */
+    public static String normalize(String key) {
+        return key.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Hashes a flag key ignoring case, consistently with the index lookups.
+     *
+     * @param key  the flag key
+     * @param salt the hash salt
+     * @return the 64-bit hash of the normalized key
+     */
+    static long hashIgnoreCase(String key, long salt) {
+        long hash = hash(key, salt, false);
+        return hash != 0L ? hash : hash(normalize(key), salt, true);
+    }
+
+    /**
+     * Returns the value indexed under the given key, ignoring case.
+     *
+     * @param key the flag key
+     * @return the value, or null if the key is not indexed
+     */
+    @SuppressWarnings("unchecked")
+    public V get(String key) {
+        int slot = indexOf(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    /**
+     * Returns the slot of the given key, ignoring case.
+     *
+     * @param key the flag key
+     * @return the slot in [0, size), or -1 if the key is not indexed
+     */
+    public int indexOf(String key) {
+        int n = keys.length;
+        if (n == 0) {
+            return -1;
+        }
+        long hash = hash(key, salt, false);
+        if (hash == 0L) {
+            key = normalize(key);
+            hash = hash(key, salt, true);
+        }
+        int displacement = displacements[bucket(hash, n)];
+        int slot = displacement < 0 ? -displacement - 1 : slot(hash, displacement, n);
+        return matches(keys[slot], key) ? slot : -1;
+    }
+
+    /**
+     * Returns the number of indexed keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the normalized key stored at the given slot.
+     *
+     * @param slot the slot, in [0, size)
+     * @return the normalized key
+     */
+    public String keyAt(int slot) {
+        return keys[slot];
+    }
+
+    /**
+     * Returns the value stored at the given slot.
+     *
+     * @param slot the slot, in [0, size)
+     * @return the value
+     */
+    @SuppressWarnings("unchecked")
+    public V valueAt(int slot) {
+        return (V) values[slot];
+    }
+
+    /**
+     * Returns an unmodifiable view of the normalized keys, in slot order.
+     *
+     * @return the indexed keys
+     */
+    public Set<String> keys() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<String> iterator() {
+                return new Iterator<>() {
+                    private int slot;
+
+                    @Override
+                    public boolean hasNext() {
+                        return slot < keys.length;
+                    }
+
+                    @Override
+                    public String next() {
+                        if (slot >= keys.length) {
+                            throw new NoSuchElementException();
+                        }
+                        return keys[slot++];
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof String key && indexOf(key) >= 0;
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    /**
+     * Tries to place every key with the given salt.
+     *
+     * @return the index, or null if a bucket could not be placed and another salt must be tried
+     */
+    private static <V> FlagKeyIndex<V> tryBuild(long salt, String[] inputKeys, Object[] inputValues) {
+        int n = inputKeys.length;
+        long[] hashes = new long[n];
+        int[] bucketStarts = new int[n + 1];
+        int maxBucketSize = 0;
+        for (int i = 0; i < n; i++) {
+            hashes[i] = hash(inputKeys[i], salt, true);
+            int size = ++bucketStarts[bucket(hashes[i], n) + 1];
+            maxBucketSize = Math.max(maxBucketSize, size);
+        }
+        for (int b = 0; b < n; b++) {
+            bucketStarts[b + 1] += bucketStarts[b];
+        }
+        int[] members = new int[n];
+        int[] fill = Arrays.copyOf(bucketStarts, n);
+        for (int i = 0; i < n; i++) {
+            members[fill[bucket(hashes[i], n)]++] = i;
+        }
+
+        // Counting sort of the buckets by decreasing size.
+        int[] sizeStarts = new int[maxBucketSize + 2];
+        for (int b = 0; b < n; b++) {
+            sizeStarts[maxBucketSize - (bucketStarts[b + 1] - bucketStarts[b]) + 1]++;
+        }
+        for (int i = 0; i <= maxBucketSize; i++) {
+            sizeStarts[i + 1] += sizeStarts[i];
+        }
+        int[] order = new int[n];
+        for (int b = 0; b < n; b++) {
+            order[sizeStarts[maxBucketSize - (bucketStarts[b + 1] - bucketStarts[b])]++] = b;
+        }
+
+        int[] displacements = new int[n];
+        String[] keys = new String[n];
+        Object[] values = new Object[n];
+        boolean[] occupied = new boolean[n];
+        int[] slots = new int[maxBucketSize];
+        int next = 0;
+        int freeSlot = 0;
+
+        // Multi-key buckets search a displacement that sends all their keys to free slots.
+        for (; next < n && bucketStarts[order[next] + 1] - bucketStarts[order[next]] > 1; next++) {
+            int from = bucketStarts[order[next]];
+            int to = bucketStarts[order[next] + 1];
+            int displacement = 1;
+            while (!place(members, from, to, hashes, displacement, occupied, slots, n)) {
+                if (++displacement > MAX_DISPLACEMENT) {
+                    return null;
+                }
+            }
+            displacements[order[next]] = displacement;
+            for (int i = from; i < to; i++) {
+                int slot = slots[i - from];
+                occupied[slot] = true;
+                keys[slot] = inputKeys[members[i]];
+                values[slot] = inputValues[members[i]];
+            }
+        }
+
+        // Single-key buckets directly take the remaining free slots, encoded as negative displacements.
+        for (; next < n && bucketStarts[order[next] + 1] - bucketStarts[order[next]] == 1; next++) {
+            while (occupied[freeSlot]) {
+                freeSlot++;
+            }
+            int key = members[bucketStarts[order[next]]];
+            occupied[freeSlot] = true;
+            displacements[order[next]] = -freeSlot - 1;
+            keys[freeSlot] = inputKeys[key];
+            values[freeSlot] = inputValues[key];
+        }
+
+        return new FlagKeyIndex<>(salt, displacements, keys, values);
+    }
+
+    private static boolean place(int[] members, int from, int to, long[] hashes, int displacement, boolean[] occupied, int[] slots, int n) {
+        for (int i = from; i < to; i++) {
+            int slot = slot(hashes[members[i]], displacement, n);
+            if (occupied[slot]) {
+                return false;
+            }
+            for (int j = 0; j < i - from; j++) {
+                if (slots[j] == slot) {
+                    return false;
+                }
+            }
+            slots[i - from] = slot;
+        }
+        return true;
+    }
+
+    private static int bucket(long hash, int n) {
+        return (int) ((hash >>> 32) % n);
+    }
+
+    private static int slot(long hash, int displacement, int n) {
+        int h = (int) hash ^ (displacement * 0x9E3779B9);
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return (h & Integer.MAX_VALUE) % n;
+    }
+
+    /**
+     * Hashes a key with ASCII case folding.
+     *
+     * @param normalized whether the key is already normalized, in which case non-ASCII characters are hashed as is
+     * @return the hash, or 0 if the key contains a non-ASCII character and must be normalized first
+     */
+    private static long hash(String key, long salt, boolean normalized) {
+        long h = FNV_OFFSET ^ salt;
+        for (int i = 0, length = key.length(); i < length; i++) {
+            char c = key.charAt(i);
+            if (c >= 0x80 && !normalized) {
+                return 0L;
+            }
+            h = (h ^ fold(c)) * FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h == 0L ? 1L : h;
+    }
+
+    private static boolean matches(String stored, String key) {
+        int length = stored.length();
+        if (key.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = key.charAt(i);
+            if (fold(c) != stored.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char fold(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+}
@@ -0,0 +1,529 @@
+package com.laulem.featureaccessorcore.tool;
+
+import com.laulem.featureaccessorcore.exception.SnapshotWriteStalledException;
+import dev.openfeature.sdk.Value;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * FlagSnapshot reads a flag snapshot file in place, typically memory-mapped and shared by every process of a host.
+ * The file has a fixed binary layout, written by {@link FlagSnapshotWriter}:
+ * <ul>
+ *     <li>a 64-byte header: magic, format version, sequence, slot count, flag count, data start, data length,
+ *     data capacity and the CRC32C checksum of the table and the data in use;</li>
+ *     <li>an open-addressing hash table of {@value #SLOT_SIZE}-byte slots, each holding the hash, offset and length
+ *     of a normalized key, the value type, and the value itself or the offset and length of a string value;</li>
+ *     <li>a data area holding the UTF-8 keys and string values.</li>
+ * </ul>
+ * The sequence is a seqlock: a writer makes it odd before changing the table and even once done. Readers take no
+ * lock: they read the sequence, look the key up, and retry if the sequence changed meanwhile. A reader waits at most
+ * {@value #WRITE_WAIT_MILLIS} ms for a write in progress, so a writer dying mid-write does not block it: typed
+ * getters then return their default value, and other reads throw a {@link SnapshotWriteStalledException}. The stalled
+ * sequence is remembered, and later reads fail at once without waiting again until the sequence changes.
+ * A lookup hashes the key with ASCII case folding and compares it against the bytes of the file, so reading a
+ * boolean, number or string flag does not copy the table, and reading a boolean or number flag allocates nothing.
+ */
+public final class FlagSnapshot {
+    static final int MAGIC = 0x46415353;
+    /**
+     * Format version of the files: 2 since the header holds the checksum, which version 1 files do not have.
+     */
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_SIZE = 64;
+    static final int SLOT_SIZE = 24;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int FORMAT_VERSION_OFFSET = 4;
+    static final int SEQUENCE_OFFSET = 8;
+    static final int SLOT_COUNT_OFFSET = 16;
+    static final int FLAG_COUNT_OFFSET = 20;
+    static final int DATA_START_OFFSET = 24;
+    static final int DATA_LENGTH_OFFSET = 28;
+    static final int DATA_CAPACITY_OFFSET = 32;
+    static final int CHECKSUM_OFFSET = 36;
+
+    static final int SLOT_HASH = 0;
+    static final int SLOT_KEY_OFFSET = 4;
+    static final int SLOT_KEY_LENGTH = 8;
+    static final int SLOT_TYPE = 10;
+    static final int SLOT_VALUE_LENGTH = 12;
+    static final int SLOT_VALUE = 16;
+
+    static final byte TYPE_BOOLEAN = 1;
+    static final byte TYPE_INTEGER = 2;
+    static final byte TYPE_DOUBLE = 3;
+    static final byte TYPE_STRING = 4;
+
+    static final long WRITE_WAIT_MILLIS = 50;
+    private static final long WRITE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(WRITE_WAIT_MILLIS);
+    /**
+     * Sequence returned by {@link #beginRead()} when a write did not complete in time; odd, so never a real read.
+     */
+    private static final long STALLED = -1;
+
+    static final VarHandle LONG_VIEW = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final ByteBuffer buffer;
+    private final boolean shared;
+    private final int slotCount;
+    /**
+     * Odd sequence of the last write that did not complete in time, or 0. Reads seeing it fail without waiting.
+     */
+    private volatile long stalledSequence;
+
+    private FlagSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.shared = buffer.isDirect();
+        checkHeader(buffer);
+        this.slotCount = buffer.getInt(SLOT_COUNT_OFFSET);
+    }
+
+    /**
+     * Maps a snapshot file read-only. Changes written to the file by any process are seen by the next reads.
+     *
+     * @param file the snapshot file
+     * @return the snapshot
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalArgumentException if the file is not a flag snapshot
+     */
+    public static FlagSnapshot map(Path file) throws IOException {
+        Objects.requireNonNull(file, "File cannot be null");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new FlagSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads a snapshot from a buffer holding a whole snapshot file.
+     *
+     * @param buffer the snapshot content, a direct buffer if it may be changed concurrently; the sequence of a heap
+     *               buffer is read without memory ordering
+     * @return the snapshot
+     * @throws IllegalArgumentException if the buffer does not hold a flag snapshot
+     */
+    public static FlagSnapshot of(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "Buffer cannot be null");
+        return new FlagSnapshot(buffer.duplicate().order(ByteOrder.BIG_ENDIAN));
+    }
+
+    static void checkHeader(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(MAGIC_OFFSET) != MAGIC) {
+            throw new IllegalArgumentException("Not a flag snapshot");
+        }
+        int formatVersion = buffer.getInt(FORMAT_VERSION_OFFSET);
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported flag snapshot format version: " + formatVersion);
+        }
+        int slotCount = buffer.getInt(SLOT_COUNT_OFFSET);
+        if (Integer.bitCount(slotCount) != 1
+                || (long) HEADER_SIZE + (long) slotCount * SLOT_SIZE + buffer.getInt(DATA_CAPACITY_OFFSET) > buffer.capacity()) {
+            throw new IllegalArgumentException("Corrupted flag snapshot header");
+        }
+    }
+
+    /**
+     * Returns the version of the snapshot, incremented by every write. A write in progress is not counted.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return (shared ? (long) LONG_VIEW.getAcquire(buffer, SEQUENCE_OFFSET) : buffer.getLong(SEQUENCE_OFFSET)) >>> 1;
+    }
+
+    /**
+     * Returns the number of flags.
+     *
+     * @return the flag count
+     * @throws SnapshotWriteStalledException if a write did not complete in time
+     */
+    public int size() {
+        while (true) {
+            long sequence = beginReadOrThrow();
+            int size = buffer.getInt(FLAG_COUNT_OFFSET);
+            if (endRead(sequence)) {
+                return size;
+            }
+        }
+    }
+
+    /**
+     * Returns the normalized keys of the flags.
+     *
+     * @return the flag keys
+     * @throws SnapshotWriteStalledException if a write did not complete in time
+     */
+    public Set<String> keys() {
+        while (true) {
+            long sequence = beginReadOrThrow();
+            try {
+                Set<String> keys = new LinkedHashSet<>();
+                for (int i = 0; i < slotCount; i++) {
+                    int slot = HEADER_SIZE + i * SLOT_SIZE;
+                    if (buffer.getInt(slot + SLOT_HASH) != 0) {
+                        keys.add(readString(buffer.getInt(slot + SLOT_KEY_OFFSET), buffer.getShort(slot + SLOT_KEY_LENGTH) & 0xFFFF));
+                    }
+                }
+                if (endRead(sequence)) {
+                    return Collections.unmodifiableSet(keys);
+                }
+            } catch (RuntimeException e) {
+                retryOrThrow(sequence, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the values of all the flags.
+     *
+     * @return the flag values, by normalized key
+     * @throws SnapshotWriteStalledException if a write did not complete in time
+     */
+    public Map<String, Value> values() {
+        while (true) {
+            long sequence = beginReadOrThrow();
+            try {
+                Map<String, Value> values = new LinkedHashMap<>();
+                for (int i = 0; i < slotCount; i++) {
+                    int slot = HEADER_SIZE + i * SLOT_SIZE;
+                    if (buffer.getInt(slot + SLOT_HASH) != 0) {
+                        values.put(readString(buffer.getInt(slot + SLOT_KEY_OFFSET), buffer.getShort(slot + SLOT_KEY_LENGTH) & 0xFFFF), readValue(slot));
+                    }
+                }
+                if (endRead(sequence)) {
+                    return Collections.unmodifiableMap(values);
+                }
+            } catch (RuntimeException e) {
+                retryOrThrow(sequence, e);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the table and the data match the checksum of the header, written with them.
+     *
+     * @return true if the snapshot is intact, false if it is corrupted or a write did not complete in time
+     */
+    public boolean verifyChecksum() {
+        while (true) {
+            long sequence = beginRead();
+            if (sequence == STALLED) {
+                return false;
+            }
+            try {
+                int dataStart = buffer.getInt(DATA_START_OFFSET);
+                int dataLength = buffer.getInt(DATA_LENGTH_OFFSET);
+                Objects.checkFromIndexSize(dataStart, dataLength, buffer.capacity());
+                CRC32C crc = new CRC32C();
+                crc.update(buffer.slice(HEADER_SIZE, dataStart - HEADER_SIZE));
+                crc.update(buffer.slice(dataStart, dataLength));
+                boolean intact = (int) crc.getValue() == buffer.getInt(CHECKSUM_OFFSET);
+                if (endRead(sequence)) {
+                    return intact;
+                }
+            } catch (RuntimeException e) {
+                if (endRead(sequence)) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the value of a flag.
+     *
+     * @param flagKey the flag key, compared ignoring case
+     * @return the value, or null if the flag is not defined
+     * @throws SnapshotWriteStalledException if a write did not complete in time
+     */
+    public Value getValue(String flagKey) {
+        while (true) {
+            long sequence = beginReadOrThrow();
+            try {
+                Value value = null;
+                int slot = findSlot(flagKey);
+                if (slot >= 0) {
+                    value = readValue(slot);
+                }
+                if (endRead(sequence)) {
+                    return value;
+                }
+            } catch (RuntimeException e) {
+                retryOrThrow(sequence, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the value of a boolean flag.
+     *
+     * @param flagKey      the flag key, compared ignoring case
+     * @param defaultValue the value returned when the flag is not defined or is not a boolean, or when a write did
+     *                     not complete in time
+     * @return the flag value
+     */
+    public boolean getBoolean(String flagKey, boolean defaultValue) {
+        while (true) {
+            long sequence = beginRead();
+            if (sequence == STALLED) {
+                return defaultValue;
+            }
+            try {
+                int slot = findSlot(flagKey);
+                boolean value = slot >= 0 && buffer.get(slot + SLOT_TYPE) == TYPE_BOOLEAN
+                        ? buffer.getLong(slot + SLOT_VALUE) != 0
+                        : defaultValue;
+                if (endRead(sequence)) {
+                    return value;
+                }
+            } catch (RuntimeException e) {
+                retryOrThrow(sequence, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the value of a numeric flag as an int, truncating decimal values.
+     *
+     * @param flagKey      the flag key, compared ignoring case
+     * @param defaultValue the value returned when the flag is not defined or is not a number, or when a write did
+     *                     not complete in time
+     * @return the flag value
+     */
+    public int getInteger(String flagKey, int defaultValue) {
+        while (true) {
+            long sequence = beginRead();
+            if (sequence == STALLED) {
+                return defaultValue;
+            }
+            try {
+                int slot = findSlot(flagKey);
+                int value = defaultValue;
+                if (slot >= 0) {
+                    byte type = buffer.get(slot + SLOT_TYPE);
+                    long bits = buffer.getLong(slot + SLOT_VALUE);
+                    value = type == TYPE_INTEGER ? (int) bits : type == TYPE_DOUBLE ? (int) Double.longBitsToDouble(bits) : defaultValue;
+                }
+                if (endRead(sequence)) {
+                    return value;
+                }
+            } catch (RuntimeException e) {
+                retryOrThrow(sequence, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the value of a numeric flag as a double.
+     *
+     * @param flagKey      the flag key, compared ignoring case
+     * @param defaultValue the value returned when the flag is not defined or is not a number, or when a write did
+     *                     not complete in time
+     * @return the flag value
+     */
+    public double getDouble(String flagKey, double defaultValue) {
+        while (true) {
+            long sequence = beginRead();
+            if (sequence == STALLED) {
+                return defaultValue;
+            }
+            try {
+                int slot = findSlot(flagKey);
+                double value = defaultValue;
+                if (slot >= 0) {
+                    byte type = buffer.get(slot + SLOT_TYPE);
+                    long bits = buffer.getLong(slot + SLOT_VALUE);
+                    value = type == TYPE_INTEGER ? (int) bits : type == TYPE_DOUBLE ? Double.longBitsToDouble(bits) : defaultValue;
+                }
+                if (endRead(sequence)) {
+                    return value;
+                }
+            } catch (RuntimeException e) {
+                retryOrThrow(sequence, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the value of a string flag.
+     *
+     * @param flagKey      the flag key, compared ignoring case
+     * @param defaultValue the value returned when the flag is not defined or is not a string, or when a write did
+     *                     not complete in time
+     * @return the flag value
+     */
+    public String getString(String flagKey, String defaultValue) {
+        while (true) {
+            long sequence = beginRead();
+            if (sequence == STALLED) {
+                return defaultValue;
+            }
+            try {
+                int slot = findSlot(flagKey);
+                String value = slot >= 0 && buffer.get(slot + SLOT_TYPE) == TYPE_STRING ? readStringValue(slot) : defaultValue;
+                if (endRead(sequence)) {
+                    return value;
+                }
+            } catch (RuntimeException e) {
+                retryOrThrow(sequence, e);
+            }
+        }
+    }
+
+    /**
+     * Waits until no write is in progress and returns the sequence, or {@link #STALLED} if the write in progress did
+     * not complete within {@value #WRITE_WAIT_MILLIS} ms or was already found stalled.
+     */
+    private long beginRead() {
+        if (!shared) {
+            return buffer.getLong(SEQUENCE_OFFSET);
+        }
+        long sequence = (long) LONG_VIEW.getAcquire(buffer, SEQUENCE_OFFSET);
+        if ((sequence & 1) == 0) {
+            return sequence;
+        }
+        if (sequence == stalledSequence) {
+            return STALLED;
+        }
+        long deadline = System.nanoTime() + WRITE_WAIT_NANOS;
+        do {
+            Thread.onSpinWait();
+            sequence = (long) LONG_VIEW.getAcquire(buffer, SEQUENCE_OFFSET);
+            if ((sequence & 1) == 0) {
+                return sequence;
+            }
+        } while (System.nanoTime() - deadline < 0);
+        stalledSequence = sequence;
+        return STALLED;
+    }
+
+    private long beginReadOrThrow() {
+        long sequence = beginRead();
+        if (sequence == STALLED) {
+            throw new SnapshotWriteStalledException("Flag snapshot write did not complete within " + WRITE_WAIT_MILLIS + " ms");
+        }
+        return sequence;
+    }
+
+    /**
+     * Returns whether the values read since {@link #beginRead()} are consistent.
+     */
+    private boolean endRead(long sequence) {
+        if (!shared) {
+            return true;
+        }
+        VarHandle.acquireFence();
+        return (long) LONG_VIEW.getVolatile(buffer, SEQUENCE_OFFSET) == sequence;
+    }
+
+    /**
+     * Retries a read that failed on data changed meanwhile, or reports a corrupted file.
+     */
+    private void retryOrThrow(long sequence, RuntimeException e) {
+        if (endRead(sequence)) {
+            throw new IllegalStateException("Corrupted flag snapshot", e);
+        }
+    }
+
+    /**
+     * Returns the position of the slot of a key, or -1 if the key is not defined.
+     */
+    private int findSlot(String flagKey) {
+        boolean ascii = isAscii(flagKey);
+        String key = ascii ? flagKey : FlagKeyIndex.normalize(flagKey);
+        int hash = hash(key);
+        int mask = slotCount - 1;
+        for (int probe = 0, i = hash & mask; probe < slotCount; probe++, i = (i + 1) & mask) {
+            int slot = HEADER_SIZE + i * SLOT_SIZE;
+            int slotHash = buffer.getInt(slot + SLOT_HASH);
+            if (slotHash == 0) {
+                return -1;
+            }
+            if (slotHash == hash && keyMatches(slot, key, ascii)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private boolean keyMatches(int slot, String key, boolean ascii) {
+        int offset = buffer.getInt(slot + SLOT_KEY_OFFSET);
+        int length = buffer.getShort(slot + SLOT_KEY_LENGTH) & 0xFFFF;
+        if (ascii) {
+            if (length != key.length()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(offset + i) != fold(key.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return readString(offset, length).equals(key);
+    }
+
+    private Value readValue(int slot) {
+        return switch (buffer.get(slot + SLOT_TYPE)) {
+            case TYPE_BOOLEAN -> new Value(buffer.getLong(slot + SLOT_VALUE) != 0);
+            case TYPE_INTEGER -> new Value((int) buffer.getLong(slot + SLOT_VALUE));
+            case TYPE_DOUBLE -> new Value(Double.longBitsToDouble(buffer.getLong(slot + SLOT_VALUE)));
+            case TYPE_STRING -> new Value(readStringValue(slot));
+            default -> throw new IllegalStateException("Unknown flag snapshot value type");
+        };
+    }
+
+    private String readStringValue(int slot) {
+        return readString((int) buffer.getLong(slot + SLOT_VALUE), buffer.getInt(slot + SLOT_VALUE_LENGTH));
+    }
+
+    private String readString(int offset, int length) {
+        // Bounds are checked first, so a length read during a write cannot allocate a huge array.
+        Objects.checkFromIndexSize(offset, length, buffer.capacity());
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Hashes a normalized key, or an ASCII key with case folding. Never returns 0, which marks empty slots.
+     */
+    static int hash(String key) {
+        int h = 0x811C9DC5;
+        for (int i = 0, length = key.length(); i < length; i++) {
+            h = (h ^ fold(key.charAt(i))) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h == 0 ? 1 : h;
+    }
+
+    private static boolean isAscii(String key) {
+        for (int i = 0, length = key.length(); i < length; i++) {
+            if (key.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char fold(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+}
@@ -0,0 +1,242 @@
+package com.laulem.featureaccessorcore.tool;
+
+import dev.openfeature.sdk.Value;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * FlagSnapshotWriter writes flags into a snapshot file read by {@link FlagSnapshot}s, possibly in other processes.
+ * The file is created with a fixed capacity, a number of flags and a number of bytes of keys and string values,
+ * and every write replaces its whole content in place under the seqlock of the header, so the readers mapping the
+ * file see the new flags on their next read. Writes are serialized by a file lock, across processes.
+ * Only boolean, number and string flags can be stored.
+ */
+public final class FlagSnapshotWriter implements Closeable {
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int slotCount;
+    private final int dataStart;
+    private final int dataCapacity;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private FlagSnapshotWriter(Path file, FileChannel channel, MappedByteBuffer buffer) {
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.slotCount = buffer.getInt(FlagSnapshot.SLOT_COUNT_OFFSET);
+        this.dataStart = buffer.getInt(FlagSnapshot.DATA_START_OFFSET);
+        this.dataCapacity = buffer.getInt(FlagSnapshot.DATA_CAPACITY_OFFSET);
+    }
+
+    /**
+     * Opens a snapshot file for writing, creating it with the given capacity if it does not exist.
+     * An existing snapshot keeps the capacity it was created with.
+     *
+     * @param file         the snapshot file
+     * @param maximumFlags the maximum number of flags of a new file
+     * @param dataCapacity the maximum number of bytes of the UTF-8 keys and string values of a new file
+     * @return the writer
+     * @throws IOException if the file cannot be created or mapped
+     * @throws IllegalArgumentException if an existing file is not a flag snapshot
+     */
+    public static FlagSnapshotWriter open(Path file, int maximumFlags, int dataCapacity) throws IOException {
+        Objects.requireNonNull(file, "File cannot be null");
+        if (maximumFlags <= 0 || maximumFlags > 1 << 24) {
+            throw new IllegalArgumentException("Maximum number of flags must be in [1, 2^24]: " + maximumFlags);
+        }
+        if (dataCapacity <= 0) {
+            throw new IllegalArgumentException("Data capacity must be positive: " + dataCapacity);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock lock = channel.lock();
+            try {
+                MappedByteBuffer buffer;
+                if (channel.size() == 0) {
+                    // A load factor of at most one half keeps probe sequences short.
+                    int slotCount = Integer.highestOneBit(maximumFlags) << 2;
+                    long dataStart = FlagSnapshot.HEADER_SIZE + (long) slotCount * FlagSnapshot.SLOT_SIZE;
+                    if (dataStart + dataCapacity > Integer.MAX_VALUE) {
+                        throw new IllegalArgumentException("Flag snapshot capacity exceeds 2 GB");
+                    }
+                    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, dataStart + dataCapacity);
+                    buffer.putInt(FlagSnapshot.FORMAT_VERSION_OFFSET, FlagSnapshot.FORMAT_VERSION);
+                    buffer.putInt(FlagSnapshot.SLOT_COUNT_OFFSET, slotCount);
+                    buffer.putInt(FlagSnapshot.DATA_START_OFFSET, (int) dataStart);
+                    buffer.putInt(FlagSnapshot.DATA_CAPACITY_OFFSET, dataCapacity);
+                    // The magic number is written last, so a reader never accepts a half-initialized header.
+                    buffer.putInt(FlagSnapshot.MAGIC_OFFSET, FlagSnapshot.MAGIC);
+                } else {
+                    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+                    FlagSnapshot.checkHeader(buffer);
+                }
+                return new FlagSnapshotWriter(file, channel, buffer);
+            } finally {
+                lock.release();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the maximum number of flags of the snapshot.
+     *
+     * @return the maximum number of flags
+     */
+    public int getMaximumFlags() {
+        return slotCount / 2;
+    }
+
+    public int getDataCapacity() {
+        return dataCapacity;
+    }
+
+    /**
+     * Replaces the flags of the snapshot. Keys are normalized; when two keys only differ by case, the last one wins.
+     *
+     * @param flags the flags, by key
+     * @return the new version of the snapshot
+     * @throws IOException if the file cannot be locked
+     * @throws IllegalArgumentException if a value is not a boolean, number or string, or the flags exceed the
+     *                                  capacity of the snapshot; the snapshot is then left unchanged
+     */
+    public long write(Map<String, Value> flags) throws IOException {
+        Objects.requireNonNull(flags, "Flags cannot be null");
+        Map<String, Value> normalized = new LinkedHashMap<>();
+        for (Map.Entry<String, Value> flag : flags.entrySet()) {
+            Objects.requireNonNull(flag.getKey(), "Key cannot be null");
+            Objects.requireNonNull(flag.getValue(), "Value cannot be null");
+            normalized.put(FlagKeyIndex.normalize(flag.getKey()), flag.getValue());
+        }
+        if (normalized.size() > getMaximumFlags()) {
+            throw new IllegalArgumentException("Too many flags for the snapshot: " + normalized.size() + " > " + getMaximumFlags());
+        }
+        EncodedFlags encoded = encode(normalized);
+
+        writeLock.lock();
+        try {
+            FileLock lock = channel.lock();
+            try {
+                long sequence = (long) FlagSnapshot.LONG_VIEW.getVolatile(buffer, FlagSnapshot.SEQUENCE_OFFSET);
+                // A sequence left odd by a writer that died mid-write stays odd until this write completes.
+                long writing = (sequence & 1) == 0 ? sequence + 1 : sequence + 2;
+                FlagSnapshot.LONG_VIEW.setVolatile(buffer, FlagSnapshot.SEQUENCE_OFFSET, writing);
+                // The table must not be changed before readers can see the odd sequence.
+                VarHandle.storeStoreFence();
+                buffer.put(FlagSnapshot.HEADER_SIZE, encoded.slots);
+                buffer.put(dataStart, encoded.data, 0, encoded.dataLength);
+                buffer.putInt(FlagSnapshot.FLAG_COUNT_OFFSET, normalized.size());
+                buffer.putInt(FlagSnapshot.DATA_LENGTH_OFFSET, encoded.dataLength);
+                buffer.putInt(FlagSnapshot.CHECKSUM_OFFSET, encoded.checksum);
+                FlagSnapshot.LONG_VIEW.setRelease(buffer, FlagSnapshot.SEQUENCE_OFFSET, writing + 1);
+                return (writing + 1) >>> 1;
+            } finally {
+                lock.release();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Encodes the slots and the data area of the flags, with absolute offsets, and their checksum.
+     */
+    private EncodedFlags encode(Map<String, Value> flags) {
+        byte[] slots = new byte[slotCount * FlagSnapshot.SLOT_SIZE];
+        ByteBuffer slotBuffer = ByteBuffer.wrap(slots);
+        byte[] data = new byte[Math.min(dataCapacity, 4096)];
+        int dataLength = 0;
+        int mask = slotCount - 1;
+        for (Map.Entry<String, Value> flag : flags.entrySet()) {
+            byte[] key = flag.getKey().getBytes(StandardCharsets.UTF_8);
+            if (key.length > 0xFFFF) {
+                throw new IllegalArgumentException("Flag key too long: " + flag.getKey());
+            }
+            Value value = flag.getValue();
+            byte[] stringValue = value.isString() ? value.asString().getBytes(StandardCharsets.UTF_8) : null;
+            int required = dataLength + key.length + (stringValue != null ? stringValue.length : 0);
+            if (required > dataCapacity || required < 0) {
+                throw new IllegalArgumentException("Flags exceed the data capacity of the snapshot: " + dataCapacity + " bytes");
+            }
+            if (required > data.length) {
+                data = Arrays.copyOf(data, (int) Math.min(dataCapacity, Math.max(required, 2L * data.length)));
+            }
+
+            int hash = FlagSnapshot.hash(flag.getKey());
+            int i = hash & mask;
+            while (slotBuffer.getInt(i * FlagSnapshot.SLOT_SIZE + FlagSnapshot.SLOT_HASH) != 0) {
+                i = (i + 1) & mask;
+            }
+            int slot = i * FlagSnapshot.SLOT_SIZE;
+            slotBuffer.putInt(slot + FlagSnapshot.SLOT_HASH, hash);
+            slotBuffer.putInt(slot + FlagSnapshot.SLOT_KEY_OFFSET, dataStart + dataLength);
+            slotBuffer.putShort(slot + FlagSnapshot.SLOT_KEY_LENGTH, (short) key.length);
+            System.arraycopy(key, 0, data, dataLength, key.length);
+            dataLength += key.length;
+
+            if (value.isBoolean()) {
+                slotBuffer.put(slot + FlagSnapshot.SLOT_TYPE, FlagSnapshot.TYPE_BOOLEAN);
+                slotBuffer.putLong(slot + FlagSnapshot.SLOT_VALUE, value.asBoolean() ? 1 : 0);
+            } else if (value.isNumber() && value.asObject() instanceof Integer integer) {
+                slotBuffer.put(slot + FlagSnapshot.SLOT_TYPE, FlagSnapshot.TYPE_INTEGER);
+                slotBuffer.putLong(slot + FlagSnapshot.SLOT_VALUE, integer);
+            } else if (value.isNumber()) {
+                slotBuffer.put(slot + FlagSnapshot.SLOT_TYPE, FlagSnapshot.TYPE_DOUBLE);
+                slotBuffer.putLong(slot + FlagSnapshot.SLOT_VALUE, Double.doubleToRawLongBits(value.asDouble()));
+            } else if (stringValue != null) {
+                slotBuffer.put(slot + FlagSnapshot.SLOT_TYPE, FlagSnapshot.TYPE_STRING);
+                slotBuffer.putInt(slot + FlagSnapshot.SLOT_VALUE_LENGTH, stringValue.length);
+                slotBuffer.putLong(slot + FlagSnapshot.SLOT_VALUE, dataStart + dataLength);
+                System.arraycopy(stringValue, 0, data, dataLength, stringValue.length);
+                dataLength += stringValue.length;
+            } else {
+                throw new IllegalArgumentException("Only boolean, number and string flags can be stored in a snapshot: " + flag.getKey());
+            }
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(slots);
+        crc.update(data, 0, dataLength);
+        return new EncodedFlags(slots, data, dataLength, (int) crc.getValue());
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static final class EncodedFlags {
+        private final byte[] slots;
+        private final byte[] data;
+        private final int dataLength;
+        private final int checksum;
+
+        private EncodedFlags(byte[] slots, byte[] data, int dataLength, int checksum) {
+            this.slots = slots;
+            this.data = data;
+            this.dataLength = dataLength;
+            this.checksum = checksum;
+        }
+    }
+}
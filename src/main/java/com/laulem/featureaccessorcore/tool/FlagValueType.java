@@ -0,0 +1,115 @@
+package com.laulem.featureaccessorcore.tool;
+
+import com.laulem.featureaccessorcore.exception.ProviderException;
+import dev.openfeature.sdk.Value;
+
+import java.util.Locale;
+
+/**
+ * FlagValueType is the type declared for a flag in a properties file with a key suffix,
+ * such as {@code feature-accessor.batch_size[int]=500}. Values are parsed once, when the file is loaded.
+ */
+public enum FlagValueType {
+    BOOLEAN("boolean") {
+        @Override
+        Value convert(String value) {
+            if ("true".equalsIgnoreCase(value)) {
+                return new Value(true);
+            }
+            if ("false".equalsIgnoreCase(value)) {
+                return new Value(false);
+            }
+            throw new IllegalArgumentException("Not a boolean");
+        }
+    },
+    INTEGER("int") {
+        @Override
+        Value convert(String value) {
+            return new Value(Integer.parseInt(value.strip()));
+        }
+    },
+    DOUBLE("double") {
+        @Override
+        Value convert(String value) {
+            return new Value(Double.parseDouble(value.strip()));
+        }
+    },
+    STRING("string") {
+        @Override
+        Value convert(String value) {
+            return new Value(value);
+        }
+    },
+    JSON("json") {
+        @Override
+        Value convert(String value) {
+            return JsonValueParser.parse(value);
+        }
+    };
+
+    private final String suffix;
+
+    FlagValueType(String suffix) {
+        this.suffix = suffix;
+    }
+
+    /**
+     * Returns whether a key suffix declares a type, ignoring case.
+     *
+     * @param suffix the suffix, without its brackets
+     * @return true if a type uses this suffix
+     */
+    public static boolean isTypeSuffix(String suffix) {
+        String normalized = suffix.strip().toLowerCase(Locale.ROOT);
+        for (FlagValueType type : values()) {
+            if (type.suffix.equals(normalized)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the type declared by a key suffix, ignoring case.
+     *
+     * @param suffix the suffix, without its brackets
+     * @return the flag value type
+     * @throws IllegalArgumentException if no type uses this suffix
+     */
+    public static FlagValueType fromSuffix(String suffix) {
+        String normalized = suffix.strip().toLowerCase(Locale.ROOT);
+        for (FlagValueType type : values()) {
+            if (type.suffix.equals(normalized)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown flag type: [" + suffix + "]");
+    }
+
+    /**
+     * Returns the key suffix of this type, without its brackets.
+     *
+     * @return the suffix
+     */
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * Parses a raw flag value into a Value of this type.
+     *
+     * @param flagKey the flag key, for error messages
+     * @param value   the raw value
+     * @return the parsed value
+     * @throws ProviderException if the value does not match the type
+     */
+    public Value parse(String flagKey, String value) {
+        try {
+            return convert(value);
+        } catch (RuntimeException e) {
+            throw new ProviderException("Flag " + flagKey + " is declared as " + suffix + " but its value is invalid: " + value, e);
+        }
+    }
+
+    abstract Value convert(String value);
+}
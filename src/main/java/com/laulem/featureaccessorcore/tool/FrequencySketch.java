@@ -0,0 +1,100 @@
+package com.laulem.featureaccessorcore.tool;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * FrequencySketch is a count-min sketch estimating how often keys were recently seen, as used by TinyLFU admission.
+ * Each key owns four 4-bit counters, saturating at 15, packed sixteen to a long. Once ten times the sample size
+ * of increments have been recorded, every counter is halved so that old popularity fades away.
+ * Counters are updated with compare-and-set, so the sketch can be shared by concurrent readers without locking.
+ */
+public final class FrequencySketch {
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long[] SEEDS = {0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+
+    private final AtomicLongArray table;
+    private final int mask;
+    private final int resetThreshold;
+    private final AtomicInteger additions = new AtomicInteger();
+
+    /**
+     * Constructs a FrequencySketch.
+     *
+     * @param sampleSize the number of keys whose frequency matters, typically the maximum size of a cache
+     */
+    public FrequencySketch(int sampleSize) {
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException("Sample size must be positive: " + sampleSize);
+        }
+        int length = Integer.highestOneBit(Math.max(16, Math.min(sampleSize, 1 << 28)) - 1) << 1;
+        this.table = new AtomicLongArray(length);
+        this.mask = length - 1;
+        this.resetThreshold = (int) Math.min(Integer.MAX_VALUE, 10L * sampleSize);
+    }
+
+    /**
+     * Returns the estimated recent frequency of a key.
+     *
+     * @param hash the hash of the key
+     * @return the frequency, in [0, 15]
+     */
+    public int frequency(int hash) {
+        int frequency = 15;
+        for (int depth = 0; depth < 4; depth++) {
+            long word = table.get(indexOf(hash, depth));
+            frequency = Math.min(frequency, (int) ((word >>> offsetOf(hash, depth)) & 0xF));
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an occurrence of a key.
+     *
+     * @param hash the hash of the key
+     */
+    public void increment(int hash) {
+        boolean incremented = false;
+        for (int depth = 0; depth < 4; depth++) {
+            incremented |= incrementAt(indexOf(hash, depth), offsetOf(hash, depth));
+        }
+        if (incremented && additions.incrementAndGet() >= resetThreshold) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int offset) {
+        while (true) {
+            long word = table.get(index);
+            if (((word >>> offset) & 0xF) == 0xF) {
+                return false;
+            }
+            if (table.compareAndSet(index, word, word + (1L << offset))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Halves every counter.
+     */
+    private void reset() {
+        additions.set(0);
+        for (int i = 0; i < table.length(); i++) {
+            long word;
+            do {
+                word = table.get(i);
+            } while (!table.compareAndSet(i, word, (word >>> 1) & RESET_MASK));
+        }
+    }
+
+    private int indexOf(int hash, int depth) {
+        long h = (hash + SEEDS[depth]) * SEEDS[depth];
+        h ^= h >>> 32;
+        return (int) h & mask;
+    }
+
+    private static int offsetOf(int hash, int depth) {
+        return ((hash >>> (depth << 3)) & 0xF) << 2;
+    }
+}
@@ -0,0 +1,190 @@
+package com.laulem.featureaccessorcore.tool;
+
+import dev.openfeature.sdk.ImmutableStructure;
+import dev.openfeature.sdk.Value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JsonValueParser parses a JSON document into an OpenFeature Value. Objects become structures, arrays become
+ * lists, and numbers become integers when they are integral and fit in an int, doubles otherwise.
+ */
+final class JsonValueParser {
+    private final String json;
+    private int position;
+
+    private JsonValueParser(String json) {
+        this.json = json;
+    }
+
+    /**
+     * Parses a JSON document.
+     *
+     * @param json the JSON document
+     * @return the parsed value
+     * @throws IllegalArgumentException if the document is not valid JSON
+     */
+    static Value parse(String json) {
+        JsonValueParser parser = new JsonValueParser(json);
+        Value value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.position != json.length()) {
+            throw parser.error("Unexpected content");
+        }
+        return value;
+    }
+
+    private Value readValue() {
+        skipWhitespace();
+        if (position == json.length()) {
+            throw error("Unexpected end of document");
+        }
+        char c = json.charAt(position);
+        return switch (c) {
+            case '{' -> readObject();
+            case '[' -> readArray();
+            case '"' -> new Value(readString());
+            case 't' -> readLiteral("true", new Value(true));
+            case 'f' -> readLiteral("false", new Value(false));
+            case 'n' -> readLiteral("null", new Value());
+            default -> readNumber();
+        };
+    }
+
+    private Value readObject() {
+        position++;
+        Map<String, Value> attributes = new LinkedHashMap<>();
+        skipWhitespace();
+        if (consume('}')) {
+            return new Value(new ImmutableStructure(attributes));
+        }
+        do {
+            skipWhitespace();
+            if (position == json.length() || json.charAt(position) != '"') {
+                throw error("Expected a string key");
+            }
+            String key = readString();
+            skipWhitespace();
+            expect(':');
+            attributes.put(key, readValue());
+            skipWhitespace();
+        } while (consume(','));
+        expect('}');
+        return new Value(new ImmutableStructure(attributes));
+    }
+
+    private Value readArray() {
+        position++;
+        List<Value> values = new ArrayList<>();
+        skipWhitespace();
+        if (consume(']')) {
+            return new Value(Collections.unmodifiableList(values));
+        }
+        do {
+            values.add(readValue());
+            skipWhitespace();
+        } while (consume(','));
+        expect(']');
+        return new Value(Collections.unmodifiableList(values));
+    }
+
+    private String readString() {
+        position++;
+        StringBuilder builder = new StringBuilder();
+        while (position < json.length()) {
+            char c = json.charAt(position++);
+            if (c == '"') {
+                return builder.toString();
+            }
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+            if (position == json.length()) {
+                break;
+            }
+            char escaped = json.charAt(position++);
+            switch (escaped) {
+                case '"', '\\', '/' -> builder.append(escaped);
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> {
+                    if (position + 4 > json.length()) {
+                        throw error("Malformed unicode escape");
+                    }
+                    builder.append((char) Integer.parseInt(json, position, position + 4, 16));
+                    position += 4;
+                }
+                default -> throw error("Invalid escape");
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private Value readLiteral(String literal, Value value) {
+        if (!json.startsWith(literal, position)) {
+            throw error("Unexpected token");
+        }
+        position += literal.length();
+        return value;
+    }
+
+    private Value readNumber() {
+        int start = position;
+        boolean integral = true;
+        if (position < json.length() && json.charAt(position) == '-') {
+            position++;
+        }
+        while (position < json.length()) {
+            char c = json.charAt(position);
+            if (c == '.' || c == 'e' || c == 'E' || c == '+' || (c == '-' && position > start)) {
+                integral = false;
+            } else if (c < '0' || c > '9') {
+                break;
+            }
+            position++;
+        }
+        String number = json.substring(start, position);
+        if (number.isEmpty() || number.equals("-")) {
+            throw error("Unexpected token");
+        }
+        if (integral && number.length() <= 11) {
+            long value = Long.parseLong(number);
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return new Value((int) value);
+            }
+        }
+        return new Value(Double.parseDouble(number));
+    }
+
+    private void skipWhitespace() {
+        while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+            position++;
+        }
+    }
+
+    private boolean consume(char c) {
+        if (position < json.length() && json.charAt(position) == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!consume(c)) {
+            throw error("Expected '" + c + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " of JSON document");
+    }
+}
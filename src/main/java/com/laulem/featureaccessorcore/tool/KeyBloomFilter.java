@@ -0,0 +1,98 @@
+package com.laulem.featureaccessorcore.tool;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * KeyBloomFilter is a compact, case-insensitive Bloom filter of flag keys.
+ * It never reports a false negative: {@link #mightContain(String)} returning false means the key was never added.
+ * Adds and lookups are lock-free and a lookup does not allocate.
+ */
+public final class KeyBloomFilter {
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+    private final int expectedKeys;
+    private final AtomicInteger keyCount = new AtomicInteger();
+
+    /**
+     * Constructs a KeyBloomFilter sized for the expected number of keys.
+     *
+     * @param expectedKeys      the number of keys the filter is sized for
+     * @param falsePositiveRate the false positive rate expected once the filter holds that many keys
+     */
+    public KeyBloomFilter(int expectedKeys, double falsePositiveRate) {
+        if (expectedKeys <= 0) {
+            throw new IllegalArgumentException("Expected keys must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, optimalBits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedKeys * Math.log(2)));
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+        this.expectedKeys = expectedKeys;
+    }
+
+    /**
+     * Adds a key to the filter. A key whose bits are all set already, such as a key added before, is not counted
+     * toward {@link #isSaturated()}.
+     *
+     * @param key the flag key
+     */
+    public void add(String key) {
+        long hash = FlagKeyIndex.hashIgnoreCase(key, 0L);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bitCount;
+            long mask = 1L << bit;
+            if ((bits.get(bit >>> 6) & mask) == 0) {
+                long previous = bits.getAndAccumulate(bit >>> 6, mask, (current, added) -> current | added);
+                changed |= (previous & mask) == 0;
+            }
+        }
+        if (changed) {
+            keyCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Checks whether a key may have been added to the filter.
+     *
+     * @param key the flag key
+     * @return false if the key was definitely never added, true if it may have been
+     */
+    public boolean mightContain(String key) {
+        long hash = FlagKeyIndex.hashIgnoreCase(key, 0L);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bitCount;
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether more distinct keys were added than the filter was sized for, so its false positive rate degrades.
+     *
+     * @return true if the filter should be rebuilt with a larger size
+     */
+    public boolean isSaturated() {
+        return keyCount.get() > expectedKeys;
+    }
+
+    /**
+     * Returns the number of keys the filter was sized for.
+     *
+     * @return the expected number of keys
+     */
+    public int getExpectedKeys() {
+        return expectedKeys;
+    }
+}
@@ -0,0 +1,66 @@
+package com.laulem.featureaccessorcore.tool;
+
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * LazyFlagDefinition loads its definition the first time it is evaluated.
+ * Concurrent first evaluations may both call the loader; either result can be kept. A loader failure is kept too:
+ * the loader is not called again, and every evaluation throws the same exception, which evaluations report as a
+ * PARSE_ERROR.
+ * Two lazy definitions are equal when they have the same source.
+ */
+final class LazyFlagDefinition implements FlagDefinition {
+    private final String source;
+    private final Supplier<? extends FlagDefinition> loader;
+    private volatile FlagDefinition loaded;
+
+    LazyFlagDefinition(String source, Supplier<? extends FlagDefinition> loader) {
+        this.source = source;
+        this.loader = loader;
+    }
+
+    @Override
+    public <T> ProviderEvaluation<T> evaluate(EvaluationContext ctx, Function<FlagEvaluations, ProviderEvaluation<T>> selector) {
+        FlagDefinition definition = loaded;
+        if (definition == null) {
+            try {
+                definition = Objects.requireNonNull(loader.get(), "Loaded definition cannot be null");
+            } catch (RuntimeException e) {
+                definition = new FailedDefinition(e);
+            }
+            loaded = definition;
+        }
+        return definition.evaluate(ctx, selector);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LazyFlagDefinition other && source.equals(other.source);
+    }
+
+    @Override
+    public int hashCode() {
+        return source.hashCode();
+    }
+
+    /**
+     * FailedDefinition is the definition kept when the loader failed, throwing its failure on every evaluation.
+     */
+    private static final class FailedDefinition implements FlagDefinition {
+        private final RuntimeException failure;
+
+        private FailedDefinition(RuntimeException failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public <T> ProviderEvaluation<T> evaluate(EvaluationContext ctx, Function<FlagEvaluations, ProviderEvaluation<T>> selector) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.laulem.featureaccessorcore.tool;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * PropertiesScanner reads the entries of an ISO-8859-1 properties file whose key starts with a given prefix,
+ * following the format of {@link java.util.Properties#load(java.io.InputStream)}: comments, the '=', ':' and
+ * whitespace separators, line continuations and escapes.
+ * The buffer is scanned in place, typically a memory-mapped file. Lines that cannot start with the prefix are
+ * skipped without being copied, and only the entries matching the prefix are turned into strings.
+ */
+public final class PropertiesScanner {
+    private static final int ESCAPED_PREFIX = -2;
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    private final String prefix;
+    private char[] line = new char[256];
+    private int lineLength;
+    private int position;
+    private int entries;
+
+    private PropertiesScanner(ByteBuffer buffer, String prefix) {
+        this.buffer = buffer;
+        this.limit = buffer.limit();
+        this.position = buffer.position();
+        this.prefix = prefix;
+    }
+
+    /**
+     * Scans the buffer and passes the entries whose key starts with the prefix, ignoring case, to the action.
+     * The buffer position is not modified.
+     *
+     * @param buffer the properties content, encoded in ISO-8859-1
+     * @param prefix the key prefix
+     * @param action called with the key without its prefix and the value of every matching entry
+     * @return the number of entries in the buffer, matching or not
+     */
+    public static int scan(ByteBuffer buffer, String prefix, BiConsumer<String, String> action) {
+        Objects.requireNonNull(buffer, "Buffer cannot be null");
+        Objects.requireNonNull(prefix, "Prefix cannot be null");
+        Objects.requireNonNull(action, "Action cannot be null");
+        PropertiesScanner scanner = new PropertiesScanner(buffer, prefix);
+        scanner.scan(action);
+        return scanner.entries;
+    }
+
+    private void scan(BiConsumer<String, String> action) {
+        while (skipBlankAndCommentLines()) {
+            entries++;
+            if (!prefix.isEmpty() && !mayStartWithPrefix(byteAt(position))) {
+                skipLogicalLine();
+                continue;
+            }
+            readLogicalLine();
+            parseEntry(action);
+        }
+    }
+
+    /**
+     * Moves to the first character of the next entry.
+     *
+     * @return false if the end of the buffer is reached
+     */
+    private boolean skipBlankAndCommentLines() {
+        while (position < limit) {
+            char c = byteAt(position);
+            if (c == ' ' || c == '\t' || c == '\f' || c == '\r' || c == '\n') {
+                position++;
+            } else if (c == '#' || c == '!') {
+                while (position < limit && byteAt(position) != '\n' && byteAt(position) != '\r') {
+                    position++;
+                }
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean mayStartWithPrefix(char c) {
+        return c == '\\' || equalsIgnoreCase(c, prefix.charAt(0));
+    }
+
+    private static boolean equalsIgnoreCase(char c, char p) {
+        return c == p || Character.toUpperCase(c) == Character.toUpperCase(p) || Character.toLowerCase(c) == Character.toLowerCase(p);
+    }
+
+    /**
+     * Skips a logical line, following continuations, without copying it.
+     */
+    private void skipLogicalLine() {
+        boolean precedingBackslash = false;
+        while (position < limit) {
+            char c = byteAt(position++);
+            if (c == '\n' || c == '\r') {
+                if (!precedingBackslash) {
+                    return;
+                }
+                skipContinuation(c);
+                precedingBackslash = false;
+            } else {
+                precedingBackslash = c == '\\' && !precedingBackslash;
+            }
+        }
+    }
+
+    /**
+     * Copies a logical line into the line buffer, joining continued lines. Escapes are kept.
+     */
+    private void readLogicalLine() {
+        lineLength = 0;
+        boolean precedingBackslash = false;
+        while (position < limit) {
+            char c = byteAt(position++);
+            if (c == '\n' || c == '\r') {
+                if (!precedingBackslash) {
+                    return;
+                }
+                lineLength--;
+                skipContinuation(c);
+                precedingBackslash = false;
+                continue;
+            }
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, line.length * 2);
+            }
+            line[lineLength++] = c;
+            precedingBackslash = c == '\\' && !precedingBackslash;
+        }
+        if (precedingBackslash) {
+            lineLength--;
+        }
+    }
+
+    /**
+     * Skips the rest of a line terminator and the leading whitespace of the continuation line.
+     */
+    private void skipContinuation(char terminator) {
+        if (terminator == '\r' && position < limit && byteAt(position) == '\n') {
+            position++;
+        }
+        while (position < limit) {
+            char c = byteAt(position);
+            if (c != ' ' && c != '\t' && c != '\f') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private void parseEntry(BiConsumer<String, String> action) {
+        int keyLength = 0;
+        int valueStart = lineLength;
+        boolean hasSeparator = false;
+        boolean precedingBackslash = false;
+        while (keyLength < lineLength) {
+            char c = line[keyLength];
+            if ((c == '=' || c == ':') && !precedingBackslash) {
+                valueStart = keyLength + 1;
+                hasSeparator = true;
+                break;
+            } else if ((c == ' ' || c == '\t' || c == '\f') && !precedingBackslash) {
+                valueStart = keyLength + 1;
+                break;
+            }
+            precedingBackslash = c == '\\' && !precedingBackslash;
+            keyLength++;
+        }
+        while (valueStart < lineLength) {
+            char c = line[valueStart];
+            if (c != ' ' && c != '\t' && c != '\f') {
+                if (!hasSeparator && (c == '=' || c == ':')) {
+                    hasSeparator = true;
+                } else {
+                    break;
+                }
+            }
+            valueStart++;
+        }
+
+        int nameStart = prefixEnd(keyLength);
+        if (nameStart >= 0) {
+            action.accept(unescape(nameStart, keyLength), unescape(valueStart, lineLength));
+        } else if (nameStart == ESCAPED_PREFIX) {
+            String key = unescape(0, keyLength);
+            if (key.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                action.accept(key.substring(prefix.length()), unescape(valueStart, lineLength));
+            }
+        }
+    }
+
+    /**
+     * Matches the prefix against the start of the key in place, ignoring case.
+     *
+     * @return the index following the prefix, -1 if the key does not start with it, or ESCAPED_PREFIX if the
+     * key must be unescaped first
+     */
+    private int prefixEnd(int keyLength) {
+        int length = prefix.length();
+        if (keyLength < length) {
+            return -1;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = line[i];
+            if (c == '\\') {
+                return ESCAPED_PREFIX;
+            }
+            if (!equalsIgnoreCase(c, prefix.charAt(i))) {
+                return -1;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Decodes the escapes of a range of the line buffer.
+     */
+    private String unescape(int from, int to) {
+        StringBuilder builder = new StringBuilder(to - from);
+        int i = from;
+        while (i < to) {
+            char c = line[i++];
+            if (c != '\\' || i == to) {
+                builder.append(c);
+                continue;
+            }
+            c = line[i++];
+            switch (c) {
+                case 't' -> builder.append('\t');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 'f' -> builder.append('\f');
+                case 'u' -> {
+                    if (to - i < 4) {
+                        throw new IllegalArgumentException("Malformed \\uxxxx encoding");
+                    }
+                    int code = 0;
+                    for (int j = 0; j < 4; j++) {
+                        int digit = Character.digit(line[i++], 16);
+                        if (digit < 0) {
+                            throw new IllegalArgumentException("Malformed \\uxxxx encoding");
+                        }
+                        code = (code << 4) | digit;
+                    }
+                    builder.append((char) code);
+                }
+                default -> builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private char byteAt(int index) {
+        return (char) (buffer.get(index) & 0xFF);
+    }
+}
@@ -0,0 +1,216 @@
+package com.laulem.featureaccessorcore.tool;
+
+import dev.openfeature.sdk.ErrorCode;
+import dev.openfeature.sdk.ImmutableMetadata;
+import dev.openfeature.sdk.ProviderEvaluation;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * SharedEvaluations creates immutable ProviderEvaluation instances that can be returned to any number of callers.
+ * Results for Boolean values are constants; results for other values are reused from small identity caches,
+ * so repeated evaluations with the same default value (typically a literal) do not allocate.
+ */
+public final class SharedEvaluations {
+    private static final int CACHE_SIZE = 256;
+    private static final ImmutableMetadata EMPTY_METADATA = ImmutableMetadata.builder().build();
+
+    private static final ProviderEvaluation<Boolean> STATIC_TRUE = create(Boolean.TRUE, EvaluationTool.STATIC_REASON, null);
+    private static final ProviderEvaluation<Boolean> STATIC_FALSE = create(Boolean.FALSE, EvaluationTool.STATIC_REASON, null);
+    private static final ProviderEvaluation<Object> STATIC_NULL = create(null, EvaluationTool.STATIC_REASON, null);
+    private static final ProviderEvaluation<Boolean> NOT_FOUND_TRUE = create(Boolean.TRUE, EvaluationTool.DEFAULT_REASON, ErrorCode.FLAG_NOT_FOUND);
+    private static final ProviderEvaluation<Boolean> NOT_FOUND_FALSE = create(Boolean.FALSE, EvaluationTool.DEFAULT_REASON, ErrorCode.FLAG_NOT_FOUND);
+    private static final ProviderEvaluation<Object> NOT_FOUND_NULL = create(null, EvaluationTool.DEFAULT_REASON, ErrorCode.FLAG_NOT_FOUND);
+    private static final ProviderEvaluation<Boolean> PARSE_ERROR_TRUE = create(Boolean.TRUE, EvaluationTool.ERROR_REASON, ErrorCode.PARSE_ERROR);
+    private static final ProviderEvaluation<Boolean> PARSE_ERROR_FALSE = create(Boolean.FALSE, EvaluationTool.ERROR_REASON, ErrorCode.PARSE_ERROR);
+    private static final ProviderEvaluation<Object> PARSE_ERROR_NULL = create(null, EvaluationTool.ERROR_REASON, ErrorCode.PARSE_ERROR);
+    private static final ProviderEvaluation<Boolean> TYPE_MISMATCH_TRUE = create(Boolean.TRUE, EvaluationTool.ERROR_REASON, ErrorCode.TYPE_MISMATCH);
+    private static final ProviderEvaluation<Boolean> TYPE_MISMATCH_FALSE = create(Boolean.FALSE, EvaluationTool.ERROR_REASON, ErrorCode.TYPE_MISMATCH);
+    private static final ProviderEvaluation<Object> TYPE_MISMATCH_NULL = create(null, EvaluationTool.ERROR_REASON, ErrorCode.TYPE_MISMATCH);
+    private static final ProviderEvaluation<Boolean> NOT_READY_TRUE = create(Boolean.TRUE, EvaluationTool.NOT_READY_REASON, ErrorCode.PROVIDER_NOT_READY);
+    private static final ProviderEvaluation<Boolean> NOT_READY_FALSE = create(Boolean.FALSE, EvaluationTool.NOT_READY_REASON, ErrorCode.PROVIDER_NOT_READY);
+    private static final ProviderEvaluation<Object> NOT_READY_NULL = create(null, EvaluationTool.NOT_READY_REASON, ErrorCode.PROVIDER_NOT_READY);
+
+    private static final AtomicReferenceArray<ProviderEvaluation<?>> STATIC_CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+    private static final AtomicReferenceArray<ProviderEvaluation<?>> NOT_FOUND_CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+    private static final AtomicReferenceArray<ProviderEvaluation<?>> PARSE_ERROR_CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+    private static final AtomicReferenceArray<ProviderEvaluation<?>> TYPE_MISMATCH_CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+    private static final AtomicReferenceArray<ProviderEvaluation<?>> NOT_READY_CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+
+    private SharedEvaluations() {
+    }
+
+    /**
+     * Returns an immutable STATIC evaluation of the given value.
+     *
+     * @param value the evaluated value
+     * @param <T>   the type of the value
+     * @return the shared evaluation
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ProviderEvaluation<T> staticResult(T value) {
+        if (value instanceof Boolean b) {
+            return (ProviderEvaluation<T>) (b ? STATIC_TRUE : STATIC_FALSE);
+        }
+        if (value == null) {
+            return (ProviderEvaluation<T>) STATIC_NULL;
+        }
+        return cached(STATIC_CACHE, value, EvaluationTool.STATIC_REASON, null);
+    }
+
+    /**
+     * Returns an immutable FLAG_NOT_FOUND evaluation carrying the given default value.
+     *
+     * @param defaultValue the default value
+     * @param <T>          the type of the value
+     * @return the shared evaluation
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ProviderEvaluation<T> notFound(T defaultValue) {
+        if (defaultValue instanceof Boolean b) {
+            return (ProviderEvaluation<T>) (b ? NOT_FOUND_TRUE : NOT_FOUND_FALSE);
+        }
+        if (defaultValue == null) {
+            return (ProviderEvaluation<T>) NOT_FOUND_NULL;
+        }
+        return cached(NOT_FOUND_CACHE, defaultValue, EvaluationTool.DEFAULT_REASON, ErrorCode.FLAG_NOT_FOUND);
+    }
+
+    /**
+     * Returns an immutable PARSE_ERROR evaluation carrying the given default value.
+     *
+     * @param defaultValue the default value
+     * @param <T>          the type of the value
+     * @return the shared evaluation
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ProviderEvaluation<T> parseError(T defaultValue) {
+        if (defaultValue instanceof Boolean b) {
+            return (ProviderEvaluation<T>) (b ? PARSE_ERROR_TRUE : PARSE_ERROR_FALSE);
+        }
+        if (defaultValue == null) {
+            return (ProviderEvaluation<T>) PARSE_ERROR_NULL;
+        }
+        return cached(PARSE_ERROR_CACHE, defaultValue, EvaluationTool.ERROR_REASON, ErrorCode.PARSE_ERROR);
+    }
+
+    /**
+     * Returns an immutable TYPE_MISMATCH evaluation carrying the given default value.
+     *
+     * @param defaultValue the default value
+     * @param <T>          the type of the value
+     * @return the shared evaluation
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ProviderEvaluation<T> typeMismatch(T defaultValue) {
+        if (defaultValue instanceof Boolean b) {
+            return (ProviderEvaluation<T>) (b ? TYPE_MISMATCH_TRUE : TYPE_MISMATCH_FALSE);
+        }
+        if (defaultValue == null) {
+            return (ProviderEvaluation<T>) TYPE_MISMATCH_NULL;
+        }
+        return cached(TYPE_MISMATCH_CACHE, defaultValue, EvaluationTool.ERROR_REASON, ErrorCode.TYPE_MISMATCH);
+    }
+
+    /**
+     * Returns an immutable PROVIDER_NOT_READY evaluation carrying the given default value.
+     *
+     * @param defaultValue the default value
+     * @param <T>          the type of the value
+     * @return the shared evaluation
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ProviderEvaluation<T> notReady(T defaultValue) {
+        if (defaultValue instanceof Boolean b) {
+            return (ProviderEvaluation<T>) (b ? NOT_READY_TRUE : NOT_READY_FALSE);
+        }
+        if (defaultValue == null) {
+            return (ProviderEvaluation<T>) NOT_READY_NULL;
+        }
+        return cached(NOT_READY_CACHE, defaultValue, EvaluationTool.NOT_READY_REASON, ErrorCode.PROVIDER_NOT_READY);
+    }
+
+    /**
+     * Creates an immutable evaluation. Its setters throw UnsupportedOperationException.
+     *
+     * @param value     the evaluated value
+     * @param reason    the evaluation reason
+     * @param errorCode the error code, or null
+     * @param <T>       the type of the value
+     * @return the immutable evaluation
+     */
+    public static <T> ProviderEvaluation<T> create(T value, String reason, ErrorCode errorCode) {
+        return new ImmutableProviderEvaluation<>(value, null, reason, errorCode);
+    }
+
+    /**
+     * Creates an immutable evaluation of a variant. Its setters throw UnsupportedOperationException.
+     *
+     * @param value     the evaluated value
+     * @param variant   the variant name, or null
+     * @param reason    the evaluation reason
+     * @param errorCode the error code, or null
+     * @param <T>       the type of the value
+     * @return the immutable evaluation
+     */
+    public static <T> ProviderEvaluation<T> create(T value, String variant, String reason, ErrorCode errorCode) {
+        return new ImmutableProviderEvaluation<>(value, variant, reason, errorCode);
+    }
+
+    /**
+     * Returns the evaluation cached for this exact value instance, replacing the slot on a miss.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> ProviderEvaluation<T> cached(AtomicReferenceArray<ProviderEvaluation<?>> cache, T value, String reason, ErrorCode errorCode) {
+        int slot = System.identityHashCode(value) & (CACHE_SIZE - 1);
+        ProviderEvaluation<?> evaluation = cache.get(slot);
+        if (evaluation == null || evaluation.getValue() != value) {
+            evaluation = create(value, reason, errorCode);
+            cache.set(slot, evaluation);
+        }
+        return (ProviderEvaluation<T>) evaluation;
+    }
+
+    /**
+     * A ProviderEvaluation that can safely be shared, since it cannot be modified after construction.
+     */
+    private static final class ImmutableProviderEvaluation<T> extends ProviderEvaluation<T> {
+        private ImmutableProviderEvaluation(T value, String variant, String reason, ErrorCode errorCode) {
+            super(value, variant, reason, errorCode, null, EMPTY_METADATA);
+        }
+
+        @Override
+        public void setValue(T value) {
+            throw unsupported();
+        }
+
+        @Override
+        public void setVariant(String variant) {
+            throw unsupported();
+        }
+
+        @Override
+        public void setReason(String reason) {
+            throw unsupported();
+        }
+
+        @Override
+        public void setErrorCode(ErrorCode errorCode) {
+            throw unsupported();
+        }
+
+        @Override
+        public void setErrorMessage(String errorMessage) {
+            throw unsupported();
+        }
+
+        @Override
+        public void setFlagMetadata(ImmutableMetadata flagMetadata) {
+            throw unsupported();
+        }
+
+        private UnsupportedOperationException unsupported() {
+            return new UnsupportedOperationException("Shared evaluations cannot be modified");
+        }
+    }
+}
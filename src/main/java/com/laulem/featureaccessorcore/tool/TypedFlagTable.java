@@ -0,0 +1,195 @@
+package com.laulem.featureaccessorcore.tool;
+
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.Value;
+
+import java.util.Objects;
+
+/**
+ * TypedFlagTable stores the static flags of a {@link FlagKeyIndex} by type, at the slot of their key: booleans in a
+ * bitset, numbers in {@code int[]} and {@code double[]} arrays and strings as interned strings.
+ * Reading a static flag with the typed getters touches neither {@link Value} nor an evaluation, and boxes nothing.
+ * Flags depending on the evaluation context, and structures or lists, are evaluated through their definition.
+ * <p>
+ * A typed getter returns the default value when the flag is not defined or does not hold a value of that type,
+ * like the corresponding evaluation of the provider, which then reports a FLAG_NOT_FOUND or TYPE_MISMATCH error.
+ */
+public final class TypedFlagTable {
+    private static final TypedFlagTable EMPTY = of(FlagKeyIndex.empty());
+
+    private static final byte DYNAMIC = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte NUMBER = 2;
+    private static final byte STRING = 3;
+    private static final byte UNTYPED = 4;
+
+    private final FlagKeyIndex<FlagDefinition> index;
+    private final byte[] kinds;
+    private final long[] booleans;
+    private final int[] integers;
+    private final double[] doubles;
+    private final String[] strings;
+
+    private TypedFlagTable(FlagKeyIndex<FlagDefinition> index, byte[] kinds, long[] booleans, int[] integers, double[] doubles, String[] strings) {
+        this.index = index;
+        this.kinds = kinds;
+        this.booleans = booleans;
+        this.integers = integers;
+        this.doubles = doubles;
+        this.strings = strings;
+    }
+
+    /**
+     * Returns an empty table.
+     *
+     * @return the empty table
+     */
+    public static TypedFlagTable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the typed table of the given index. Arrays are only allocated for the types the index holds.
+     *
+     * @param index the flag definitions
+     * @return the typed table
+     */
+    public static TypedFlagTable of(FlagKeyIndex<FlagDefinition> index) {
+        Objects.requireNonNull(index, "Index cannot be null");
+        int size = index.size();
+        byte[] kinds = new byte[size];
+        long[] booleans = null;
+        int[] integers = null;
+        double[] doubles = null;
+        String[] strings = null;
+        for (int slot = 0; slot < size; slot++) {
+            if (!(index.valueAt(slot) instanceof FlagEvaluations evaluations)) {
+                kinds[slot] = DYNAMIC;
+                continue;
+            }
+            Value value = evaluations.getValue();
+            if (value.isBoolean()) {
+                kinds[slot] = BOOLEAN;
+                if (booleans == null) {
+                    booleans = new long[(size + 63) >>> 6];
+                }
+                if (value.asBoolean()) {
+                    booleans[slot >>> 6] |= 1L << slot;
+                }
+            } else if (value.isNumber()) {
+                kinds[slot] = NUMBER;
+                if (integers == null) {
+                    integers = new int[size];
+                    doubles = new double[size];
+                }
+                integers[slot] = value.asInteger();
+                doubles[slot] = value.asDouble();
+            } else if (value.isString()) {
+                kinds[slot] = STRING;
+                if (strings == null) {
+                    strings = new String[size];
+                }
+                strings[slot] = value.asString().intern();
+            } else {
+                kinds[slot] = UNTYPED;
+            }
+        }
+        return new TypedFlagTable(index, kinds, booleans, integers, doubles, strings);
+    }
+
+    public FlagKeyIndex<FlagDefinition> getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the value of a boolean flag.
+     *
+     * @param flagKey      the flag key, compared ignoring case
+     * @param defaultValue the value returned when the flag is not defined or is not a boolean
+     * @param ctx          the evaluation context, only used by the flags depending on it
+     * @return the flag value
+     */
+    public boolean getBoolean(String flagKey, boolean defaultValue, EvaluationContext ctx) {
+        int slot = index.indexOf(flagKey);
+        if (slot < 0) {
+            return defaultValue;
+        }
+        return switch (kinds[slot]) {
+            case BOOLEAN -> (booleans[slot >>> 6] & (1L << slot)) != 0;
+            case DYNAMIC -> {
+                Value value = EvaluationTool.evaluateValue(index.valueAt(slot), ctx);
+                yield value != null && value.isBoolean() ? value.asBoolean() : defaultValue;
+            }
+            default -> defaultValue;
+        };
+    }
+
+    /**
+     * Returns the value of a numeric flag as an int, truncating decimal values.
+     *
+     * @param flagKey      the flag key, compared ignoring case
+     * @param defaultValue the value returned when the flag is not defined or is not a number
+     * @param ctx          the evaluation context, only used by the flags depending on it
+     * @return the flag value
+     */
+    public int getInteger(String flagKey, int defaultValue, EvaluationContext ctx) {
+        int slot = index.indexOf(flagKey);
+        if (slot < 0) {
+            return defaultValue;
+        }
+        return switch (kinds[slot]) {
+            case NUMBER -> integers[slot];
+            case DYNAMIC -> {
+                Value value = EvaluationTool.evaluateValue(index.valueAt(slot), ctx);
+                yield value != null && value.isNumber() ? value.asInteger() : defaultValue;
+            }
+            default -> defaultValue;
+        };
+    }
+
+    /**
+     * Returns the value of a numeric flag as a double.
+     *
+     * @param flagKey      the flag key, compared ignoring case
+     * @param defaultValue the value returned when the flag is not defined or is not a number
+     * @param ctx          the evaluation context, only used by the flags depending on it
+     * @return the flag value
+     */
+    public double getDouble(String flagKey, double defaultValue, EvaluationContext ctx) {
+        int slot = index.indexOf(flagKey);
+        if (slot < 0) {
+            return defaultValue;
+        }
+        return switch (kinds[slot]) {
+            case NUMBER -> doubles[slot];
+            case DYNAMIC -> {
+                Value value = EvaluationTool.evaluateValue(index.valueAt(slot), ctx);
+                yield value != null && value.isNumber() ? value.asDouble() : defaultValue;
+            }
+            default -> defaultValue;
+        };
+    }
+
+    /**
+     * Returns the value of a string flag.
+     *
+     * @param flagKey      the flag key, compared ignoring case
+     * @param defaultValue the value returned when the flag is not defined or is not a string
+     * @param ctx          the evaluation context, only used by the flags depending on it
+     * @return the flag value
+     */
+    public String getString(String flagKey, String defaultValue, EvaluationContext ctx) {
+        int slot = index.indexOf(flagKey);
+        if (slot < 0) {
+            return defaultValue;
+        }
+        return switch (kinds[slot]) {
+            case STRING -> strings[slot];
+            case DYNAMIC -> {
+                Value value = EvaluationTool.evaluateValue(index.valueAt(slot), ctx);
+                yield value != null && value.isString() ? value.asString() : defaultValue;
+            }
+            default -> defaultValue;
+        };
+    }
+}
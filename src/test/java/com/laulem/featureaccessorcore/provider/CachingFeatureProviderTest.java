@@ -0,0 +1,264 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.tool.SharedEvaluations;
+import dev.openfeature.sdk.ErrorCode;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.FeatureProvider;
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+import dev.openfeature.sdk.Value;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingFeatureProviderTest {
+    private final FeatureProvider delegate = Mockito.mock(FeatureProvider.class);
+
+    @Test
+    void getBooleanEvaluation_servesRepeatedEvaluationsFromCache() {
+        // GIVEN
+        when(delegate.getBooleanEvaluation(eq("flag"), any(), any())).thenReturn(SharedEvaluations.staticResult(true));
+        CachingFeatureProvider provider = CachingFeatureProvider.of(delegate, 100);
+        EvaluationContext ctx = new ImmutableContext("user-1", Map.of("country", new Value("FR")));
+        // WHEN
+        ProviderEvaluation<Boolean> first = provider.getBooleanEvaluation("flag", false, ctx);
+        ProviderEvaluation<Boolean> second = provider.getBooleanEvaluation("flag", false, new ImmutableContext("user-1", Map.of("country", new Value("FR"))));
+        // THEN
+        assertSame(first, second);
+        verify(delegate, times(1)).getBooleanEvaluation(eq("flag"), any(), any());
+        CacheStatistics statistics = provider.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(0.5, statistics.getHitRate());
+    }
+
+    @Test
+    void getStringEvaluation_keysByContextAndType() {
+        // GIVEN
+        when(delegate.getStringEvaluation(anyString(), any(), any())).thenReturn(SharedEvaluations.staticResult("blue"));
+        when(delegate.getObjectEvaluation(anyString(), any(), any())).thenReturn(SharedEvaluations.staticResult(new Value("blue")));
+        CachingFeatureProvider provider = CachingFeatureProvider.of(delegate, 100);
+        // WHEN
+        provider.getStringEvaluation("theme", "grey", new ImmutableContext("user-1"));
+        provider.getStringEvaluation("theme", "grey", new ImmutableContext("user-2"));
+        provider.getObjectEvaluation("theme", new Value(), new ImmutableContext("user-1"));
+        provider.getStringEvaluation("theme", "grey", null);
+        provider.getStringEvaluation("theme", "grey", null);
+        // THEN
+        verify(delegate, times(3)).getStringEvaluation(anyString(), any(), any());
+        verify(delegate, times(1)).getObjectEvaluation(anyString(), any(), any());
+    }
+
+    @Test
+    void getStringEvaluation_withContextAttributes_ignoresOtherAttributes() {
+        // GIVEN
+        when(delegate.getStringEvaluation(anyString(), any(), any())).thenReturn(SharedEvaluations.staticResult("blue"));
+        CachingFeatureProvider provider = CachingFeatureProvider.of(delegate, 100, List.of("targetingKey", "country"));
+        // WHEN
+        provider.getStringEvaluation("theme", "grey", new ImmutableContext("user-1", Map.of("country", new Value("FR"), "requestId", new Value("a"))));
+        provider.getStringEvaluation("theme", "grey", new ImmutableContext("user-1", Map.of("country", new Value("FR"), "requestId", new Value("b"))));
+        provider.getStringEvaluation("theme", "grey", new ImmutableContext("user-1", Map.of("country", new Value("BE"))));
+        // THEN
+        verify(delegate, times(2)).getStringEvaluation(anyString(), any(), any());
+    }
+
+    @Test
+    void getIntegerEvaluation_doesNotCacheErrors() {
+        // GIVEN
+        when(delegate.getIntegerEvaluation(anyString(), any(), any())).thenReturn(SharedEvaluations.notFound(10));
+        CachingFeatureProvider provider = CachingFeatureProvider.of(delegate, 100);
+        // WHEN
+        ProviderEvaluation<Integer> evaluation = provider.getIntegerEvaluation("missing", 10, null);
+        provider.getIntegerEvaluation("missing", 10, null);
+        // THEN
+        assertEquals(ErrorCode.FLAG_NOT_FOUND, evaluation.getErrorCode());
+        verify(delegate, times(2)).getIntegerEvaluation(anyString(), any(), any());
+        assertEquals(0, provider.getStatistics().getSize());
+    }
+
+    @Test
+    void getBooleanEvaluation_afterTimeToLive_evaluatesAgain() throws InterruptedException {
+        // GIVEN
+        when(delegate.getBooleanEvaluation(anyString(), any(), any())).thenReturn(SharedEvaluations.staticResult(true));
+        CachingFeatureProvider provider = CachingFeatureProvider.of(delegate, 100);
+        provider.setTimeToLive(Duration.ofMillis(20));
+        provider.getBooleanEvaluation("flag", false, null);
+        // WHEN
+        Thread.sleep(40);
+        provider.getBooleanEvaluation("flag", false, null);
+        // THEN
+        verify(delegate, times(2)).getBooleanEvaluation(anyString(), any(), any());
+        assertEquals(1, provider.getStatistics().getExpirationCount());
+        assertThrows(IllegalArgumentException.class, () -> provider.setTimeToLive(Duration.ZERO));
+    }
+
+    @Test
+    void admit_whenFull_keepsFrequentEntries() {
+        // GIVEN
+        when(delegate.getBooleanEvaluation(anyString(), any(), any())).thenReturn(SharedEvaluations.staticResult(true));
+        CachingFeatureProvider provider = CachingFeatureProvider.of(delegate, 2);
+        for (int i = 0; i < 5; i++) {
+            provider.getBooleanEvaluation("popular", false, null);
+            provider.getBooleanEvaluation("common", false, null);
+        }
+        // WHEN
+        for (int i = 0; i < 20; i++) {
+            provider.getBooleanEvaluation("one-off-" + i, false, null);
+        }
+        provider.getBooleanEvaluation("popular", false, null);
+        provider.getBooleanEvaluation("common", false, null);
+        // THEN
+        verify(delegate, times(1)).getBooleanEvaluation(eq("popular"), any(), any());
+        verify(delegate, times(1)).getBooleanEvaluation(eq("common"), any(), any());
+        CacheStatistics statistics = provider.getStatistics();
+        assertEquals(2, statistics.getSize());
+        assertEquals(20, statistics.getRejectionCount());
+    }
+
+    @Test
+    void admit_whenFull_evictsLessFrequentEntry() {
+        // GIVEN
+        when(delegate.getBooleanEvaluation(anyString(), any(), any())).thenReturn(SharedEvaluations.staticResult(true));
+        CachingFeatureProvider provider = CachingFeatureProvider.of(delegate, 1);
+        provider.getBooleanEvaluation("old", false, null);
+        // WHEN
+        provider.getBooleanEvaluation("new", false, null);
+        provider.getBooleanEvaluation("new", false, null);
+        provider.getBooleanEvaluation("new", false, null);
+        // THEN
+        assertEquals(1, provider.getStatistics().getEvictionCount());
+        assertEquals(1, provider.getStatistics().getHitCount());
+    }
+
+    @Test
+    void invalidate_dropsEntriesOfFlag() {
+        // GIVEN
+        when(delegate.getBooleanEvaluation(anyString(), any(), any())).thenReturn(SharedEvaluations.staticResult(true));
+        CachingFeatureProvider provider = CachingFeatureProvider.of(delegate, 100);
+        provider.getBooleanEvaluation("flag", false, new ImmutableContext("user-1"));
+        provider.getBooleanEvaluation("flag", false, new ImmutableContext("user-2"));
+        provider.getBooleanEvaluation("other", false, null);
+        // WHEN
+        provider.invalidate("FLAG");
+        // THEN
+        assertEquals(1, provider.getStatistics().getSize());
+        provider.invalidateAll();
+        assertEquals(0, provider.getStatistics().getSize());
+    }
+
+    @Test
+    void invalidate_duringDelegateEvaluation_doesNotCacheStaleResult() throws Exception {
+        // GIVEN
+        CountDownLatch evaluating = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        when(delegate.getBooleanEvaluation(eq("flag"), any(), any())).thenAnswer(invocation -> {
+            evaluating.countDown();
+            invalidated.await();
+            return SharedEvaluations.staticResult(false);
+        }).thenReturn(SharedEvaluations.staticResult(true));
+        CachingFeatureProvider provider = CachingFeatureProvider.of(delegate, 100);
+        EvaluationContext ctx = new ImmutableContext("user-1");
+        CompletableFuture<ProviderEvaluation<Boolean>> stale = CompletableFuture.supplyAsync(() -> provider.getBooleanEvaluation("flag", false, ctx));
+        evaluating.await();
+        // WHEN
+        provider.invalidate("flag");
+        invalidated.countDown();
+        // THEN
+        assertFalse(stale.get().getValue());
+        assertTrue(provider.getBooleanEvaluation("flag", false, ctx).getValue());
+        assertTrue(provider.getBooleanEvaluation("flag", false, ctx).getValue());
+        verify(delegate, times(2)).getBooleanEvaluation(eq("flag"), any(), any());
+    }
+
+    @Test
+    void reload_ofPropertiesProvider_invalidatesChangedFlags(@TempDir Path directory) throws IOException, InterruptedException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), "feature-accessor.flag=true\nfeature-accessor.other=true\n");
+        PropertiesFileFlagProvider properties = new PropertiesFileFlagProvider(file);
+        CachingFeatureProvider provider = CachingFeatureProvider.of(properties, 100);
+        // Listeners are notified in order, so the cache is invalidated once this one is called.
+        BlockingQueue<Set<String>> notified = new LinkedBlockingQueue<>();
+        properties.addFlagChangeListener(notified::add);
+        assertTrue(provider.getBooleanEvaluation("flag", false, null).getValue());
+        provider.getBooleanEvaluation("other", false, null);
+        Files.writeString(file, "feature-accessor.flag=false\nfeature-accessor.other=true\n");
+        // WHEN
+        Set<String> changed = properties.reload();
+        // THEN
+        assertEquals(Set.of("FLAG"), changed);
+        assertEquals(Set.of("FLAG"), notified.poll(10, TimeUnit.SECONDS));
+        assertEquals(1, provider.getStatistics().getSize());
+        assertFalse(provider.getBooleanEvaluation("flag", true, null).getValue());
+    }
+
+    @Test
+    void update_ofInMemoryProvider_invalidatesChangedFlags() throws InterruptedException {
+        // GIVEN
+        InMemoryFlagProvider inMemory = new InMemoryFlagProvider();
+        BlockingQueue<Set<String>> notified = new LinkedBlockingQueue<>();
+        inMemory.addFlagChangeListener(notified::add);
+        inMemory.setFlags(Map.of("flag", true, "other", true));
+        assertEquals(Set.of("FLAG", "OTHER"), notified.poll(10, TimeUnit.SECONDS));
+        CachingFeatureProvider provider = CachingFeatureProvider.of(new MultiFeatureProvider(inMemory), 100);
+        assertTrue(provider.getBooleanEvaluation("flag", false, null).getValue());
+        provider.getBooleanEvaluation("other", false, null);
+        // WHEN
+        inMemory.update(batch -> batch.setFlag("flag", false));
+        // THEN
+        assertEquals(Set.of("FLAG"), notified.poll(10, TimeUnit.SECONDS));
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            while (provider.getStatistics().getSize() != 1) {
+                Thread.onSpinWait();
+            }
+        });
+        assertFalse(provider.getBooleanEvaluation("flag", true, null).getValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shutdown_removesChangeListener() {
+        // GIVEN
+        FeatureProvider source = Mockito.mock(FeatureProvider.class, Mockito.withSettings().extraInterfaces(FlagChangeSource.class));
+        CachingFeatureProvider provider = CachingFeatureProvider.of(source, 100);
+        ArgumentCaptor<Consumer<Set<String>>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify((FlagChangeSource) source).addFlagChangeListener(listener.capture());
+        // WHEN
+        provider.shutdown();
+        // THEN
+        verify((FlagChangeSource) source).removeFlagChangeListener(listener.getValue());
+    }
+
+    @Test
+    void of_withInvalidSize_throwsException() {
+        // WHEN & THEN
+        assertThrows(IllegalArgumentException.class, () -> CachingFeatureProvider.of(delegate, 0));
+    }
+}
@@ -0,0 +1,130 @@
+package com.laulem.featureaccessorcore.provider;
+
+import dev.openfeature.sdk.Value;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CachingSupplierTest {
+    @Test
+    void get_withinTtl_callsSourceOnce() {
+        // GIVEN
+        AtomicInteger calls = new AtomicInteger();
+        CachingSupplier<Integer> supplier = new CachingSupplier<>(calls::incrementAndGet, Value::new,
+                new CachePolicy(Duration.ofHours(1), Duration.ZERO));
+        // WHEN
+        Value first = supplier.get();
+        Value second = supplier.get();
+        // THEN
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void get_afterRefreshAhead_returnsCachedValueAndRefreshesInBackground() throws InterruptedException {
+        // GIVEN
+        AtomicInteger calls = new AtomicInteger();
+        CachingSupplier<Integer> supplier = new CachingSupplier<>(calls::incrementAndGet, Value::new,
+                new CachePolicy(Duration.ofMillis(50), Duration.ofHours(1)));
+        supplier.get();
+        Thread.sleep(60);
+        // WHEN
+        Value stale = supplier.get();
+        // THEN
+        assertEquals(1, stale.asInteger());
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (supplier.get().asInteger() != 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(2, supplier.get().asInteger());
+    }
+
+    @Test
+    void get_afterMaxStaleness_waitsForNewValue() throws InterruptedException {
+        // GIVEN
+        AtomicInteger calls = new AtomicInteger();
+        CachingSupplier<Integer> supplier = new CachingSupplier<>(calls::incrementAndGet, Value::new,
+                new CachePolicy(Duration.ofMillis(10), Duration.ZERO));
+        supplier.get();
+        Thread.sleep(20);
+        // WHEN
+        Value value = supplier.get();
+        // THEN
+        assertEquals(2, value.asInteger());
+    }
+
+    @Test
+    void get_concurrentLoads_collapseIntoOneCall() throws Exception {
+        // GIVEN
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CachingSupplier<Integer> supplier = new CachingSupplier<>(() -> {
+            calls.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 42;
+        }, Value::new, new CachePolicy(Duration.ofHours(1), Duration.ZERO));
+        List<Future<Value>> results = new ArrayList<>();
+        // WHEN
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(supplier::get));
+            }
+            Thread.sleep(50);
+            release.countDown();
+            // THEN
+            for (Future<Value> result : results) {
+                assertEquals(42, result.get().asInteger());
+            }
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void get_sameSourceInstance_reusesValueWrapper() throws InterruptedException {
+        // GIVEN
+        String shared = "shared";
+        AtomicInteger calls = new AtomicInteger();
+        CachingSupplier<String> supplier = new CachingSupplier<>(() -> calls.incrementAndGet() < 3 ? shared : new String("other"),
+                Value::new, new CachePolicy(Duration.ofMillis(5), Duration.ZERO));
+        Value first = supplier.get();
+        Thread.sleep(10);
+        // WHEN
+        Value second = supplier.get();
+        Thread.sleep(10);
+        Value third = supplier.get();
+        // THEN
+        assertSame(first, second);
+        assertNotSame(second, third);
+    }
+
+    @Test
+    void get_whenSourceFails_throwsAndRetriesOnNextCall() {
+        // GIVEN
+        AtomicInteger calls = new AtomicInteger();
+        CachingSupplier<Integer> supplier = new CachingSupplier<>(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("unavailable");
+            }
+            return 7;
+        }, Value::new, new CachePolicy(Duration.ofHours(1), Duration.ZERO));
+        // WHEN & THEN
+        assertThrows(IllegalStateException.class, supplier::get);
+        assertEquals(7, supplier.get().asInteger());
+    }
+}
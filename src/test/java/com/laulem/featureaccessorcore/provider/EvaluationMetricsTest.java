@@ -0,0 +1,113 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.exception.ProviderException;
+import com.laulem.featureaccessorcore.tool.EvaluationTool;
+import com.laulem.featureaccessorcore.tool.SharedEvaluations;
+import dev.openfeature.sdk.ProviderEvaluation;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EvaluationMetricsTest {
+    @Test
+    void recordEvaluation_countsByFlagAndReason() {
+        // GIVEN
+        EvaluationMetrics metrics = new EvaluationMetrics();
+        // WHEN
+        metrics.recordEvaluation("flag", SharedEvaluations.staticResult(true), 100);
+        metrics.recordEvaluation("FLAG", SharedEvaluations.staticResult(true), 200);
+        metrics.recordEvaluation("unknown", SharedEvaluations.notFound(false), 50);
+        metrics.recordEvaluation("broken", null, 50);
+        EvaluationStatistics statistics = metrics.snapshot();
+        // THEN
+        assertEquals(4, statistics.getEvaluationCount());
+        assertEquals(2, statistics.getFlag("flag").getEvaluationCount());
+        assertEquals(2, statistics.getFlag("flag").getReasonCount(EvaluationTool.STATIC_REASON));
+        assertEquals(200, statistics.getFlag("flag").getLatency().getMaxNanos());
+        assertEquals(1, statistics.getFlag("unknown").getFlagNotFoundCount());
+        assertEquals(1, statistics.getFlag("broken").getReasonCount(EvaluationTool.ERROR_REASON));
+        assertNull(statistics.getFlag("other"));
+    }
+
+    @Test
+    void recordEvaluation_countsFlagsBeyondMaximumTogether() {
+        // GIVEN
+        EvaluationMetrics metrics = new EvaluationMetrics(2);
+        // WHEN
+        metrics.recordEvaluation("first", SharedEvaluations.staticResult(1), 10);
+        metrics.recordEvaluation("second", SharedEvaluations.staticResult(2), 10);
+        metrics.recordEvaluation("third", SharedEvaluations.staticResult(3), 10);
+        metrics.recordEvaluation("fourth", SharedEvaluations.staticResult(4), 10);
+        metrics.recordEvaluation("first", SharedEvaluations.staticResult(1), 10);
+        EvaluationStatistics statistics = metrics.snapshot();
+        // THEN
+        assertEquals(2, statistics.getFlag("first").getEvaluationCount());
+        assertEquals(2, statistics.getFlags().get(EvaluationMetrics.OTHER_FLAGS).getEvaluationCount());
+        assertNull(statistics.getFlag("third"));
+    }
+
+    @Test
+    void recordProviderEvaluation_countsHitsAndMisses() {
+        // GIVEN
+        EvaluationMetrics metrics = new EvaluationMetrics();
+        // WHEN
+        metrics.recordProviderEvaluation("provider", true, 10);
+        metrics.recordProviderEvaluation("provider", false, 10);
+        metrics.recordProviderEvaluation("provider", false, 10);
+        EvaluationStatistics.ProviderStatistics statistics = metrics.snapshot().getProvider("provider");
+        // THEN
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(2, statistics.getMissCount());
+        assertEquals(1 / 3.0, statistics.getHitRate(), 0.001);
+        assertEquals(3, statistics.getLatency().getCount());
+    }
+
+    @Test
+    void reset_clearsCounters() {
+        // GIVEN
+        EvaluationMetrics metrics = new EvaluationMetrics();
+        metrics.recordEvaluation("flag", SharedEvaluations.staticResult(true), 100);
+        metrics.recordProviderEvaluation("provider", true, 10);
+        // WHEN
+        metrics.reset();
+        // THEN
+        assertEquals(0, metrics.getEvaluationCount());
+        assertTrue(metrics.snapshot().getProviders().isEmpty());
+    }
+
+    @Test
+    void register_exposesMetricsOverJmx() throws Exception {
+        // GIVEN
+        EvaluationMetrics metrics = new EvaluationMetrics();
+        String objectName = "com.laulem.featureaccessor:type=EvaluationMetrics,name=test";
+        ProviderEvaluation<Boolean> evaluation = SharedEvaluations.staticResult(true);
+        metrics.recordEvaluation("flag", evaluation, 100);
+        metrics.register(objectName);
+        try {
+            // WHEN
+            Object count = ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName(objectName), "EvaluationCount");
+            // THEN
+            assertEquals(1L, count);
+            assertEquals(Map.of("FLAG", 1L), metrics.getEvaluationCounts());
+            assertEquals(Map.of(EvaluationTool.STATIC_REASON, 1L), metrics.getReasonCounts());
+            assertThrows(ProviderException.class, () -> metrics.register(objectName));
+        } finally {
+            metrics.unregister(objectName);
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(objectName)));
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveMaximum() {
+        // WHEN / THEN
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationMetrics(0));
+    }
+}
@@ -0,0 +1,93 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.tool.FlagEvaluations;
+import dev.openfeature.sdk.Value;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlagChangeNotifierTest {
+    @Test
+    void publish_coalescesBurstOfChanges() {
+        // GIVEN
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        List<Set<String>> batches = new ArrayList<>();
+        List<String> notifiedKeys = new ArrayList<>();
+        FlagChangeNotifier notifier = new FlagChangeNotifier(tasks::add, batches::add);
+        notifier.subscribe("flag", notifiedKeys::add);
+        // WHEN
+        notifier.publish(List.of("FLAG"));
+        notifier.publish(List.of("FLAG", "OTHER"));
+        notifier.publish(List.of("FLAG"));
+        tasks.poll().run();
+        // THEN
+        assertTrue(tasks.isEmpty());
+        assertEquals(List.of(Set.of("FLAG", "OTHER")), batches);
+        assertEquals(List.of("FLAG"), notifiedKeys);
+    }
+
+    @Test
+    void publish_schedulesNewDispatchAfterPreviousOne() {
+        // GIVEN
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        List<String> notifiedKeys = new ArrayList<>();
+        FlagChangeNotifier notifier = new FlagChangeNotifier(tasks::add, keys -> {
+        });
+        notifier.subscribe("FLAG", notifiedKeys::add);
+        notifier.publish(List.of("FLAG"));
+        tasks.poll().run();
+        // WHEN
+        notifier.publish(List.of("FLAG"));
+        tasks.poll().run();
+        // THEN
+        assertEquals(List.of("FLAG", "FLAG"), notifiedKeys);
+    }
+
+    @Test
+    void publish_notifiesOtherListenersWhenOneFails() {
+        // GIVEN
+        List<String> notifiedKeys = new ArrayList<>();
+        FlagChangeNotifier notifier = new FlagChangeNotifier(Runnable::run, keys -> {
+            throw new IllegalStateException("Handler failure");
+        });
+        notifier.subscribe("flag", key -> {
+            throw new IllegalStateException("Listener failure");
+        });
+        notifier.subscribe("flag", notifiedKeys::add);
+        // WHEN
+        notifier.publish(List.of("FLAG"));
+        // THEN
+        assertEquals(List.of("FLAG"), notifiedKeys);
+    }
+
+    @Test
+    void unsubscribe_stopsNotifications() {
+        // GIVEN
+        List<String> notifiedKeys = new ArrayList<>();
+        Consumer<String> listener = notifiedKeys::add;
+        FlagChangeNotifier notifier = new FlagChangeNotifier(Runnable::run, keys -> {
+        });
+        notifier.subscribe("flag", listener);
+        // WHEN
+        notifier.unsubscribe("FLAG", listener);
+        notifier.publish(List.of("FLAG"));
+        // THEN
+        assertTrue(notifiedKeys.isEmpty());
+    }
+
+    @Test
+    void sameDefinition_comparesStaticValues() {
+        // WHEN / THEN
+        assertTrue(FlagChangeNotifier.sameDefinition(FlagEvaluations.of(new Value(1)), FlagEvaluations.of(new Value(1))));
+        assertFalse(FlagChangeNotifier.sameDefinition(FlagEvaluations.of(new Value(1)), FlagEvaluations.of(new Value(2))));
+    }
+}
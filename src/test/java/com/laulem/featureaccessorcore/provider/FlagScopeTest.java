@@ -0,0 +1,148 @@
+package com.laulem.featureaccessorcore.provider;
+
+import dev.openfeature.sdk.EvaluationContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlagScopeTest {
+    private InMemoryFlagProvider provider;
+    private EvaluationContext evaluationContext;
+
+    @BeforeEach
+    void setUp() {
+        provider = new InMemoryFlagProvider();
+        evaluationContext = Mockito.mock(EvaluationContext.class);
+    }
+
+    @Test
+    void run_keepsCapturedFlagsWhenFlagIsChanged() {
+        // GIVEN
+        provider.setFlag("flag", "first");
+        AtomicReference<String> before = new AtomicReference<>();
+        AtomicReference<String> after = new AtomicReference<>();
+        // WHEN
+        FlagScope.run(() -> {
+            before.set(provider.getStringEvaluation("flag", "default", evaluationContext).getValue());
+            provider.setFlag("flag", "second");
+            provider.setFlag("other", "new");
+            after.set(provider.getStringEvaluation("flag", "default", evaluationContext).getValue());
+            assertFalse(provider.getFlagKeys().isEmpty());
+            assertEquals("default", provider.getStringEvaluation("other", "default", evaluationContext).getValue());
+        });
+        // THEN
+        assertEquals("first", before.get());
+        assertEquals("first", after.get());
+        assertEquals("second", provider.getStringEvaluation("flag", "default", evaluationContext).getValue());
+    }
+
+    @Test
+    void run_capturesOnFirstEvaluation() {
+        // GIVEN
+        provider.setFlag("flag", "first");
+        AtomicReference<String> result = new AtomicReference<>();
+        // WHEN
+        FlagScope.run(() -> {
+            provider.setFlag("flag", "second");
+            result.set(provider.getStringEvaluation("flag", "default", evaluationContext).getValue());
+        });
+        // THEN
+        assertEquals("second", result.get());
+    }
+
+    @Test
+    void run_appliesToBulkEvaluations() {
+        // GIVEN
+        provider.setFlag("flag", true);
+        AtomicReference<FlagValues> result = new AtomicReference<>();
+        // WHEN
+        FlagScope.run(() -> {
+            provider.getBooleanEvaluation("flag", false, evaluationContext);
+            provider.setFlag("flag", false);
+            result.set(provider.evaluateAll(evaluationContext));
+        });
+        // THEN
+        assertTrue(result.get().getBoolean(0, false));
+    }
+
+    @Test
+    void call_isInheritedByVirtualThreads() throws Exception {
+        // GIVEN
+        provider.setFlag("flag", "first");
+        // WHEN
+        String result = FlagScope.call(() -> {
+            provider.getStringEvaluation("flag", "default", evaluationContext);
+            provider.setFlag("flag", "second");
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<String> child = executor.submit(() -> provider.getStringEvaluation("flag", "default", evaluationContext).getValue());
+                return child.get();
+            }
+        });
+        // THEN
+        assertEquals("first", result);
+    }
+
+    @Test
+    void call_nestedScopeCapturesItsOwnFlags() throws Exception {
+        // GIVEN
+        provider.setFlag("flag", "first");
+        AtomicReference<String> inner = new AtomicReference<>();
+        // WHEN
+        String outer = FlagScope.call(() -> {
+            provider.getStringEvaluation("flag", "default", evaluationContext);
+            provider.setFlag("flag", "second");
+            FlagScope.run(() -> inner.set(provider.getStringEvaluation("flag", "default", evaluationContext).getValue()));
+            return provider.getStringEvaluation("flag", "default", evaluationContext).getValue();
+        });
+        // THEN
+        assertEquals("second", inner.get());
+        assertEquals("first", outer);
+    }
+
+    @Test
+    void closedScope_isIgnoredByThreadsThatOutliveIt() throws Exception {
+        // GIVEN
+        provider.setFlag("flag", "first");
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        AtomicReference<String> result = new AtomicReference<>();
+        CountDownLatch closed = new CountDownLatch(1);
+        FlagScope.run(() -> {
+            provider.getStringEvaluation("flag", "default", evaluationContext);
+            thread.set(Thread.ofVirtual().start(() -> {
+                try {
+                    closed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                result.set(provider.getStringEvaluation("flag", "default", evaluationContext).getValue());
+            }));
+        });
+        // WHEN
+        provider.setFlag("flag", "second");
+        closed.countDown();
+        thread.get().join();
+        // THEN
+        assertEquals("second", result.get());
+        assertFalse(FlagScope.isActive());
+    }
+
+    @Test
+    void call_propagatesTaskException() {
+        // WHEN / THEN
+        assertThrows(IllegalStateException.class, () -> FlagScope.call(() -> {
+            throw new IllegalStateException("failure");
+        }));
+        assertFalse(FlagScope.isActive());
+    }
+}
@@ -0,0 +1,71 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.tool.FlagSnapshot;
+import dev.openfeature.sdk.Value;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlagSnapshotCompilerTest {
+    @Test
+    void compile_writesTypedFlags(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path properties = Files.writeString(directory.resolve("flags.properties"), """
+                feature-accessor.new_checkout=true
+                feature-accessor.batch_size[int]=500
+                feature-accessor.ratio[double]=0.25
+                feature-accessor.banner[string]=Hello
+                other.property=ignored
+                """);
+        Path snapshot = directory.resolve("flags.snapshot");
+        // WHEN
+        int flagCount = FlagSnapshotCompiler.compile(properties, snapshot);
+        // THEN
+        FlagSnapshot compiled = FlagSnapshot.map(snapshot);
+        assertEquals(4, flagCount);
+        assertTrue(compiled.verifyChecksum());
+        assertEquals(Map.of("NEW_CHECKOUT", new Value(true), "BATCH_SIZE", new Value(500),
+                "RATIO", new Value(0.25), "BANNER", new Value("Hello")), compiled.values());
+        assertEquals(1, Files.list(directory).filter(file -> file.toString().endsWith(".snapshot")).count());
+    }
+
+    @Test
+    void compile_replacesExistingSnapshot(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path snapshot = directory.resolve("flags.snapshot");
+        FlagSnapshotCompiler.compile(Files.writeString(directory.resolve("first.properties"), "feature-accessor.first=true\n"), snapshot);
+        Path properties = Files.writeString(directory.resolve("second.properties"), "feature-accessor.second[string]=" + "x".repeat(100) + "\n");
+        // WHEN
+        FlagSnapshotCompiler.compile(properties, snapshot);
+        // THEN
+        FlagSnapshot compiled = FlagSnapshot.map(snapshot);
+        assertFalse(compiled.getBoolean("first", false));
+        assertEquals("x".repeat(100), compiled.getString("second", null));
+    }
+
+    @Test
+    void compile_rejectsTargetedAndJsonFlags(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path properties = Files.writeString(directory.resolve("flags.properties"), """
+                feature-accessor.enabled=true
+                feature-accessor.new_ui[rollout]=25
+                feature-accessor.config[json]={"a": 1}
+                """);
+        Path snapshot = directory.resolve("flags.snapshot");
+        // WHEN
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> FlagSnapshotCompiler.compile(properties, snapshot));
+        // THEN
+        assertTrue(exception.getMessage().contains("NEW_UI"));
+        assertTrue(exception.getMessage().contains("CONFIG"));
+        assertFalse(Files.exists(snapshot));
+    }
+}
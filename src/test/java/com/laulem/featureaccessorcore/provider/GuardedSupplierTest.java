@@ -0,0 +1,38 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.exception.FlagUnavailableException;
+import dev.openfeature.sdk.Value;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GuardedSupplierTest {
+    @Test
+    void get_whileOpen_reusesExceptionWithoutStackTrace() {
+        // GIVEN
+        AtomicInteger calls = new AtomicInteger();
+        GuardedSupplier supplier = new GuardedSupplier("remote_flag", () -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new IllegalStateException("Config service unavailable");
+            }
+            return new Value("remote");
+        }, new GuardPolicy(null, 1, Duration.ofHours(1)), (key, state) -> {
+        });
+        supplier.get();
+        assertThrows(FlagUnavailableException.class, supplier::get);
+        // WHEN
+        FlagUnavailableException first = assertThrows(FlagUnavailableException.class, supplier::get);
+        FlagUnavailableException second = assertThrows(FlagUnavailableException.class, supplier::get);
+        // THEN
+        assertSame(first, second);
+        assertEquals(0, first.getStackTrace().length);
+        assertEquals(new Value("remote"), first.getFallbackValue());
+        assertEquals(CircuitState.OPEN, supplier.getCircuitState());
+        assertEquals(2, calls.get());
+    }
+}
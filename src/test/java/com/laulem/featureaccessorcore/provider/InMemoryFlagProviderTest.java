@@ -1,15 +1,35 @@
 package com.laulem.featureaccessorcore.provider;
 
 import com.laulem.featureaccessorcore.exception.ProviderException;
+import dev.openfeature.sdk.ErrorCode;
 import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.NoOpProvider;
+import dev.openfeature.sdk.OpenFeatureAPI;
+import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.Value;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class InMemoryFlagProviderTest {
@@ -167,4 +187,330 @@ class InMemoryFlagProviderTest {
         // WHEN & THEN
         assertThrows(ProviderException.class, () -> provider.setFlag("object_flag", customObject));
     }
+
+    @Test
+    void getStringEvaluation_reusesPrecomputedEvaluation() {
+        // GIVEN
+        provider.setFlag("string_flag", "hello");
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        ProviderEvaluation<String> first = provider.getStringEvaluation("string_flag", "default", evaluationContext);
+        ProviderEvaluation<String> second = provider.getStringEvaluation("STRING_FLAG", "default", evaluationContext);
+        // THEN
+        assertSame(first, second);
+    }
+
+    @Test
+    void setFlag_refreshesPrecomputedEvaluation() {
+        // GIVEN
+        provider.setFlag("string_flag", "hello");
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        ProviderEvaluation<String> before = provider.getStringEvaluation("string_flag", "default", evaluationContext);
+        // WHEN
+        provider.setFlag("string_flag", "world");
+        ProviderEvaluation<String> after = provider.getStringEvaluation("string_flag", "default", evaluationContext);
+        // THEN
+        assertNotSame(before, after);
+        assertEquals("world", after.getValue());
+    }
+
+    @Test
+    void setTargetedFlag_selectsValueFromContext() {
+        // GIVEN
+        provider.setTargetedFlag("new_checkout", "country in ['FR', 'BE'] && appVersion semver >= '2.3.0'", true, false);
+        EvaluationContext matching = new ImmutableContext(Map.of("country", new Value("BE"), "appVersion", new Value("2.4.1")));
+        EvaluationContext oldVersion = new ImmutableContext(Map.of("country", new Value("BE"), "appVersion", new Value("2.2.9")));
+        // WHEN
+        ProviderEvaluation<Boolean> matched = provider.getBooleanEvaluation("NEW_CHECKOUT", false, matching);
+        ProviderEvaluation<Boolean> notMatched = provider.getBooleanEvaluation("new_checkout", true, oldVersion);
+        // THEN
+        assertTrue(matched.getValue());
+        assertEquals("TARGETING_MATCH", matched.getReason());
+        assertEquals("match", matched.getVariant());
+        assertFalse(notMatched.getValue());
+        assertEquals("DEFAULT", notMatched.getReason());
+        assertEquals("default", notMatched.getVariant());
+        assertTrue(provider.getFlagKeys().contains("NEW_CHECKOUT"));
+    }
+
+    @Test
+    void setTargetedFlag_withInvalidRule_throwsException() {
+        // WHEN & THEN
+        assertThrows(IllegalArgumentException.class, () -> provider.setTargetedFlag("flag", "country ==", true, false));
+    }
+
+    @Test
+    void setRolloutFlag_enablesStableShareOfTargetingKeys() {
+        // GIVEN
+        provider.setRolloutFlag("new_ui", 30);
+        // WHEN
+        int enabled = 0;
+        for (int i = 0; i < 10_000; i++) {
+            EvaluationContext ctx = new ImmutableContext("user-" + i);
+            boolean value = provider.getBooleanEvaluation("new_ui", false, ctx).getValue();
+            assertEquals(value, provider.getBooleanEvaluation("NEW_UI", false, ctx).getValue());
+            enabled += value ? 1 : 0;
+        }
+        // THEN
+        assertEquals(0.3, enabled / 10_000d, 0.02);
+    }
+
+    @Test
+    void setSplitFlag_returnsWeightedVariant() {
+        // GIVEN
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("blue", 1);
+        weights.put("green", 0);
+        provider.setSplitFlag("theme", weights);
+        // WHEN
+        ProviderEvaluation<String> evaluation = provider.getStringEvaluation("theme", "grey", new ImmutableContext("user-1"));
+        // THEN
+        assertEquals("blue", evaluation.getValue());
+        assertEquals("SPLIT", evaluation.getReason());
+        assertThrows(IllegalArgumentException.class, () -> provider.setSplitFlag("theme", Map.of()));
+    }
+
+    @Test
+    void evaluate_returnsValuesInKeyOrder() {
+        // GIVEN
+        provider.setFlag("flag", true);
+        provider.setTargetedFlag("theme", "country == 'FR'", "blue", "grey");
+        EvaluationContext ctx = new ImmutableContext(Map.of("country", new Value("FR")));
+        // WHEN
+        FlagValues values = provider.evaluate(List.of("theme", "missing", "FLAG"), ctx);
+        FlagValues all = provider.evaluateAll(ctx);
+        // THEN
+        assertEquals("blue", values.getValue(0).asString());
+        assertFalse(values.isDefined(1));
+        assertTrue(values.getBoolean(2, false));
+        assertEquals(Map.of("FLAG", new Value(true), "THEME", new Value("blue")), all.toMap());
+    }
+
+    @Test
+    void typedGetters_readFlagsWithoutEvaluation() {
+        // GIVEN
+        provider.setFlag("enabled", true);
+        provider.setFlag("limit", 500);
+        provider.setFlag("ratio", 0.25);
+        provider.setFlag("banner", "Hello");
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN / THEN
+        assertTrue(provider.isEnabled("ENABLED"));
+        assertFalse(provider.isEnabled("missing"));
+        assertEquals(500, provider.getInteger("limit", 0, evaluationContext));
+        assertEquals(0.25, provider.getDouble("ratio", 0, evaluationContext));
+        assertEquals("Hello", provider.getString("banner", "default", evaluationContext));
+        assertEquals("default", provider.getString("limit", "default", evaluationContext));
+    }
+
+    @Test
+    void isEnabled_seesUpdatedFlag() {
+        // GIVEN
+        provider.setFlag("enabled", true);
+        // WHEN
+        provider.setFlag("enabled", false);
+        // THEN
+        assertFalse(provider.isEnabled("enabled"));
+    }
+
+    @Test
+    void isEnabled_evaluatesTargetedFlagWithContext() {
+        // GIVEN
+        provider.setTargetedFlag("beta", "country == 'FR'", true, false);
+        // WHEN / THEN
+        assertTrue(provider.isEnabled("beta", new ImmutableContext(Map.of("country", new Value("FR")))));
+        assertFalse(provider.isEnabled("beta"));
+    }
+
+    @Test
+    void subscribe_isNotifiedOfChangedValuesOnly() throws InterruptedException {
+        // GIVEN
+        provider.setFlag("unchanged", true);
+        provider.setFlag("changed", false);
+        BlockingQueue<String> notifiedKeys = new LinkedBlockingQueue<>();
+        provider.subscribe("unchanged", notifiedKeys::add);
+        provider.subscribe("Changed", notifiedKeys::add);
+        // WHEN
+        provider.setFlag("unchanged", true);
+        provider.setFlag("changed", true);
+        // THEN
+        assertEquals("CHANGED", notifiedKeys.poll(10, TimeUnit.SECONDS));
+        assertTrue(notifiedKeys.isEmpty());
+    }
+
+    @Test
+    void setFlag_emitsConfigurationChangedEvent() throws InterruptedException {
+        // GIVEN
+        String domain = "in-memory-events-" + System.nanoTime();
+        OpenFeatureAPI.getInstance().setProviderAndWait(domain, provider);
+        BlockingQueue<List<String>> changedFlags = new LinkedBlockingQueue<>();
+        OpenFeatureAPI.getInstance().getClient(domain).onProviderConfigurationChanged(details -> changedFlags.add(details.getFlagsChanged()));
+        // WHEN
+        provider.setFlag("kill_switch", true);
+        // THEN
+        assertEquals(List.of("KILL_SWITCH"), changedFlags.poll(10, TimeUnit.SECONDS));
+        OpenFeatureAPI.getInstance().setProviderAndWait(domain, new NoOpProvider());
+    }
+
+    @Test
+    void update_publishesBatchWithNewVersion() {
+        // GIVEN
+        provider.setFlag("removed", true);
+        long version = provider.getVersion();
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        long updatedVersion = provider.update(batch -> batch
+                .setFlag("first", true)
+                .setRolloutFlag("rollout", 100)
+                .removeFlag("removed"));
+        // THEN
+        assertEquals(version + 1, updatedVersion);
+        assertEquals(updatedVersion, provider.getVersion());
+        assertTrue(provider.getBoolean("first", false, evaluationContext));
+        assertTrue(provider.getBooleanEvaluation("rollout", false, new ImmutableContext("user")).getValue());
+        assertEquals(Set.of("FIRST", "ROLLOUT"), provider.getFlagKeys());
+    }
+
+    @Test
+    void update_withFailingBatch_changesNothing() {
+        // GIVEN
+        provider.setFlag("flag", true);
+        long version = provider.getVersion();
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> provider.update(batch -> batch
+                .setFlag("flag", false)
+                .setTargetedFlag("targeted", "country in", true, false)));
+        // THEN
+        assertEquals(version, provider.getVersion());
+        assertTrue(provider.getBoolean("flag", false, Mockito.mock(EvaluationContext.class)));
+    }
+
+    @Test
+    void setFlags_isSeenAtomicallyByReaders() throws InterruptedException {
+        // GIVEN
+        provider.setFlags(Map.of("first", 0, "second", 0));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean partialStateSeen = new AtomicBoolean();
+        Thread reader = Thread.ofPlatform().start(() -> {
+            while (running.get()) {
+                FlagValues values = provider.evaluateAll(evaluationContext);
+                if (!values.getValue("first").equals(values.getValue("second"))) {
+                    partialStateSeen.set(true);
+                }
+            }
+        });
+        // WHEN
+        for (int i = 1; i <= 2_000; i++) {
+            provider.setFlags(Map.of("first", i, "second", i));
+        }
+        running.set(false);
+        reader.join();
+        // THEN
+        assertFalse(partialStateSeen.get());
+    }
+
+    @Test
+    void setFlag_concurrentWritersAreAllPublished() throws Exception {
+        // GIVEN
+        int writers = 8;
+        int flagsPerWriter = 200;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int writer = 0; writer < writers; writer++) {
+            int id = writer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < flagsPerWriter; i++) {
+                    provider.setFlag("flag_" + id + "_" + i, true);
+                }
+            }));
+        }
+        // WHEN
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // THEN
+        assertEquals(writers * flagsPerWriter, provider.getFlagKeys().size());
+        assertTrue(provider.getVersion() <= writers * flagsPerWriter);
+    }
+
+    @Test
+    void getVersion_insideScope_returnsCapturedVersion() throws Exception {
+        // GIVEN
+        provider.setFlag("flag", true);
+        long version = provider.getVersion();
+        // WHEN
+        long scopedVersion = FlagScope.call(() -> {
+            provider.getVersion();
+            provider.setFlag("flag", false);
+            return provider.getVersion();
+        });
+        // THEN
+        assertEquals(version, scopedVersion);
+        assertEquals(version + 1, provider.getVersion());
+    }
+
+    @Test
+    void setFlag_fillingKeyByKeyDoesNotRebuildTablePerWrite() {
+        // GIVEN
+        int flagCount = 20_000;
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        // Rebuilding the table on every write takes tens of seconds for this many flags.
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < flagCount; i++) {
+                provider.setFlag("flag_" + i, true);
+            }
+        });
+        // THEN
+        assertEquals(flagCount, provider.getFlagKeys().size());
+        assertTrue(provider.getBoolean("flag_" + (flagCount - 1), false, evaluationContext));
+        assertEquals(flagCount, provider.getVersion());
+    }
+
+    @Test
+    void setFlag_keyByKey_readsLatestFlagsAcrossTableRebuilds() {
+        // GIVEN
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        for (int i = 0; i < 100; i++) {
+            provider.setFlag("flag_" + i, true);
+        }
+        // WHEN
+        for (int i = 0; i < 100; i += 3) {
+            provider.removeFlag("flag_" + i);
+        }
+        provider.setFlag("flag_1", false);
+        // THEN
+        assertEquals(66, provider.getFlagKeys().size());
+        assertEquals(66, provider.evaluateAll(evaluationContext).size());
+        assertFalse(provider.getBoolean("flag_1", true, evaluationContext));
+        assertTrue(provider.getBoolean("FLAG_2", false, evaluationContext));
+        assertEquals(ErrorCode.FLAG_NOT_FOUND, provider.getBooleanEvaluation("flag_3", false, evaluationContext).getErrorCode());
+        assertFalse(provider.getFlagKeys().contains("FLAG_99"));
+    }
+
+    @Test
+    void scope_keepsCapturedFlagsWhileTableIsRebuilt() throws Exception {
+        // GIVEN
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        provider.setFlag("flag", true);
+        // WHEN
+        boolean scopedValue = FlagScope.call(() -> {
+            provider.getBoolean("flag", false, evaluationContext);
+            provider.setFlag("flag", false);
+            for (int i = 0; i < 100; i++) {
+                provider.setFlag("other_" + i, true);
+            }
+            return provider.getBoolean("flag", false, evaluationContext);
+        });
+        // THEN
+        assertTrue(scopedValue);
+        assertFalse(provider.getBoolean("flag", true, evaluationContext));
+    }
 }
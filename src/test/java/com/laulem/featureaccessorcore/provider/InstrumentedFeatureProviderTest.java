@@ -0,0 +1,55 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.tool.EvaluationTool;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.Value;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstrumentedFeatureProviderTest {
+    @Test
+    void getBooleanEvaluation_recordsEvaluation() {
+        // GIVEN
+        InMemoryFlagProvider delegate = new InMemoryFlagProvider();
+        delegate.setFlag("flag", true);
+        EvaluationMetrics metrics = new EvaluationMetrics();
+        InstrumentedFeatureProvider provider = new InstrumentedFeatureProvider(delegate, metrics);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        boolean value = provider.getBooleanEvaluation("flag", false, evaluationContext).getValue();
+        provider.getStringEvaluation("missing", "default", evaluationContext);
+        // THEN
+        assertTrue(value);
+        EvaluationStatistics statistics = metrics.snapshot();
+        assertEquals(1, statistics.getFlag("flag").getReasonCount(EvaluationTool.STATIC_REASON));
+        assertEquals(1, statistics.getFlag("missing").getFlagNotFoundCount());
+        assertEquals("InMemoryFlagProvider", provider.getMetadata().getName());
+    }
+
+    @Test
+    void getObjectEvaluation_recordsSupplierFailure() {
+        // GIVEN
+        LambdaFlagProvider delegate = new LambdaFlagProvider();
+        delegate.setFlag("flag", () -> {
+            throw new IllegalStateException("failure");
+        });
+        EvaluationMetrics metrics = new EvaluationMetrics();
+        InstrumentedFeatureProvider provider = new InstrumentedFeatureProvider(delegate, metrics);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        provider.getObjectEvaluation("flag", new Value("default"), evaluationContext);
+        // THEN
+        assertEquals(1, metrics.snapshot().getFlag("flag").getReasonCount(EvaluationTool.ERROR_REASON));
+    }
+
+    @Test
+    void constructor_rejectsNullArguments() {
+        // WHEN / THEN
+        assertThrows(NullPointerException.class, () -> new InstrumentedFeatureProvider(null, new EvaluationMetrics()));
+        assertThrows(NullPointerException.class, () -> new InstrumentedFeatureProvider(new InMemoryFlagProvider(), null));
+    }
+}
@@ -1,16 +1,24 @@
 package com.laulem.featureaccessorcore.provider;
 
+import dev.openfeature.sdk.ErrorCode;
 import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.Value;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -145,6 +153,128 @@ class LambdaFlagProviderTest {
         assertEquals(defaultValue, value);
     }
 
+    @Test
+    void addRegistrationListener_isNotifiedOfNewKeysOnly() {
+        // GIVEN
+        LambdaFlagProvider localProvider = new LambdaFlagProvider();
+        List<String> registered = new ArrayList<>();
+        localProvider.addRegistrationListener(registered::add);
+        // WHEN
+        localProvider.setFlag("flag", () -> true);
+        localProvider.setFlag("FLAG", () -> false);
+        localProvider.setValueFlag("other_flag", () -> new Value(1));
+        // THEN
+        assertEquals(List.of("FLAG", "OTHER_FLAG"), registered);
+        assertEquals(Set.of("FLAG", "OTHER_FLAG"), localProvider.getRegisteredFlagKeys());
+    }
+
+    @Test
+    void setFlag_withCachePolicy_callsSupplierOncePerTtl() {
+        // GIVEN
+        LambdaFlagProvider localProvider = new LambdaFlagProvider();
+        AtomicInteger calls = new AtomicInteger();
+        localProvider.setFlag("batch_size", () -> 100 + calls.incrementAndGet(), new CachePolicy(Duration.ofHours(1), Duration.ofMinutes(5)));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        int first = localProvider.getIntegerEvaluation("batch_size", 0, evaluationContext).getValue();
+        int second = localProvider.getIntegerEvaluation("BATCH_SIZE", 0, evaluationContext).getValue();
+        // THEN
+        assertEquals(101, first);
+        assertEquals(101, second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void setValueFlag_withCachePolicy_returnsCachedValue() {
+        // GIVEN
+        LambdaFlagProvider localProvider = new LambdaFlagProvider();
+        AtomicInteger calls = new AtomicInteger();
+        localProvider.setValueFlag("flag", () -> new Value(calls.incrementAndGet() == 1), new CachePolicy(Duration.ofHours(1), Duration.ZERO));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        localProvider.getBooleanEvaluation("flag", false, evaluationContext);
+        boolean value = localProvider.getBooleanEvaluation("flag", false, evaluationContext).getValue();
+        // THEN
+        assertTrue(value);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void setFlag_withGuardPolicy_returnsDefaultWhenSupplierTimesOut() {
+        // GIVEN
+        LambdaFlagProvider localProvider = new LambdaFlagProvider();
+        localProvider.setFlag("slow_flag", () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }, new GuardPolicy(Duration.ofMillis(50), 3, Duration.ofSeconds(30)));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        long start = System.nanoTime();
+        // WHEN
+        ProviderEvaluation<Boolean> evaluation = localProvider.getBooleanEvaluation("slow_flag", false, evaluationContext);
+        // THEN
+        assertFalse(evaluation.getValue());
+        assertEquals(ErrorCode.GENERAL, evaluation.getErrorCode());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+        assertEquals(CircuitState.CLOSED, localProvider.getCircuitState("slow_flag"));
+    }
+
+    @Test
+    void setFlag_withGuardPolicy_opensCircuitAndReturnsLastGoodValue() {
+        // GIVEN
+        LambdaFlagProvider localProvider = new LambdaFlagProvider();
+        AtomicInteger calls = new AtomicInteger();
+        localProvider.setFlag("remote_flag", () -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new IllegalStateException("Config service unavailable");
+            }
+            return "remote";
+        }, new GuardPolicy(null, 2, Duration.ofHours(1)));
+        List<CircuitState> transitions = new ArrayList<>();
+        localProvider.addCircuitStateListener((key, state) -> transitions.add(state));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        localProvider.getStringEvaluation("remote_flag", "default", evaluationContext);
+        // WHEN
+        ProviderEvaluation<String> firstFailure = localProvider.getStringEvaluation("remote_flag", "default", evaluationContext);
+        localProvider.getStringEvaluation("remote_flag", "default", evaluationContext);
+        ProviderEvaluation<String> whileOpen = localProvider.getStringEvaluation("remote_flag", "default", evaluationContext);
+        // THEN
+        assertEquals("remote", firstFailure.getValue());
+        assertEquals("STALE", firstFailure.getReason());
+        assertEquals("remote", whileOpen.getValue());
+        assertEquals(3, calls.get());
+        assertEquals(CircuitState.OPEN, localProvider.getCircuitState("REMOTE_FLAG"));
+        assertEquals(List.of(CircuitState.OPEN), transitions);
+    }
+
+    @Test
+    void setFlag_withGuardPolicy_closesCircuitAfterSuccessfulTrial() throws InterruptedException {
+        // GIVEN
+        LambdaFlagProvider localProvider = new LambdaFlagProvider();
+        AtomicInteger calls = new AtomicInteger();
+        localProvider.setFlag("flaky_flag", () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("Config service unavailable");
+            }
+            return 7;
+        }, new GuardPolicy(null, 1, Duration.ofMillis(20)));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        ProviderEvaluation<Integer> failed = localProvider.getIntegerEvaluation("flaky_flag", 0, evaluationContext);
+        Thread.sleep(30);
+        // WHEN
+        CircuitState beforeTrial = localProvider.getCircuitState("flaky_flag");
+        int value = localProvider.getIntegerEvaluation("flaky_flag", 0, evaluationContext).getValue();
+        // THEN
+        assertEquals(ErrorCode.GENERAL, failed.getErrorCode());
+        assertEquals(CircuitState.HALF_OPEN, beforeTrial);
+        assertEquals(7, value);
+        assertEquals(CircuitState.CLOSED, localProvider.getCircuitState("flaky_flag"));
+        assertNull(localProvider.getCircuitState("unknown"));
+    }
+
     @Test
     void getMetadata_returnsCorrectName() {
         // GIVEN
@@ -154,4 +284,22 @@ class LambdaFlagProviderTest {
         // THEN
         assertEquals("LambdaFlagProvider", name);
     }
+
+    @Test
+    void evaluateAll_callsEverySupplierOnce() {
+        // GIVEN
+        AtomicInteger calls = new AtomicInteger();
+        provider.setFlag("counter", calls::incrementAndGet);
+        provider.setFlag("broken", () -> {
+            throw new IllegalStateException("down");
+        });
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        FlagValues values = provider.evaluateAll(evaluationContext);
+        // THEN
+        assertEquals(1, calls.get());
+        assertEquals(1, values.getValue("counter").asInteger());
+        assertNull(values.getValue("broken"));
+        assertEquals(2, values.size());
+    }
 }
@@ -0,0 +1,88 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.exception.ProviderException;
+import com.laulem.featureaccessorcore.tool.FlagSnapshotWriter;
+import dev.openfeature.sdk.ErrorCode;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+import dev.openfeature.sdk.Value;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedSnapshotFlagProviderTest {
+    @Test
+    void getEvaluations_readSnapshotFlags(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = directory.resolve("flags.snapshot");
+        try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(file, 8, 256)) {
+            writer.write(Map.of("enabled", new Value(true), "limit", new Value(500), "banner", new Value("Hello")));
+        }
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        MappedSnapshotFlagProvider provider = new MappedSnapshotFlagProvider(file);
+        // THEN
+        assertTrue(provider.getBooleanEvaluation("ENABLED", false, evaluationContext).getValue());
+        assertEquals(500, provider.getIntegerEvaluation("limit", 0, evaluationContext).getValue());
+        assertEquals("Hello", provider.getStringEvaluation("banner", "", evaluationContext).getValue());
+        assertEquals(ErrorCode.FLAG_NOT_FOUND, provider.getBooleanEvaluation("missing", false, evaluationContext).getErrorCode());
+        assertEquals(ErrorCode.TYPE_MISMATCH, provider.getBooleanEvaluation("banner", false, evaluationContext).getErrorCode());
+        assertEquals(Set.of("ENABLED", "LIMIT", "BANNER"), provider.getFlagKeys());
+    }
+
+    @Test
+    void isEnabled_seesWritesOfAnotherWriter(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = directory.resolve("flags.snapshot");
+        try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(file, 8, 256)) {
+            writer.write(Map.of("kill_switch", new Value(false)));
+            MappedSnapshotFlagProvider provider = new MappedSnapshotFlagProvider(file);
+            assertFalse(provider.isEnabled("kill_switch"));
+            // WHEN
+            writer.write(Map.of("kill_switch", new Value(true)));
+            // THEN
+            assertTrue(provider.isEnabled("kill_switch"));
+            assertEquals(2, provider.getVersion());
+        }
+    }
+
+    @Test
+    void constructor_throwsForMissingFile(@TempDir Path directory) {
+        // WHEN / THEN
+        assertThrows(ProviderException.class, () -> new MappedSnapshotFlagProvider(directory.resolve("missing.snapshot")));
+    }
+
+    @Test
+    void getEvaluations_returnNotReadyWhileWriteIsLeftInProgress(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = directory.resolve("flags.snapshot");
+        try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(file, 8, 256)) {
+            writer.write(Map.of("enabled", new Value(true)));
+        }
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        MappedSnapshotFlagProvider provider = new MappedSnapshotFlagProvider(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // The sequence, at offset 8 of the header, is odd while a write is in progress
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, 3), 8);
+        }
+        // WHEN
+        ProviderEvaluation<Boolean> evaluation = provider.getBooleanEvaluation("enabled", false, evaluationContext);
+        // THEN
+        assertFalse(evaluation.getValue());
+        assertEquals(ErrorCode.PROVIDER_NOT_READY, evaluation.getErrorCode());
+        assertFalse(provider.isEnabled("enabled"));
+    }
+}
@@ -1,18 +1,42 @@
 package com.laulem.featureaccessorcore.provider;
 
+import com.laulem.featureaccessorcore.exception.ProviderException;
 import dev.openfeature.sdk.ErrorCode;
 import dev.openfeature.sdk.EvaluationContext;
 import dev.openfeature.sdk.FeatureProvider;
 import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.Value;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 class MultiFeatureProviderTest {
     @Test
@@ -177,4 +201,632 @@ class MultiFeatureProviderTest {
         // THEN
         assertTrue(value);
     }
+
+    @Test
+    void indexedResolution_skipsListingProvidersThatDoNotDefineTheFlag() {
+        // GIVEN
+        InMemoryFlagProvider firstProvider = Mockito.spy(new InMemoryFlagProvider());
+        firstProvider.setFlag("other_flag", false);
+        InMemoryFlagProvider secondProvider = new InMemoryFlagProvider();
+        secondProvider.setFlag("flag", true);
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(List.of(firstProvider, secondProvider));
+        multiProvider.setIndexedResolution(true);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        boolean value = multiProvider.getBooleanEvaluation("flag", false, evaluationContext).getValue();
+        // THEN
+        assertTrue(value);
+        verify(firstProvider, never()).getBooleanEvaluation(anyString(), anyBoolean(), any());
+    }
+
+    @Test
+    void indexedResolution_keepsProviderPriority() {
+        // GIVEN
+        FeatureProvider unlistedProvider = Mockito.mock(FeatureProvider.class);
+        Mockito.when(unlistedProvider.getBooleanEvaluation(anyString(), anyBoolean(), any())).thenReturn(
+                ProviderEvaluation.<Boolean>builder().value(false).errorCode(ErrorCode.FLAG_NOT_FOUND).build());
+        InMemoryFlagProvider firstProvider = new InMemoryFlagProvider();
+        firstProvider.setFlag("flag", false);
+        InMemoryFlagProvider secondProvider = new InMemoryFlagProvider();
+        secondProvider.setFlag("flag", true);
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(List.of(unlistedProvider, firstProvider, secondProvider));
+        multiProvider.setIndexedResolution(true);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        boolean value = multiProvider.getBooleanEvaluation("FLAG", true, evaluationContext).getValue();
+        // THEN
+        assertFalse(value);
+        verify(unlistedProvider).getBooleanEvaluation(Mockito.eq("FLAG"), anyBoolean(), any());
+    }
+
+    @Test
+    void indexedResolution_unknownKey_onlyAsksUnlistedProviders() {
+        // GIVEN
+        InMemoryFlagProvider listedProvider = Mockito.spy(new InMemoryFlagProvider());
+        LambdaFlagProvider unlistedProvider = new LambdaFlagProvider("dynamic_flag", () -> new Value(true));
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(List.of(listedProvider, unlistedProvider));
+        multiProvider.setIndexedResolution(true);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        boolean dynamicValue = multiProvider.getBooleanEvaluation("dynamic_flag", false, evaluationContext).getValue();
+        ProviderEvaluation<Boolean> unknown = multiProvider.getBooleanEvaluation("unknown", false, evaluationContext);
+        // THEN
+        assertTrue(dynamicValue);
+        assertFalse(unknown.getValue());
+        assertEquals(ErrorCode.FLAG_NOT_FOUND, unknown.getErrorCode());
+        verify(listedProvider, never()).getBooleanEvaluation(anyString(), anyBoolean(), any());
+    }
+
+    @Test
+    void indexedResolution_isRebuiltWhenAMemberAddsAFlag() {
+        // GIVEN
+        InMemoryFlagProvider provider = new InMemoryFlagProvider();
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(provider);
+        multiProvider.setIndexedResolution(true);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        boolean before = multiProvider.getBooleanEvaluation("flag", false, evaluationContext).getValue();
+        // WHEN
+        provider.setFlag("flag", true);
+        boolean after = multiProvider.getBooleanEvaluation("flag", false, evaluationContext).getValue();
+        // THEN
+        assertFalse(before);
+        assertTrue(after);
+    }
+
+    @Test
+    void indexedResolution_isRebuiltWhenAProviderIsAdded() {
+        // GIVEN
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(new InMemoryFlagProvider());
+        multiProvider.setIndexedResolution(true);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        multiProvider.getBooleanEvaluation("known_flag", false, evaluationContext);
+        // WHEN
+        multiProvider.addProvider(new PropertiesFileFlagProvider("feature-accessor.properties"));
+        boolean value = multiProvider.getBooleanEvaluation("known_flag", false, evaluationContext).getValue();
+        // THEN
+        assertTrue(value);
+    }
+
+    @Test
+    void removeProvider_removesProviderFromChain() {
+        // GIVEN
+        InMemoryFlagProvider firstProvider = new InMemoryFlagProvider();
+        firstProvider.setFlag("flag", false);
+        InMemoryFlagProvider secondProvider = new InMemoryFlagProvider();
+        secondProvider.setFlag("flag", true);
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(List.of(firstProvider, secondProvider));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        boolean removed = multiProvider.removeProvider(firstProvider);
+        boolean removedTwice = multiProvider.removeProvider(firstProvider);
+        // THEN
+        assertTrue(removed);
+        assertFalse(removedTwice);
+        assertEquals(List.of(secondProvider), multiProvider.getProviders());
+        assertTrue(multiProvider.getBooleanEvaluation("flag", false, evaluationContext).getValue());
+    }
+
+    @Test
+    void replaceProvider_keepsPriority() {
+        // GIVEN
+        InMemoryFlagProvider firstProvider = new InMemoryFlagProvider();
+        InMemoryFlagProvider secondProvider = new InMemoryFlagProvider();
+        secondProvider.setFlag("flag", false);
+        InMemoryFlagProvider replacement = new InMemoryFlagProvider();
+        replacement.setFlag("flag", true);
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(List.of(firstProvider, secondProvider));
+        multiProvider.setIndexedResolution(true);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        multiProvider.getBooleanEvaluation("flag", false, evaluationContext);
+        // WHEN
+        boolean replaced = multiProvider.replaceProvider(firstProvider, replacement);
+        // THEN
+        assertTrue(replaced);
+        assertEquals(List.of(replacement, secondProvider), multiProvider.getProviders());
+        assertTrue(multiProvider.getBooleanEvaluation("flag", false, evaluationContext).getValue());
+    }
+
+    @Test
+    void getProviders_returnsUnmodifiableSnapshot() {
+        // GIVEN
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(new InMemoryFlagProvider());
+        List<FeatureProvider> snapshot = multiProvider.getProviders();
+        // WHEN
+        multiProvider.addProvider(new InMemoryFlagProvider());
+        // THEN
+        assertEquals(1, snapshot.size());
+        assertEquals(2, multiProvider.getProviders().size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(new InMemoryFlagProvider()));
+    }
+
+    @Test
+    void registrationFilter_skipsLambdaProviderForUnregisteredFlags() {
+        // GIVEN
+        LambdaFlagProvider lambdaProvider = Mockito.spy(new LambdaFlagProvider("dynamic_flag", () -> new Value(true)));
+        InMemoryFlagProvider inMemoryProvider = new InMemoryFlagProvider();
+        inMemoryProvider.setFlag("static_flag", true);
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(List.of(lambdaProvider, inMemoryProvider));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        boolean staticValue = multiProvider.getBooleanEvaluation("static_flag", false, evaluationContext).getValue();
+        boolean dynamicValue = multiProvider.getBooleanEvaluation("DYNAMIC_FLAG", false, evaluationContext).getValue();
+        // THEN
+        assertTrue(staticValue);
+        assertTrue(dynamicValue);
+        verify(lambdaProvider, never()).getBooleanEvaluation(Mockito.eq("static_flag"), anyBoolean(), any());
+    }
+
+    @Test
+    void registrationFilter_followsRegistrationsBeyondItsInitialSize() {
+        // GIVEN
+        LambdaFlagProvider lambdaProvider = new LambdaFlagProvider();
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(lambdaProvider);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        for (int i = 0; i < 1_000; i++) {
+            lambdaProvider.setFlag("flag_" + i, () -> true);
+        }
+        // THEN
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(multiProvider.getBooleanEvaluation("flag_" + i, false, evaluationContext).getValue());
+        }
+    }
+
+    @Test
+    void removeProvider_unsubscribesRegistrationFilter() {
+        // GIVEN
+        LambdaFlagProvider lambdaProvider = Mockito.spy(new LambdaFlagProvider());
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(lambdaProvider);
+        // WHEN
+        multiProvider.removeProvider(lambdaProvider);
+        // THEN
+        verify(lambdaProvider).removeRegistrationListener(any());
+    }
+
+    @Test
+    void parallelEvaluation_keepsProviderPriority() {
+        // GIVEN
+        LambdaFlagProvider slowProvider = new LambdaFlagProvider("flag", () -> {
+            sleep(Duration.ofMillis(200));
+            return new Value(false);
+        });
+        LambdaFlagProvider fastProvider = new LambdaFlagProvider("flag", () -> new Value(true));
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(List.of(slowProvider, fastProvider));
+        multiProvider.setParallelEvaluation(true);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        boolean value = multiProvider.getBooleanEvaluation("flag", true, evaluationContext).getValue();
+        // THEN
+        assertFalse(value);
+    }
+
+    @Test
+    void parallelEvaluation_cancelsLowerPriorityProviders() throws InterruptedException {
+        // GIVEN
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        LambdaFlagProvider fastProvider = new LambdaFlagProvider("flag", () -> {
+            try {
+                started.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Value(true);
+        });
+        LambdaFlagProvider slowProvider = new LambdaFlagProvider("flag", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+            }
+            return new Value(false);
+        });
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(List.of(fastProvider, slowProvider));
+        multiProvider.setParallelEvaluation(true);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        boolean value = multiProvider.getBooleanEvaluation("flag", false, evaluationContext).getValue();
+        // THEN
+        assertTrue(value);
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void parallelEvaluation_returnsDefaultWhenDeadlineIsExceeded() {
+        // GIVEN
+        LambdaFlagProvider slowProvider = new LambdaFlagProvider("flag", () -> {
+            sleep(Duration.ofSeconds(10));
+            return new Value(false);
+        });
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(slowProvider);
+        multiProvider.setParallelEvaluation(true);
+        multiProvider.setEvaluationDeadline(Duration.ofMillis(50));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        long start = System.nanoTime();
+        // WHEN
+        ProviderEvaluation<Boolean> evaluation = multiProvider.getBooleanEvaluation("flag", true, evaluationContext);
+        // THEN
+        assertTrue(evaluation.getValue());
+        assertEquals(ErrorCode.GENERAL, evaluation.getErrorCode());
+        assertEquals("ERROR", evaluation.getReason());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+    }
+
+    @Test
+    void parallelEvaluation_returnsDefaultIfNoProviderHasFlag() {
+        // GIVEN
+        InMemoryFlagProvider firstProvider = new InMemoryFlagProvider();
+        LambdaFlagProvider secondProvider = new LambdaFlagProvider();
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(List.of(firstProvider, secondProvider));
+        multiProvider.setParallelEvaluation(true);
+        multiProvider.setEvaluationDeadline(Duration.ofSeconds(1));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        ProviderEvaluation<String> evaluation = multiProvider.getStringEvaluation("unknown", "default", evaluationContext);
+        // THEN
+        assertEquals("default", evaluation.getValue());
+        assertEquals(ErrorCode.FLAG_NOT_FOUND, evaluation.getErrorCode());
+    }
+
+    @Test
+    void setEvaluationDeadline_withNonPositiveDuration_throwsException() {
+        // GIVEN
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider();
+        // WHEN & THEN
+        assertThrows(IllegalArgumentException.class, () -> multiProvider.setEvaluationDeadline(Duration.ZERO));
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void evaluation_fromVirtualThreads_doesNotPinCarrierThreads() throws Exception {
+        // GIVEN
+        InMemoryFlagProvider inMemoryProvider = new InMemoryFlagProvider();
+        inMemoryProvider.setFlag("static_flag", true);
+        LambdaFlagProvider blockingProvider = new LambdaFlagProvider();
+        blockingProvider.setFlag("blocking_flag", () -> {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        });
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(List.of(inMemoryProvider, blockingProvider));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        AtomicInteger enabledCount = new AtomicInteger();
+        Path recordingFile = Files.createTempFile("multi-feature-provider", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recording.start();
+            // WHEN
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<?> writer = executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        InMemoryFlagProvider extraProvider = new InMemoryFlagProvider();
+                        multiProvider.addProvider(extraProvider);
+                        multiProvider.removeProvider(extraProvider);
+                    }
+                });
+                for (int i = 0; i < 5_000; i++) {
+                    executor.submit(() -> {
+                        if (multiProvider.getBooleanEvaluation("blocking_flag", false, evaluationContext).getValue()
+                                && multiProvider.getBooleanEvaluation("static_flag", false, evaluationContext).getValue()) {
+                            enabledCount.incrementAndGet();
+                        }
+                    });
+                }
+                writer.get();
+            }
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        // THEN
+        long pinnedEvents = RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(event -> event.getEventType().getName().equals("jdk.VirtualThreadPinned"))
+                .count();
+        Files.deleteIfExists(recordingFile);
+        assertEquals(5_000, enabledCount.get());
+        assertEquals(0, pinnedEvents);
+    }
+
+    @Test
+    void evaluate_mergesBulkResultsInPriorityOrder() {
+        // GIVEN
+        InMemoryFlagProvider firstProvider = new InMemoryFlagProvider();
+        firstProvider.setFlag("flag", false);
+        InMemoryFlagProvider secondProvider = new InMemoryFlagProvider();
+        secondProvider.setFlag("flag", true);
+        secondProvider.setFlag("theme", "blue");
+        FeatureProvider thirdProvider = Mockito.mock(FeatureProvider.class);
+        Mockito.when(thirdProvider.getObjectEvaluation(anyString(), any(), any())).thenReturn(ProviderEvaluation.<Value>builder().errorCode(ErrorCode.FLAG_NOT_FOUND).build());
+        Mockito.when(thirdProvider.getObjectEvaluation(Mockito.eq("limit"), any(), any())).thenReturn(ProviderEvaluation.<Value>builder().value(new Value(10)).build());
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(List.of(firstProvider, secondProvider, thirdProvider));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        FlagValues values = multiProvider.evaluate(List.of("FLAG", "theme", "limit", "missing"), evaluationContext);
+        // THEN
+        assertEquals(4, values.size());
+        assertFalse(values.getBoolean(0, true));
+        assertEquals("blue", values.getValue("THEME").asString());
+        assertEquals(10, values.getValue(2).asInteger());
+        assertFalse(values.isDefined(3));
+        verify(thirdProvider, never()).getObjectEvaluation(Mockito.eq("theme"), any(), any());
+    }
+
+    @Test
+    void evaluate_asksBulkProvidersOnlyForUnresolvedFlags() {
+        // GIVEN
+        InMemoryFlagProvider firstProvider = new InMemoryFlagProvider();
+        firstProvider.setFlag("flag", false);
+        firstProvider.setFlag("limit", 5);
+        InMemoryFlagProvider secondProvider = Mockito.spy(new InMemoryFlagProvider());
+        secondProvider.setFlag("theme", "blue");
+        secondProvider.setFlag("limit", 10);
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(List.of(firstProvider, secondProvider));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        FlagValues values = multiProvider.evaluate(List.of("flag", "theme", "limit", "missing"), evaluationContext);
+        // THEN
+        verify(secondProvider).evaluate(List.of("theme", "missing"), evaluationContext);
+        assertFalse(values.getBoolean(0, true));
+        assertEquals("blue", values.getValue(1).asString());
+        assertEquals(5, values.getValue(2).asInteger());
+        assertFalse(values.isDefined(3));
+    }
+
+    @Test
+    void evaluateAll_mergesEveryListedFlag() {
+        // GIVEN
+        InMemoryFlagProvider firstProvider = new InMemoryFlagProvider();
+        firstProvider.setFlag("flag", false);
+        LambdaFlagProvider secondProvider = new LambdaFlagProvider();
+        secondProvider.setFlag("flag", () -> true);
+        secondProvider.setFlag("theme", () -> "blue");
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(List.of(firstProvider, secondProvider));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        FlagValues values = multiProvider.evaluateAll(evaluationContext);
+        // THEN
+        assertEquals(2, values.size());
+        assertFalse(values.getValue("flag").asBoolean());
+        assertEquals("blue", values.getValue("theme").asString());
+    }
+
+    @Test
+    void setMetrics_recordsEvaluationsAndProviderHits() {
+        // GIVEN
+        InMemoryFlagProvider firstProvider = new InMemoryFlagProvider();
+        firstProvider.setFlag("first", true);
+        LambdaFlagProvider secondProvider = new LambdaFlagProvider("second", () -> new Value("value"));
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(List.of(firstProvider, secondProvider));
+        EvaluationMetrics metrics = new EvaluationMetrics();
+        multiProvider.setMetrics(metrics);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        multiProvider.getBooleanEvaluation("first", false, evaluationContext);
+        multiProvider.getStringEvaluation("second", "default", evaluationContext);
+        multiProvider.getStringEvaluation("missing", "default", evaluationContext);
+        EvaluationStatistics statistics = metrics.snapshot();
+        // THEN
+        assertEquals(3, statistics.getEvaluationCount());
+        assertEquals(1, statistics.getFlag("missing").getFlagNotFoundCount());
+        assertEquals(1, statistics.getProvider("InMemoryFlagProvider#0").getHitCount());
+        assertEquals(2, statistics.getProvider("InMemoryFlagProvider#0").getMissCount());
+        assertEquals(1, statistics.getProvider("LambdaFlagProvider#1").getHitCount());
+        assertEquals(0, statistics.getProvider("LambdaFlagProvider#1").getMissCount());
+    }
+
+    @Test
+    void setMetrics_recordsProvidersOfSameClassApart() {
+        // GIVEN
+        InMemoryFlagProvider firstProvider = new InMemoryFlagProvider();
+        InMemoryFlagProvider secondProvider = new InMemoryFlagProvider();
+        secondProvider.setFlag("flag", true);
+        MultiFeatureProvider multiProvider = new MultiFeatureProvider(List.of(firstProvider, secondProvider));
+        EvaluationMetrics metrics = new EvaluationMetrics();
+        multiProvider.setMetrics(metrics);
+        // WHEN
+        multiProvider.getBooleanEvaluation("flag", false, Mockito.mock(EvaluationContext.class));
+        EvaluationStatistics statistics = metrics.snapshot();
+        // THEN
+        assertEquals(0, statistics.getProvider("InMemoryFlagProvider#0").getHitCount());
+        assertEquals(1, statistics.getProvider("InMemoryFlagProvider#0").getMissCount());
+        assertEquals(1, statistics.getProvider("InMemoryFlagProvider#1").getHitCount());
+        assertEquals(0, statistics.getProvider("InMemoryFlagProvider#1").getMissCount());
+    }
+
+    @Test
+    void initialize_initializesProvidersInParallel() throws Exception {
+        // GIVEN
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        MultiFeatureProvider provider = new MultiFeatureProvider(List.of(
+                new BlockingInitializationProvider(bothStarted), new BlockingInitializationProvider(bothStarted)));
+        // WHEN
+        provider.initialize(Mockito.mock(EvaluationContext.class));
+        // THEN
+        assertEquals(0, bothStarted.getCount());
+        assertTrue(provider.isReady());
+    }
+
+    @Test
+    void initialize_doesNotWaitForOptionalProviders() throws Exception {
+        // GIVEN
+        CountDownLatch released = new CountDownLatch(1);
+        InMemoryFlagProvider requiredProvider = new InMemoryFlagProvider();
+        requiredProvider.setFlag("flag", true);
+        BlockingInitializationProvider optionalProvider = new BlockingInitializationProvider(released);
+        MultiFeatureProvider provider = new MultiFeatureProvider(requiredProvider);
+        provider.addProvider(optionalProvider, false);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        provider.initialize(evaluationContext);
+        // THEN
+        assertTrue(provider.isReady());
+        assertFalse(provider.isRequired(optionalProvider));
+        assertTrue(provider.getBooleanEvaluation("flag", false, evaluationContext).getValue());
+        released.countDown();
+    }
+
+    @Test
+    void getBooleanEvaluation_returnsNotReadyWhileRequiredProvidersInitialize() throws Exception {
+        // GIVEN
+        CountDownLatch released = new CountDownLatch(2);
+        InMemoryFlagProvider inMemoryProvider = new InMemoryFlagProvider();
+        inMemoryProvider.setFlag("flag", true);
+        MultiFeatureProvider provider = new MultiFeatureProvider(List.of(inMemoryProvider, new BlockingInitializationProvider(released)));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        Thread initialization = Thread.ofVirtual().start(() -> {
+            try {
+                provider.initialize(evaluationContext);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (released.getCount() == 2) {
+            Thread.onSpinWait();
+        }
+        // WHEN
+        ProviderEvaluation<Boolean> evaluation = provider.getBooleanEvaluation("flag", false, evaluationContext);
+        released.countDown();
+        initialization.join();
+        // THEN
+        assertFalse(evaluation.getValue());
+        assertEquals(ErrorCode.PROVIDER_NOT_READY, evaluation.getErrorCode());
+        assertTrue(provider.getBooleanEvaluation("flag", false, evaluationContext).getValue());
+    }
+
+    @Test
+    void initialize_throwsWhenRequiredProviderFails(@TempDir Path directory) {
+        // GIVEN
+        PropertiesFileFlagProvider failingProvider = new PropertiesFileFlagProvider(directory.resolve("missing.properties"), false, true);
+        MultiFeatureProvider provider = new MultiFeatureProvider(failingProvider);
+        // WHEN / THEN
+        assertThrows(ProviderException.class, () -> provider.initialize(Mockito.mock(EvaluationContext.class)));
+        assertEquals(Set.of(failingProvider), provider.getFailedProviders());
+    }
+
+    @Test
+    void initialize_whenRequiredProviderFails_otherProvidersKeepAnswering(@TempDir Path directory) throws Exception {
+        // GIVEN
+        PropertiesFileFlagProvider failingProvider = new PropertiesFileFlagProvider(directory.resolve("missing.properties"), false, true);
+        InMemoryFlagProvider inMemoryProvider = new InMemoryFlagProvider();
+        inMemoryProvider.setFlag("flag", true);
+        MultiFeatureProvider provider = new MultiFeatureProvider(List.of(failingProvider, inMemoryProvider));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        assertThrows(ProviderException.class, () -> provider.initialize(evaluationContext));
+        // THEN
+        assertTrue(provider.isReady());
+        assertTrue(provider.getBooleanEvaluation("flag", false, evaluationContext).getValue());
+        // WHEN the failed provider recovers
+        Files.writeString(directory.resolve("missing.properties"), "feature-accessor.other=true\n");
+        provider.initialize(evaluationContext);
+        // THEN
+        assertTrue(provider.getFailedProviders().isEmpty());
+        assertTrue(provider.getBooleanEvaluation("other", false, evaluationContext).getValue());
+    }
+
+    @Test
+    void shutdown_shutsProvidersDown() {
+        // GIVEN
+        FeatureProvider member = Mockito.mock(FeatureProvider.class);
+        MultiFeatureProvider provider = new MultiFeatureProvider(member);
+        // WHEN
+        provider.shutdown();
+        // THEN
+        verify(member).shutdown();
+    }
+
+    /**
+     * Counts its latch down when initialized, then waits until it reaches zero.
+     */
+    private static final class BlockingInitializationProvider extends InMemoryFlagProvider {
+        private final CountDownLatch latch;
+
+        private BlockingInitializationProvider(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void initialize(EvaluationContext evaluationContext) throws Exception {
+            latch.countDown();
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Initialization not released");
+            }
+        }
+    }
+
+    @Test
+    void subscribe_isNotifiedOfMemberChanges() throws InterruptedException {
+        // GIVEN
+        InMemoryFlagProvider member = new InMemoryFlagProvider();
+        MultiFeatureProvider provider = new MultiFeatureProvider(member);
+        BlockingQueue<String> notifiedKeys = new LinkedBlockingQueue<>();
+        provider.subscribe("flag", notifiedKeys::add);
+        // WHEN
+        member.setFlag("flag", true);
+        // THEN
+        assertEquals("FLAG", notifiedKeys.poll(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void removeProvider_stopsForwardingMemberChanges() throws InterruptedException {
+        // GIVEN
+        InMemoryFlagProvider removed = new InMemoryFlagProvider();
+        InMemoryFlagProvider kept = new InMemoryFlagProvider();
+        MultiFeatureProvider provider = new MultiFeatureProvider(List.of(removed, kept));
+        BlockingQueue<Set<String>> batches = new LinkedBlockingQueue<>();
+        provider.addFlagChangeListener(batches::add);
+        provider.removeProvider(removed);
+        // WHEN
+        removed.setFlag("removed_flag", true);
+        kept.setFlag("kept_flag", true);
+        // THEN
+        assertEquals(Set.of("KEPT_FLAG"), batches.poll(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void memberChanges_ofFlagsShadowedByHigherPriorityProvider_areNotForwarded() throws InterruptedException {
+        // GIVEN
+        InMemoryFlagProvider first = new InMemoryFlagProvider();
+        BlockingQueue<Set<String>> firstChanges = new LinkedBlockingQueue<>();
+        first.addFlagChangeListener(firstChanges::add);
+        first.setFlag("flag", true);
+        // The chain must not receive this change of its first member, notified asynchronously.
+        assertEquals(Set.of("FLAG"), firstChanges.poll(10, TimeUnit.SECONDS));
+        InMemoryFlagProvider second = new InMemoryFlagProvider();
+        MultiFeatureProvider provider = new MultiFeatureProvider(List.of(first, second));
+        BlockingQueue<Set<String>> batches = new LinkedBlockingQueue<>();
+        provider.addFlagChangeListener(batches::add);
+        // WHEN
+        second.setFlag("flag", false);
+        second.setFlag("other_flag", true);
+        // THEN
+        assertEquals(Set.of("OTHER_FLAG"), batches.poll(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void memberChanges_listHigherPriorityKeysOncePerNotification() throws InterruptedException {
+        // GIVEN
+        InMemoryFlagProvider first = Mockito.spy(new InMemoryFlagProvider());
+        InMemoryFlagProvider second = new InMemoryFlagProvider();
+        MultiFeatureProvider provider = new MultiFeatureProvider(List.of(first, second));
+        BlockingQueue<Set<String>> batches = new LinkedBlockingQueue<>();
+        provider.addFlagChangeListener(batches::add);
+        // WHEN
+        second.setFlags(Map.of("a", true, "b", true, "c", true));
+        // THEN
+        assertEquals(Set.of("A", "B", "C"), batches.poll(10, TimeUnit.SECONDS));
+        verify(first, times(1)).getFlagKeys();
+    }
 }
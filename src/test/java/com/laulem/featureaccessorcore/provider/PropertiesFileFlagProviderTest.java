@@ -1,11 +1,27 @@
 package com.laulem.featureaccessorcore.provider;
 
 import com.laulem.featureaccessorcore.exception.ProviderException;
+import dev.openfeature.sdk.ErrorCode;
 import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.Value;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -118,4 +134,369 @@ class PropertiesFileFlagProviderTest {
         // THEN
         assertFalse(result);
     }
+
+    @Test
+    void constructor_withPath_loadsFlagsFromFile(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), "feature-accessor.kill_switch=true\n");
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file);
+        // THEN
+        assertTrue(provider.getBooleanEvaluation("kill_switch", false, evaluationContext).getValue());
+    }
+
+    @Test
+    void reload_returnsOnlyChangedKeys(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"),
+                "feature-accessor.unchanged=true\nfeature-accessor.changed=false\nfeature-accessor.removed=true\n");
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file);
+        long version = provider.getFlagKeysVersion();
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        Files.writeString(file, "feature-accessor.unchanged=true\nfeature-accessor.changed=true\nfeature-accessor.added=true\n");
+        // WHEN
+        Set<String> changedKeys = provider.reload();
+        // THEN
+        assertEquals(Set.of("CHANGED", "REMOVED", "ADDED"), changedKeys);
+        assertTrue(provider.getBooleanEvaluation("changed", false, evaluationContext).getValue());
+        assertFalse(provider.getBooleanEvaluation("removed", false, evaluationContext).getValue());
+        assertEquals(Set.of("UNCHANGED", "CHANGED", "ADDED"), provider.getFlagKeys());
+        assertTrue(provider.getFlagKeysVersion() > version);
+    }
+
+    @Test
+    void reload_withoutChanges_keepsVersion(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), "feature-accessor.flag=true\n");
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file);
+        long version = provider.getFlagKeysVersion();
+        // WHEN
+        Set<String> changedKeys = provider.reload();
+        // THEN
+        assertTrue(changedKeys.isEmpty());
+        assertEquals(version, provider.getFlagKeysVersion());
+    }
+
+    @Test
+    void reload_withMissingFile_keepsPreviousFlags(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), "feature-accessor.flag=true\n");
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        Files.delete(file);
+        // WHEN & THEN
+        assertThrows(ProviderException.class, provider::reload);
+        assertTrue(provider.getBooleanEvaluation("flag", false, evaluationContext).getValue());
+    }
+
+    @Test
+    void startWatching_reloadsFileWhenItChanges(@TempDir Path directory) throws Exception {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), "feature-accessor.kill_switch=false\n");
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file);
+        CompletableFuture<Set<String>> reloaded = new CompletableFuture<>();
+        provider.addFlagChangeListener(reloaded::complete);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        provider.startWatching(Duration.ofMillis(50));
+        try {
+            // WHEN
+            Files.writeString(file, "feature-accessor.kill_switch=true\n");
+            // THEN
+            assertEquals(Set.of("KILL_SWITCH"), reloaded.get(30, TimeUnit.SECONDS));
+            assertTrue(provider.getBooleanEvaluation("kill_switch", false, evaluationContext).getValue());
+        } finally {
+            provider.shutdown();
+        }
+        assertFalse(provider.isWatching());
+    }
+
+    @Test
+    void startWatching_onClasspathResource_throwsException() {
+        // GIVEN
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider("feature-accessor.properties");
+        // WHEN & THEN
+        assertThrows(IllegalStateException.class, () -> provider.startWatching(Duration.ofMillis(50)));
+    }
+
+    @Test
+    void constructor_withLargeFile_loadsFlagsAndReportsStatistics(@TempDir Path directory) throws IOException {
+        // GIVEN
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            content.append("feature-accessor.customer_").append(i).append("=").append(i % 2 == 0).append('\n');
+            content.append("application.customer_").append(i).append(".name=Customer ").append(i).append('\n');
+        }
+        Path file = Files.writeString(directory.resolve("flags.properties"), content);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file);
+        // THEN
+        PropertiesLoadStatistics statistics = provider.getLastLoadStatistics();
+        assertEquals(200_000, statistics.getEntryCount());
+        assertEquals(100_000, statistics.getFlagCount());
+        assertEquals(Files.size(file), statistics.getFileSize());
+        assertTrue(provider.getBooleanEvaluation("CUSTOMER_4242", false, evaluationContext).getValue());
+        assertFalse(provider.getBooleanEvaluation("customer_4243", true, evaluationContext).getValue());
+        assertFalse(provider.getBooleanEvaluation("application.customer_1.name", false, evaluationContext).getValue());
+    }
+
+    @Test
+    void constructor_withTypedFlags_parsesValuesOnce(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), """
+                feature-accessor.legacy=true
+                feature-accessor.batch_size[int]=500
+                feature-accessor.ratio[double]=0.75
+                feature-accessor.banner[string]=Hello world
+                feature-accessor.kill_switch[boolean]=false
+                feature-accessor.limits[json]={"max": 10, "regions": ["eu", "us"]}
+                """);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file);
+        // THEN
+        assertTrue(provider.getBooleanEvaluation("legacy", false, evaluationContext).getValue());
+        assertEquals(500, provider.getIntegerEvaluation("batch_size", 0, evaluationContext).getValue());
+        assertEquals(0.75, provider.getDoubleEvaluation("RATIO", 0.0, evaluationContext).getValue());
+        assertEquals("Hello world", provider.getStringEvaluation("banner", "", evaluationContext).getValue());
+        assertFalse(provider.getBooleanEvaluation("kill_switch", true, evaluationContext).getValue());
+        Value limits = provider.getObjectEvaluation("limits", new Value(), evaluationContext).getValue();
+        assertEquals(10, limits.asStructure().getValue("max").asInteger());
+        assertEquals(Set.of("LEGACY", "BATCH_SIZE", "RATIO", "BANNER", "KILL_SWITCH", "LIMITS"), provider.getFlagKeys());
+    }
+
+    @Test
+    void constructor_withTypeMismatch_throwsException(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), "feature-accessor.batch_size[int]=large\n");
+        // WHEN & THEN
+        ProviderException ex = assertThrows(ProviderException.class, () -> new PropertiesFileFlagProvider(file));
+        assertTrue(ex.getCause().getMessage().contains("batch_size"));
+    }
+
+    @Test
+    void constructor_withUnknownSuffix_readsUntypedFlagKeepingSuffix(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), """
+                feature-accessor.foo[bar]=true
+                feature-accessor.batch_size[long]=1
+                """);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file);
+        // THEN
+        assertTrue(provider.getBooleanEvaluation("foo[bar]", false, evaluationContext).getValue());
+        assertEquals(Set.of("FOO[BAR]", "BATCH_SIZE[LONG]"), provider.getFlagKeys());
+        assertEquals(ErrorCode.FLAG_NOT_FOUND, provider.getBooleanEvaluation("foo", false, evaluationContext).getErrorCode());
+    }
+
+    @Test
+    void constructor_resolvesSystemPropertiesAndNestedDefaults(@TempDir Path directory) throws IOException {
+        // GIVEN
+        System.setProperty("feature-accessor-test.ratio", "0.3");
+        Path file = Files.writeString(directory.resolve("flags.properties"), """
+                feature-accessor.ratio[double]=${feature-accessor-test.ratio}
+                feature-accessor.fallback=${FEATURE_ACCESSOR_TEST_MISSING:${FEATURE_ACCESSOR_TEST_OTHER:true}}
+                """);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        try {
+            // WHEN
+            PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file);
+            // THEN
+            assertEquals(0.3, provider.getDoubleEvaluation("ratio", 0.0, evaluationContext).getValue());
+            assertTrue(provider.getBooleanEvaluation("fallback", false, evaluationContext).getValue());
+        } finally {
+            System.clearProperty("feature-accessor-test.ratio");
+        }
+    }
+
+    @Test
+    void constructor_withLazyResolution_resolvesPlaceholdersOnFirstEvaluation(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), """
+                feature-accessor.batch_size[int]=${FEATURE_ACCESSOR_TEST_MISSING:not-a-number}
+                feature-accessor.timeout[int]=${FEATURE_ACCESSOR_TEST_MISSING:250}
+                """);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file, true);
+        // THEN
+        assertEquals(250, provider.getIntegerEvaluation("timeout", 0, evaluationContext).getValue());
+        ProviderEvaluation<Integer> invalid = provider.getIntegerEvaluation("batch_size", 10, evaluationContext);
+        assertEquals(10, invalid.getValue());
+        assertEquals(ErrorCode.PARSE_ERROR, invalid.getErrorCode());
+        assertThrows(ProviderException.class, () -> new PropertiesFileFlagProvider(file));
+    }
+
+    @Test
+    void constructor_withRuleFlag_evaluatesTargeting(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), """
+                feature-accessor.new_checkout[rule]=country in ["FR", "BE"] || email matches ".*@laulem[.]com"
+                """);
+        EvaluationContext french = new ImmutableContext(Map.of("country", new Value("FR")));
+        EvaluationContext staff = new ImmutableContext(Map.of("country", new Value("US"), "email", new Value("bob@laulem.com")));
+        EvaluationContext other = new ImmutableContext(Map.of("country", new Value("US")));
+        // WHEN
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file);
+        // THEN
+        assertTrue(provider.getBooleanEvaluation("new_checkout", false, french).getValue());
+        assertTrue(provider.getBooleanEvaluation("new_checkout", false, staff).getValue());
+        ProviderEvaluation<Boolean> evaluation = provider.getBooleanEvaluation("new_checkout", true, other);
+        assertFalse(evaluation.getValue());
+        assertEquals("DEFAULT", evaluation.getReason());
+    }
+
+    @Test
+    void constructor_withInvalidRule_throwsException(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), "feature-accessor.new_checkout[rule]=country ==\n");
+        // WHEN
+        ProviderException ex = assertThrows(ProviderException.class, () -> new PropertiesFileFlagProvider(file));
+        // THEN
+        assertTrue(ex.getCause().getMessage().contains("new_checkout"));
+    }
+
+    @Test
+    void reload_withChangedRule_reportsFlag(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), """
+                feature-accessor.new_checkout[rule]=country == "FR"
+                feature-accessor.other=true
+                """);
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file);
+        Files.writeString(file, """
+                feature-accessor.new_checkout[rule]=country == "BE"
+                feature-accessor.other=true
+                """);
+        // WHEN
+        Set<String> changed = provider.reload();
+        // THEN
+        assertEquals(Set.of("NEW_CHECKOUT"), changed);
+        assertTrue(provider.reload().isEmpty());
+    }
+
+    @Test
+    void constructor_withRolloutAndSplitFlags_hashesTargetingKey(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), """
+                feature-accessor.new_ui[rollout]=100
+                feature-accessor.dark_mode[ROLLOUT]=0
+                feature-accessor.theme[split]=blue:0,green:100
+                """);
+        EvaluationContext ctx = new ImmutableContext("user-42");
+        // WHEN
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file);
+        // THEN
+        assertTrue(provider.getBooleanEvaluation("new_ui", false, ctx).getValue());
+        assertFalse(provider.getBooleanEvaluation("dark_mode", true, ctx).getValue());
+        ProviderEvaluation<String> theme = provider.getStringEvaluation("theme", "grey", ctx);
+        assertEquals("green", theme.getValue());
+        assertEquals("SPLIT", theme.getReason());
+    }
+
+    @Test
+    void constructor_withInvalidRollout_throwsException(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), "feature-accessor.new_ui[rollout]=150\n");
+        // WHEN
+        ProviderException ex = assertThrows(ProviderException.class, () -> new PropertiesFileFlagProvider(file));
+        // THEN
+        assertTrue(ex.getCause().getMessage().contains("new_ui"));
+    }
+
+    @Test
+    void evaluateAll_walksEveryFlagOnce(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), """
+                feature-accessor.flag=true
+                feature-accessor.batch_size[int]=500
+                feature-accessor.new_checkout[rule]=country == "FR"
+                """);
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file);
+        EvaluationContext ctx = new ImmutableContext(Map.of("country", new Value("FR")));
+        // WHEN
+        FlagValues all = provider.evaluateAll(ctx);
+        FlagValues selected = provider.evaluate(List.of("new_checkout", "unknown"), ctx);
+        // THEN
+        assertEquals(3, all.size());
+        assertEquals(500, all.getValue("Batch_Size").asInteger());
+        assertTrue(all.getValue("new_checkout").asBoolean());
+        assertTrue(selected.getBoolean(0, false));
+        assertFalse(selected.isDefined(1));
+    }
+
+    @Test
+    void typedGetters_readTypedFlags(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), """
+                feature-accessor.legacy=true
+                feature-accessor.batch_size[int]=500
+                feature-accessor.ratio[double]=0.75
+                feature-accessor.banner[string]=Hello world
+                """);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file);
+        // THEN
+        assertTrue(provider.isEnabled("legacy"));
+        assertEquals(500, provider.getInteger("batch_size", 0, evaluationContext));
+        assertEquals(0.75, provider.getDouble("RATIO", 0, evaluationContext));
+        assertEquals("Hello world", provider.getString("banner", "", evaluationContext));
+        assertEquals(-1, provider.getInteger("banner", -1, evaluationContext));
+    }
+
+    @Test
+    void initialize_loadsDeferredFlags(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), "feature-accessor.kill_switch=true\n");
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file, false, true);
+        ProviderEvaluation<Boolean> beforeInitialization = provider.getBooleanEvaluation("kill_switch", false, evaluationContext);
+        // WHEN
+        provider.initialize(evaluationContext);
+        // THEN
+        assertFalse(beforeInitialization.getValue());
+        assertEquals(ErrorCode.PROVIDER_NOT_READY, beforeInitialization.getErrorCode());
+        assertEquals("NOT_READY", beforeInitialization.getReason());
+        assertTrue(provider.isReady());
+        assertTrue(provider.getBooleanEvaluation("kill_switch", false, evaluationContext).getValue());
+        assertTrue(provider.getBoolean("kill_switch", false, evaluationContext));
+        assertEquals(Set.of("KILL_SWITCH"), provider.getFlagKeys());
+    }
+
+    @Test
+    void constructor_withDeferredLoading_doesNotReadFile(@TempDir Path directory) {
+        // GIVEN
+        Path file = directory.resolve("missing.properties");
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file, false, true);
+        // THEN
+        assertFalse(provider.isReady());
+        assertTrue(provider.getBoolean("kill_switch", true, evaluationContext));
+        assertTrue(provider.getFlagKeys().isEmpty());
+        assertThrows(ProviderException.class, () -> provider.initialize(evaluationContext));
+        assertFalse(provider.isReady());
+    }
+
+    @Test
+    void reload_notifiesSubscribersOfChangedFlags(@TempDir Path directory) throws IOException, InterruptedException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), "feature-accessor.unchanged=true\nfeature-accessor.changed=false\n");
+        PropertiesFileFlagProvider provider = new PropertiesFileFlagProvider(file);
+        BlockingQueue<Set<String>> batches = new LinkedBlockingQueue<>();
+        BlockingQueue<String> notifiedKeys = new LinkedBlockingQueue<>();
+        provider.addFlagChangeListener(batches::add);
+        provider.subscribe("changed", notifiedKeys::add);
+        provider.subscribe("unchanged", notifiedKeys::add);
+        Files.writeString(file, "feature-accessor.unchanged=true\nfeature-accessor.changed=true\n");
+        // WHEN
+        provider.reload();
+        // THEN
+        assertEquals(Set.of("CHANGED"), batches.poll(10, TimeUnit.SECONDS));
+        assertEquals("CHANGED", notifiedKeys.poll(10, TimeUnit.SECONDS));
+        assertTrue(notifiedKeys.isEmpty());
+    }
 }
@@ -0,0 +1,93 @@
+package com.laulem.featureaccessorcore.provider;
+
+import com.laulem.featureaccessorcore.exception.ProviderException;
+import dev.openfeature.sdk.ErrorCode;
+import dev.openfeature.sdk.EvaluationContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotFlagProviderTest {
+    @Test
+    void getEvaluations_readCompiledFlags(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path snapshot = compile(directory, """
+                feature-accessor.new_checkout=true
+                feature-accessor.batch_size[int]=500
+                feature-accessor.banner[string]=Hello
+                """);
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        SnapshotFlagProvider provider = new SnapshotFlagProvider(snapshot);
+        // THEN
+        assertTrue(provider.getBooleanEvaluation("new_checkout", false, evaluationContext).getValue());
+        assertEquals(500, provider.getIntegerEvaluation("BATCH_SIZE", 0, evaluationContext).getValue());
+        assertEquals("Hello", provider.getStringEvaluation("banner", "", evaluationContext).getValue());
+        assertEquals(ErrorCode.FLAG_NOT_FOUND, provider.getBooleanEvaluation("missing", false, evaluationContext).getErrorCode());
+        assertEquals(500, provider.getInteger("batch_size", 0, evaluationContext));
+        assertEquals(Set.of("NEW_CHECKOUT", "BATCH_SIZE", "BANNER"), provider.getFlagKeys());
+    }
+
+    @Test
+    void evaluateAll_returnsEveryFlag(@TempDir Path directory) throws IOException {
+        // GIVEN
+        SnapshotFlagProvider provider = new SnapshotFlagProvider(compile(directory, """
+                feature-accessor.first=true
+                feature-accessor.second=false
+                """));
+        // WHEN
+        FlagValues values = provider.evaluateAll(Mockito.mock(EvaluationContext.class));
+        // THEN
+        assertEquals(2, values.size());
+        assertEquals(true, values.getValue("first").asBoolean());
+    }
+
+    @Test
+    void evaluate_looksFlagsUpInSnapshotTable(@TempDir Path directory) throws IOException {
+        // GIVEN
+        SnapshotFlagProvider provider = new SnapshotFlagProvider(compile(directory, """
+                feature-accessor.first=true
+                feature-accessor.limit[int]=5
+                """));
+        // WHEN
+        FlagValues values = provider.evaluate(List.of("LIMIT", "missing", "first"), Mockito.mock(EvaluationContext.class));
+        // THEN
+        assertEquals(5, values.getValue(0).asInteger());
+        assertFalse(values.isDefined(1));
+        assertTrue(values.getValue(2).asBoolean());
+    }
+
+    @Test
+    void constructor_throwsForCorruptedSnapshot(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path snapshot = compile(directory, "feature-accessor.banner[string]=Hello\n");
+        byte[] content = Files.readAllBytes(snapshot);
+        content[content.length - 1] ^= 1;
+        Files.write(snapshot, content);
+        // WHEN / THEN
+        assertThrows(ProviderException.class, () -> new SnapshotFlagProvider(snapshot));
+    }
+
+    @Test
+    void constructor_throwsForMissingResource() {
+        // WHEN / THEN
+        assertThrows(ProviderException.class, () -> new SnapshotFlagProvider("missing.snapshot"));
+    }
+
+    private static Path compile(Path directory, String properties) throws IOException {
+        Path snapshot = directory.resolve("flags.snapshot");
+        FlagSnapshotCompiler.compile(Files.writeString(directory.resolve("flags.properties"), properties), snapshot);
+        return snapshot;
+    }
+}
@@ -0,0 +1,70 @@
+package com.laulem.featureaccessorcore.targeting;
+
+import com.laulem.featureaccessorcore.tool.EvaluationTool;
+import com.laulem.featureaccessorcore.tool.FlagEvaluations;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+import dev.openfeature.sdk.Value;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TargetedFlagTest {
+    private final TargetedFlag flag = new TargetedFlag(List.of(
+            new TargetedFlag.Variant("belgium", TargetingRule.compile("country == 'BE'"), new Value("blue")),
+            new TargetedFlag.Variant("europe", TargetingRule.compile("country in ['BE', 'FR', 'DE']"), new Value("green"))),
+            "world", new Value("grey"));
+
+    @Test
+    void evaluate_returnsFirstMatchingVariant() {
+        // GIVEN
+        EvaluationContext ctx = new ImmutableContext(Map.of("country", new Value("BE")));
+        // WHEN
+        ProviderEvaluation<String> evaluation = flag.evaluate(ctx, FlagEvaluations::getStringEvaluation);
+        // THEN
+        assertEquals("blue", evaluation.getValue());
+        assertEquals("belgium", evaluation.getVariant());
+        assertEquals(EvaluationTool.TARGETING_MATCH_REASON, evaluation.getReason());
+        assertNull(evaluation.getErrorCode());
+    }
+
+    @Test
+    void evaluate_withoutMatch_returnsDefaultVariant() {
+        // GIVEN
+        EvaluationContext ctx = new ImmutableContext(Map.of("country", new Value("US")));
+        // WHEN
+        ProviderEvaluation<String> evaluation = flag.evaluate(ctx, FlagEvaluations::getStringEvaluation);
+        // THEN
+        assertEquals("grey", evaluation.getValue());
+        assertEquals("world", evaluation.getVariant());
+        assertEquals(EvaluationTool.DEFAULT_REASON, evaluation.getReason());
+    }
+
+    @Test
+    void evaluate_returnsSharedEvaluations() {
+        // GIVEN
+        EvaluationContext ctx = new ImmutableContext(Map.of("country", new Value("FR")));
+        // WHEN
+        ProviderEvaluation<String> first = flag.evaluate(ctx, FlagEvaluations::getStringEvaluation);
+        ProviderEvaluation<String> second = flag.evaluate(ctx, FlagEvaluations::getStringEvaluation);
+        // THEN
+        assertEquals("europe", first.getVariant());
+        assertSame(first, second);
+    }
+
+    @Test
+    void equals_comparesVariantsAndDefault() {
+        // GIVEN
+        TargetingRule rule = TargetingRule.compile("beta == true");
+        // WHEN & THEN
+        assertEquals(TargetedFlag.of(rule, new Value(true), new Value(false)), TargetedFlag.of(TargetingRule.compile("beta == true"), new Value(true), new Value(false)));
+        assertNotEquals(TargetedFlag.of(rule, new Value(true), new Value(false)), TargetedFlag.of(rule, new Value(false), new Value(false)));
+    }
+}
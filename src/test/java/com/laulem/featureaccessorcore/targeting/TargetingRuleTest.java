@@ -0,0 +1,130 @@
+package com.laulem.featureaccessorcore.targeting;
+
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.MutableContext;
+import dev.openfeature.sdk.MutableStructure;
+import dev.openfeature.sdk.Value;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TargetingRuleTest {
+    private final EvaluationContext ctx = new ImmutableContext("user-42", Map.of(
+            "country", new Value("FR"),
+            "age", new Value(34),
+            "score", new Value(0.75),
+            "beta", new Value(true),
+            "email", new Value("alice@laulem.com"),
+            "appVersion", new Value("2.10.0-rc.1")));
+
+    @Test
+    void matches_equality() {
+        // WHEN & THEN
+        assertTrue(TargetingRule.compile("country == \"FR\"").matches(ctx));
+        assertTrue(TargetingRule.compile("country != 'BE'").matches(ctx));
+        assertTrue(TargetingRule.compile("age == 34").matches(ctx));
+        assertTrue(TargetingRule.compile("beta == true").matches(ctx));
+        assertTrue(TargetingRule.compile("targetingKey == \"user-42\"").matches(ctx));
+        assertFalse(TargetingRule.compile("country == \"fr\"").matches(ctx));
+        assertFalse(TargetingRule.compile("age == \"34\"").matches(ctx));
+    }
+
+    @Test
+    void matches_numericComparisons() {
+        // WHEN & THEN
+        assertTrue(TargetingRule.compile("age >= 18").matches(ctx));
+        assertTrue(TargetingRule.compile("age < 34.5").matches(ctx));
+        assertTrue(TargetingRule.compile("score > 0.5 && score <= 0.75").matches(ctx));
+        assertFalse(TargetingRule.compile("age > -1 && age < 18").matches(ctx));
+        assertFalse(TargetingRule.compile("country > 1").matches(ctx));
+    }
+
+    @Test
+    void matches_membership() {
+        // WHEN & THEN
+        assertTrue(TargetingRule.compile("country in [\"BE\", \"FR\"]").matches(ctx));
+        assertTrue(TargetingRule.compile("age in [18, 34, 50]").matches(ctx));
+        assertTrue(TargetingRule.compile("beta in [true]").matches(ctx));
+        assertTrue(TargetingRule.compile("country not in [\"DE\"]").matches(ctx));
+        assertFalse(TargetingRule.compile("country in []").matches(ctx));
+        assertFalse(TargetingRule.compile("country not in ['FR', 'BE']").matches(ctx));
+    }
+
+    @Test
+    void matches_regex() {
+        // WHEN & THEN
+        assertTrue(TargetingRule.compile("email matches \".*@laulem\\.com\"").matches(ctx));
+        assertFalse(TargetingRule.compile("email matches \"laulem\"").matches(ctx));
+    }
+
+    @Test
+    void matches_semver() {
+        // WHEN & THEN
+        assertTrue(TargetingRule.compile("appVersion semver>= \"2.9.3\"").matches(ctx));
+        assertTrue(TargetingRule.compile("appVersion semver < \"2.10.0\"").matches(ctx));
+        assertTrue(TargetingRule.compile("appVersion semver > \"2.10.0-beta.4\"").matches(ctx));
+        assertTrue(TargetingRule.compile("appVersion semver > \"2.10.0-rc\"").matches(ctx));
+        assertTrue(TargetingRule.compile("appVersion semver == \"v2.10.0-rc.1+build.7\"").matches(ctx));
+        assertFalse(TargetingRule.compile("appVersion semver >= \"2.10\"").matches(ctx));
+        assertFalse(TargetingRule.compile("country semver >= \"1.0.0\"").matches(ctx));
+    }
+
+    @Test
+    void matches_combinesConditions() {
+        // WHEN & THEN
+        assertTrue(TargetingRule.compile("(country == 'BE' || country == 'FR') && !(age < 18)").matches(ctx));
+        assertTrue(TargetingRule.compile("country == 'BE' || beta == true && age > 30").matches(ctx));
+        assertFalse(TargetingRule.compile("!beta == true").matches(ctx));
+    }
+
+    @Test
+    void matches_withMissingAttribute_isFalse() {
+        // WHEN & THEN
+        assertFalse(TargetingRule.compile("plan == 'pro'").matches(ctx));
+        assertFalse(TargetingRule.compile("plan != 'pro'").matches(ctx));
+        assertFalse(TargetingRule.compile("plan not in ['free']").matches(ctx));
+        assertTrue(TargetingRule.compile("!(plan == 'pro')").matches(ctx));
+        assertFalse(TargetingRule.compile("country == 'FR'").matches(null));
+    }
+
+    @Test
+    void matches_readsNestedAttributes() {
+        // GIVEN
+        MutableContext context = new MutableContext();
+        context.add("user", new MutableStructure().add("country", "BE"));
+        context.add("plan.name", "pro");
+        // WHEN & THEN
+        assertTrue(TargetingRule.compile("user.country == 'BE'").matches(context));
+        assertTrue(TargetingRule.compile("plan.name == 'pro'").matches(context));
+        assertFalse(TargetingRule.compile("user.country.code == 'BE'").matches(context));
+    }
+
+    @Test
+    void compile_withInvalidExpression_throwsException() {
+        // WHEN & THEN
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> TargetingRule.compile("country == "));
+        assertTrue(ex.getMessage().contains("position 11"));
+        assertThrows(IllegalArgumentException.class, () -> TargetingRule.compile(""));
+        assertThrows(IllegalArgumentException.class, () -> TargetingRule.compile("country = 'FR'"));
+        assertThrows(IllegalArgumentException.class, () -> TargetingRule.compile("country == 'FR"));
+        assertThrows(IllegalArgumentException.class, () -> TargetingRule.compile("age < 'ten'"));
+        assertThrows(IllegalArgumentException.class, () -> TargetingRule.compile("country like 'F%'"));
+        assertThrows(IllegalArgumentException.class, () -> TargetingRule.compile("email matches '['"));
+        assertThrows(IllegalArgumentException.class, () -> TargetingRule.compile("appVersion semver >= 'latest'"));
+        assertThrows(IllegalArgumentException.class, () -> TargetingRule.compile("(country == 'FR'"));
+        assertThrows(IllegalArgumentException.class, () -> TargetingRule.compile("country == 'FR' beta == true"));
+    }
+
+    @Test
+    void equals_comparesExpressions() {
+        // WHEN & THEN
+        assertEquals(TargetingRule.compile("age > 18"), TargetingRule.compile("age > 18"));
+        assertEquals("age > 18", TargetingRule.compile("age > 18").toString());
+    }
+}
@@ -0,0 +1,125 @@
+package com.laulem.featureaccessorcore.targeting;
+
+import com.laulem.featureaccessorcore.tool.EvaluationTool;
+import com.laulem.featureaccessorcore.tool.FlagEvaluations;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WeightedSplitTest {
+    private static final int USERS = 20_000;
+
+    @Test
+    void percentage_enablesAboutThatShareOfKeys() {
+        // GIVEN
+        WeightedSplit rollout = WeightedSplit.percentage("NEW_UI", 25);
+        // WHEN
+        int enabled = 0;
+        for (int i = 0; i < USERS; i++) {
+            enabled += isEnabled(rollout, "user-" + i) ? 1 : 0;
+        }
+        // THEN
+        assertEquals(0.25, enabled / (double) USERS, 0.02);
+    }
+
+    @Test
+    void percentage_whenRaised_keepsEnabledKeys() {
+        // GIVEN
+        WeightedSplit ten = WeightedSplit.percentage("NEW_UI", 10);
+        WeightedSplit fifty = WeightedSplit.percentage("NEW_UI", 50.5);
+        // WHEN & THEN
+        for (int i = 0; i < USERS; i++) {
+            String key = "user-" + i;
+            if (isEnabled(ten, key)) {
+                assertTrue(isEnabled(fifty, key), key);
+            }
+        }
+    }
+
+    @Test
+    void percentage_withBounds() {
+        // WHEN & THEN
+        assertFalse(isEnabled(WeightedSplit.percentage("FLAG", 0), "user-1"));
+        assertTrue(isEnabled(WeightedSplit.percentage("FLAG", 100), "user-1"));
+        assertThrows(IllegalArgumentException.class, () -> WeightedSplit.percentage("FLAG", 100.5));
+        assertThrows(IllegalArgumentException.class, () -> WeightedSplit.percentage("FLAG", Double.NaN));
+    }
+
+    @Test
+    void evaluate_isStablePerKeyAndIndependentPerSalt() {
+        // GIVEN
+        WeightedSplit first = WeightedSplit.percentage("FIRST", 50);
+        WeightedSplit second = WeightedSplit.percentage("SECOND", 50);
+        // WHEN
+        int sameBuckets = 0;
+        for (int i = 0; i < USERS; i++) {
+            String key = "user-" + i;
+            assertEquals(isEnabled(first, key), isEnabled(first, key));
+            sameBuckets += isEnabled(first, key) == isEnabled(second, key) ? 1 : 0;
+        }
+        // THEN
+        assertEquals(0.5, sameBuckets / (double) USERS, 0.03);
+    }
+
+    @Test
+    void parse_splitsKeysByWeight() {
+        // GIVEN
+        WeightedSplit split = WeightedSplit.parse("THEME", "blue:50, green:30, red:20");
+        Map<String, Integer> counts = new HashMap<>();
+        // WHEN
+        for (int i = 0; i < USERS; i++) {
+            ProviderEvaluation<String> evaluation = split.evaluate(new ImmutableContext("user-" + i), FlagEvaluations::getStringEvaluation);
+            assertEquals(evaluation.getValue(), evaluation.getVariant());
+            assertEquals(EvaluationTool.SPLIT_REASON, evaluation.getReason());
+            counts.merge(evaluation.getValue(), 1, Integer::sum);
+        }
+        // THEN
+        assertEquals(0.5, counts.get("blue") / (double) USERS, 0.02);
+        assertEquals(0.3, counts.get("green") / (double) USERS, 0.02);
+        assertEquals(0.2, counts.get("red") / (double) USERS, 0.02);
+    }
+
+    @Test
+    void evaluate_withoutTargetingKey_returnsFallback() {
+        // GIVEN
+        WeightedSplit split = WeightedSplit.parse("THEME", "blue:50,green:50");
+        // WHEN
+        ProviderEvaluation<String> evaluation = split.evaluate(new ImmutableContext(), FlagEvaluations::getStringEvaluation);
+        // THEN
+        assertEquals("blue", evaluation.getValue());
+        assertEquals(EvaluationTool.DEFAULT_REASON, evaluation.getReason());
+        assertEquals("off", WeightedSplit.percentage("FLAG", 100).evaluate(null, FlagEvaluations::getBooleanEvaluation).getVariant());
+    }
+
+    @Test
+    void parse_withInvalidWeights_throwsException() {
+        // WHEN & THEN
+        assertThrows(IllegalArgumentException.class, () -> WeightedSplit.parse("THEME", "blue"));
+        assertThrows(IllegalArgumentException.class, () -> WeightedSplit.parse("THEME", "blue:many"));
+        assertThrows(IllegalArgumentException.class, () -> WeightedSplit.parse("THEME", "blue:-1,green:2"));
+        assertThrows(IllegalArgumentException.class, () -> WeightedSplit.parse("THEME", "blue:0"));
+    }
+
+    @Test
+    void equals_comparesSaltAndAllocations() {
+        // WHEN & THEN
+        assertEquals(WeightedSplit.percentage("FLAG", 20), WeightedSplit.percentage("FLAG", 20));
+        assertNotEquals(WeightedSplit.percentage("FLAG", 20), WeightedSplit.percentage("FLAG", 30));
+        assertNotEquals(WeightedSplit.percentage("FLAG", 20), WeightedSplit.percentage("OTHER", 20));
+    }
+
+    private static boolean isEnabled(WeightedSplit rollout, String targetingKey) {
+        EvaluationContext ctx = new ImmutableContext(targetingKey);
+        return rollout.evaluate(ctx, FlagEvaluations::getBooleanEvaluation).getValue();
+    }
+}
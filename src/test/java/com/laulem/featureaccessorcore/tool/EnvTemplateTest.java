@@ -0,0 +1,57 @@
+package com.laulem.featureaccessorcore.tool;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EnvTemplateTest {
+    private static final EnvSnapshot SNAPSHOT = EnvSnapshot.of(
+            Map.of("FLAG_ENABLED", "true", "shared.name", "from-env"),
+            Map.of("flag.ratio", "0.5", "shared.name", "from-property"));
+
+    @Test
+    void compile_withoutPlaceholder_isLiteral() {
+        // GIVEN
+        EnvTemplate template = EnvTemplate.compile("plain value");
+        // WHEN & THEN
+        assertTrue(template.isLiteral());
+        assertEquals("plain value", template.resolve(SNAPSHOT));
+    }
+
+    @Test
+    void resolve_replacesEnvironmentVariablesAndSystemProperties() {
+        // GIVEN
+        EnvTemplate template = EnvTemplate.compile("enabled=${FLAG_ENABLED}, ratio=${flag.ratio}, name=${shared.name}");
+        // WHEN
+        String resolved = template.resolve(SNAPSHOT);
+        // THEN
+        assertFalse(template.isLiteral());
+        assertEquals("enabled=true, ratio=0.5, name=from-env", resolved);
+    }
+
+    @Test
+    void resolve_usesNestedDefaults() {
+        // GIVEN
+        EnvTemplate fallback = EnvTemplate.compile("${MISSING:${FLAG_ENABLED:false}}");
+        EnvTemplate lastDefault = EnvTemplate.compile("${MISSING:${OTHER_MISSING:false}}!");
+        EnvTemplate empty = EnvTemplate.compile("[${MISSING}]");
+        // WHEN & THEN
+        assertEquals("true", fallback.resolve(SNAPSHOT));
+        assertEquals("false!", lastDefault.resolve(SNAPSHOT));
+        assertEquals("[]", empty.resolve(SNAPSHOT));
+    }
+
+    @Test
+    void resolve_keepsInvalidPlaceholdersAsText() {
+        // GIVEN
+        EnvTemplate invalidName = EnvTemplate.compile("${not a name}-${FLAG_ENABLED}");
+        EnvTemplate unterminated = EnvTemplate.compile("${FLAG_ENABLED}-${FLAG_ENABLED");
+        // WHEN & THEN
+        assertEquals("${not a name}-true", invalidName.resolve(SNAPSHOT));
+        assertEquals("true-${FLAG_ENABLED", unterminated.resolve(SNAPSHOT));
+    }
+}
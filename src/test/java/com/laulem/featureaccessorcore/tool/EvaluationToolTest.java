@@ -32,6 +32,32 @@ class EvaluationToolTest {
         assertNull(evaluation.getErrorCode());
     }
 
+    @Test
+    void evaluateFlag_returnsTypeMismatchIfFlagHoldsAnotherType() {
+        // GIVEN
+        Map<String, Value> flagMap = new HashMap<>();
+        flagMap.put("FLAG", new Value("not_a_boolean"));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        ProviderEvaluation<Boolean> evaluation = EvaluationTool.evaluateFlag(flagMap, "FLAG", true, evaluationContext, Value::asBoolean);
+        // THEN
+        assertTrue(evaluation.getValue());
+        assertEquals(ErrorCode.TYPE_MISMATCH, evaluation.getErrorCode());
+    }
+
+    @Test
+    void evaluatePrecomputedFlag_returnsTypeMismatchIfFlagHoldsAnotherType() {
+        // GIVEN
+        Map<String, FlagDefinition> flagMap = Map.of("BANNER", FlagEvaluations.of(new Value("Hello")));
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        ProviderEvaluation<Integer> evaluation = EvaluationTool.evaluatePrecomputedFlag(flagMap, "banner", 7, evaluationContext, FlagEvaluations::getIntegerEvaluation);
+        // THEN
+        assertEquals(7, evaluation.getValue());
+        assertEquals(EvaluationTool.ERROR_REASON, evaluation.getReason());
+        assertEquals(ErrorCode.TYPE_MISMATCH, evaluation.getErrorCode());
+    }
+
     @Test
     void evaluateFlag_returnsDefaultReasonIfFlagMissing() {
         // GIVEN
@@ -0,0 +1,129 @@
+package com.laulem.featureaccessorcore.tool;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlagKeyIndexTest {
+    @Test
+    void get_isCaseInsensitive() {
+        // GIVEN
+        FlagKeyIndex<String> index = FlagKeyIndex.of(Map.of("my_Flag", "value"));
+        // WHEN
+        String lowerCase = index.get("my_flag");
+        String upperCase = index.get("MY_FLAG");
+        // THEN
+        assertEquals("value", lowerCase);
+        assertEquals("value", upperCase);
+    }
+
+    @Test
+    void get_returnsNullIfKeyMissing() {
+        // GIVEN
+        FlagKeyIndex<String> index = FlagKeyIndex.of(Map.of("flag", "value"));
+        // WHEN
+        String value = index.get("other_flag");
+        // THEN
+        assertNull(value);
+    }
+
+    @Test
+    void get_onEmptyIndex_returnsNull() {
+        // GIVEN
+        FlagKeyIndex<String> index = FlagKeyIndex.of(Map.of());
+        // WHEN & THEN
+        assertNull(index.get("flag"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void get_withNullKey_throwsException() {
+        // GIVEN
+        FlagKeyIndex<String> index = FlagKeyIndex.of(Map.of("flag", "value"));
+        // WHEN & THEN
+        assertThrows(NullPointerException.class, () -> index.get(null));
+    }
+
+    @Test
+    void of_findsEveryKeyOfALargeSet() {
+        // GIVEN
+        Map<String, Integer> entries = new LinkedHashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            entries.put("customer_" + i + "_enabled", i);
+        }
+        // WHEN
+        FlagKeyIndex<Integer> index = FlagKeyIndex.of(entries);
+        // THEN
+        assertEquals(10_000, index.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, index.get("CUSTOMER_" + i + "_ENABLED"));
+            assertNull(index.get("customer_" + i + "_disabled"));
+        }
+    }
+
+    @Test
+    void indexOf_returnsDistinctSlotsWithinSize() {
+        // GIVEN
+        Map<String, Integer> entries = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            entries.put("flag_" + i, i);
+        }
+        FlagKeyIndex<Integer> index = FlagKeyIndex.of(entries);
+        Set<Integer> slots = new HashSet<>();
+        // WHEN
+        for (String key : entries.keySet()) {
+            slots.add(index.indexOf(key));
+        }
+        // THEN
+        assertEquals(100, slots.size());
+        assertTrue(slots.stream().allMatch(slot -> slot >= 0 && slot < 100));
+        assertEquals(-1, index.indexOf("unknown"));
+    }
+
+    @Test
+    void of_keysDifferingByCase_lastOneWins() {
+        // GIVEN
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("flag", "first");
+        entries.put("FLAG", "second");
+        // WHEN
+        FlagKeyIndex<String> index = FlagKeyIndex.of(entries);
+        // THEN
+        assertEquals(1, index.size());
+        assertEquals("second", index.get("Flag"));
+    }
+
+    @Test
+    void get_withNonAsciiKey_fallsBackToNormalization() {
+        // GIVEN
+        FlagKeyIndex<String> index = FlagKeyIndex.of(Map.of("déploiement", "value"));
+        // WHEN
+        String value = index.get("DÉPLOIEMENT");
+        String mixedCase = index.get("Déploiement");
+        // THEN
+        assertEquals("value", value);
+        assertEquals("value", mixedCase);
+        assertNull(index.get("deploiement"));
+    }
+
+    @Test
+    void keys_returnsNormalizedKeys() {
+        // GIVEN
+        FlagKeyIndex<String> index = FlagKeyIndex.of(Map.of("a", "1", "b", "2"));
+        // WHEN
+        Set<String> keys = index.keys();
+        // THEN
+        assertEquals(Set.of("A", "B"), keys);
+        assertTrue(keys.contains("a"));
+        assertFalse(keys.contains("c"));
+    }
+}
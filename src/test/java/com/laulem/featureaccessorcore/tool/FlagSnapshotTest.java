@@ -0,0 +1,239 @@
+package com.laulem.featureaccessorcore.tool;
+
+import com.laulem.featureaccessorcore.exception.SnapshotWriteStalledException;
+import dev.openfeature.sdk.Value;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlagSnapshotTest {
+    @Test
+    void write_andReadTypedFlags(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = directory.resolve("flags.snapshot");
+        Map<String, Value> flags = new LinkedHashMap<>();
+        flags.put("enabled", new Value(true));
+        flags.put("limit", new Value(500));
+        flags.put("ratio", new Value(0.75));
+        flags.put("banner", new Value("Hello wörld"));
+        try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(file, 16, 1024)) {
+            writer.write(flags);
+        }
+        // WHEN
+        FlagSnapshot snapshot = FlagSnapshot.map(file);
+        // THEN
+        assertTrue(snapshot.getBoolean("ENABLED", false));
+        assertEquals(500, snapshot.getInteger("limit", 0));
+        assertEquals(500.0, snapshot.getDouble("limit", 0));
+        assertEquals(0.75, snapshot.getDouble("Ratio", 0));
+        assertEquals("Hello wörld", snapshot.getString("banner", null));
+        assertEquals(new Value(500), snapshot.getValue("limit"));
+        assertEquals(Set.of("ENABLED", "LIMIT", "RATIO", "BANNER"), snapshot.keys());
+        assertEquals(4, snapshot.size());
+        assertEquals(1, snapshot.getVersion());
+    }
+
+    @Test
+    void getters_returnDefaultForMissingOrMismatchedFlags(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = directory.resolve("flags.snapshot");
+        try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(file, 4, 256)) {
+            writer.write(Map.of("banner", new Value("Hello")));
+        }
+        // WHEN
+        FlagSnapshot snapshot = FlagSnapshot.map(file);
+        // THEN
+        assertNull(snapshot.getValue("missing"));
+        assertTrue(snapshot.getBoolean("missing", true));
+        assertFalse(snapshot.getBoolean("banner", false));
+        assertEquals(-1, snapshot.getInteger("banner", -1));
+    }
+
+    @Test
+    void values_andChecksum_coverWholeSnapshot(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = directory.resolve("flags.snapshot");
+        try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(file, 4, 256)) {
+            writer.write(Map.of("enabled", new Value(true), "banner", new Value("Hello")));
+        }
+        byte[] content = Files.readAllBytes(file);
+        // WHEN
+        FlagSnapshot snapshot = FlagSnapshot.of(ByteBuffer.wrap(content));
+        // THEN
+        assertEquals(Map.of("ENABLED", new Value(true), "BANNER", new Value("Hello")), snapshot.values());
+        assertTrue(snapshot.verifyChecksum());
+        content[content.length - 256 + 8] ^= 1;
+        assertFalse(snapshot.verifyChecksum());
+    }
+
+    @Test
+    void write_isSeenByExistingMapping(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = directory.resolve("flags.snapshot");
+        try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(file, 4, 256)) {
+            writer.write(Map.of("kill_switch", new Value(false)));
+            FlagSnapshot snapshot = FlagSnapshot.map(file);
+            // WHEN
+            long version = writer.write(Map.of("kill_switch", new Value(true), "added", new Value(1)));
+            // THEN
+            assertTrue(snapshot.getBoolean("kill_switch", false));
+            assertEquals(1, snapshot.getInteger("added", 0));
+            assertEquals(2, version);
+            assertEquals(2, snapshot.getVersion());
+        }
+    }
+
+    @Test
+    void open_keepsCapacityOfExistingFile(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = directory.resolve("flags.snapshot");
+        try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(file, 4, 256)) {
+            writer.write(Map.of("flag", new Value(true)));
+        }
+        // WHEN
+        try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(file, 1000, 100_000)) {
+            // THEN
+            assertEquals(256, writer.getDataCapacity());
+            assertEquals(1, FlagSnapshot.map(file).size());
+        }
+    }
+
+    @Test
+    void write_rejectsFlagsExceedingCapacity(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = directory.resolve("flags.snapshot");
+        try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(file, 2, 16)) {
+            writer.write(Map.of("flag", new Value(true)));
+            // WHEN / THEN
+            assertThrows(IllegalArgumentException.class, () -> writer.write(Map.of("banner", new Value("a long string value"))));
+            assertThrows(IllegalArgumentException.class, () -> writer.write(Map.of("list", new Value(List.of(new Value(1))))));
+            assertTrue(FlagSnapshot.map(file).getBoolean("flag", false));
+        }
+    }
+
+    @Test
+    void map_rejectsOtherFiles(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = Files.writeString(directory.resolve("flags.properties"), "feature-accessor.flag=true\n".repeat(4));
+        // WHEN / THEN
+        assertThrows(IllegalArgumentException.class, () -> FlagSnapshot.map(file));
+        assertThrows(IllegalArgumentException.class, () -> FlagSnapshot.of(ByteBuffer.allocate(8)));
+    }
+
+    @Test
+    void map_rejectsFilesOfPreviousFormatVersion(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = directory.resolve("flags.snapshot");
+        try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(file, 4, 256)) {
+            writer.write(Map.of("flag", new Value(true)));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 1), FlagSnapshot.FORMAT_VERSION_OFFSET);
+        }
+        // WHEN
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> FlagSnapshot.map(file));
+        // THEN
+        assertEquals("Unsupported flag snapshot format version: 1", exception.getMessage());
+    }
+
+    @Test
+    void getString_neverReturnsTornValueDuringWrites(@TempDir Path directory) throws Exception {
+        // GIVEN
+        Path file = directory.resolve("flags.snapshot");
+        String first = "a".repeat(100);
+        String second = "b".repeat(10);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> torn = new AtomicReference<>();
+        try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(file, 16, 4096)) {
+            writer.write(Map.of("banner", new Value(first)));
+            FlagSnapshot snapshot = FlagSnapshot.map(file);
+            Thread reader = new Thread(() -> {
+                while (running.get()) {
+                    String value = snapshot.getString("banner", null);
+                    if (!first.equals(value) && !second.equals(value)) {
+                        torn.set(value);
+                    }
+                }
+            });
+            reader.start();
+            // WHEN
+            for (int i = 0; i < 2_000; i++) {
+                writer.write(Map.of("banner", new Value(i % 2 == 0 ? second : first), "other_" + (i % 7), new Value(i)));
+            }
+            running.set(false);
+            reader.join();
+        }
+        // THEN
+        assertNull(torn.get());
+    }
+
+    @Test
+    void reads_doNotWaitForeverOnWriteLeftInProgress(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = directory.resolve("flags.snapshot");
+        try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(file, 4, 256)) {
+            writer.write(Map.of("enabled", new Value(true), "limit", new Value(500)));
+        }
+        FlagSnapshot snapshot = FlagSnapshot.map(file);
+        // WHEN: a writer died mid-write, leaving an odd sequence
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, 3), FlagSnapshot.SEQUENCE_OFFSET);
+        }
+        // THEN
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertFalse(snapshot.getBoolean("enabled", false));
+            assertEquals(-1, snapshot.getInteger("limit", -1));
+            assertEquals(-1.0, snapshot.getDouble("limit", -1.0));
+            assertEquals("default", snapshot.getString("enabled", "default"));
+            assertThrows(SnapshotWriteStalledException.class, () -> snapshot.getValue("enabled"));
+            assertThrows(SnapshotWriteStalledException.class, snapshot::keys);
+            assertFalse(snapshot.verifyChecksum());
+            assertEquals(1, snapshot.getVersion());
+        });
+    }
+
+    @Test
+    void reads_failFastOnceWriteIsFoundStalled(@TempDir Path directory) throws IOException {
+        // GIVEN
+        Path file = directory.resolve("flags.snapshot");
+        try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(file, 4, 256)) {
+            writer.write(Map.of("enabled", new Value(true)));
+        }
+        FlagSnapshot snapshot = FlagSnapshot.map(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, 3), FlagSnapshot.SEQUENCE_OFFSET);
+        }
+        assertFalse(snapshot.getBoolean("enabled", false));
+        // WHEN / THEN
+        // Waiting again on each read would take 1000 x 50 ms.
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int i = 0; i < 1000; i++) {
+                assertFalse(snapshot.getBoolean("enabled", false));
+            }
+        });
+        try (FlagSnapshotWriter writer = FlagSnapshotWriter.open(file, 4, 256)) {
+            writer.write(Map.of("enabled", new Value(true)));
+        }
+        assertTrue(snapshot.getBoolean("enabled", false));
+    }
+}
@@ -0,0 +1,66 @@
+package com.laulem.featureaccessorcore.tool;
+
+import com.laulem.featureaccessorcore.exception.ProviderException;
+import dev.openfeature.sdk.Structure;
+import dev.openfeature.sdk.Value;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlagValueTypeTest {
+    @Test
+    void fromSuffix_ignoresCase() {
+        // WHEN & THEN
+        assertEquals(FlagValueType.INTEGER, FlagValueType.fromSuffix("INT"));
+        assertEquals(FlagValueType.JSON, FlagValueType.fromSuffix("json"));
+        assertThrows(IllegalArgumentException.class, () -> FlagValueType.fromSuffix("long"));
+    }
+
+    @Test
+    void parse_returnsTypedValues() {
+        // WHEN & THEN
+        assertEquals(true, FlagValueType.BOOLEAN.parse("flag", "TRUE").asBoolean());
+        assertEquals(500, FlagValueType.INTEGER.parse("flag", " 500 ").asInteger());
+        assertEquals(0.25, FlagValueType.DOUBLE.parse("flag", "0.25").asDouble());
+        assertEquals(" text ", FlagValueType.STRING.parse("flag", " text ").asString());
+    }
+
+    @Test
+    void parse_withMismatchingValue_throwsException() {
+        // WHEN
+        ProviderException ex = assertThrows(ProviderException.class, () -> FlagValueType.INTEGER.parse("batch_size", "large"));
+        // THEN
+        assertTrue(ex.getMessage().contains("batch_size"));
+        assertThrows(ProviderException.class, () -> FlagValueType.BOOLEAN.parse("flag", "yes"));
+    }
+
+    @Test
+    void parse_json_returnsStructure() {
+        // GIVEN
+        String json = "{\"name\": \"checkout\", \"limits\": [1, 2.5, 3000000000], \"enabled\": true, \"owner\": null, \"note\": \"a\\\"b\\u00e9\"}";
+        // WHEN
+        Value value = FlagValueType.JSON.parse("flag", json);
+        // THEN
+        Structure structure = value.asStructure();
+        assertEquals("checkout", structure.getValue("name").asString());
+        List<Value> limits = structure.getValue("limits").asList();
+        assertEquals(1, limits.get(0).asInteger());
+        assertEquals(2.5, limits.get(1).asDouble());
+        assertEquals(3_000_000_000d, limits.get(2).asDouble());
+        assertEquals(true, structure.getValue("enabled").asBoolean());
+        assertTrue(structure.getValue("owner").isNull());
+        assertEquals("a\"bé", structure.getValue("note").asString());
+    }
+
+    @Test
+    void parse_withInvalidJson_throwsException() {
+        // WHEN & THEN
+        assertThrows(ProviderException.class, () -> FlagValueType.JSON.parse("flag", "{\"a\": }"));
+        assertThrows(ProviderException.class, () -> FlagValueType.JSON.parse("flag", "[1, 2"));
+        assertThrows(ProviderException.class, () -> FlagValueType.JSON.parse("flag", "{} extra"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.laulem.featureaccessorcore.tool;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrequencySketchTest {
+    @Test
+    void frequency_countsIncrementsUpTo15() {
+        // GIVEN
+        FrequencySketch sketch = new FrequencySketch(1024);
+        // WHEN
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("popular".hashCode());
+        }
+        for (int i = 0; i < 40; i++) {
+            sketch.increment("hot".hashCode());
+        }
+        // THEN
+        assertEquals(5, sketch.frequency("popular".hashCode()));
+        assertEquals(15, sketch.frequency("hot".hashCode()));
+        assertEquals(0, sketch.frequency("unknown".hashCode()));
+    }
+
+    @Test
+    void increment_halvesCountersAfterSample() {
+        // GIVEN
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment(42);
+        }
+        // WHEN
+        for (int i = 0; i < 200; i++) {
+            sketch.increment(1_000 + i * 7919);
+        }
+        // THEN
+        assertTrue(sketch.frequency(42) < 8);
+    }
+
+    @Test
+    void constructor_withInvalidSampleSize_throwsException() {
+        // WHEN & THEN
+        assertThrows(IllegalArgumentException.class, () -> new FrequencySketch(0));
+    }
+}
@@ -0,0 +1,87 @@
+package com.laulem.featureaccessorcore.tool;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyBloomFilterTest {
+    @Test
+    void mightContain_neverReturnsFalseForAddedKeys() {
+        // GIVEN
+        KeyBloomFilter filter = new KeyBloomFilter(1_000, 0.01);
+        // WHEN
+        for (int i = 0; i < 1_000; i++) {
+            filter.add("flag_" + i);
+        }
+        // THEN
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain("flag_" + i));
+        }
+    }
+
+    @Test
+    void mightContain_isCaseInsensitive() {
+        // GIVEN
+        KeyBloomFilter filter = new KeyBloomFilter(10, 0.01);
+        // WHEN
+        filter.add("my_Flag");
+        filter.add("déploiement");
+        // THEN
+        assertTrue(filter.mightContain("MY_FLAG"));
+        assertTrue(filter.mightContain("my_flag"));
+        assertTrue(filter.mightContain("DÉPLOIEMENT"));
+    }
+
+    @Test
+    void mightContain_rejectsMostUnknownKeys() {
+        // GIVEN
+        KeyBloomFilter filter = new KeyBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add("flag_" + i);
+        }
+        int falsePositives = 0;
+        // WHEN
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("unknown_" + i)) {
+                falsePositives++;
+            }
+        }
+        // THEN
+        assertTrue(falsePositives < 300, "Too many false positives: " + falsePositives);
+    }
+
+    @Test
+    void isSaturated_onceMoreKeysThanExpected() {
+        // GIVEN
+        KeyBloomFilter filter = new KeyBloomFilter(2, 0.01);
+        filter.add("a");
+        filter.add("b");
+        // WHEN
+        boolean beforeLimit = filter.isSaturated();
+        filter.add("c");
+        // THEN
+        assertFalse(beforeLimit);
+        assertTrue(filter.isSaturated());
+    }
+
+    @Test
+    void isSaturated_doesNotCountKeysAddedAgain() {
+        // GIVEN
+        KeyBloomFilter filter = new KeyBloomFilter(100, 0.01);
+        // WHEN
+        for (int i = 0; i < 1_000; i++) {
+            filter.add("flag_" + (i % 10));
+        }
+        // THEN
+        assertFalse(filter.isSaturated());
+    }
+
+    @Test
+    void constructor_withInvalidArguments_throwsException() {
+        // WHEN & THEN
+        assertThrows(IllegalArgumentException.class, () -> new KeyBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new KeyBloomFilter(10, 1));
+    }
+}
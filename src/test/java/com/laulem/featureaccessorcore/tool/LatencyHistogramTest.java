@@ -0,0 +1,76 @@
+package com.laulem.featureaccessorcore.tool;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LatencyHistogramTest {
+    @Test
+    void snapshot_countsDurationsAndMax() {
+        // GIVEN
+        LatencyHistogram histogram = new LatencyHistogram();
+        // WHEN
+        histogram.record(100);
+        histogram.record(300);
+        histogram.record(-5);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        // THEN
+        assertEquals(3, snapshot.getCount());
+        assertEquals(300, snapshot.getMaxNanos());
+        assertEquals(400 / 3.0, snapshot.getMeanNanos(), 0.001);
+    }
+
+    @Test
+    void getPercentileNanos_returnsUpperLimitOfBucket() {
+        // GIVEN
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5_000);
+        // WHEN
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        // THEN
+        assertEquals(127, snapshot.getPercentileNanos(50));
+        assertEquals(127, snapshot.getPercentileNanos(99));
+        assertEquals(5_000, snapshot.getPercentileNanos(100));
+    }
+
+    @Test
+    void getPercentileNanos_emptySnapshotReturnsZero() {
+        // WHEN
+        LatencyHistogram.Snapshot snapshot = LatencyHistogram.Snapshot.empty();
+        // THEN
+        assertEquals(0, snapshot.getPercentileNanos(99));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentileNanos(101));
+    }
+
+    @Test
+    void merge_addsBuckets() {
+        // GIVEN
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(10);
+        second.record(1_000);
+        second.record(1_000);
+        // WHEN
+        LatencyHistogram.Snapshot merged = first.snapshot().merge(second.snapshot());
+        // THEN
+        assertEquals(3, merged.getCount());
+        assertEquals(1_000, merged.getMaxNanos());
+        assertEquals(15, merged.getPercentileNanos(33));
+    }
+
+    @Test
+    void reset_clearsDurations() {
+        // GIVEN
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        // WHEN
+        histogram.reset();
+        // THEN
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getMaxNanos());
+    }
+}
@@ -0,0 +1,53 @@
+package com.laulem.featureaccessorcore.tool;
+
+import dev.openfeature.sdk.ErrorCode;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LazyFlagDefinitionTest {
+    @Test
+    void evaluate_loadsDefinitionOnce() {
+        // GIVEN
+        AtomicInteger loads = new AtomicInteger();
+        FlagDefinition definition = FlagDefinition.lazy("flag=true", () -> {
+            loads.incrementAndGet();
+            return FlagEvaluations.of(true);
+        });
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        definition.evaluate(evaluationContext, FlagEvaluations::getBooleanEvaluation);
+        ProviderEvaluation<Boolean> evaluation = definition.evaluate(evaluationContext, FlagEvaluations::getBooleanEvaluation);
+        // THEN
+        assertEquals(true, evaluation.getValue());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void evaluate_keepsLoaderFailure() {
+        // GIVEN
+        AtomicInteger loads = new AtomicInteger();
+        FlagDefinition definition = FlagDefinition.lazy("flag[int]=oops", () -> {
+            loads.incrementAndGet();
+            throw new IllegalArgumentException("Invalid integer");
+        });
+        EvaluationContext evaluationContext = Mockito.mock(EvaluationContext.class);
+        // WHEN
+        IllegalArgumentException first = assertThrows(IllegalArgumentException.class, () -> definition.evaluate(evaluationContext, FlagEvaluations::getIntegerEvaluation));
+        IllegalArgumentException second = assertThrows(IllegalArgumentException.class, () -> definition.evaluate(evaluationContext, FlagEvaluations::getIntegerEvaluation));
+        ProviderEvaluation<Integer> evaluation = EvaluationTool.evaluatePrecomputedFlag(Map.of("FLAG", definition), "flag", 10, evaluationContext, FlagEvaluations::getIntegerEvaluation);
+        // THEN
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(10, evaluation.getValue());
+        assertEquals(ErrorCode.PARSE_ERROR, evaluation.getErrorCode());
+    }
+}
@@ -0,0 +1,94 @@
+package com.laulem.featureaccessorcore.tool;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PropertiesScannerTest {
+    private static final String PREFIX = "FEATURE-ACCESSOR.";
+
+    @Test
+    void scan_readsOnlyEntriesWithPrefix() {
+        // GIVEN
+        String content = "feature-accessor.first=true\nother.key=value\nFEATURE-ACCESSOR.second=false\n";
+        Map<String, String> entries = new LinkedHashMap<>();
+        // WHEN
+        int entryCount = PropertiesScanner.scan(buffer(content), PREFIX, entries::put);
+        // THEN
+        assertEquals(3, entryCount);
+        assertEquals(Map.of("first", "true", "second", "false"), entries);
+    }
+
+    @Test
+    void scan_matchesPropertiesLoad() throws IOException {
+        // GIVEN
+        String content = """
+                # comment
+                ! other comment
+                   feature-accessor.indented = true
+                feature-accessor.colon:false
+                feature-accessor.space  true
+                feature-accessor.continued=tr\\
+                    ue
+                feature-accessor.crlf=true\r
+                feature-accessor.escaped\\=key=value\\twith\\ttabs
+                feature-accessor.unicode=\\u0041\\u00e9
+                feature-accessor.latin=\u00e9t\u00e9
+                feature-accessor.empty
+                feature-accessor.trailing=value\\\\
+                feature-accessor.\\
+                  split=true
+                fe\\ature-accessor.escaped_prefix=true
+                not.a.flag=\\
+                  # not a comment
+                feature-accessor.last=true""";
+        Properties properties = new Properties();
+        properties.load(new ByteArrayInputStream(content.getBytes(StandardCharsets.ISO_8859_1)));
+        Map<String, String> expected = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+                expected.put(key.substring(PREFIX.length()), properties.getProperty(key));
+            }
+        }
+        Map<String, String> entries = new HashMap<>();
+        // WHEN
+        int entryCount = PropertiesScanner.scan(buffer(content), PREFIX, entries::put);
+        // THEN
+        assertEquals(expected, entries);
+        assertEquals(properties.size(), entryCount);
+    }
+
+    @Test
+    void scan_withMalformedUnicodeEscape_throwsException() {
+        // GIVEN
+        String content = "feature-accessor.flag=\\u00zz\n";
+        // WHEN & THEN
+        assertThrows(IllegalArgumentException.class, () -> PropertiesScanner.scan(buffer(content), PREFIX, (key, value) -> {
+        }));
+    }
+
+    @Test
+    void scan_doesNotMoveBufferPosition() {
+        // GIVEN
+        ByteBuffer buffer = buffer("feature-accessor.flag=true");
+        // WHEN
+        PropertiesScanner.scan(buffer, PREFIX, (key, value) -> {
+        });
+        // THEN
+        assertEquals(0, buffer.position());
+    }
+
+    private static ByteBuffer buffer(String content) {
+        return ByteBuffer.wrap(content.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
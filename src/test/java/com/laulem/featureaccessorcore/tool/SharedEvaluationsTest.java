@@ -0,0 +1,71 @@
+package com.laulem.featureaccessorcore.tool;
+
+import dev.openfeature.sdk.ErrorCode;
+import dev.openfeature.sdk.ProviderEvaluation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedEvaluationsTest {
+    @Test
+    void staticResult_withBoolean_returnsConstant() {
+        // WHEN
+        ProviderEvaluation<Boolean> first = SharedEvaluations.staticResult(true);
+        ProviderEvaluation<Boolean> second = SharedEvaluations.staticResult(Boolean.TRUE);
+        // THEN
+        assertSame(first, second);
+        assertTrue(first.getValue());
+        assertEquals(EvaluationTool.STATIC_REASON, first.getReason());
+        assertNull(first.getErrorCode());
+    }
+
+    @Test
+    void notFound_withSameDefaultInstance_returnsSameEvaluation() {
+        // GIVEN
+        String defaultValue = "default";
+        // WHEN
+        ProviderEvaluation<String> first = SharedEvaluations.notFound(defaultValue);
+        ProviderEvaluation<String> second = SharedEvaluations.notFound(defaultValue);
+        // THEN
+        assertSame(first, second);
+        assertSame(defaultValue, first.getValue());
+        assertEquals(EvaluationTool.DEFAULT_REASON, first.getReason());
+        assertEquals(ErrorCode.FLAG_NOT_FOUND, first.getErrorCode());
+    }
+
+    @Test
+    void notFound_withEqualButDistinctDefault_returnsCallerInstance() {
+        // GIVEN
+        String firstDefault = new String("default");
+        String secondDefault = new String("default");
+        SharedEvaluations.notFound(firstDefault);
+        // WHEN
+        ProviderEvaluation<String> evaluation = SharedEvaluations.notFound(secondDefault);
+        // THEN
+        assertSame(secondDefault, evaluation.getValue());
+    }
+
+    @Test
+    void parseError_returnsErrorEvaluation() {
+        // WHEN
+        ProviderEvaluation<Integer> evaluation = SharedEvaluations.parseError(42);
+        // THEN
+        assertEquals(42, evaluation.getValue());
+        assertEquals(EvaluationTool.ERROR_REASON, evaluation.getReason());
+        assertEquals(ErrorCode.PARSE_ERROR, evaluation.getErrorCode());
+    }
+
+    @Test
+    void sharedEvaluation_cannotBeModified() {
+        // GIVEN
+        ProviderEvaluation<Boolean> evaluation = SharedEvaluations.notFound(false);
+        // WHEN & THEN
+        assertThrows(UnsupportedOperationException.class, () -> evaluation.setValue(true));
+        assertThrows(UnsupportedOperationException.class, () -> evaluation.setErrorCode(null));
+        assertEquals(false, evaluation.getValue());
+    }
+}
@@ -0,0 +1,94 @@
+package com.laulem.featureaccessorcore.tool;
+
+import com.laulem.featureaccessorcore.targeting.TargetedFlag;
+import com.laulem.featureaccessorcore.targeting.TargetingRule;
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.Value;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TypedFlagTableTest {
+    @Test
+    void getters_readStaticFlagsByType() {
+        // GIVEN
+        Map<String, FlagDefinition> flags = new LinkedHashMap<>();
+        flags.put("enabled", FlagEvaluations.of(true));
+        flags.put("disabled", FlagEvaluations.of(false));
+        flags.put("limit", FlagEvaluations.of(new Value(42)));
+        flags.put("ratio", FlagEvaluations.of(new Value(0.75)));
+        flags.put("banner", FlagEvaluations.of(new Value("Hello")));
+        TypedFlagTable table = TypedFlagTable.of(FlagKeyIndex.of(flags));
+        // WHEN / THEN
+        assertTrue(table.getBoolean("ENABLED", false, null));
+        assertFalse(table.getBoolean("disabled", true, null));
+        assertEquals(42, table.getInteger("limit", 0, null));
+        assertEquals(42.0, table.getDouble("limit", 0, null));
+        assertEquals(0, table.getInteger("ratio", -1, null));
+        assertEquals(0.75, table.getDouble("ratio", 0, null));
+        assertEquals("Hello", table.getString("banner", "default", null));
+    }
+
+    @Test
+    void getters_returnDefaultForMissingOrMismatchedFlags() {
+        // GIVEN
+        Map<String, FlagDefinition> flags = new LinkedHashMap<>();
+        flags.put("enabled", FlagEvaluations.of(true));
+        flags.put("banner", FlagEvaluations.of(new Value("Hello")));
+        flags.put("list", FlagEvaluations.of(new Value(List.of(new Value(1)))));
+        TypedFlagTable table = TypedFlagTable.of(FlagKeyIndex.of(flags));
+        // WHEN / THEN
+        assertTrue(table.getBoolean("missing", true, null));
+        assertEquals(7, table.getInteger("enabled", 7, null));
+        assertEquals("default", table.getString("enabled", "default", null));
+        assertTrue(table.getBoolean("banner", true, null));
+        assertEquals(3.5, table.getDouble("list", 3.5, null));
+    }
+
+    @Test
+    void getters_evaluateDynamicFlagsWithContext() {
+        // GIVEN
+        Map<String, FlagDefinition> flags = new LinkedHashMap<>();
+        flags.put("beta", TargetedFlag.of(TargetingRule.compile("country == 'FR'"), new Value(true), new Value(false)));
+        TypedFlagTable table = TypedFlagTable.of(FlagKeyIndex.of(flags));
+        // WHEN
+        boolean french = table.getBoolean("beta", false, new ImmutableContext(Map.of("country", new Value("FR"))));
+        boolean german = table.getBoolean("beta", true, new ImmutableContext(Map.of("country", new Value("DE"))));
+        // THEN
+        assertTrue(french);
+        assertFalse(german);
+    }
+
+    @Test
+    void getString_returnsInternedValue() {
+        // GIVEN
+        Map<String, FlagDefinition> flags = new LinkedHashMap<>();
+        flags.put("banner", FlagEvaluations.of(new Value(new String("shared-banner"))));
+        TypedFlagTable table = TypedFlagTable.of(FlagKeyIndex.of(flags));
+        // WHEN
+        String value = table.getString("banner", null, null);
+        // THEN
+        assertSame("shared-banner", value);
+    }
+
+    @Test
+    void getBoolean_handlesMoreThanOneWordOfFlags() {
+        // GIVEN
+        Map<String, FlagDefinition> flags = new LinkedHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            flags.put("flag_" + i, FlagEvaluations.of(i % 3 == 0));
+        }
+        TypedFlagTable table = TypedFlagTable.of(FlagKeyIndex.of(flags));
+        // WHEN / THEN
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i % 3 == 0, table.getBoolean("flag_" + i, i % 3 != 0, null));
+        }
+    }
+}